@@ -0,0 +1,123 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.builder.tests.usage;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.pde.api.tools.internal.provisional.IApiMarkerConstants;
+
+import junit.framework.Test;
+
+/**
+ * Tests that a build only replaces the API problem markers that changed and
+ * keeps the markers of unchanged problems
+ */
+public class MarkerUpdateTests extends UsageTest {
+
+	private static final String BEFORE = "before"; //$NON-NLS-1$
+	private static final String AFTER = "after"; //$NON-NLS-1$
+
+	private final IPath fRootPath = super.getTestSourcePath().append("markers"); //$NON-NLS-1$
+
+	public MarkerUpdateTests(String name) {
+		super(name);
+	}
+
+	/**
+	 * @return the test suite for this class
+	 */
+	public static Test suite() {
+		return buildTestSuite(MarkerUpdateTests.class);
+	}
+
+	@Override
+	protected void setBuilderOptions() {
+		super.setBuilderOptions();
+		enableLeakOptions(true);
+	}
+
+	@Override
+	protected IPath getTestSourcePath() {
+		return fRootPath;
+	}
+
+	@Override
+	protected int getDefaultProblemId() {
+		return 0;
+	}
+
+	public void testChangedProblemsF() throws Exception {
+		x1(false);
+	}
+
+	public void testChangedProblemsI() throws Exception {
+		x1(true);
+	}
+
+	/**
+	 * Changes one leak, fixes one and leaves one unchanged: the marker of the
+	 * unchanged leak is kept, the other markers are replaced or removed
+	 */
+	private void x1(boolean inc) throws Exception {
+		String testname = "test1"; //$NON-NLS-1$
+		String sourcename = "testMU1.java"; //$NON-NLS-1$
+		IPath path = IPath.fromOSString("/usagetests/src/x/y/z/").append(sourcename); //$NON-NLS-1$
+		createWorkspaceFile(path, getUpdateFilePath(testname).append(BEFORE).append(sourcename));
+		incrementalBuild();
+		expectingNoJDTProblemsFor(path);
+		IFile file = getEnv().getWorkspace().getRoot().getFile(path);
+		IMarker[] markers = getMarkers(file);
+		assertEquals("Wrong number of markers before the change", 3, markers.length); //$NON-NLS-1$
+		IMarker unchanged = findMarker(markers, "m1(internal[])"); //$NON-NLS-1$
+		IMarker changed = findMarker(markers, "m2()"); //$NON-NLS-1$
+		IMarker fixed = findMarker(markers, "m3(internal)"); //$NON-NLS-1$
+
+		updateWorkspaceFile(path, getUpdateFilePath(testname).append(AFTER).append(sourcename));
+		if (inc) {
+			incrementalBuild();
+		} else {
+			fullBuild();
+		}
+		expectingNoJDTProblemsFor(path);
+		markers = getMarkers(file);
+		assertEquals("Wrong number of markers after the change", 2, markers.length); //$NON-NLS-1$
+		IMarker kept = findMarker(markers, "m1(internal[])"); //$NON-NLS-1$
+		assertEquals("The marker of the unchanged problem should be kept", unchanged.getId(), kept.getId()); //$NON-NLS-1$
+		assertTrue("The marker of the unchanged problem should exist", unchanged.exists()); //$NON-NLS-1$
+		IMarker replaced = findMarker(markers, "m2(int)"); //$NON-NLS-1$
+		assertTrue("The marker of the changed problem should be new", replaced.getId() != changed.getId()); //$NON-NLS-1$
+		assertFalse("The marker of the changed problem should be removed", changed.exists()); //$NON-NLS-1$
+		assertFalse("The marker of the fixed problem should be removed", fixed.exists()); //$NON-NLS-1$
+	}
+
+	private static IMarker[] getMarkers(IFile file) throws CoreException {
+		return file.findMarkers(IApiMarkerConstants.API_USAGE_PROBLEM_MARKER, true, IResource.DEPTH_ZERO);
+	}
+
+	/**
+	 * @return the only marker whose message contains the given method
+	 */
+	private static IMarker findMarker(IMarker[] markers, String method) {
+		IMarker found = null;
+		for (IMarker marker : markers) {
+			if (marker.getAttribute(IMarker.MESSAGE, "").contains(method)) { //$NON-NLS-1$
+				assertNull("More than one marker for " + method, found); //$NON-NLS-1$
+				found = marker;
+			}
+		}
+		assertNotNull("No marker for " + method, found); //$NON-NLS-1$
+		return found;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,7 @@ import org.eclipse.core.resources.IResourceChangeEvent;
 import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.pde.api.tools.builder.tests.ApiProblem;
+import org.eclipse.pde.api.tools.internal.builder.BuildState;
 import org.eclipse.pde.api.tools.internal.model.ApiModelFactory;
 import org.eclipse.pde.api.tools.internal.problems.ApiProblemFactory;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
@@ -168,6 +169,84 @@ public class UnusedApiProblemFilterTests extends UsageTest {
 		}
 	}
 
+	/**
+	 * Waits for the resource change event of a change of the filter file done
+	 * by the given action
+	 */
+	private void changeFilters(ThrowingRunnable action) throws Exception {
+		ResourceEventWaiter waiter = new ResourceEventWaiter(fFiltersPath, IResourceChangeEvent.POST_CHANGE, IResourceDelta.CHANGED, 0);
+		action.run();
+		Object event = waiter.waitForEvent();
+		assertNotNull("the resource changed event for the filter file was not recieved", event); //$NON-NLS-1$
+	}
+
+	private interface ThrowingRunnable {
+		void run() throws Exception;
+	}
+
+	private void assertApiProblems(IPath projectPath) {
+		ApiProblem[] apiProblems = allSortedApiProblems(new IPath[] { projectPath });
+		if (apiProblems != null && apiProblems.length > 0) {
+			assertProblems(apiProblems);
+		} else {
+			assertEquals("Wrong number of problems", 0, getExpectedProblemIds().length); //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Tests that adding and removing a filter on an incremental build applies
+	 * the filters to the problems recorded by the last build: the filtered
+	 * marker disappears and comes back without the project being analyzed
+	 * again
+	 */
+	public void testChangedFiltersAreAppliedToRecordedProblems() throws Exception {
+		String testname = "test1"; //$NON-NLS-1$
+		String sourcename = "testUF1.java"; //$NON-NLS-1$
+		IProject project = getEnv().getProject("usagetests"); //$NON-NLS-1$
+		IPath projectPath = project.getFullPath();
+		int leakId = ApiProblemFactory.createProblemId(IApiProblem.CATEGORY_USAGE, IElementDescriptor.METHOD, IApiProblem.API_LEAK, IApiProblem.LEAK_METHOD_PARAMETER);
+		String[] leakArgs = new String[] { "internal", "testUF1", "m1(internal)" }; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+
+		createWorkspaceFile(getUpdatePath(sourcename), getBeforePath(testname, sourcename));
+		incrementalBuild();
+		expectingNoJDTProblems();
+		setExpectedProblemIds(new int[] { leakId });
+		setExpectedMessageArgs(new String[][] { leakArgs });
+		assertApiProblems(projectPath);
+
+		// touch the filter store to ensure it is listening...
+		IApiComponent component = ApiPlugin.getDefault().getApiBaselineManager().getWorkspaceBaseline().getApiComponent(project);
+		assertNotNull("The API component for project 'usagetests' must exist", component); //$NON-NLS-1$
+		assertNotNull("The filterstore for 'usagetests' must not be null", component.getFilterStore()); //$NON-NLS-1$
+
+		// the filter hides the leak
+		changeFilters(() -> createWorkspaceFile(fFiltersPath, getFilterFilePath(testname)));
+		incrementalBuild();
+		setExpectedProblemIds(new int[0]);
+		setExpectedMessageArgs(new String[0][]);
+		assertApiProblems(projectPath);
+
+		// removing the filter shows it again
+		changeFilters(() -> deleteWorkspaceFile(fFiltersPath, false));
+		incrementalBuild();
+		setExpectedProblemIds(new int[] { leakId });
+		setExpectedMessageArgs(new String[][] { leakArgs });
+		assertApiProblems(projectPath);
+
+		// forget the recorded leak: the filter is now reported as unused,
+		// which an analysis of the project would not do
+		BuildState state = BuildState.getLastBuiltState(project);
+		assertNotNull("The API build state of 'usagetests' must exist", state); //$NON-NLS-1$
+		assertTrue("The problems of the last build must be recorded", state.hasProblems()); //$NON-NLS-1$
+		state.clearProblems();
+		BuildState.setLastBuiltState(project, state);
+		changeFilters(() -> createWorkspaceFile(fFiltersPath, getFilterFilePath(testname)));
+		incrementalBuild();
+		setExpectedProblemIds(getDefaultProblemIdSet(1));
+		setExpectedMessageArgs(new String[][] { { "testUF1.m1(internal) has non-API parameter type internal" } }); //$NON-NLS-1$
+		assertApiProblems(projectPath);
+	}
+
 	public void testUnusedFilter1F() throws Exception {
 		x1(false);
 	}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -212,6 +212,7 @@ public abstract class UsageTest extends ApiBuilderTest {
 		classes.add(ClassUsageTests.class);
 		classes.add(InterfaceUsageTests.class);
 		classes.add(UnusedApiProblemFilterTests.class);
+		classes.add(MarkerUpdateTests.class);
 		classes.add(DependentUsageTests.class);
 		classes.add(FragmentUsageTests.class);
 		if (ProjectUtils.isJava5Compatible()) {
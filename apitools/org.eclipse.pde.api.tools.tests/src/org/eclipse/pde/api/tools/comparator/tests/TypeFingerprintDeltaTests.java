@@ -0,0 +1,131 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.comparator.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.api.tools.internal.comparator.ClassFileComparator;
+import org.eclipse.pde.api.tools.internal.comparator.TypeFingerprints;
+import org.eclipse.pde.api.tools.internal.provisional.VisibilityModifiers;
+import org.eclipse.pde.api.tools.internal.provisional.comparator.ApiComparator;
+import org.eclipse.pde.api.tools.internal.provisional.comparator.IDelta;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.junit.Test;
+
+/**
+ * Delta tests checking that types with the same API fingerprint, which are
+ * not compared by a {@link ClassFileComparator}, really have no delta and that
+ * changes of members only still produce a delta
+ */
+public class TypeFingerprintDeltaTests extends DeltaTestSetup {
+
+	@Override
+	public String getTestRoot() {
+		return "fingerprint"; //$NON-NLS-1$
+	}
+
+	/**
+	 * Change method bodies of a type, its member type and its super class
+	 */
+	@Test
+	public void test1() throws CoreException {
+		deployBundles("test1"); //$NON-NLS-1$
+		IApiBaseline before = getBeforeState();
+		IApiBaseline after = getAfterState();
+		IApiComponent beforeApiComponent = before.getApiComponent(BUNDLE_NAME);
+		assertNotNull("no api component", beforeApiComponent); //$NON-NLS-1$
+		IApiComponent afterApiComponent = after.getApiComponent(BUNDLE_NAME);
+		assertNotNull("no api component", afterApiComponent); //$NON-NLS-1$
+		for (String typeName : new String[] { "X", "X$Inner", "Y" }) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			IApiTypeRoot typeRoot = beforeApiComponent.findTypeRoot(typeName);
+			IApiTypeRoot typeRoot2 = afterApiComponent.findTypeRoot(typeName);
+			assertNotNull("no type " + typeName, typeRoot); //$NON-NLS-1$
+			assertNotNull("no type " + typeName, typeRoot2); //$NON-NLS-1$
+			assertTrue("Different fingerprints for " + typeName, isUnchanged(typeRoot, beforeApiComponent, typeRoot2, afterApiComponent)); //$NON-NLS-1$
+			// the comparison that is skipped finds no delta either
+			IDelta delta = new ClassFileComparator(typeRoot, typeRoot2, beforeApiComponent, afterApiComponent, before, after, VisibilityModifiers.ALL_VISIBILITIES).getDelta(null);
+			assertTrue("Not empty for " + typeName, delta == null || delta.isEmpty()); //$NON-NLS-1$
+			delta = ApiComparator.compare(typeRoot, typeRoot2, beforeApiComponent, afterApiComponent, before, after, VisibilityModifiers.ALL_VISIBILITIES, null);
+			assertSame("Different from NO_DELTA for " + typeName, ApiComparator.NO_DELTA, delta); //$NON-NLS-1$
+		}
+		IDelta delta = ApiComparator.compare(beforeApiComponent, afterApiComponent, before, after, VisibilityModifiers.ALL_VISIBILITIES, null);
+		assertNotNull("No delta", delta); //$NON-NLS-1$
+		assertTrue("Not empty", delta.isEmpty()); //$NON-NLS-1$
+		assertSame("Different from NO_DELTA", ApiComparator.NO_DELTA, delta); //$NON-NLS-1$
+	}
+
+	/**
+	 * Add the final modifier to a method
+	 */
+	@Test
+	public void test2() throws CoreException {
+		deployBundles("test2"); //$NON-NLS-1$
+		IApiBaseline before = getBeforeState();
+		IApiBaseline after = getAfterState();
+		IApiComponent beforeApiComponent = before.getApiComponent(BUNDLE_NAME);
+		assertNotNull("no api component", beforeApiComponent); //$NON-NLS-1$
+		IApiComponent afterApiComponent = after.getApiComponent(BUNDLE_NAME);
+		assertNotNull("no api component", afterApiComponent); //$NON-NLS-1$
+		IApiTypeRoot typeRoot = beforeApiComponent.findTypeRoot("X"); //$NON-NLS-1$
+		IApiTypeRoot typeRoot2 = afterApiComponent.findTypeRoot("X"); //$NON-NLS-1$
+		assertFalse("Same fingerprints", isUnchanged(typeRoot, beforeApiComponent, typeRoot2, afterApiComponent)); //$NON-NLS-1$
+		IDelta delta = ApiComparator.compare(typeRoot, typeRoot2, beforeApiComponent, afterApiComponent, before, after, VisibilityModifiers.ALL_VISIBILITIES, null);
+		assertNotSame("Same as NO_DELTA", ApiComparator.NO_DELTA, delta); //$NON-NLS-1$
+		delta = ApiComparator.compare(beforeApiComponent, afterApiComponent, before, after, VisibilityModifiers.ALL_VISIBILITIES, null);
+		assertNotNull("No delta", delta); //$NON-NLS-1$
+		IDelta[] allLeavesDeltas = collectLeaves(delta);
+		assertEquals("Wrong size", 1, allLeavesDeltas.length); //$NON-NLS-1$
+		IDelta child = allLeavesDeltas[0];
+		assertEquals("Wrong kind", IDelta.CHANGED, child.getKind()); //$NON-NLS-1$
+		assertEquals("Wrong flag", IDelta.NON_FINAL_TO_FINAL, child.getFlags()); //$NON-NLS-1$
+		assertEquals("Wrong element type", IDelta.METHOD_ELEMENT_TYPE, child.getElementType()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Change the type argument of a field, only its generic signature changes
+	 */
+	@Test
+	public void test3() throws CoreException {
+		deployBundles("test3"); //$NON-NLS-1$
+		IApiBaseline before = getBeforeState();
+		IApiBaseline after = getAfterState();
+		IApiComponent beforeApiComponent = before.getApiComponent(BUNDLE_NAME);
+		assertNotNull("no api component", beforeApiComponent); //$NON-NLS-1$
+		IApiComponent afterApiComponent = after.getApiComponent(BUNDLE_NAME);
+		assertNotNull("no api component", afterApiComponent); //$NON-NLS-1$
+		IApiTypeRoot typeRoot = beforeApiComponent.findTypeRoot("X"); //$NON-NLS-1$
+		IApiTypeRoot typeRoot2 = afterApiComponent.findTypeRoot("X"); //$NON-NLS-1$
+		assertFalse("Same fingerprints", isUnchanged(typeRoot, beforeApiComponent, typeRoot2, afterApiComponent)); //$NON-NLS-1$
+		IDelta delta = ApiComparator.compare(typeRoot, typeRoot2, beforeApiComponent, afterApiComponent, before, after, VisibilityModifiers.ALL_VISIBILITIES, null);
+		assertNotSame("Same as NO_DELTA", ApiComparator.NO_DELTA, delta); //$NON-NLS-1$
+		delta = ApiComparator.compare(beforeApiComponent, afterApiComponent, before, after, VisibilityModifiers.ALL_VISIBILITIES, null);
+		assertNotNull("No delta", delta); //$NON-NLS-1$
+		IDelta[] allLeavesDeltas = collectLeaves(delta);
+		assertEquals("Wrong size", 1, allLeavesDeltas.length); //$NON-NLS-1$
+		IDelta child = allLeavesDeltas[0];
+		assertEquals("Wrong kind", IDelta.CHANGED, child.getKind()); //$NON-NLS-1$
+		assertEquals("Wrong flag", IDelta.TYPE_ARGUMENT, child.getFlags()); //$NON-NLS-1$
+		assertEquals("Wrong element type", IDelta.FIELD_ELEMENT_TYPE, child.getElementType()); //$NON-NLS-1$
+	}
+
+	private static boolean isUnchanged(IApiTypeRoot typeRoot, IApiComponent component, IApiTypeRoot typeRoot2, IApiComponent component2) throws CoreException {
+		return new TypeFingerprints().isUnchanged(typeRoot.getStructure(), component, typeRoot2.getStructure(), component2);
+	}
+}
@@ -0,0 +1,167 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.model.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.pde.api.tools.internal.model.ApiModelFactory;
+import org.eclipse.pde.api.tools.internal.model.ApiModelFactory.ComponentCreator;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.junit.Test;
+
+/**
+ * Tests the concurrent creation of API components by
+ * {@link ApiModelFactory#newApiComponents}
+ */
+public class ApiModelFactoryTests {
+
+	private static final int THREADS = 4;
+
+	/**
+	 * Components created by the test creators, with whether they were disposed
+	 */
+	private final Set<String> created = ConcurrentHashMap.newKeySet();
+	private final Set<String> disposed = ConcurrentHashMap.newKeySet();
+
+	/**
+	 * Tests that the components are returned in the order of the locations,
+	 * whatever the order they are created in, without the invalid ones
+	 */
+	@Test
+	public void testLocationOrderIsKept() throws Exception {
+		List<String> locations = locations(8);
+		IApiComponent[] components = ApiModelFactory.newApiComponents(null, locations, (baseline, location) -> {
+			int index = locations.indexOf(location);
+			// the first locations take the longest
+			pause(() -> Thread.sleep((locations.size() - index) * 20L));
+			return index == 3 ? null : newComponent(location);
+		}, THREADS, new NullProgressMonitor());
+
+		List<String> expected = new ArrayList<>(locations);
+		expected.remove(3);
+		assertEquals(expected, Arrays.stream(components).map(IApiComponent::getSymbolicName).toList());
+		assertTrue("no component must be disposed", disposed.isEmpty()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the components are created sequentially with a single thread,
+	 * in the same order
+	 */
+	@Test
+	public void testSingleThread() throws Exception {
+		List<String> locations = locations(3);
+		IApiComponent[] components = ApiModelFactory.newApiComponents(null, locations, (baseline, location) -> newComponent(location), 1, null);
+		assertEquals(locations, Arrays.stream(components).map(IApiComponent::getSymbolicName).toList());
+	}
+
+	/**
+	 * Tests that all components created until the monitor was canceled are
+	 * disposed, including those not collected yet
+	 */
+	@Test
+	public void testCancelDisposesComponents() throws Exception {
+		List<String> locations = locations(8);
+		IProgressMonitor monitor = new NullProgressMonitor();
+		CountDownLatch othersCreated = new CountDownLatch(THREADS - 1);
+		ComponentCreator creator = (baseline, location) -> {
+			if (location.equals(locations.get(0))) {
+				// cancel once the other threads created their components
+				pause(() -> othersCreated.await(30, TimeUnit.SECONDS));
+				monitor.setCanceled(true);
+			} else {
+				othersCreated.countDown();
+			}
+			return newComponent(location);
+		};
+		assertThrows(OperationCanceledException.class, () -> ApiModelFactory.newApiComponents(null, locations, creator, THREADS, monitor));
+		assertTrue("components must have been created", created.size() >= THREADS); //$NON-NLS-1$
+		assertEquals("all created components must be disposed", created, disposed); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that the exception of a failed creation is thrown and all created
+	 * components are disposed
+	 */
+	@Test
+	public void testCreationFailure() throws Exception {
+		List<String> locations = locations(8);
+		CoreException failure = new CoreException(Status.error("unreadable bundle")); //$NON-NLS-1$
+		ComponentCreator creator = (baseline, location) -> {
+			if (location.equals(locations.get(5))) {
+				throw failure;
+			}
+			return newComponent(location);
+		};
+		CoreException e = assertThrows(CoreException.class, () -> ApiModelFactory.newApiComponents(null, locations, creator, THREADS, new NullProgressMonitor()));
+		assertSame(failure, e);
+		assertTrue("the components before the failure must have been created", created.containsAll(locations.subList(0, 5))); //$NON-NLS-1$
+		assertEquals("all created components must be disposed", created, disposed); //$NON-NLS-1$
+	}
+
+	private interface Pause {
+		void run() throws InterruptedException;
+	}
+
+	private static void pause(Pause pause) throws CoreException {
+		try {
+			pause.run();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new CoreException(Status.error("interrupted", e)); //$NON-NLS-1$
+		}
+	}
+
+	private static List<String> locations(int count) {
+		List<String> locations = new ArrayList<>(count);
+		for (int i = 0; i < count; i++) {
+			locations.add("component" + i); //$NON-NLS-1$
+		}
+		return Collections.unmodifiableList(locations);
+	}
+
+	/**
+	 * @return a component named after the location, recording its creation
+	 *         and disposal
+	 */
+	private IApiComponent newComponent(String location) {
+		created.add(location);
+		return (IApiComponent) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { IApiComponent.class }, (proxy, method, args) -> switch (method.getName()) {
+			case "getSymbolicName" -> location; //$NON-NLS-1$
+			case "dispose" -> { //$NON-NLS-1$
+				assertTrue(location + " disposed twice", disposed.add(location)); //$NON-NLS-1$
+				yield null;
+			}
+			case "hashCode" -> System.identityHashCode(proxy); //$NON-NLS-1$
+			case "equals" -> proxy == args[0]; //$NON-NLS-1$
+			case "toString" -> location; //$NON-NLS-1$
+			default -> throw new UnsupportedOperationException(method.getName());
+		});
+	}
+}
@@ -0,0 +1,161 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.model.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.api.tools.internal.descriptors.DescriptorPool;
+import org.eclipse.pde.api.tools.internal.provisional.Factory;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IMethodDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IReferenceTypeDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.model.ApiTypeContainerVisitor;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiMethod;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link DescriptorPool}
+ */
+public class DescriptorPoolTests {
+
+	/**
+	 * Number of times every method is looked up, as if it was referenced from
+	 * several places of the baseline
+	 */
+	private static final int REFERENCES = 5;
+
+	/**
+	 * Tests that equal descriptors and strings are shared
+	 */
+	@Test
+	public void testIntern() {
+		DescriptorPool pool = new DescriptorPool();
+		IReferenceTypeDescriptor type1 = pool.intern(Factory.typeDescriptor("a.b.C$D")); //$NON-NLS-1$
+		IReferenceTypeDescriptor type2 = pool.intern(Factory.typeDescriptor("a.b.C$D")); //$NON-NLS-1$
+		assertSame("equal types should be shared", type1, type2); //$NON-NLS-1$
+		IMethodDescriptor method1 = pool.intern(type1.getMethod("m", "(I)V")); //$NON-NLS-1$ //$NON-NLS-2$
+		IMethodDescriptor method2 = pool.intern(type2.getMethod("m", "(I)V")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertSame("equal methods should be shared", method1, method2); //$NON-NLS-1$
+		IMethodDescriptor method3 = pool.intern(type2.getMethod("m", "(J)V")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertNotSame("methods with different signatures must not be shared", method1, method3); //$NON-NLS-1$
+		String signature = new String("(I)V"); //$NON-NLS-1$
+		assertSame("equal strings should be shared", pool.intern("(I)V"), pool.intern(signature)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Tests that types with a generic signature are not shared, since the
+	 * signature is not part of their equality
+	 */
+	@Test
+	public void testGenericTypesNotPooled() {
+		DescriptorPool pool = new DescriptorPool();
+		IReferenceTypeDescriptor plain = pool.intern(Factory.packageDescriptor("a.b").getType("C")); //$NON-NLS-1$ //$NON-NLS-2$
+		IReferenceTypeDescriptor generic = pool.intern(Factory.packageDescriptor("a.b").getType("C", "<T:Ljava/lang/Object;>Ljava/lang/Object;")); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		assertNotSame("generic types must not be shared", plain, generic); //$NON-NLS-1$
+		assertEquals("wrong generic signature", "<T:Ljava/lang/Object;>Ljava/lang/Object;", generic.getGenericSignature()); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Compares the number of descriptor and signature instances retained for
+	 * the methods of the testing baseline with and without pooling
+	 */
+	@Test
+	public void testRetainedInstances() throws CoreException {
+		IApiBaseline baseline = TestSuiteHelper.createTestingBaseline("test-plugins"); //$NON-NLS-1$
+		List<String[]> methods = new ArrayList<>();
+		try {
+			for (IApiComponent component : baseline.getApiComponents()) {
+				if (component.isSystemComponent()) {
+					continue;
+				}
+				component.accept(new ApiTypeContainerVisitor() {
+					@Override
+					public void visit(String packageName, IApiTypeRoot typeroot) {
+						try {
+							IApiType type = typeroot.getStructure();
+							if (type != null) {
+								for (IApiMethod method : type.getMethods()) {
+									methods.add(new String[] {
+											type.getName(), method.getName(), method.getSignature() });
+								}
+							}
+						} catch (CoreException e) {
+							throw new IllegalStateException(e);
+						}
+					}
+				});
+			}
+		} finally {
+			baseline.dispose();
+		}
+		assertTrue("the testing baseline should contain methods", methods.size() > 0); //$NON-NLS-1$
+
+		List<IMethodDescriptor> plain = createDescriptors(methods, null);
+		DescriptorPool pool = new DescriptorPool();
+		List<IMethodDescriptor> pooled = createDescriptors(methods, pool);
+		assertEquals("descriptors should be equal", plain, pooled); //$NON-NLS-1$
+
+		int plainInstances = countInstances(plain);
+		int pooledInstances = countInstances(pooled);
+		assertEquals("every lookup should retain its own instances", REFERENCES * methods.size() * 3, plainInstances); //$NON-NLS-1$
+		assertTrue("pooling should retain at most the instances of one lookup per method, " + methods.size() //$NON-NLS-1$
+				+ " methods retained " + plainInstances + " instances without pool and " + pooledInstances //$NON-NLS-1$ //$NON-NLS-2$
+				+ " with pool", pooledInstances <= methods.size() * 3); //$NON-NLS-1$
+	}
+
+	private static List<IMethodDescriptor> createDescriptors(List<String[]> methods, DescriptorPool pool) {
+		List<IMethodDescriptor> descriptors = new ArrayList<>(REFERENCES * methods.size());
+		for (int i = 0; i < REFERENCES; i++) {
+			for (String[] method : methods) {
+				// copy the strings as they would be read from different class
+				// files
+				String typeName = new String(method[0]);
+				String name = new String(method[1]);
+				String signature = new String(method[2]);
+				if (pool == null) {
+					descriptors.add(Factory.typeDescriptor(typeName).getMethod(name, signature));
+				} else {
+					IReferenceTypeDescriptor type = pool.intern(Factory.typeDescriptor(typeName));
+					descriptors.add(pool.intern(type.getMethod(pool.intern(name), pool.intern(signature))));
+				}
+			}
+		}
+		return descriptors;
+	}
+
+	/**
+	 * Counts the distinct method descriptor, enclosing type and signature
+	 * instances referenced by the given descriptors
+	 */
+	private static int countInstances(List<IMethodDescriptor> descriptors) {
+		Set<Object> instances = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (IMethodDescriptor descriptor : descriptors) {
+			instances.add(descriptor);
+			instances.add(descriptor.getEnclosingType());
+			instances.add(descriptor.getSignature());
+		}
+		return instances.size();
+	}
+}
@@ -0,0 +1,242 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.model.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.api.tools.internal.builder.ReferenceCache;
+import org.eclipse.pde.api.tools.internal.provisional.builder.IReference;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.junit.After;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests that the persistent cache of extracted references is reused for
+ * unchanged class files and invalidated when a class file or a type the
+ * references depend on changes
+ */
+public class ReferenceCacheTests {
+
+	private static final String COMPONENT_ID = "refcache"; //$NON-NLS-1$
+
+	private static final String A = "package p;\n" //$NON-NLS-1$
+			+ "public class A {\n" //$NON-NLS-1$
+			+ "	public void run() {\n" //$NON-NLS-1$
+			+ "		new C().m();\n" //$NON-NLS-1$
+			+ "		new Runnable() {\n" //$NON-NLS-1$
+			+ "			public void run() {\n" //$NON-NLS-1$
+			+ "				%s\n" //$NON-NLS-1$
+			+ "			}\n" //$NON-NLS-1$
+			+ "		}.run();\n" //$NON-NLS-1$
+			+ "	}\n" //$NON-NLS-1$
+			+ "}\n"; //$NON-NLS-1$
+
+	private static final String I = "package p;\n" //$NON-NLS-1$
+			+ "public interface I {\n" //$NON-NLS-1$
+			+ "	%s\n" //$NON-NLS-1$
+			+ "}\n"; //$NON-NLS-1$
+
+	private static final String C = "package p;\n" //$NON-NLS-1$
+			+ "public class C implements I {\n" //$NON-NLS-1$
+			+ "	%s\n" //$NON-NLS-1$
+			+ "}\n"; //$NON-NLS-1$
+
+	private static final String ABSTRACT_M = "void m();"; //$NON-NLS-1$
+	private static final String DEFAULT_M = "default void m() {}"; //$NON-NLS-1$
+	private static final String IMPLEMENTED_M = "public void m() {}"; //$NON-NLS-1$
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private final List<IApiBaseline> baselines = new ArrayList<>();
+
+	private int versions = 0;
+
+	@After
+	public void tearDown() {
+		for (IApiBaseline baseline : baselines) {
+			baseline.dispose();
+		}
+	}
+
+	/**
+	 * Tests that the references of an unchanged type are taken from the cache,
+	 * also after the cache was saved and loaded again
+	 */
+	@Test
+	public void testCacheHit() throws Exception {
+		File file = new File(folder.getRoot(), "references.dat"); //$NON-NLS-1$
+		IApiComponent component = createComponent("System.out.println();", ABSTRACT_M, IMPLEMENTED_M); //$NON-NLS-1$
+		ReferenceCache cache = ReferenceCache.load(file);
+		List<String> extracted = getReferences(cache, component, "p.A"); //$NON-NLS-1$
+		assertEquals("wrong number of misses", 1, cache.getMisses()); //$NON-NLS-1$
+		assertEquals("wrong number of hits", 0, cache.getHits()); //$NON-NLS-1$
+		assertFalse("references should have been extracted", extracted.isEmpty()); //$NON-NLS-1$
+
+		assertEquals("cached references differ", extracted, getReferences(cache, component, "p.A")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("wrong number of hits", 1, cache.getHits()); //$NON-NLS-1$
+		cache.save();
+		assertTrue("the cache should have been saved", file.exists()); //$NON-NLS-1$
+
+		// the same class files in a new baseline
+		component = createComponent("System.out.println();", ABSTRACT_M, IMPLEMENTED_M); //$NON-NLS-1$
+		cache = ReferenceCache.load(file);
+		assertEquals("loaded references differ", extracted, getReferences(cache, component, "p.A")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("wrong number of hits", 1, cache.getHits()); //$NON-NLS-1$
+		assertEquals("wrong number of misses", 0, cache.getMisses()); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that a change of a nested class file the references were extracted
+	 * from invalidates the cached references
+	 */
+	@Test
+	public void testChangedClassFile() throws Exception {
+		File file = new File(folder.getRoot(), "references.dat"); //$NON-NLS-1$
+		IApiComponent component = createComponent("System.out.println();", ABSTRACT_M, IMPLEMENTED_M); //$NON-NLS-1$
+		ReferenceCache cache = ReferenceCache.load(file);
+		List<String> before = getReferences(cache, component, "p.A"); //$NON-NLS-1$
+		cache.save();
+
+		component = createComponent("System.gc();", ABSTRACT_M, IMPLEMENTED_M); //$NON-NLS-1$
+		cache = ReferenceCache.load(file);
+		List<String> after = getReferences(cache, component, "p.A"); //$NON-NLS-1$
+		assertEquals("wrong number of misses", 1, cache.getMisses()); //$NON-NLS-1$
+		assertEquals("wrong number of hits", 0, cache.getHits()); //$NON-NLS-1$
+		assertTrue("the old references should not be returned", after.stream().anyMatch(r -> r.contains("#gc"))); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse("the old references should not be returned", after.stream().anyMatch(r -> r.contains("#println"))); //$NON-NLS-1$ //$NON-NLS-2$
+		assertFalse("the new references should differ", before.equals(after)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that a change of another type of the component, which changes the
+	 * references of an unchanged class file, invalidates the cached references
+	 */
+	@Test
+	public void testChangedDependency() throws Exception {
+		File file = new File(folder.getRoot(), "references.dat"); //$NON-NLS-1$
+		IApiComponent component = createComponent("System.out.println();", ABSTRACT_M, IMPLEMENTED_M); //$NON-NLS-1$
+		ReferenceCache cache = ReferenceCache.load(file);
+		assertFalse("C.m() is not a default method", hasDefaultMethodReference(getReferences(cache, component, "p.A"))); //$NON-NLS-1$ //$NON-NLS-2$
+		cache.save();
+
+		// C.m() is now inherited from a default method of I, A.class is the same
+		component = createComponent("System.out.println();", DEFAULT_M, ""); //$NON-NLS-1$ //$NON-NLS-2$
+		cache = ReferenceCache.load(file);
+		List<String> references = getReferences(cache, component, "p.A"); //$NON-NLS-1$
+		assertEquals("wrong number of misses", 1, cache.getMisses()); //$NON-NLS-1$
+		assertTrue("C.m() is a default method", hasDefaultMethodReference(references)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that a corrupt cache file or a cache file of another version is
+	 * ignored and replaced
+	 */
+	@Test
+	public void testUnreadableCacheFile() throws Exception {
+		File file = new File(folder.getRoot(), "references.dat"); //$NON-NLS-1$
+		IApiComponent component = createComponent("System.out.println();", ABSTRACT_M, IMPLEMENTED_M); //$NON-NLS-1$
+		ReferenceCache cache = ReferenceCache.load(file);
+		List<String> extracted = getReferences(cache, component, "p.A"); //$NON-NLS-1$
+		cache.save();
+
+		// truncated
+		byte[] contents = Files.readAllBytes(file.toPath());
+		Files.write(file.toPath(), Arrays.copyOf(contents, contents.length / 2));
+		cache = ReferenceCache.load(file);
+		assertEquals("references differ", extracted, getReferences(cache, component, "p.A")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("wrong number of misses", 1, cache.getMisses()); //$NON-NLS-1$
+		cache.save();
+		cache = ReferenceCache.load(file);
+		getReferences(cache, component, "p.A"); //$NON-NLS-1$
+		assertEquals("the cache should have been rewritten", 1, cache.getHits()); //$NON-NLS-1$
+
+		// another version
+		try (DataOutputStream out = new DataOutputStream(Files.newOutputStream(file.toPath()))) {
+			out.writeInt(Integer.MAX_VALUE);
+			out.writeInt(1);
+			out.writeUTF("p.A"); //$NON-NLS-1$
+		}
+		cache = ReferenceCache.load(file);
+		assertEquals("references differ", extracted, getReferences(cache, component, "p.A")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("wrong number of misses", 1, cache.getMisses()); //$NON-NLS-1$
+	}
+
+	private static boolean hasDefaultMethodReference(List<String> references) {
+		return references.stream().anyMatch(r -> r.startsWith("p.C#m") && r.contains("flags=" + IReference.F_DEFAULT_METHOD)); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * @return a sorted description of the references of the given type
+	 */
+	private static List<String> getReferences(ReferenceCache cache, IApiComponent component, String typeName) throws CoreException {
+		IApiTypeRoot root = component.findTypeRoot(typeName);
+		assertNotNull("missing type " + typeName, root); //$NON-NLS-1$
+		IApiType type = root.getStructure();
+		List<String> references = new ArrayList<>();
+		for (IReference reference : cache.getReferences(type, IReference.MASK_REF_ALL)) {
+			references.add(reference.getReferencedTypeName() + '#' + reference.getReferencedMemberName() + " kind=" //$NON-NLS-1$
+					+ reference.getReferenceKind() + " flags=" + reference.getReferenceFlags() + " line=" //$NON-NLS-1$ //$NON-NLS-2$
+					+ reference.getLineNumber() + " from=" + reference.getMember().getName()); //$NON-NLS-1$
+		}
+		Collections.sort(references);
+		return references;
+	}
+
+	/**
+	 * Compiles the testing types into a new component of a new baseline
+	 *
+	 * @param statement the statement of the anonymous type nested in A
+	 * @param iMember the member of the interface I
+	 * @param cMember the member of the class C implementing I
+	 */
+	private IApiComponent createComponent(String statement, String iMember, String cMember) throws IOException, CoreException {
+		String version = "v" + versions++; //$NON-NLS-1$
+		File source = folder.newFolder(version + "src"); //$NON-NLS-1$
+		File bundle = new File(folder.newFolder(version), COMPONENT_ID);
+		for (Map.Entry<String, String> type : Map.of("A", String.format(A, statement), "I", String.format(I, iMember), "C", String.format(C, cMember)).entrySet()) { //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			File file = new File(source, "p/" + type.getKey() + ".java"); //$NON-NLS-1$ //$NON-NLS-2$
+			file.getParentFile().mkdirs();
+			Files.write(file.toPath(), type.getValue().getBytes(StandardCharsets.UTF_8));
+		}
+		assertTrue("the testing types should compile", TestSuiteHelper.compile(new String[] { source.getAbsolutePath() }, bundle.getAbsolutePath(), TestSuiteHelper.getCompilerOptions())); //$NON-NLS-1$
+		File manifest = new File(bundle, "META-INF/MANIFEST.MF"); //$NON-NLS-1$
+		manifest.getParentFile().mkdirs();
+		Files.write(manifest.toPath(), ("Manifest-Version: 1.0\nBundle-ManifestVersion: 2\nBundle-SymbolicName: " + COMPONENT_ID //$NON-NLS-1$
+				+ "\nBundle-Version: 1.0.0\nExport-Package: p\n").getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+		IApiBaseline baseline = TestSuiteHelper.createBaseline(version, bundle.getParentFile());
+		baselines.add(baseline);
+		IApiComponent component = baseline.getApiComponent(COMPONENT_ID);
+		assertNotNull("missing component", component); //$NON-NLS-1$
+		return component;
+	}
+}
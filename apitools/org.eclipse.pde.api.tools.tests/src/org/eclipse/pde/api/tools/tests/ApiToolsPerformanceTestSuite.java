@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,8 @@
 package org.eclipse.pde.api.tools.tests;
 
 import org.eclipse.pde.api.tools.builder.tests.performance.PerformanceTest;
+import org.eclipse.pde.api.tools.tests.performance.ClassFileBenchmarks;
+import org.eclipse.pde.api.tools.tests.performance.LookupBenchmarks;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 
@@ -23,7 +25,7 @@ import org.junit.runners.Suite;
  */
 @RunWith(Suite.class)
 @Suite.SuiteClasses({
-		PerformanceTest.class
+		PerformanceTest.class, ClassFileBenchmarks.class, LookupBenchmarks.class
 })
 public class ApiToolsPerformanceTestSuite {
 
@@ -0,0 +1,112 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.tests.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.pde.api.tools.internal.comparator.ClassFileComparator;
+import org.eclipse.pde.api.tools.internal.model.AbstractApiTypeRoot;
+import org.eclipse.pde.api.tools.internal.model.TypeStructureBuilder;
+import org.eclipse.pde.api.tools.internal.provisional.VisibilityModifiers;
+import org.eclipse.pde.api.tools.internal.provisional.builder.IReference;
+import org.eclipse.pde.api.tools.internal.provisional.comparator.IDelta;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+/**
+ * Micro-benchmarks of the processing of class files: building type
+ * structures, extracting references and comparing types.
+ *
+ * @since 1.3.400
+ */
+public class ClassFileBenchmarks extends MicroBenchmark {
+
+	public ClassFileBenchmarks(String name) {
+		super(name);
+	}
+
+	/**
+	 * @return the tests for this class
+	 */
+	public static Test suite() {
+		return new TestSuite(ClassFileBenchmarks.class);
+	}
+
+	/**
+	 * Measures building the type structures of the class files with the
+	 * {@link TypeStructureBuilder}
+	 */
+	public void testBuildTypeStructure() throws Exception {
+		List<byte[]> contents = new ArrayList<>(fTypeRoots.size());
+		for (IApiTypeRoot root : fTypeRoots) {
+			contents.add(((AbstractApiTypeRoot) root).getContents());
+		}
+		measure(() -> {
+			int count = 0;
+			for (int i = 0; i < fTypeRoots.size(); i++) {
+				IApiTypeRoot root = fTypeRoots.get(i);
+				IApiType type = TypeStructureBuilder.buildTypeStructure(contents.get(i), root.getApiComponent(), root);
+				count += type.getMethods().length;
+			}
+			return count;
+		});
+	}
+
+	/**
+	 * Measures extracting all the references of the types
+	 */
+	public void testExtractReferences() throws Exception {
+		measure(() -> {
+			int count = 0;
+			for (IApiType type : fTypes) {
+				count += type.extractReferences(IReference.MASK_REF_ALL, null).size();
+			}
+			return count;
+		});
+	}
+
+	/**
+	 * Measures comparing the types with the {@link ClassFileComparator}
+	 * against the same types of a second baseline
+	 */
+	public void testCompareClassFiles() throws Exception {
+		IApiBaseline baseline2 = createBaseline(getClass().getSimpleName() + "2"); //$NON-NLS-1$
+		try {
+			List<IApiTypeRoot> roots2 = new ArrayList<>(fTypeRoots.size());
+			for (IApiTypeRoot root : fTypeRoots) {
+				IApiComponent component2 = baseline2.getApiComponent(root.getApiComponent().getSymbolicName());
+				IApiTypeRoot root2 = component2.findTypeRoot(root.getTypeName());
+				assertNotNull("the type should exist in the second baseline", root2); //$NON-NLS-1$
+				root2.getStructure();
+				roots2.add(root2);
+			}
+			measure(() -> {
+				int count = 0;
+				for (int i = 0; i < fTypes.size(); i++) {
+					IApiTypeRoot root2 = roots2.get(i);
+					ClassFileComparator comparator = new ClassFileComparator(fTypes.get(i), root2, fTypeRoots.get(i).getApiComponent(), root2.getApiComponent(), fBaseline, baseline2, VisibilityModifiers.ALL_VISIBILITIES);
+					IDelta delta = comparator.getDelta(null);
+					count += delta == null ? 0 : delta.getChildren().length + 1;
+				}
+				return count;
+			});
+		} finally {
+			baseline2.dispose();
+		}
+	}
+}
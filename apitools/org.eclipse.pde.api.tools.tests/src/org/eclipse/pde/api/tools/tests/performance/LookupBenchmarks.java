@@ -0,0 +1,139 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.tests.performance;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+
+import org.eclipse.pde.api.tools.internal.FilterStore;
+import org.eclipse.pde.api.tools.internal.problems.ApiProblemFactory;
+import org.eclipse.pde.api.tools.internal.provisional.IApiAnnotations;
+import org.eclipse.pde.api.tools.internal.provisional.IApiDescription;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IElementDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiMethod;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
+import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblem;
+import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblemFilter;
+import org.eclipse.pde.api.tools.internal.util.Signatures;
+
+import junit.framework.Test;
+import junit.framework.TestSuite;
+
+/**
+ * Micro-benchmarks of the lookups done for every element of an analysis:
+ * signature processing, API description lookups and problem filtering.
+ *
+ * @since 1.3.400
+ */
+public class LookupBenchmarks extends MicroBenchmark {
+
+	public LookupBenchmarks(String name) {
+		super(name);
+	}
+
+	/**
+	 * @return the tests for this class
+	 */
+	public static Test suite() {
+		return new TestSuite(LookupBenchmarks.class);
+	}
+
+	/**
+	 * Measures the {@link Signatures} helpers used to report problems on the
+	 * methods of the types
+	 */
+	public void testSignatures() throws Exception {
+		measure(() -> {
+			int count = 0;
+			for (IApiType type : fTypes) {
+				count += Signatures.getPrimaryTypeName(type.getName()).length();
+				count += Signatures.getQualifiedTypeSignature(type).length();
+				for (IApiMethod method : type.getMethods()) {
+					count += Signatures.processMethodSignature(method).length();
+					count += Signatures.getQualifiedMethodSignature(method).length();
+					if (Signatures.matchesSignatures(method.getSignature(), method.getSignature())) {
+						count++;
+					}
+				}
+			}
+			return count;
+		});
+	}
+
+	/**
+	 * Measures resolving the API annotations of the types and their methods
+	 * from the API descriptions of their components
+	 */
+	public void testResolveAnnotations() throws Exception {
+		List<IApiDescription> descriptions = new ArrayList<>();
+		List<IElementDescriptor> elements = new ArrayList<>();
+		for (IApiType type : fTypes) {
+			IApiDescription description = type.getApiComponent().getApiDescription();
+			descriptions.add(description);
+			elements.add(type.getHandle());
+			for (IApiMethod method : type.getMethods()) {
+				descriptions.add(description);
+				elements.add(method.getHandle());
+			}
+		}
+		measure(() -> {
+			int count = 0;
+			for (int i = 0; i < elements.size(); i++) {
+				IApiAnnotations annotations = descriptions.get(i).resolveAnnotations(elements.get(i));
+				if (annotations != null) {
+					count += annotations.getVisibility();
+				}
+			}
+			return count;
+		});
+	}
+
+	/**
+	 * Measures checking problems reported on the types against a filter store
+	 * filtering every other problem
+	 */
+	public void testIsFiltered() throws Exception {
+		FilterStore store = new FilterStore() {
+			@Override
+			protected synchronized void initializeApiFilters() {
+				// no filter file, the filters are added by the benchmark
+				if (fFilterMap == null) {
+					fFilterMap = new HashMap<>(5);
+				}
+			}
+		};
+		int id = ApiProblemFactory.createProblemId(IApiProblem.CATEGORY_USAGE, IElementDescriptor.TYPE, IApiProblem.ILLEGAL_EXTEND, IApiProblem.NO_FLAGS);
+		List<IApiProblem> problems = new ArrayList<>(fTypes.size());
+		List<IApiProblemFilter> filters = new ArrayList<>();
+		for (IApiType type : fTypes) {
+			String name = type.getName();
+			String path = "src/" + name.replace('.', '/') + ".java"; //$NON-NLS-1$ //$NON-NLS-2$
+			IApiProblem problem = ApiProblemFactory.newApiProblem(path, name, new String[] { name }, null, null, -1, -1, -1, id);
+			if (problems.size() % 2 == 0) {
+				filters.add(ApiProblemFactory.newProblemFilter(type.getApiComponent().getSymbolicName(), problem, null));
+			}
+			problems.add(problem);
+		}
+		store.addFilters(filters.toArray(new IApiProblemFilter[filters.size()]));
+		measure(() -> {
+			int count = 0;
+			for (IApiProblem problem : problems) {
+				if (store.isFiltered(problem)) {
+					count++;
+				}
+			}
+			return count;
+		});
+		store.dispose();
+	}
+}
@@ -0,0 +1,171 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.tests.performance;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.pde.api.tools.internal.provisional.model.ApiTypeContainerVisitor;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.eclipse.pde.api.tools.model.tests.TestSuiteHelper;
+import org.eclipse.test.performance.PerformanceTestCase;
+
+/**
+ * Base class for the micro-benchmarks of the API tools hot paths.
+ * <p>
+ * Benchmarks run on the class files of the <code>test-plugins</code>
+ * components, read into an API baseline outside of the workspace, so they do
+ * not need any workspace projects or builds. Each benchmark runs its operation
+ * for a number of warm-up iterations, then measures a number of runs of
+ * several iterations each.
+ * </p>
+ *
+ * @since 1.3.400
+ */
+public abstract class MicroBenchmark extends PerformanceTestCase {
+
+	/**
+	 * An operation to measure
+	 */
+	protected interface Operation {
+		/**
+		 * Runs the operation once
+		 *
+		 * @return a value computed from the results of the operation, so the
+		 *         operation cannot be optimized away
+		 */
+		int run() throws Exception;
+	}
+
+	/**
+	 * The directory of the components used by the benchmarks
+	 */
+	protected static final String TEST_PLUGINS = "test-plugins"; //$NON-NLS-1$
+
+	protected int fWarmupIterations;
+
+	protected int fRuns;
+
+	protected int fTestIterations;
+
+	/**
+	 * The baseline of the <code>test-plugins</code> components
+	 */
+	protected IApiBaseline fBaseline;
+
+	/**
+	 * The type roots of all the non-system components of the baseline
+	 */
+	protected List<IApiTypeRoot> fTypeRoots;
+
+	/**
+	 * The structures of all the type roots
+	 */
+	protected List<IApiType> fTypes;
+
+	/**
+	 * Accumulates the values computed by the operations
+	 */
+	private int fSink;
+
+	public MicroBenchmark(String name) {
+		super(name);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		setUpIterations();
+		fBaseline = createBaseline(getClass().getSimpleName());
+		fTypeRoots = new ArrayList<>();
+		fTypes = new ArrayList<>();
+		for (IApiComponent component : fBaseline.getApiComponents()) {
+			if (component.isSystemComponent()) {
+				continue;
+			}
+			component.accept(new ApiTypeContainerVisitor() {
+				@Override
+				public void visit(String packageName, IApiTypeRoot typeroot) {
+					try {
+						IApiType type = typeroot.getStructure();
+						if (type != null) {
+							fTypeRoots.add(typeroot);
+							fTypes.add(type);
+						}
+					} catch (CoreException e) {
+						throw new IllegalStateException(e);
+					}
+				}
+			});
+		}
+		assertFalse("the testing baseline should contain types", fTypes.isEmpty()); //$NON-NLS-1$
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		if (fBaseline != null) {
+			fBaseline.dispose();
+			fBaseline = null;
+		}
+		fTypeRoots = null;
+		fTypes = null;
+		super.tearDown();
+	}
+
+	protected void setUpIterations() {
+		fWarmupIterations = 50;
+		fRuns = 20;
+		fTestIterations = 20;
+	}
+
+	/**
+	 * Creates a baseline of the <code>test-plugins</code> components with the
+	 * given name. Structures of types are cached per baseline name so
+	 * baselines used together must have different names.
+	 *
+	 * @param name the name of the baseline
+	 * @return the new baseline
+	 */
+	protected IApiBaseline createBaseline(String name) throws CoreException {
+		IApiBaseline baseline = TestSuiteHelper.createTestingBaseline(name, IPath.fromOSString(TEST_PLUGINS));
+		assertNotNull("the testing baseline must exist", baseline); //$NON-NLS-1$
+		return baseline;
+	}
+
+	/**
+	 * Measures the given operation and asserts its performance
+	 *
+	 * @param operation the operation to measure
+	 */
+	protected void measure(Operation operation) throws Exception {
+		// Warm-up Iterations
+		for (int i = 0; i < fWarmupIterations; i++) {
+			fSink += operation.run();
+		}
+		// Test Iterations
+		for (int j = 0; j < fRuns; j++) {
+			startMeasuring();
+			for (int i = 0; i < fTestIterations; i++) {
+				fSink += operation.run();
+			}
+			stopMeasuring();
+		}
+		commitMeasurements();
+		assertPerformance();
+		assertTrue("the operation should compute a result", fSink != 0); //$NON-NLS-1$
+	}
+}
@@ -0,0 +1,72 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.util.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics;
+import org.junit.Test;
+
+/**
+ * Tests for the {@link AnalysisMetrics}
+ */
+public class AnalysisMetricsTests {
+
+	/**
+	 * Tests that phases and counters are recorded overall and per component
+	 */
+	@Test
+	public void testRecord() {
+		AnalysisMetrics metrics = new AnalysisMetrics(true);
+		try (AnalysisMetrics.Timer timer = metrics.time(AnalysisMetrics.EXTRACTION, "a.b")) { //$NON-NLS-1$
+			metrics.count(AnalysisMetrics.REFERENCE_CACHE_HITS, "a.b", 3); //$NON-NLS-1$
+		}
+		try (AnalysisMetrics.Timer timer = metrics.time(AnalysisMetrics.EXTRACTION, "c.d")) { //$NON-NLS-1$
+			metrics.count(AnalysisMetrics.REFERENCE_CACHE_HITS, "c.d", 2); //$NON-NLS-1$
+		}
+		assertEquals("wrong total phase count", 2, metrics.getPhaseCount(AnalysisMetrics.EXTRACTION, null)); //$NON-NLS-1$
+		assertEquals("wrong component phase count", 1, metrics.getPhaseCount(AnalysisMetrics.EXTRACTION, "a.b")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertEquals("wrong total count", 5, metrics.getCount(AnalysisMetrics.REFERENCE_CACHE_HITS, null)); //$NON-NLS-1$
+		assertEquals("wrong component count", 2, metrics.getCount(AnalysisMetrics.REFERENCE_CACHE_HITS, "c.d")); //$NON-NLS-1$ //$NON-NLS-2$
+		metrics.reset();
+		assertEquals("reset should discard the counters", 0, metrics.getCount(AnalysisMetrics.REFERENCE_CACHE_HITS, null)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests that nothing is recorded when collection is disabled
+	 */
+	@Test
+	public void testDisabled() {
+		AnalysisMetrics metrics = new AnalysisMetrics(false);
+		try (AnalysisMetrics.Timer timer = metrics.time(AnalysisMetrics.RESOLUTION, "a.b")) { //$NON-NLS-1$
+			metrics.count(AnalysisMetrics.REFERENCES, "a.b", 10); //$NON-NLS-1$
+		}
+		assertEquals("no phase should be recorded", 0, metrics.getPhaseCount(AnalysisMetrics.RESOLUTION, null)); //$NON-NLS-1$
+		assertEquals("no counter should be recorded", 0, metrics.getCount(AnalysisMetrics.REFERENCES, null)); //$NON-NLS-1$
+	}
+
+	/**
+	 * Tests the JSON report
+	 */
+	@Test
+	public void testJSON() {
+		AnalysisMetrics metrics = new AnalysisMetrics(true);
+		assertEquals("wrong empty report", "{\n  \"phases\": {},\n  \"counters\": {},\n  \"components\": {}\n}\n", metrics.toJSON()); //$NON-NLS-1$ //$NON-NLS-2$
+		metrics.count(AnalysisMetrics.PROBLEMS, "a\"b", 4); //$NON-NLS-1$
+		metrics.time(AnalysisMetrics.MARKERS, "a\"b").close(); //$NON-NLS-1$
+		String json = metrics.toJSON();
+		assertTrue("missing total counter: " + json, json.contains("\"counters\": {\n    \"problems\": 4\n  }")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("missing escaped component: " + json, json.contains("\"a\\\"b\": {")); //$NON-NLS-1$ //$NON-NLS-2$
+		assertTrue("missing component phase: " + json, json.contains("\"markers\": { \"count\": 1, \"millis\": ")); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+}
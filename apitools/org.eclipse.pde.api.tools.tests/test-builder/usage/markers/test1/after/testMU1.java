@@ -0,0 +1,30 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package x.y.z;
+
+import internal.x.y.z.internal;
+
+/**
+ *
+ */
+public class testMU1 {
+
+	public void m1(internal[] internal) {
+	}
+
+	protected internal m2(int i) {
+		return null;
+	}
+
+	private void m3(internal internal) {
+	}
+}
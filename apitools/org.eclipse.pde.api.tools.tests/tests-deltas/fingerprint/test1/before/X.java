@@ -0,0 +1,22 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+public class X extends Y {
+	public int foo() {
+		return 1;
+	}
+
+	public static class Inner {
+		public int bar() {
+			return 1;
+		}
+	}
+}
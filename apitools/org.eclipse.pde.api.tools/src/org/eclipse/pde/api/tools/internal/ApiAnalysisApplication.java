@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2019, 2021 Red Hat Inc. and others.
+ * Copyright (c) 2019, 2026 Red Hat Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -47,6 +47,7 @@ import org.eclipse.pde.api.tools.internal.model.BundleComponent;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics;
 import org.eclipse.pde.core.target.ITargetDefinition;
 import org.eclipse.pde.core.target.ITargetLocation;
 import org.eclipse.pde.core.target.ITargetPlatformService;
@@ -65,6 +66,7 @@ public class ApiAnalysisApplication implements IApplication {
 		private static final String BASELINE_ARG = "baseline"; //$NON-NLS-1$
 		private static final String BASELINE_DEFAULT_VALUE = "default"; //$NON-NLS-1$
 		private static final String DEPENDENCY_LIST_ARG = "dependencyList"; //$NON-NLS-1$
+		private static final String METRICS_ARG = "metrics"; //$NON-NLS-1$
 
 		private Request() {
 		}
@@ -86,6 +88,8 @@ public class ApiAnalysisApplication implements IApplication {
 					res.failOnError = Boolean.parseBoolean(param);
 				} else if (DEPENDENCY_LIST_ARG.equals(currentKey)) {
 					res.tpFile = new File(param);
+				} else if (METRICS_ARG.equals(currentKey)) {
+					res.metricsFile = new File(param);
 				}
 			}
 			if (FAIL_ON_ERROR_ARG.equals(currentKey)) {
@@ -98,6 +102,11 @@ public class ApiAnalysisApplication implements IApplication {
 		public File baselinePath;
 		public boolean failOnError;
 		public File tpFile;
+		/**
+		 * the file the analysis metrics are written to as JSON or
+		 * <code>null</code>
+		 */
+		public File metricsFile;
 	}
 
 	private ICoreRunnable restoreOriginalProjectState = null;
@@ -105,6 +114,7 @@ public class ApiAnalysisApplication implements IApplication {
 	@Override
 	public Object start(IApplicationContext context) throws Exception {
 		restoreOriginalProjectState = null;
+		File metricsFile = null;
 		try {
 			IWorkspaceDescription desc = ResourcesPlugin.getWorkspace().getDescription();
 			desc.setAutoBuilding(false);
@@ -114,6 +124,11 @@ public class ApiAnalysisApplication implements IApplication {
 
 			Request args = Request
 					.readFromArgs((String[]) context.getArguments().get(IApplicationContext.APPLICATION_ARGS));
+			metricsFile = args.metricsFile;
+			if (metricsFile != null) {
+				AnalysisMetrics.getDefault().reset();
+				AnalysisMetrics.getDefault().setEnabled(true);
+			}
 			IProject project = importProject(args.project);
 			if (project == null) {
 				System.err.println("Project not loaded."); //$NON-NLS-1$
@@ -187,6 +202,18 @@ public class ApiAnalysisApplication implements IApplication {
 			if (restoreOriginalProjectState != null) {
 				restoreOriginalProjectState.run(new NullProgressMonitor());
 			}
+			if (metricsFile != null) {
+				writeMetrics(metricsFile);
+			}
+		}
+	}
+
+	private static void writeMetrics(File metricsFile) {
+		try {
+			AnalysisMetrics.getDefault().writeJSON(metricsFile);
+			System.out.println("API analysis metrics written to " + metricsFile.getAbsolutePath()); //$NON-NLS-1$
+		} catch (IOException e) {
+			System.err.println("Unable to write the API analysis metrics: " + e.getMessage()); //$NON-NLS-1$
 		}
 	}
 
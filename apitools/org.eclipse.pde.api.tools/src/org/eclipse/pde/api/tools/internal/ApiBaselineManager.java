@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2021 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -58,6 +58,7 @@ import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.IApiBaselineManager;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics;
 import org.eclipse.pde.api.tools.internal.util.Util;
 import org.eclipse.pde.core.plugin.IPluginModelBase;
 import org.eclipse.pde.core.plugin.ModelEntry;
@@ -425,7 +426,7 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 		long start = System.currentTimeMillis();
 		DocumentBuilder parser = getConfiguredParser();
 		IApiComponent[] restored = null;
-		try {
+		try (AnalysisMetrics.Timer timer = AnalysisMetrics.getDefault().time(AnalysisMetrics.BASELINE_RESTORE, null)) {
 			Document document = parser.parse(stream);
 			Element root = document.getDocumentElement();
 			if (root.getNodeName().equals(IApiXmlConstants.ELEMENT_APIPROFILE)) {
@@ -435,23 +436,19 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 				}
 				// un-pooled components
 				NodeList children = root.getElementsByTagName(IApiXmlConstants.ELEMENT_APICOMPONENT);
-				List<IApiComponent> components = new ArrayList<>();
+				List<String> locations = new ArrayList<>();
 				for (int j = 0; j < children.getLength(); j++) {
 					Element componentNode = (Element) children.item(j);
 					// this also contains components in pools, so don't process
 					// them
 					if (componentNode.getParentNode().equals(root)) {
 						String location = componentNode.getAttribute(IApiXmlConstants.ATTR_LOCATION);
-						IApiComponent component = ApiModelFactory.newApiComponent(baseline, IPath.fromPortableString(location).toOSString());
-						if (component != null) {
-							components.add(component);
-						}
+						locations.add(IPath.fromPortableString(location).toOSString());
 					}
 				}
 				// pooled components - only for xml file with version <= 1
 				// since version 2, pools have been removed
 				children = root.getElementsByTagName(IApiXmlConstants.ELEMENT_POOL);
-				IApiComponent component = null;
 				for (int j = 0; j < children.getLength(); j++) {
 					String location = ((Element) children.item(j)).getAttribute(IApiXmlConstants.ATTR_LOCATION);
 					IPath poolPath = IPath.fromPortableString(location);
@@ -469,13 +466,12 @@ public final class ApiBaselineManager implements IApiBaselineManager, ISaveParti
 							name.append(".jar"); //$NON-NLS-1$
 							file = poolPath.append(name.toString()).toFile();
 						}
-						component = ApiModelFactory.newApiComponent(baseline, file.getAbsolutePath());
-						if (component != null) {
-							components.add(component);
-						}
+						locations.add(file.getAbsolutePath());
 					}
 				}
-				restored = components.toArray(new IApiComponent[components.size()]);
+				// the components are created concurrently and added to the
+				// baseline at once by the caller
+				restored = ApiModelFactory.newApiComponents(baseline, locations, null);
 			}
 		} catch (IOException | SAXException e) {
 			throw new CoreException(Status.error("Error restoring API baseline", e)); //$NON-NLS-1$
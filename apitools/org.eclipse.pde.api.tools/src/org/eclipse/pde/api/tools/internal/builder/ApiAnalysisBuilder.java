@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2019 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,8 +25,10 @@ import java.util.HashSet;
 import java.util.Iterator;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.Set;
 import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.Predicate;
 import java.util.jar.JarFile;
 
 import org.eclipse.core.resources.IFile;
@@ -35,6 +37,7 @@ import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceDelta;
 import org.eclipse.core.resources.IResourceStatus;
+import org.eclipse.core.resources.IWorkspace;
 import org.eclipse.core.resources.IWorkspaceRoot;
 import org.eclipse.core.resources.IncrementalProjectBuilder;
 import org.eclipse.core.resources.ResourcesPlugin;
@@ -69,9 +72,11 @@ import org.eclipse.pde.api.tools.internal.problems.ApiProblemFactory;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.IApiMarkerConstants;
 import org.eclipse.pde.api.tools.internal.provisional.builder.IApiAnalyzer;
+import org.eclipse.pde.api.tools.internal.provisional.builder.IBuildContext;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
 import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblem;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics;
 import org.eclipse.pde.api.tools.internal.util.Util;
 import org.eclipse.pde.core.build.IBuild;
 import org.eclipse.pde.core.build.IBuildEntry;
@@ -175,6 +180,14 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 
 	private final ConcurrentLinkedQueue<Runnable> markersQueue = new ConcurrentLinkedQueue<>();
 
+	/**
+	 * The markers deleted by the cleanups of the build running in the current
+	 * thread, compared with the markers of the problems found when they are
+	 * created. Not set outside of builds, in which case markers are deleted
+	 * right away.
+	 */
+	private final ThreadLocal<MarkerUpdate> fMarkerUpdate = new ThreadLocal<>();
+
 	/**
 	 * Bug 549838:  In case auto-building on a API tools settings change  is not desired,
 	 * specify VM property: {@code -Dorg.eclipse.disableAutoBuildOnSettingsChange=true}
@@ -185,7 +198,10 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	 * Cleans up markers associated with API Tools on the given resource.
 	 */
 	void cleanupMarkers(IResource resource) {
-		if (isRunningAsJob()) {
+		if (fMarkerUpdate.get() != null) {
+			// only records the markers to delete
+			cleanupMarkersInternally(resource);
+		} else if (isRunningAsJob()) {
 			new ApiAnalysisMarkersJob(() -> cleanupMarkersInternally(resource)).schedule();
 		} else {
 			cleanupMarkersInternally(resource);
@@ -214,18 +230,18 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 				if (ApiPlugin.DEBUG_BUILDER) {
 					System.out.println("ApiAnalysisBuilder: cleaning api use problems"); //$NON-NLS-1$
 				}
-				resource.deleteMarkers(IApiMarkerConstants.API_USESCAN_PROBLEM_MARKER, true, IResource.DEPTH_INFINITE);
+				deleteMarkers(resource, IApiMarkerConstants.API_USESCAN_PROBLEM_MARKER, true, IResource.DEPTH_INFINITE);
 
 				IProject project = resource.getProject();
-				IMarker[] markers = project.findMarkers(IApiMarkerConstants.API_USESCAN_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
-				for (IMarker marker : markers) {
-					String typeName = marker.getAttribute(IApiMarkerConstants.API_USESCAN_TYPE, null);
-					IJavaElement adaptor = resource.getAdapter(IJavaElement.class);
-					if (adaptor != null && adaptor instanceof ICompilationUnit) {
-						IType typeroot = ((ICompilationUnit) adaptor).findPrimaryType();
-						if (typeroot != null && typeName != null && typeName.startsWith(typeroot.getFullyQualifiedName())) {
-							marker.delete();
-						}
+				IJavaElement adaptor = resource.getAdapter(IJavaElement.class);
+				if (adaptor instanceof ICompilationUnit) {
+					IType typeroot = ((ICompilationUnit) adaptor).findPrimaryType();
+					if (typeroot != null) {
+						String primaryTypeName = typeroot.getFullyQualifiedName();
+						deleteMarkers(project, IApiMarkerConstants.API_USESCAN_PROBLEM_MARKER, false, IResource.DEPTH_ZERO, marker -> {
+							String typeName = marker.getAttribute(IApiMarkerConstants.API_USESCAN_TYPE, null);
+							return typeName != null && typeName.startsWith(primaryTypeName);
+						});
 					}
 				}
 			}
@@ -243,7 +259,7 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 				if (ApiPlugin.DEBUG_BUILDER) {
 					System.out.println("ApiAnalysisBuilder: cleaning unsupported tag problems"); //$NON-NLS-1$
 				}
-				resource.deleteMarkers(IApiMarkerConstants.UNSUPPORTED_TAG_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
+				deleteMarkers(resource, IApiMarkerConstants.UNSUPPORTED_TAG_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
 			}
 		} catch (CoreException e) {
 			ApiPlugin.log(e.getStatus());
@@ -262,7 +278,7 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 				if (ApiPlugin.DEBUG_BUILDER) {
 					System.out.println("ApiAnalysisBuilder: cleaning unsupported annotation problems"); //$NON-NLS-1$
 				}
-				resource.deleteMarkers(IApiMarkerConstants.UNSUPPORTED_ANNOTATION_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
+				deleteMarkers(resource, IApiMarkerConstants.UNSUPPORTED_ANNOTATION_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
 			}
 		} catch (CoreException e) {
 			ApiPlugin.log(e.getStatus());
@@ -277,13 +293,13 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	void cleanupCompatibilityMarkers(IResource resource) {
 		try {
 			if (resource != null && resource.isAccessible()) {
-				resource.deleteMarkers(IApiMarkerConstants.COMPATIBILITY_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
-				resource.deleteMarkers(IApiMarkerConstants.SINCE_TAGS_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
+				deleteMarkers(resource, IApiMarkerConstants.COMPATIBILITY_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
+				deleteMarkers(resource, IApiMarkerConstants.SINCE_TAGS_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
 				if (resource.getType() == IResource.PROJECT) {
 					// on full builds
-					resource.deleteMarkers(IApiMarkerConstants.VERSION_NUMBERING_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
-					resource.deleteMarkers(IApiMarkerConstants.DEFAULT_API_BASELINE_PROBLEM_MARKER, true, IResource.DEPTH_ZERO);
-					resource.deleteMarkers(IApiMarkerConstants.API_COMPONENT_RESOLUTION_PROBLEM_MARKER, true, IResource.DEPTH_ZERO);
+					deleteMarkers(resource, IApiMarkerConstants.VERSION_NUMBERING_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
+					deleteMarkers(resource, IApiMarkerConstants.DEFAULT_API_BASELINE_PROBLEM_MARKER, true, IResource.DEPTH_ZERO);
+					deleteMarkers(resource, IApiMarkerConstants.API_COMPONENT_RESOLUTION_PROBLEM_MARKER, true, IResource.DEPTH_ZERO);
 				}
 			}
 		} catch (CoreException e) {
@@ -297,11 +313,11 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	void cleanupUsageMarkers(IResource resource) {
 		try {
 			if (resource != null && resource.isAccessible()) {
-				resource.deleteMarkers(IApiMarkerConstants.API_USAGE_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
+				deleteMarkers(resource, IApiMarkerConstants.API_USAGE_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
 				if (resource.getType() != IResource.PROJECT) {
 					IProject pj = resource.getProject();
 					if (pj != null) {
-						pj.deleteMarkers(IApiMarkerConstants.API_USAGE_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
+						deleteMarkers(pj, IApiMarkerConstants.API_USAGE_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
 					}
 				}
 			}
@@ -316,7 +332,7 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	void cleanupFatalMarkers(IResource resource) {
 		try {
 			if (resource != null && resource.isAccessible()) {
-				resource.deleteMarkers(IApiMarkerConstants.FATAL_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
+				deleteMarkers(resource, IApiMarkerConstants.FATAL_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
 			}
 		} catch (CoreException e) {
 			ApiPlugin.log(e.getStatus());
@@ -329,13 +345,45 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	void cleanUnusedFilterMarkers(IResource resource) {
 		try {
 			if (resource != null && resource.isAccessible()) {
-				resource.deleteMarkers(IApiMarkerConstants.UNUSED_FILTER_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
+				deleteMarkers(resource, IApiMarkerConstants.UNUSED_FILTER_PROBLEM_MARKER, false, IResource.DEPTH_INFINITE);
 			}
 		} catch (CoreException ce) {
 			ApiPlugin.log(ce.getStatus());
 		}
 	}
 
+	/**
+	 * Deletes the markers of the given type from the given resource, or only
+	 * records them to be deleted during a build
+	 *
+	 * @see IResource#deleteMarkers(String, boolean, int)
+	 */
+	private void deleteMarkers(IResource resource, String type, boolean includeSubtypes, int depth) throws CoreException {
+		MarkerUpdate update = fMarkerUpdate.get();
+		if (update != null) {
+			update.deleteMarkers(resource, type, includeSubtypes, depth);
+		} else {
+			resource.deleteMarkers(type, includeSubtypes, depth);
+		}
+	}
+
+	/**
+	 * Deletes the markers of the given type from the given resource that match
+	 * the given filter, or only records them to be deleted during a build
+	 */
+	private void deleteMarkers(IResource resource, String type, boolean includeSubtypes, int depth, Predicate<IMarker> filter) throws CoreException {
+		MarkerUpdate update = fMarkerUpdate.get();
+		if (update != null) {
+			update.deleteMarkers(resource, type, includeSubtypes, depth, filter);
+		} else {
+			for (IMarker marker : resource.findMarkers(type, includeSubtypes, depth)) {
+				if (filter.test(marker)) {
+					marker.delete();
+				}
+			}
+		}
+	}
+
 	@Override
 	public ISchedulingRule getRule(int kind, Map<String, String> args) {
 		// TODO probably we don't need even this and can return null if we are running as job
@@ -388,6 +436,8 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 		SubMonitor localMonitor = SubMonitor.convert(monitor, BuilderMessages.api_analysis_builder, 8);
 
 		IApiBaseline baseline = ApiPlugin.getDefault().getApiBaselineManager().getDefaultApiBaseline();
+		// the markers are only deleted once the new ones are created
+		fMarkerUpdate.set(new MarkerUpdate());
 		try {
 			SubMonitor switchMonitor = localMonitor.split(4);
 			if (fullBuild) {
@@ -408,6 +458,7 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 					} else {
 						IResourceDelta filters = null;
 						boolean full = false;
+						boolean refilter = false;
 						for (IResourceDelta delta : deltas) {
 							full = shouldFullBuild(delta);
 							if (full) {
@@ -415,22 +466,30 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 							}
 							filters = delta.findMember(FILTER_PATH);
 							if (filters != null) {
+								boolean changed = false;
 								switch (filters.getKind()) {
 									case IResourceDelta.ADDED:
 									case IResourceDelta.REMOVED: {
-										full = true;
+										changed = true;
 										break;
 									}
 									case IResourceDelta.CHANGED: {
-										full = (filters.getFlags() & (IResourceDelta.REPLACED | IResourceDelta.CONTENT)) > 0;
+										changed = (filters.getFlags() & (IResourceDelta.REPLACED | IResourceDelta.CONTENT)) > 0;
 										break;
 									}
 									default: {
 										break;
 									}
 								}
-								if (full) {
-									break;
+								if (changed) {
+									if (filters.getResource().getProject().equals(currentproject) && this.buildstate.hasProblems()) {
+										// the problems of the last build only
+										// have to be filtered again
+										refilter = true;
+									} else {
+										full = true;
+										break;
+									}
 								}
 							}
 						}
@@ -440,7 +499,13 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 							}
 							buildAll(baseline, wbaseline, switchMonitor);
 						} else {
-							switchMonitor.setWorkRemaining(2);
+							switchMonitor.setWorkRemaining(refilter ? 3 : 2);
+							if (refilter) {
+								if (ApiPlugin.DEBUG_BUILDER) {
+									System.out.println("ApiAnalysisBuilder: Applying modified .api_filters to the problems of the last build"); //$NON-NLS-1$
+								}
+								filterAll(baseline, wbaseline, switchMonitor.split(1));
+							}
 							State state = (State) JavaModelManager.getJavaModelManager().getLastBuiltState(this.currentproject, switchMonitor.split(1));
 							if (state == null) {
 								buildAll(baseline, wbaseline, switchMonitor.split(1));
@@ -467,6 +532,13 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 			}
 			ApiPlugin.log(e);
 		} finally {
+			// delete the markers cleaned up after the last markers were
+			// created, e.g. when the build ended early
+			MarkerUpdate update = fMarkerUpdate.get();
+			fMarkerUpdate.remove();
+			if (update.hasDeletions()) {
+				applyMarkers(null, update);
+			}
 			try {
 				localMonitor.split(1);
 				if (this.analyzer != null) {
@@ -646,7 +718,9 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 				subdelta = delta.findMember(SETTINGS_PATH);
 				if (subdelta != null) {
 					if (!DISABLE_AUTO_BUILDING_ON_SETTINGS_CHANGE) {
-						return true;
+						// changed filters alone are applied to the recorded
+						// problems, see work(..)
+						return !isFilterChangeOnly(subdelta);
 					}
 				}
 				break;
@@ -658,6 +732,26 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 		return false;
 	}
 
+	/**
+	 * Returns if the given delta of the settings folder only contains a change
+	 * of the API problem filters of the current project and the problems of
+	 * the last build are known, so the filters can be applied without a full
+	 * build.
+	 *
+	 * @param settings the delta of the <code>.settings</code> folder
+	 * @return <code>true</code> if only the filters changed and can be
+	 *         re-applied, <code>false</code> otherwise
+	 */
+	boolean isFilterChangeOnly(IResourceDelta settings) {
+		IResourceDelta[] children = settings.getAffectedChildren();
+		if (children.length != 1) {
+			return false;
+		}
+		IResource resource = children[0].getResource();
+		return resource.getProject().equals(currentproject) && resource.getProjectRelativePath().equals(FILTER_PATH)
+				&& buildstate != null && buildstate.hasProblems();
+	}
+
 	/**
 	 * Compares the current <code>MANIFEST.MF</code> against the saved state. If
 	 * the {@link BuildState} is <code>null</code> or there is no saved state
@@ -912,12 +1006,79 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 				getAnalyzer().analyzeComponent(this.buildstate, null, null, baseline, apiComponent, new BuildContext(),
 						localMonitor.split(1));
 				localMonitor.split(1);
+				recordProblems(this.buildstate, null);
 				createMarkers();
 				localMonitor.split(1);
 			}
 		}
 	}
 
+	/**
+	 * Applies the API problem filters of the project to the problems recorded
+	 * by the last build and re-creates the markers, without analyzing the
+	 * project again
+	 *
+	 * @param baseline the default baseline
+	 * @param wbaseline the workspace baseline
+	 */
+	void filterAll(IApiBaseline baseline, IApiBaseline wbaseline, IProgressMonitor monitor) throws CoreException {
+		SubMonitor localMonitor = SubMonitor.convert(monitor, BuilderMessages.api_analysis_on_0, 2);
+		IApiComponent apiComponent = wbaseline.getApiComponent(this.currentproject);
+		if (apiComponent == null || !(getAnalyzer() instanceof BaseApiAnalyzer)) {
+			buildAll(baseline, wbaseline, localMonitor.split(2));
+			return;
+		}
+		cleanupMarkers(this.currentproject);
+		// unused filters are only reported if the problems were compared
+		// against a baseline
+		((BaseApiAnalyzer) getAnalyzer()).filterProblems(this.buildstate.getProblems(), apiComponent, baseline != null,
+				localMonitor.split(1));
+		createMarkers();
+		// an incremental build may follow, it must not report these problems
+		// again
+		this.analyzer.dispose();
+		this.analyzer = null;
+		localMonitor.split(1);
+	}
+
+	/**
+	 * Records the unfiltered problems of the last analysis in the given build
+	 * state, so that later changes of the API problem filters can be applied
+	 * without analyzing the project again
+	 *
+	 * @param state the build state to record the problems in
+	 * @param context the context of an incremental build, <code>null</code>
+	 *            for a full build
+	 */
+	void recordProblems(BuildState state, IBuildContext context) {
+		if (state == null) {
+			return;
+		}
+		if (!(getAnalyzer() instanceof BaseApiAnalyzer)) {
+			state.discardProblems();
+			return;
+		}
+		if (context == null) {
+			state.clearProblems();
+		} else {
+			// the problems of all analyzed types are reported again
+			state.cleanupComponentProblems();
+			cleanupProblems(state, context.getStructurallyChangedTypes());
+			cleanupProblems(state, context.getDescriptionChangedTypes());
+			cleanupProblems(state, context.getDescriptionDependentTypes());
+			cleanupProblems(state, context.getRemovedTypes());
+		}
+		for (IApiProblem problem : ((BaseApiAnalyzer) getAnalyzer()).getUnfilteredProblems()) {
+			state.addProblem(problem);
+		}
+	}
+
+	private static void cleanupProblems(BuildState state, String[] types) {
+		for (String type : types) {
+			state.cleanupProblems(type);
+		}
+	}
+
 	/**
 	 * Creates or removes markers, uses the current project rule.
 	 * The tasks to do are maintained by markersQueue and executed in the submission order
@@ -964,10 +1125,28 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	 */
 	protected void createMarkers() {
 		IApiProblem[] problems = getAnalyzer().getProblems();
+		MarkerUpdate update = fMarkerUpdate.get();
+		if (update != null) {
+			// later cleanups of this build are compared with later markers
+			fMarkerUpdate.set(new MarkerUpdate());
+		} else {
+			update = new MarkerUpdate();
+		}
+		applyMarkers(problems, update);
+	}
+
+	/**
+	 * Creates the markers of the given problems and deletes the stale markers
+	 * of the given update, as a job if the analysis runs as a job
+	 *
+	 * @param problems the problems or <code>null</code> to only delete the
+	 *            stale markers
+	 */
+	private void applyMarkers(IApiProblem[] problems, MarkerUpdate update) {
 		if (isRunningAsJob()) {
-			new ApiAnalysisMarkersJob(() -> createMarkersInternally(problems)).schedule();
+			new ApiAnalysisMarkersJob(() -> createMarkersInternally(problems, update)).schedule();
 		} else {
-			createMarkersInternally(problems);
+			createMarkersInternally(problems, update);
 		}
 	}
 
@@ -977,28 +1156,69 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	 * framework, no work is done.
 	 */
 	protected void createMarkersInternally(IApiProblem[] problems) {
-		try {
-			IResource manifest = Util.getManifestFile(this.currentproject);
-			if (manifest != null) {
-				manifest.deleteMarkers(IApiMarkerConstants.VERSION_NUMBERING_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
-			}
-			this.currentproject.deleteMarkers(IApiMarkerConstants.DEFAULT_API_BASELINE_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
-			this.currentproject.deleteMarkers(IApiMarkerConstants.API_COMPONENT_RESOLUTION_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
+		createMarkersInternally(problems, new MarkerUpdate());
+	}
+
+	/**
+	 * Creates the markers of the given problems, keeping the stale markers of
+	 * the given update that are identical to new ones and deleting the others.
+	 * All the changes are made in a single workspace operation.
+	 *
+	 * @param problems the problems or <code>null</code> to only delete the
+	 *            stale markers
+	 */
+	private void createMarkersInternally(IApiProblem[] problems, MarkerUpdate update) {
+		AnalysisMetrics metrics = AnalysisMetrics.getDefault();
+		String componentName = getComponentName(metrics);
+		IApiProblem[] allProblems = problems == null ? new IApiProblem[0] : problems;
+		metrics.count(AnalysisMetrics.PROBLEMS, componentName, allProblems.length);
+		try (AnalysisMetrics.Timer timer = metrics.time(AnalysisMetrics.MARKERS, componentName)) {
+			ResourcesPlugin.getWorkspace().run(monitor -> {
+				if (problems != null) {
+					IResource manifest = Util.getManifestFile(this.currentproject);
+					if (manifest != null) {
+						update.deleteMarkers(manifest, IApiMarkerConstants.VERSION_NUMBERING_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
+					}
+					update.deleteMarkers(this.currentproject, IApiMarkerConstants.DEFAULT_API_BASELINE_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
+					update.deleteMarkers(this.currentproject, IApiMarkerConstants.API_COMPONENT_RESOLUTION_PROBLEM_MARKER, false, IResource.DEPTH_ZERO);
+				}
+				update.resolveDeletions();
+				String type = null;
+				for (IApiProblem problem : allProblems) {
+					int category = problem.getCategory();
+					type = getProblemTypeFromCategory(category, problem.getKind());
+					if (type == null) {
+						continue;
+					}
+					if (ApiPlugin.DEBUG_BUILDER) {
+						System.out.println("ApiAnalysisBuilder: creating marker for: " + problem.toString()); //$NON-NLS-1$
+					}
+					createMarkerForProblem(category, type, problem, update);
+				}
+				update.deleteStaleMarkers();
+				if (ApiPlugin.DEBUG_BUILDER) {
+					System.out.println("ApiAnalysisBuilder: " + update); //$NON-NLS-1$
+				}
+			}, ResourcesPlugin.getWorkspace().getRuleFactory().markerRule(this.currentproject), IWorkspace.AVOID_UPDATE, null);
 		} catch (CoreException e) {
 			ApiPlugin.log(e);
 		}
-		String type = null;
-		for (IApiProblem problem : problems) {
-			int category = problem.getCategory();
-			type = getProblemTypeFromCategory(category, problem.getKind());
-			if (type == null) {
-				continue;
-			}
-			if (ApiPlugin.DEBUG_BUILDER) {
-				System.out.println("ApiAnalysisBuilder: creating marker for: " + problem.toString()); //$NON-NLS-1$
-			}
-			createMarkerForProblem(category, type, problem);
+	}
+
+	/**
+	 * Returns the symbolic name the metrics of the current project are
+	 * reported for
+	 *
+	 * @return the symbolic name or <code>null</code> if metrics are not
+	 *         collected or the project has no API component
+	 */
+	private String getComponentName(AnalysisMetrics metrics) {
+		if (!metrics.isEnabled()) {
+			return null;
 		}
+		IApiBaseline wbaseline = ApiPlugin.getDefault().getApiBaselineManager().getWorkspaceBaseline();
+		IApiComponent component = wbaseline == null ? null : wbaseline.getApiComponent(this.currentproject);
+		return component == null ? null : component.getSymbolicName();
 	}
 
 	/**
@@ -1060,6 +1280,22 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 	 * @param problem the problem to create a marker from
 	 */
 	void createMarkerForProblem(int category, String type, IApiProblem problem) {
+		createMarkerForProblem(category, type, problem, null);
+	}
+
+	/**
+	 * Creates an {@link IMarker} on the resource specified in the problem (via
+	 * its path) with the given problem attributes, or keeps an identical marker
+	 * recorded as stale in the given update
+	 *
+	 * @param category the category of the problem - see {@link IApiProblem} for
+	 *            categories
+	 * @param type the marker type to create - see {@link IApiMarkerConstants}
+	 *            for types
+	 * @param problem the problem to create a marker from
+	 * @param update the update of the markers of the build or <code>null</code>
+	 */
+	private void createMarkerForProblem(int category, String type, IApiProblem problem, MarkerUpdate update) {
 		IResource resource = resolveResource(problem);
 		if (resource == null) {
 			return;
@@ -1068,6 +1304,10 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 			if (category == IApiProblem.CATEGORY_API_USE_SCAN_PROBLEM) {
 				IMarker[] markers = resource.findMarkers(type, true, IResource.DEPTH_ZERO);
 				for (IMarker marker : markers) {
+					if (update != null && update.isStale(marker)) {
+						// kept by the update if identical
+						continue;
+					}
 					String msg = marker.getAttribute(IMarker.MESSAGE, null);
 					if (msg == null || msg.equalsIgnoreCase(problem.getMessage())) {
 						int markerSeverity = marker.getAttribute(IMarker.SEVERITY, 0);
@@ -1080,22 +1320,6 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 					}
 				}
 			}
-			IMarker marker = null;
-			if (problem.getKind() == IApiProblem.API_BASELINE_MISMATCH
-					&& category == IApiProblem.CATEGORY_API_BASELINE) {
-				// need a workspace marker
-				IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
-				IMarker[] findMarkers = root.findMarkers(type, false, IResource.DEPTH_ZERO);
-				if (findMarkers.length == 0) {
-					marker = root.createMarker(type);
-				}
-				else {
-					marker = findMarkers[0];
-				}
-			} else {
-				marker = resource.createMarker(type);
-			}
-
 			int line = problem.getLineNumber();
 			switch (category)
 				{
@@ -1109,27 +1333,49 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 					line++;
 				}
 			}
-			marker.setAttributes(new String[] {
-					IMarker.MESSAGE, IMarker.SEVERITY, IMarker.LINE_NUMBER,
-					IMarker.CHAR_START, IMarker.CHAR_END, IMarker.SOURCE_ID,
-					IApiMarkerConstants.MARKER_ATTR_PROBLEM_ID }, new Object[] {
-					problem.getMessage(),
-					Integer.valueOf(ApiPlugin.getDefault().getSeverityLevel(ApiProblemFactory.getProblemSeverityId(problem), this.currentproject)),
-					Integer.valueOf(line), Integer.valueOf(problem.getCharStart()),
-					Integer.valueOf(problem.getCharEnd()),
-					ApiAnalysisBuilder.SOURCE, Integer.valueOf(problem.getId()) });
+			// all the attributes are set at once
+			Map<String, Object> attributes = new HashMap<>();
+			attributes.put(IMarker.MESSAGE, problem.getMessage());
+			attributes.put(IMarker.SEVERITY, Integer.valueOf(ApiPlugin.getDefault().getSeverityLevel(ApiProblemFactory.getProblemSeverityId(problem), this.currentproject)));
+			attributes.put(IMarker.LINE_NUMBER, Integer.valueOf(line));
+			attributes.put(IMarker.CHAR_START, Integer.valueOf(problem.getCharStart()));
+			attributes.put(IMarker.CHAR_END, Integer.valueOf(problem.getCharEnd()));
+			attributes.put(IMarker.SOURCE_ID, ApiAnalysisBuilder.SOURCE);
+			attributes.put(IApiMarkerConstants.MARKER_ATTR_PROBLEM_ID, Integer.valueOf(problem.getId()));
 			// add message arguments, if any
 			String[] args = problem.getMessageArguments();
 			if (args.length > 0) {
-				marker.setAttribute(IApiMarkerConstants.MARKER_ATTR_MESSAGE_ARGUMENTS, createArgAttribute(args));
+				attributes.put(IApiMarkerConstants.MARKER_ATTR_MESSAGE_ARGUMENTS, createArgAttribute(args));
 			}
 			String typeName = problem.getTypeName();
 			if (typeName != null) {
-				marker.setAttribute(IApiMarkerConstants.MARKER_ATTR_PROBLEM_TYPE_NAME, typeName);
+				attributes.put(IApiMarkerConstants.MARKER_ATTR_PROBLEM_TYPE_NAME, typeName);
 			}
 			// add all other extra arguments, if any
-			if (problem.getExtraMarkerAttributeIds().length > 0) {
-				marker.setAttributes(problem.getExtraMarkerAttributeIds(), problem.getExtraMarkerAttributeValues());
+			String[] ids = problem.getExtraMarkerAttributeIds();
+			Object[] values = problem.getExtraMarkerAttributeValues();
+			for (int i = 0; i < ids.length; i++) {
+				attributes.put(ids[i], values[i]);
+			}
+			// unset attributes are not stored
+			attributes.values().removeIf(Objects::isNull);
+			IMarker marker = null;
+			if (problem.getKind() == IApiProblem.API_BASELINE_MISMATCH
+					&& category == IApiProblem.CATEGORY_API_BASELINE) {
+				// need a workspace marker
+				IWorkspaceRoot root = ResourcesPlugin.getWorkspace().getRoot();
+				IMarker[] findMarkers = root.findMarkers(type, false, IResource.DEPTH_ZERO);
+				if (findMarkers.length == 0) {
+					marker = root.createMarker(type, attributes);
+				}
+				else {
+					marker = findMarkers[0];
+					marker.setAttributes(attributes);
+				}
+			} else if (update != null) {
+				marker = update.createMarker(resource, type, attributes);
+			} else {
+				marker = resource.createMarker(type, attributes);
 			}
 			if (ApiPlugin.DEBUG_BUILDER) {
 				System.out.println("ApiAnalysisBuilder: Created the marker: " + marker.getId() + " - " + marker.getAttributes().entrySet()); //$NON-NLS-1$ //$NON-NLS-2$
@@ -1211,6 +1457,7 @@ public class ApiAnalysisBuilder extends IncrementalProjectBuilder {
 			localmonitor.split(1);
 		} finally {
 			BuildState.setLastBuiltState(this.currentproject, null);
+			ReferenceCache.delete(this.currentproject);
 		}
 	}
 
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2023 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,9 +24,11 @@ import java.nio.charset.StandardCharsets;
 import java.text.MessageFormat;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Properties;
@@ -58,12 +60,12 @@ import org.eclipse.jdt.core.IPackageFragmentRoot;
 import org.eclipse.jdt.core.IParent;
 import org.eclipse.jdt.core.ISourceRange;
 import org.eclipse.jdt.core.IType;
-import org.eclipse.jdt.core.ITypeRoot;
 import org.eclipse.jdt.core.JavaCore;
 import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.jdt.core.compiler.CharOperation;
 import org.eclipse.jdt.core.dom.AST;
 import org.eclipse.jdt.core.dom.ASTParser;
+import org.eclipse.jdt.core.dom.ASTRequestor;
 import org.eclipse.jdt.core.dom.CompilationUnit;
 import org.eclipse.jdt.internal.core.BinaryType;
 import org.eclipse.jface.text.BadLocationException;
@@ -111,6 +113,7 @@ import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblemFilter
 import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblemTypes;
 import org.eclipse.pde.api.tools.internal.search.IReferenceDescriptor;
 import org.eclipse.pde.api.tools.internal.search.UseScanManager;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics;
 import org.eclipse.pde.api.tools.internal.util.Signatures;
 import org.eclipse.pde.api.tools.internal.util.SinceTagVersion;
 import org.eclipse.pde.api.tools.internal.util.Util;
@@ -144,6 +147,12 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 	 */
 	private ArrayList<IApiProblem> fProblems = new ArrayList<>(25);
 
+	/**
+	 * The problems found so far before API problem filters were applied, only
+	 * collected when analyzing workspace projects
+	 */
+	private ArrayList<IApiProblem> fUnfilteredProblems = new ArrayList<>(25);
+
 	/**
 	 * List of pending deltas for which the @since tags should be checked
 	 */
@@ -175,6 +184,19 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 	 */
 	private boolean fContinueOnResolutionError = false;
 
+	/**
+	 * Number of compilation units parsed together in one
+	 * {@link ASTParser#createASTs} batch during tag validation
+	 */
+	private static final int AST_BATCH_SIZE = 64;
+
+	/**
+	 * ASTs created during the analysis of one component, shared between the
+	 * since tag checks and the tag and annotation validation so every
+	 * compilation unit is parsed at most once per build
+	 */
+	private final Map<ICompilationUnit, CompilationUnit> fASTs = new HashMap<>();
+
 	/**
 	 * Constructs an API analyzer
 	 */
@@ -305,6 +327,8 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 			if (ApiPlugin.DEBUG_API_ANALYZER) {
 				System.out.println("Trapped OperationCanceledException"); //$NON-NLS-1$
 			}
+		} finally {
+			fASTs.clear();
 		}
 	}
 
@@ -884,20 +908,58 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 	}
 
 	/**
-	 * Creates and AST for the given {@link ITypeRoot} at the given offset
+	 * Returns the AST for the given {@link ICompilationUnit}, parsing it if it
+	 * has not been parsed during this build yet
 	 */
-	private CompilationUnit createAST(ITypeRoot root, int offset) {
+	private CompilationUnit getAST(ICompilationUnit unit) {
 		if (fJavaProject == null) {
 			return null;
 		}
+		CompilationUnit ast = fASTs.get(unit);
+		if (ast == null) {
+			ASTParser parser = createParser();
+			parser.setSource(unit);
+			ast = (CompilationUnit) parser.createAST(new NullProgressMonitor());
+			fASTs.put(unit, ast);
+		}
+		return ast;
+	}
+
+	/**
+	 * Parses all given compilation units that have not been parsed during this
+	 * build yet in a single batch
+	 */
+	private void createASTs(Collection<ICompilationUnit> units) {
+		if (fJavaProject == null) {
+			return;
+		}
+		List<ICompilationUnit> toParse = new ArrayList<>(units.size());
+		for (ICompilationUnit unit : units) {
+			// a batch can only contain units of one project
+			if (!fASTs.containsKey(unit) && fJavaProject.equals(unit.getJavaProject())) {
+				toParse.add(unit);
+			}
+		}
+		if (toParse.size() < 2) {
+			// nothing to gain from a batch, parse on demand
+			return;
+		}
+		ASTParser parser = createParser();
+		parser.createASTs(toParse.toArray(new ICompilationUnit[toParse.size()]), new String[0], new ASTRequestor() {
+			@Override
+			public void acceptAST(ICompilationUnit source, CompilationUnit ast) {
+				fASTs.put(source, ast);
+			}
+		}, new NullProgressMonitor());
+	}
+
+	private ASTParser createParser() {
 		ASTParser parser = ASTParser.newParser(AST.getJLSLatest());
-		parser.setFocalPosition(offset);
 		parser.setResolveBindings(false);
-		parser.setSource(root);
 		Map<String, String> options = fJavaProject.getOptions(true);
 		options.put(JavaCore.COMPILER_DOC_COMMENT_SUPPORT, JavaCore.ENABLED);
 		parser.setCompilerOptions(options);
-		return (CompilationUnit) parser.createAST(new NullProgressMonitor());
+		return parser;
 	}
 
 	/**
@@ -955,6 +1017,50 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 		return types.toArray(new IReferenceTypeDescriptor[types.size()]);
 	}
 
+	/**
+	 * Returns the problems found by the last analysis before API problem
+	 * filters were applied. Problems reported for components that are not
+	 * workspace projects and unused filter problems are not included.
+	 *
+	 * @return the unfiltered problems, never <code>null</code>
+	 */
+	public IApiProblem[] getUnfilteredProblems() {
+		if (fUnfilteredProblems == null) {
+			return new IApiProblem[0];
+		}
+		return fUnfilteredProblems.toArray(new IApiProblem[fUnfilteredProblems.size()]);
+	}
+
+	/**
+	 * Applies the current API problem filters of the given component to the
+	 * unfiltered problems of a previous analysis without analyzing the
+	 * component again. The problems that are not filtered are available from
+	 * {@link #getProblems()} afterwards.
+	 *
+	 * @param problems the unfiltered problems of the previous analysis
+	 * @param component the component the problems were reported for
+	 * @param checkfilters if unused problem filters should be reported
+	 * @param monitor the progress monitor
+	 */
+	public void filterProblems(IApiProblem[] problems, IApiComponent component, boolean checkfilters, IProgressMonitor monitor) {
+		SubMonitor localMonitor = SubMonitor.convert(monitor, 2);
+		try {
+			this.fJavaProject = getJavaProject(component);
+			if (checkfilters && !ignoreUnusedProblemFilterCheck()) {
+				((ApiFilterStore) component.getFilterStore()).recordFilterUsage();
+			}
+			for (IApiProblem problem : problems) {
+				addProblem(problem);
+			}
+			localMonitor.split(1);
+			if (checkfilters) {
+				checkUnusedProblemFilters(new BuildContext(), component, localMonitor.split(1));
+			}
+		} catch (CoreException e) {
+			ApiPlugin.log(e);
+		}
+	}
+
 	@Override
 	public IApiProblem[] getProblems() {
 		if (fProblems == null) {
@@ -965,10 +1071,15 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 
 	@Override
 	public void dispose() {
+		fASTs.clear();
 		if (fProblems != null) {
 			fProblems.clear();
 			fProblems = null;
 		}
+		if (fUnfilteredProblems != null) {
+			fUnfilteredProblems.clear();
+			fUnfilteredProblems = null;
+		}
 		if (fPendingDeltaInfos != null) {
 			fPendingDeltaInfos.clear();
 			fPendingDeltaInfos = null;
@@ -1121,40 +1232,53 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 		if (tags && annotations) {
 			return;
 		}
-		SubMonitor localMonitor = SubMonitor.convert(monitor, BuilderMessages.BaseApiAnalyzer_validating_javadoc_tags, 1);
+		SubMonitor localMonitor = SubMonitor.convert(monitor, BuilderMessages.BaseApiAnalyzer_validating_javadoc_tags, 2);
+		Set<ICompilationUnit> units = new LinkedHashSet<>();
 		if (context.hasTypes()) {
 			String[] typenames = context.getStructurallyChangedTypes();
-			localMonitor.setWorkRemaining(typenames.length);
+			SubMonitor collectMonitor = localMonitor.split(1).setWorkRemaining(typenames.length);
 			for (String typename : typenames) {
 				if (typename == null) {
 					continue;
 				}
-				localMonitor.subTask(NLS.bind(BuilderMessages.BaseApiAnalyzer_scanning_0, typename));
-				processType(typename, !tags, !annotations);
-				localMonitor.split(1);
+				collectMonitor.subTask(NLS.bind(BuilderMessages.BaseApiAnalyzer_scanning_0, typename));
+				collectCompilationUnit(typename, units);
+				collectMonitor.split(1);
 			}
 		} else {
 			try {
 				IPackageFragmentRoot[] roots = fJavaProject.getPackageFragmentRoots();
 
-				localMonitor.setWorkRemaining(roots.length);
+				SubMonitor collectMonitor = localMonitor.split(1).setWorkRemaining(roots.length);
 				for (IPackageFragmentRoot root : roots) {
 					if (root.getKind() == IPackageFragmentRoot.K_SOURCE) {
-						localMonitor.subTask(NLS.bind(BuilderMessages.BaseApiAnalyzer_scanning_0, root.getPath().toOSString()));
-						scanSource(root, !tags, !annotations, localMonitor.split(1));
+						collectMonitor.subTask(NLS.bind(BuilderMessages.BaseApiAnalyzer_scanning_0, root.getPath().toOSString()));
+						scanSource(root, units, collectMonitor.split(1));
 					}
 				}
 			} catch (JavaModelException jme) {
 				ApiPlugin.log(jme);
 			}
 		}
+		// parse the units in batches, tag validation is the last step that
+		// needs the ASTs so they are released once validated
+		List<ICompilationUnit> batch = new ArrayList<>(AST_BATCH_SIZE);
+		SubMonitor processMonitor = localMonitor.split(1).setWorkRemaining(units.size());
+		for (ICompilationUnit unit : units) {
+			batch.add(unit);
+			if (batch.size() == AST_BATCH_SIZE) {
+				processTypes(batch, !tags, !annotations, processMonitor.split(batch.size()));
+				batch.clear();
+			}
+		}
+		processTypes(batch, !tags, !annotations, processMonitor.split(batch.size()));
 	}
 
 	/**
-	 * Recursively finds all source in the given project and scans it for
-	 * invalid tags
+	 * Recursively finds all source in the given project to scan it for invalid
+	 * tags
 	 */
-	private void scanSource(IJavaElement element, boolean tags, boolean annotations, IProgressMonitor monitor) throws JavaModelException {
+	private void scanSource(IJavaElement element, Set<ICompilationUnit> units, IProgressMonitor monitor) throws JavaModelException {
 		SubMonitor subMonitor = SubMonitor.convert(monitor);
 		switch (element.getElementType()) {
 			case IJavaElement.PACKAGE_FRAGMENT_ROOT:
@@ -1163,13 +1287,12 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 				IJavaElement[] children = parent.getChildren();
 				subMonitor.setWorkRemaining(children.length);
 				for (IJavaElement javaElement : children) {
-					scanSource(javaElement, tags, annotations, subMonitor.split(1));
+					scanSource(javaElement, units, subMonitor.split(1));
 				}
 				break;
 			}
 			case IJavaElement.COMPILATION_UNIT: {
-				ICompilationUnit unit = (ICompilationUnit) element;
-				processType(unit, tags, annotations);
+				units.add((ICompilationUnit) element);
 				break;
 			}
 			default:
@@ -1178,9 +1301,10 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 	}
 
 	/**
-	 * Processes the given type name for invalid Javadoc tags
+	 * Collects the compilation unit of the given type name to scan it for
+	 * invalid Javadoc tags
 	 */
-	private void processType(String typename, boolean tags, boolean annotations) {
+	private void collectCompilationUnit(String typename, Set<ICompilationUnit> units) {
 		try {
 			IType type = fJavaProject.findType(typename);
 			IType typeInProject = Util.getTypeInSameJavaProject(type, typename, fJavaProject);
@@ -1192,7 +1316,7 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 				// unit
 				ICompilationUnit cunit = type.getCompilationUnit();
 				if (cunit != null) {
-					processType(cunit, tags, annotations);
+					units.add(cunit);
 				}
 			}
 		} catch (JavaModelException e) {
@@ -1201,18 +1325,24 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 	}
 
 	/**
-	 * Processes the given {@link ICompilationUnit} for invalid tags
+	 * Processes the given {@link ICompilationUnit}s for invalid tags
 	 */
-	private void processType(ICompilationUnit cunit, boolean tags, boolean annotations) {
-		CompilationUnit comp = createAST(cunit, 0);
-		if (comp == null) {
-			return;
-		}
-		TagValidator tv = new TagValidator(cunit, tags, annotations);
-		comp.accept(tv);
-		IApiProblem[] tagProblems = tv.getProblems();
-		for (IApiProblem tagProblem : tagProblems) {
-			addProblem(tagProblem);
+	private void processTypes(List<ICompilationUnit> units, boolean tags, boolean annotations, IProgressMonitor monitor) {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, units.size());
+		createASTs(units);
+		for (ICompilationUnit cunit : units) {
+			CompilationUnit comp = getAST(cunit);
+			fASTs.remove(cunit);
+			subMonitor.split(1);
+			if (comp == null) {
+				continue;
+			}
+			TagValidator tv = new TagValidator(cunit, tags, annotations);
+			comp.accept(tv);
+			IApiProblem[] tagProblems = tv.getProblems();
+			for (IApiProblem tagProblem : tagProblems) {
+				addProblem(tagProblem);
+			}
 		}
 	}
 
@@ -1243,6 +1373,10 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 		}
 		SubMonitor localMonitor = SubMonitor.convert(monitor, MessageFormat.format(BuilderMessages.checking_api_usage, component.getSymbolicName()), 2);
 		ReferenceAnalyzer analyzer = new ReferenceAnalyzer();
+		// unchanged class files of the project reuse the references extracted
+		// by previous builds
+		ReferenceCache cache = fJavaProject != null ? ReferenceCache.load(fJavaProject.getProject()) : null;
+		analyzer.setReferenceCache(cache);
 		try {
 			long start = System.currentTimeMillis();
 			IApiProblem[] illegal = analyzer.analyze(component, scope, localMonitor.split(2));
@@ -1257,6 +1391,13 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 			if (ApiPlugin.DEBUG_API_ANALYZER) {
 				ApiPlugin.log(ce);
 			}
+		} finally {
+			if (cache != null) {
+				if (!context.hasTypes()) {
+					cache.prune();
+				}
+				cache.save();
+			}
 		}
 	}
 
@@ -1404,7 +1545,9 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 				if (reexported) {
 					exporter = component;
 				}
-				delta = ApiComparator.compare(classFile, reference, provider, exporter, reference.getBaseline(), provider.getBaseline(), VisibilityModifiers.API, subMonitor.split(1));
+				try (AnalysisMetrics.Timer timer = AnalysisMetrics.getDefault().time(AnalysisMetrics.COMPATIBILITY, component.getSymbolicName())) {
+					delta = ApiComparator.compare(classFile, reference, provider, exporter, reference.getBaseline(), provider.getBaseline(), VisibilityModifiers.API, subMonitor.split(1));
+				}
 			} catch (OperationCanceledException oce) {
 				// do nothing, but don't forward it
 				// https://bugs.eclipse.org/bugs/show_bug.cgi?id=304315
@@ -1434,9 +1577,12 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 			if (!fPendingDeltaInfos.isEmpty()) {
 				SubMonitor checkLoopMonitor = subMonitor.split(1).setWorkRemaining(fPendingDeltaInfos.size());
 				subMonitor.subTask(BuilderMessages.BaseApiAnalyzer_checking_since_tags);
-				for (IDelta d : fPendingDeltaInfos) {
-					checkLoopMonitor.split(1);
-					checkSinceTags((Delta) d, component);
+				try (AnalysisMetrics.Timer timer = AnalysisMetrics.getDefault().time(AnalysisMetrics.SINCE_TAGS, component.getSymbolicName())) {
+					createSinceTagASTs();
+					for (IDelta d : fPendingDeltaInfos) {
+						checkLoopMonitor.split(1);
+						checkSinceTags((Delta) d, component);
+					}
 				}
 			}
 		}
@@ -1453,7 +1599,7 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 			delta = new Delta(null, IDelta.API_BASELINE_ELEMENT_TYPE, IDelta.ADDED, IDelta.API_COMPONENT, null, component.getSymbolicName(), component.getSymbolicName());
 			localmonitor.split(1);
 		} else {
-			try {
+			try (AnalysisMetrics.Timer timer = AnalysisMetrics.getDefault().time(AnalysisMetrics.COMPATIBILITY, component.getSymbolicName())) {
 				delta = ApiComparator.compare(reference, component, VisibilityModifiers.API, localmonitor.split(1));
 			} finally {
 				if (ApiPlugin.DEBUG_API_ANALYZER) {
@@ -1477,9 +1623,12 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 				localmonitor.subTask(BuilderMessages.BaseApiAnalyzer_checking_since_tags);
 				SubMonitor checkLoopMonitor = localmonitor.split(1).setWorkRemaining(fPendingDeltaInfos.size());
 				if (!fPendingDeltaInfos.isEmpty()) {
-					for (IDelta d : fPendingDeltaInfos) {
-						checkLoopMonitor.split(1);
-						checkSinceTags((Delta) d, component);
+					try (AnalysisMetrics.Timer timer = AnalysisMetrics.getDefault().time(AnalysisMetrics.SINCE_TAGS, component.getSymbolicName())) {
+						createSinceTagASTs();
+						for (IDelta d : fPendingDeltaInfos) {
+							checkLoopMonitor.split(1);
+							checkSinceTags((Delta) d, component);
+						}
 					}
 				}
 			}
@@ -1545,6 +1694,36 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 		return !new HashSet<>(Arrays.asList(refExecutionEnv)).equals(new HashSet<>(Arrays.asList(compExecutionEnv)));
 	}
 
+	/**
+	 * Parses the compilation units of all pending deltas in one batch ahead of
+	 * the since tag checks
+	 */
+	private void createSinceTagASTs() {
+		if (ignoreSinceTagCheck(null)) {
+			return;
+		}
+		Set<ICompilationUnit> units = new LinkedHashSet<>();
+		for (IDelta d : fPendingDeltaInfos) {
+			IMember member = Util.getIMember(d, fJavaProject);
+			if (member == null || member.isBinary()) {
+				continue;
+			}
+			ICompilationUnit cunit = member.getCompilationUnit();
+			if (cunit == null) {
+				continue;
+			}
+			try {
+				if (!cunit.isConsistent()) {
+					cunit.makeConsistent(null);
+				}
+			} catch (JavaModelException e) {
+				ApiPlugin.log(e);
+			}
+			units.add(cunit);
+		}
+		createASTs(units);
+	}
+
 	/**
 	 * Processes delta to determine if it needs an @since tag. If it does and
 	 * one is not present or the version of the tag is incorrect, a marker is
@@ -1582,7 +1761,7 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 		}
 		try {
 			int offset = nameRange.getOffset();
-			CompilationUnit comp = createAST(cunit, offset);
+			CompilationUnit comp = getAST(cunit);
 			if (comp == null) {
 				return;
 			}
@@ -2594,12 +2773,24 @@ public class BaseApiAnalyzer implements IApiAnalyzer {
 	 * and not filtered
 	 */
 	private boolean addProblem(IApiProblem problem) {
-		if (problem == null || isProblemFiltered(problem)) {
+		if (problem == null) {
+			return false;
+		}
+		if (fJavaProject != null && fUnfilteredProblems != null && !isUnusedFilterProblem(problem)) {
+			// unused filter problems depend on the filters and are computed
+			// again whenever the recorded problems are filtered
+			fUnfilteredProblems.add(problem);
+		}
+		if (isProblemFiltered(problem)) {
 			return false;
 		}
 		return fProblems.add(problem);
 	}
 
+	private static boolean isUnusedFilterProblem(IApiProblem problem) {
+		return problem.getCategory() == IApiProblem.CATEGORY_USAGE && problem.getKind() == IApiProblem.UNUSED_PROBLEM_FILTERS;
+	}
+
 	/**
 	 * Returns if the given {@link IApiProblem} should be filtered from having a
 	 * problem marker created for it
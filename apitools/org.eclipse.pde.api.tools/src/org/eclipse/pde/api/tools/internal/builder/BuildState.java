@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2021 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -28,6 +28,7 @@ import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Set;
@@ -44,9 +45,11 @@ import org.eclipse.jdt.core.JavaModelException;
 import org.eclipse.osgi.util.NLS;
 import org.eclipse.pde.api.tools.internal.comparator.Delta;
 import org.eclipse.pde.api.tools.internal.model.ProjectComponent;
+import org.eclipse.pde.api.tools.internal.problems.ApiProblemFactory;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.comparator.IDelta;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblem;
 import org.eclipse.pde.api.tools.internal.util.Util;
 import org.eclipse.pde.core.build.IBuildEntry;
 import org.eclipse.pde.core.build.IBuildModel;
@@ -59,7 +62,14 @@ import org.eclipse.pde.core.build.IBuildModel;
 public class BuildState {
 	private static final IDelta[] EMPTY_DELTAS = new IDelta[0];
 	private static final String[] NO_REEXPORTED_COMPONENTS = new String[0];
-	private static final int VERSION = 33;
+	private static final IApiProblem[] NO_PROBLEMS = new IApiProblem[0];
+	private static final int VERSION = 34;
+
+	/**
+	 * Key of the problems that are not reported against a type, e.g. version
+	 * or baseline problems
+	 */
+	private static final String COMPONENT_PROBLEMS = ""; //$NON-NLS-1$
 
 	private final Map<String, Set<IDelta>> compatibleChanges;
 	private final Map<String, Set<IDelta>> breakingChanges;
@@ -78,6 +88,13 @@ public class BuildState {
 	private String[] reexportedComponents;
 	private Set<String> apiToolingDependentProjects;
 	private long buildpathCRC = -1L;
+	/**
+	 * Problems reported by the last analysis before the API problem filters
+	 * were applied, keyed by the top-level type they were reported against.
+	 * <code>null</code> if they are unknown, e.g. for a state written by an
+	 * older version
+	 */
+	private Map<String, List<IApiProblem>> problems;
 
 	/**
 	 * Constructor
@@ -87,6 +104,7 @@ public class BuildState {
 		this.breakingChanges = new LinkedHashMap<>();
 		this.manifestChanges = new LinkedHashMap<>();
 		this.buildPropChanges = new LinkedHashMap<>();
+		this.problems = new LinkedHashMap<>();
 	}
 
 	/**
@@ -155,6 +173,16 @@ public class BuildState {
 					}
 					state.setBuildPropertiesState(map);
 				}
+				count = in.readInt();
+				if (count >= 0) {
+					for (int i = 0; i < count; i++) {
+						state.addProblem(readProblem(in));
+					}
+				} else {
+					state.problems = null;
+				}
+			} else {
+				state.problems = null;
 			}
 			return state;
 		}
@@ -210,6 +238,15 @@ public class BuildState {
 			out.writeUTF(entry.getKey());
 			out.writeUTF(entry.getValue());
 		}
+		if (state.hasProblems()) {
+			IApiProblem[] recorded = state.getProblems();
+			out.writeInt(recorded.length);
+			for (IApiProblem problem : recorded) {
+				writeProblem(problem, out);
+			}
+		} else {
+			out.writeInt(-1);
+		}
 	}
 
 	/**
@@ -284,6 +321,96 @@ public class BuildState {
 		}
 	}
 
+	/**
+	 * Reads an {@link IApiProblem} from the build state (input stream)
+	 *
+	 * @param in the input stream to read the {@link IApiProblem} from
+	 * @return a reconstructed {@link IApiProblem} from the build state
+	 */
+	private static IApiProblem readProblem(DataInputStream in) throws IOException {
+		String resourcePath = readString(in);
+		String typeName = readString(in);
+		int id = in.readInt();
+		int lineNumber = in.readInt();
+		int charStart = in.readInt();
+		int charEnd = in.readInt();
+		int length = in.readInt();
+		String[] messageArguments = new String[length];
+		for (int i = 0; i < length; i++) {
+			messageArguments[i] = readString(in);
+		}
+		length = in.readInt();
+		String[] argumentIds = new String[length];
+		Object[] arguments = new Object[length];
+		for (int i = 0; i < length; i++) {
+			argumentIds[i] = in.readUTF();
+			switch (in.readByte()) {
+				case 'I': {
+					arguments[i] = Integer.valueOf(in.readInt());
+					break;
+				}
+				case 'Z': {
+					arguments[i] = Boolean.valueOf(in.readBoolean());
+					break;
+				}
+				default: {
+					arguments[i] = readString(in);
+					break;
+				}
+			}
+		}
+		return ApiProblemFactory.newApiProblem(resourcePath, typeName, messageArguments, argumentIds, arguments, lineNumber, charStart, charEnd, id);
+	}
+
+	/**
+	 * Writes a given {@link IApiProblem} to the build state (the output
+	 * stream)
+	 *
+	 * @param problem the problem to write
+	 * @param out the stream to write to
+	 */
+	private static void writeProblem(IApiProblem problem, DataOutputStream out) throws IOException {
+		writeString(problem.getResourcePath(), out);
+		writeString(problem.getTypeName(), out);
+		out.writeInt(problem.getId());
+		out.writeInt(problem.getLineNumber());
+		out.writeInt(problem.getCharStart());
+		out.writeInt(problem.getCharEnd());
+		String[] messageArguments = problem.getMessageArguments();
+		out.writeInt(messageArguments.length);
+		for (String argument : messageArguments) {
+			writeString(argument, out);
+		}
+		String[] argumentIds = problem.getExtraMarkerAttributeIds();
+		Object[] arguments = problem.getExtraMarkerAttributeValues();
+		out.writeInt(argumentIds.length);
+		for (int i = 0; i < argumentIds.length; i++) {
+			out.writeUTF(argumentIds[i]);
+			// marker attributes can only be integers, booleans or strings
+			if (arguments[i] instanceof Integer value) {
+				out.writeByte('I');
+				out.writeInt(value.intValue());
+			} else if (arguments[i] instanceof Boolean value) {
+				out.writeByte('Z');
+				out.writeBoolean(value.booleanValue());
+			} else {
+				out.writeByte('S');
+				writeString(arguments[i] == null ? null : arguments[i].toString(), out);
+			}
+		}
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	private static void writeString(String value, DataOutputStream out) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
 	/**
 	 * Adds an {@link IDelta} for a compatible compatibility change to the
 	 * current state
@@ -371,6 +498,87 @@ public class BuildState {
 		this.breakingChanges.remove(typeName);
 		this.compatibleChanges.remove(typeName);
 		this.reexportedComponents = null;
+		cleanupProblems(typeName);
+	}
+
+	/**
+	 * Adds an unfiltered {@link IApiProblem} reported by the last analysis to
+	 * the current state
+	 *
+	 * @param problem the problem to add
+	 */
+	public void addProblem(IApiProblem problem) {
+		if (this.problems == null) {
+			this.problems = new LinkedHashMap<>();
+		}
+		this.problems.computeIfAbsent(getProblemKey(problem.getTypeName()), key -> new ArrayList<>()).add(problem);
+	}
+
+	/**
+	 * Removes the recorded problems of the given type and its member types
+	 *
+	 * @param typeName the given type name
+	 */
+	public void cleanupProblems(String typeName) {
+		if (this.problems != null && typeName != null) {
+			this.problems.remove(getProblemKey(typeName));
+		}
+	}
+
+	/**
+	 * Removes the recorded problems that are not reported against a type, they
+	 * are computed again by every analysis
+	 */
+	public void cleanupComponentProblems() {
+		if (this.problems != null) {
+			this.problems.remove(COMPONENT_PROBLEMS);
+		}
+	}
+
+	/**
+	 * Removes all recorded problems, e.g. before a full analysis
+	 */
+	public void clearProblems() {
+		this.problems = new LinkedHashMap<>();
+	}
+
+	/**
+	 * Forgets the recorded problems, the unfiltered problems of the last
+	 * analysis are unknown afterwards
+	 */
+	public void discardProblems() {
+		this.problems = null;
+	}
+
+	/**
+	 * @return <code>true</code> if the unfiltered problems of the last analysis
+	 *         are known, <code>false</code> otherwise
+	 */
+	public boolean hasProblems() {
+		return this.problems != null;
+	}
+
+	/**
+	 * @return the complete list of recorded unfiltered problems, or an empty
+	 *         array, never <code>null</code>
+	 */
+	public IApiProblem[] getProblems() {
+		if (this.problems == null || this.problems.isEmpty()) {
+			return NO_PROBLEMS;
+		}
+		List<IApiProblem> collector = new ArrayList<>();
+		for (List<IApiProblem> list : this.problems.values()) {
+			collector.addAll(list);
+		}
+		return collector.toArray(new IApiProblem[collector.size()]);
+	}
+
+	private static String getProblemKey(String typeName) {
+		if (typeName == null) {
+			return COMPONENT_PROBLEMS;
+		}
+		int index = typeName.indexOf('$');
+		return index == -1 ? typeName : typeName.substring(0, index);
 	}
 
 	/**
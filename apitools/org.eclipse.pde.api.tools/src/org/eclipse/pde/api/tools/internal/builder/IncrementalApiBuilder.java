@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2017 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -283,6 +283,7 @@ public class IncrementalApiBuilder {
 				extClean(project, buildstate, localmonitor.split(1));
 				this.builder.getAnalyzer().analyzeComponent(buildstate, null, null, baseline, comp, this.context, localmonitor.split(1));
 				localmonitor.split(1);
+				this.builder.recordProblems(buildstate, this.context);
 				this.builder.createMarkers();
 			}
 		}
@@ -0,0 +1,232 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.builder;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Predicate;
+
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Collects the markers the API analysis builder would delete before a build
+ * and compares them with the markers of the problems found by the build.
+ * <p>
+ * Deletions are only recorded and resolved to markers when the markers of the
+ * problems are created, so they apply to the markers existing at that time,
+ * like an immediate deletion followed by the creation of the markers would.
+ * </p>
+ * <p>
+ * Markers identical to the marker of a new problem are kept as they are, only
+ * the remaining ones are deleted and only markers that did not exist yet are
+ * created. This avoids re-creating all the markers of a project, and the
+ * resource deltas this causes, after every build.
+ * </p>
+ * <p>
+ * Updates are used by one build at a time and are not thread safe.
+ * </p>
+ *
+ * @since 1.3.300
+ */
+final class MarkerUpdate {
+
+	/**
+	 * Identifies a marker by its resource, type and attributes
+	 */
+	private static final class Key {
+		final IResource resource;
+		final String type;
+		final Map<String, Object> attributes;
+
+		Key(IResource resource, String type, Map<String, Object> attributes) {
+			this.resource = resource;
+			this.type = type;
+			this.attributes = attributes;
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(resource, type, attributes);
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key other && resource.equals(other.resource) && type.equals(other.type) && attributes.equals(other.attributes);
+		}
+	}
+
+	/**
+	 * A recorded deletion of the markers of a type from a resource
+	 */
+	private static final class Deletion {
+		final IResource resource;
+		final String type;
+		final boolean includeSubtypes;
+		final int depth;
+		final Predicate<IMarker> filter;
+
+		Deletion(IResource resource, String type, boolean includeSubtypes, int depth, Predicate<IMarker> filter) {
+			this.resource = resource;
+			this.type = type;
+			this.includeSubtypes = includeSubtypes;
+			this.depth = depth;
+			this.filter = filter;
+		}
+	}
+
+	private final List<Deletion> fDeletions = new ArrayList<>();
+
+	private final Set<IMarker> fStale = new LinkedHashSet<>();
+
+	/**
+	 * Index of the stale markers, computed when the first marker is created
+	 */
+	private Map<Key, Deque<IMarker>> fIndex = null;
+
+	private int fKept = 0;
+
+	private int fCreated = 0;
+
+	/**
+	 * Records the markers of the given type on the given resource to be
+	 * deleted, unless they are identical to the marker of a new problem
+	 *
+	 * @see IResource#deleteMarkers(String, boolean, int)
+	 */
+	void deleteMarkers(IResource resource, String type, boolean includeSubtypes, int depth) {
+		deleteMarkers(resource, type, includeSubtypes, depth, null);
+	}
+
+	/**
+	 * Records the markers of the given type on the given resource that match
+	 * the given filter to be deleted, unless they are identical to the marker
+	 * of a new problem
+	 *
+	 * @param filter selects the markers to delete or <code>null</code> to
+	 *            delete all of them
+	 * @see IResource#deleteMarkers(String, boolean, int)
+	 */
+	void deleteMarkers(IResource resource, String type, boolean includeSubtypes, int depth, Predicate<IMarker> filter) {
+		fDeletions.add(new Deletion(resource, type, includeSubtypes, depth, filter));
+	}
+
+	/**
+	 * @return whether deletions are recorded
+	 */
+	boolean hasDeletions() {
+		return !fDeletions.isEmpty() || !fStale.isEmpty();
+	}
+
+	/**
+	 * Resolves the recorded deletions to the markers currently existing. Must
+	 * be called before markers are created.
+	 */
+	void resolveDeletions() {
+		for (Deletion deletion : fDeletions) {
+			if (!deletion.resource.isAccessible()) {
+				continue;
+			}
+			try {
+				for (IMarker marker : deletion.resource.findMarkers(deletion.type, deletion.includeSubtypes, deletion.depth)) {
+					if (deletion.filter == null || deletion.filter.test(marker)) {
+						fStale.add(marker);
+					}
+				}
+			} catch (CoreException e) {
+				// the resource was removed with its markers
+			}
+		}
+		fDeletions.clear();
+		fIndex = null;
+	}
+
+	/**
+	 * @return whether the given marker is to be deleted
+	 */
+	boolean isStale(IMarker marker) {
+		return fStale.contains(marker);
+	}
+
+	/**
+	 * Creates a marker with the given attributes, or keeps a stale marker with
+	 * the same type and attributes on the resource
+	 *
+	 * @param resource the resource of the marker
+	 * @param type the type of the marker
+	 * @param attributes all the attributes of the marker
+	 * @return the new or kept marker
+	 * @throws CoreException if the marker cannot be created
+	 */
+	IMarker createMarker(IResource resource, String type, Map<String, Object> attributes) throws CoreException {
+		if (fIndex == null) {
+			fIndex = index();
+		}
+		Deque<IMarker> identical = fIndex.get(new Key(resource, type, attributes));
+		if (identical != null && !identical.isEmpty()) {
+			IMarker marker = identical.poll();
+			fStale.remove(marker);
+			fKept++;
+			return marker;
+		}
+		fCreated++;
+		return resource.createMarker(type, attributes);
+	}
+
+	/**
+	 * Deletes the stale markers that were not kept, in a single workspace
+	 * operation
+	 *
+	 * @throws CoreException if the markers cannot be deleted
+	 */
+	void deleteStaleMarkers() throws CoreException {
+		List<IMarker> markers = new ArrayList<>(fStale.size());
+		for (IMarker marker : fStale) {
+			if (marker.exists()) {
+				markers.add(marker);
+			}
+		}
+		fStale.clear();
+		fIndex = null;
+		if (!markers.isEmpty()) {
+			ResourcesPlugin.getWorkspace().deleteMarkers(markers.toArray(new IMarker[markers.size()]));
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "MarkerUpdate: " + fKept + " kept, " + fCreated + " created, " + fStale.size() + " stale"; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$ //$NON-NLS-4$
+	}
+
+	private Map<Key, Deque<IMarker>> index() {
+		Map<Key, Deque<IMarker>> index = new HashMap<>();
+		for (IMarker marker : fStale) {
+			try {
+				Map<String, Object> attributes = marker.getAttributes();
+				Key key = new Key(marker.getResource(), marker.getType(), Objects.requireNonNullElse(attributes, Map.of()));
+				index.computeIfAbsent(key, k -> new ArrayDeque<>()).add(marker);
+			} catch (CoreException e) {
+				// the marker does not exist anymore, it cannot be kept
+			}
+		}
+		return index;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2015 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -36,6 +36,7 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
 import org.eclipse.pde.api.tools.internal.provisional.problems.IApiProblem;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics;
 
 /**
  * The reference analyzer
@@ -94,7 +95,8 @@ public class ReferenceAnalyzer {
 					if (type.isMemberType() || type.isLocal() || type.isAnonymous()) {
 						return;
 					}
-					List<IReference> references = type.extractReferences(fAllReferenceKinds, null);
+					List<IReference> references = fCache != null ? fCache.getReferences(type, fAllReferenceKinds) : type.extractReferences(fAllReferenceKinds, null);
+					AnalysisMetrics.getDefault().count(AnalysisMetrics.REFERENCES, classFile.getApiComponent().getSymbolicName(), references.size());
 					// keep potential matches
 					for (IReference ref : references) {
 						if (fMonitor.isCanceled()) {
@@ -141,6 +143,12 @@ public class ReferenceAnalyzer {
 	 */
 	List<IReference> fReferences = new LinkedList<>();
 
+	/**
+	 * Cache of previously extracted references or <code>null</code> if
+	 * references are always extracted from the class files
+	 */
+	ReferenceCache fCache = null;
+
 	/**
 	 * Problem detectors indexed by the log base 2 of each reference kind they
 	 * are interested in. Provides a fast way to hand references off to
@@ -193,6 +201,16 @@ public class ReferenceAnalyzer {
 		return (int) Math.round(pow);
 	}
 
+	/**
+	 * Sets the cache to reuse previously extracted references from.
+	 *
+	 * @param cache the reference cache or <code>null</code> to always extract
+	 *            references from the class files
+	 */
+	void setReferenceCache(ReferenceCache cache) {
+		fCache = cache;
+	}
+
 	/**
 	 * Scans the given scope extracting all reference information.
 	 *
@@ -230,27 +248,38 @@ public class ReferenceAnalyzer {
 	 */
 	public IApiProblem[] analyze(IApiComponent component, IApiTypeContainer scope, IProgressMonitor monitor) throws CoreException {
 		SubMonitor localMonitor = SubMonitor.convert(monitor, 4);
+		AnalysisMetrics metrics = AnalysisMetrics.getDefault();
+		String name = component.getSymbolicName();
 		// build problem detectors
-		IApiProblemDetector[] detectors = buildProblemDetectors(component, ProblemDetectorBuilder.K_ALL, localMonitor.split(1));
+		IApiProblemDetector[] detectors;
+		try (AnalysisMetrics.Timer timer = metrics.time(AnalysisMetrics.DETECTOR_BUILD, name)) {
+			detectors = buildProblemDetectors(component, ProblemDetectorBuilder.K_ALL, localMonitor.split(1));
+		}
 		// analyze
 		try {
 			// 1. extract references
 			localMonitor.subTask(BuilderMessages.ReferenceAnalyzer_analyzing_api_checking_use);
-			extractReferences(scope, localMonitor.split(1));
+			try (AnalysisMetrics.Timer timer = metrics.time(AnalysisMetrics.EXTRACTION, name)) {
+				extractReferences(scope, localMonitor.split(1));
+			}
 			// 2. resolve problematic references
 			localMonitor.subTask(BuilderMessages.ReferenceAnalyzer_analyzing_api_checking_use);
 			if (fReferences.size() != 0) {
-				ReferenceResolver.resolveReferences(fReferences, localMonitor.split(1));
+				try (AnalysisMetrics.Timer timer = metrics.time(AnalysisMetrics.RESOLUTION, name)) {
+					ReferenceResolver.resolveReferences(fReferences, localMonitor.split(1));
+				}
 			}
 			// 3. create problems
 			List<IApiProblem> allProblems = new LinkedList<>();
 			localMonitor.subTask(BuilderMessages.ReferenceAnalyzer_analyzing_api_checking_use);
 			SubMonitor loopMonitor = localMonitor.split(1).setWorkRemaining(detectors.length);
-			for (IApiProblemDetector detector : detectors) {
-				if (monitor.isCanceled()) {
-					break;
+			try (AnalysisMetrics.Timer timer = metrics.time(AnalysisMetrics.DETECTORS, name)) {
+				for (IApiProblemDetector detector : detectors) {
+					if (monitor.isCanceled()) {
+						break;
+					}
+					allProblems.addAll(detector.createProblems(loopMonitor.split(1)));
 				}
-				allProblems.addAll(detector.createProblems(loopMonitor.split(1)));
 			}
 			IApiProblem[] array = allProblems.toArray(new IApiProblem[allProblems.size()]);
 			return array;
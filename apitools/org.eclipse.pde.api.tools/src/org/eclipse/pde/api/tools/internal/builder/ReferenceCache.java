@@ -0,0 +1,551 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.builder;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.api.tools.internal.model.AbstractApiTypeRoot;
+import org.eclipse.pde.api.tools.internal.model.ApiType;
+import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
+import org.eclipse.pde.api.tools.internal.provisional.builder.IReference;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiElement;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiMember;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics;
+import org.eclipse.pde.api.tools.internal.util.Signatures;
+import org.objectweb.asm.ClassReader;
+
+/**
+ * Persistent cache of the references extracted from the class files of an API
+ * project.
+ * <p>
+ * Entries are keyed by type name and validated with a hash of the contents of
+ * the class file of the type and of the nested class files it was extracted
+ * from. Since some references also depend on the structure of other types
+ * (e.g. calls and overrides of default methods), the structural fingerprints
+ * of those types are recorded as well. Unchanged types then reuse their cached
+ * references instead of walking their byte code again. The references are
+ * always created anew and are not resolved.
+ * </p>
+ * <p>
+ * The cache is saved in the working location of the project, next to the
+ * build state.
+ * </p>
+ *
+ * @since 1.3.300
+ */
+public class ReferenceCache {
+
+	/**
+	 * Version of the cache file format
+	 */
+	private static final int VERSION = 1;
+
+	private static final String CACHE_FILE = "references.dat"; //$NON-NLS-1$
+
+	/**
+	 * Records what the references extracted from one type depend on
+	 */
+	static final class Dependencies {
+
+		private final MessageDigest fDigest;
+		private final List<String> fNestedTypes = new ArrayList<>();
+		private final Map<String, byte[]> fTypes = new LinkedHashMap<>();
+		private boolean fComplete = true;
+
+		Dependencies(MessageDigest digest, byte[] contents) {
+			fDigest = digest;
+			fDigest.update(contents);
+		}
+
+		/**
+		 * Records the contents of a nested class file the references were
+		 * extracted from.
+		 */
+		void addNestedType(String typeName, byte[] contents) {
+			fNestedTypes.add(typeName);
+			updateNested(fDigest, typeName, contents);
+		}
+
+		/**
+		 * Records the structure of a type the references depend on. A
+		 * <code>null</code> type name means a lookup failed and the references
+		 * cannot be cached.
+		 */
+		void addType(String typeName, IApiType type) {
+			if (typeName == null) {
+				fComplete = false;
+				return;
+			}
+			byte[] fingerprint = null;
+			if (type != null) {
+				fingerprint = getFingerprint(type);
+				if (fingerprint == null) {
+					fComplete = false;
+					return;
+				}
+			}
+			if (!fTypes.containsKey(typeName)) {
+				fTypes.put(typeName, fingerprint);
+			} else if (!Arrays.equals(fTypes.get(typeName), fingerprint)) {
+				// the same name resolved to different types
+				fComplete = false;
+			}
+		}
+	}
+
+	/**
+	 * The cached data of a single reference
+	 */
+	private static final class CachedReference {
+		int memberKind;
+		String memberType;
+		String memberName;
+		String memberSignature;
+		int referenceType;
+		int kind;
+		int flags;
+		int line;
+		String typeName;
+		String referencedMemberName;
+		String signature;
+	}
+
+	/**
+	 * The cached references of a type
+	 */
+	private static final class Entry {
+		int referenceKinds;
+		byte[] hash;
+		String[] nestedTypes;
+		Map<String, byte[]> types;
+		CachedReference[] references;
+	}
+
+	private final File fFile;
+
+	private final Map<String, Entry> fEntries = new HashMap<>();
+
+	/**
+	 * Names of the types looked up since the cache was loaded
+	 */
+	private final Set<String> fAccessed = new HashSet<>();
+
+	private boolean fDirty = false;
+
+	private int fHits = 0;
+
+	private int fMisses = 0;
+
+	/**
+	 * Constructor
+	 *
+	 * @param file the file the cache is saved to or <code>null</code> if it
+	 *            is only kept in memory
+	 */
+	ReferenceCache(File file) {
+		fFile = file;
+	}
+
+	/**
+	 * Loads the reference cache of the given project. A missing, outdated or
+	 * corrupt cache file results in an empty cache.
+	 *
+	 * @param project the project
+	 * @return the reference cache of the project, never <code>null</code>
+	 */
+	static ReferenceCache load(IProject project) {
+		if (!project.exists()) {
+			return new ReferenceCache(null);
+		}
+		return load(project.getWorkingLocation(ApiPlugin.PLUGIN_ID).append(CACHE_FILE).toFile());
+	}
+
+	/**
+	 * Loads the reference cache saved in the given file. A missing, outdated
+	 * or corrupt cache file results in an empty cache.
+	 *
+	 * @param file the cache file
+	 * @return the reference cache saved to the given file, never
+	 *         <code>null</code>
+	 */
+	public static ReferenceCache load(File file) {
+		ReferenceCache cache = new ReferenceCache(file);
+		if (file.exists()) {
+			try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+				cache.read(in);
+			} catch (IOException | RuntimeException e) {
+				// the references are simply extracted again
+				cache.fEntries.clear();
+				if (ApiPlugin.DEBUG_REFERENCE_ANALYZER) {
+					System.out.println("Reference cache: discarded unreadable cache " + file); //$NON-NLS-1$
+				}
+			}
+		}
+		return cache;
+	}
+
+	/**
+	 * Deletes the saved reference cache of the given project, if any.
+	 *
+	 * @param project the project
+	 */
+	static void delete(IProject project) {
+		if (project.exists()) {
+			File file = project.getWorkingLocation(ApiPlugin.PLUGIN_ID).append(CACHE_FILE).toFile();
+			if (file.exists()) {
+				file.delete();
+			}
+		}
+	}
+
+	/**
+	 * Saves the cache if it has been modified since it was loaded.
+	 */
+	public void save() {
+		if (ApiPlugin.DEBUG_REFERENCE_ANALYZER) {
+			System.out.println("Reference cache: " + fHits + " hits, " + fMisses + " misses"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+		if (!fDirty || fFile == null) {
+			return;
+		}
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(fFile)))) {
+			write(out);
+			fDirty = false;
+		} catch (IOException e) {
+			fFile.delete();
+			ApiPlugin.log(e);
+		}
+	}
+
+	/**
+	 * Removes the entries of all types that have not been looked up since the
+	 * cache was loaded. Used after the whole project was analyzed so removed
+	 * types do not stay in the cache.
+	 */
+	void prune() {
+		if (fEntries.keySet().retainAll(fAccessed)) {
+			fDirty = true;
+		}
+	}
+
+	/**
+	 * Returns the references of the given type, either from the cache or by
+	 * extracting them from its class file.
+	 *
+	 * @param type the type to extract references from
+	 * @param referenceKinds the kinds of references to extract
+	 * @return the unresolved references of the type
+	 * @throws CoreException if the class file of the type cannot be read
+	 */
+	public List<IReference> getReferences(IApiType type, int referenceKinds) throws CoreException {
+		IApiTypeRoot root = type.getTypeRoot();
+		MessageDigest digest = newDigest();
+		if (!(root instanceof AbstractApiTypeRoot) || type.getApiComponent() == null || digest == null) {
+			return type.extractReferences(referenceKinds, null);
+		}
+		String typeName = type.getName();
+		fAccessed.add(typeName);
+		byte[] contents = ((AbstractApiTypeRoot) root).getContents();
+		Entry entry = fEntries.get(typeName);
+		if (entry != null && entry.referenceKinds == referenceKinds) {
+			List<IReference> references = restore(entry, type, contents, digest);
+			if (references != null) {
+				fHits++;
+				AnalysisMetrics.getDefault().count(AnalysisMetrics.REFERENCE_CACHE_HITS, type.getApiComponent().getSymbolicName(), 1);
+				return references;
+			}
+			digest.reset();
+		}
+		fMisses++;
+		AnalysisMetrics.getDefault().count(AnalysisMetrics.REFERENCE_CACHE_MISSES, type.getApiComponent().getSymbolicName(), 1);
+		Dependencies dependencies = new Dependencies(digest, contents);
+		HashSet<Reference> references = new HashSet<>();
+		ReferenceExtractor extractor = new ReferenceExtractor(type, references, referenceKinds);
+		extractor.fDependencies = dependencies;
+		ClassReader reader = new ClassReader(contents);
+		reader.accept(extractor, ClassReader.SKIP_FRAMES);
+		Entry newEntry = dependencies.fComplete ? createEntry(referenceKinds, dependencies, references) : null;
+		if (newEntry != null) {
+			fEntries.put(typeName, newEntry);
+			fDirty = true;
+		} else if (fEntries.remove(typeName) != null) {
+			fDirty = true;
+		}
+		return new LinkedList<>(references);
+	}
+
+	/**
+	 * @return the number of lookups answered from the cache
+	 */
+	public int getHits() {
+		return fHits;
+	}
+
+	/**
+	 * @return the number of lookups that had to extract the references
+	 */
+	public int getMisses() {
+		return fMisses;
+	}
+
+	private static Entry createEntry(int referenceKinds, Dependencies dependencies, Set<Reference> references) throws CoreException {
+		Entry entry = new Entry();
+		entry.referenceKinds = referenceKinds;
+		entry.hash = dependencies.fDigest.digest();
+		entry.nestedTypes = dependencies.fNestedTypes.toArray(new String[dependencies.fNestedTypes.size()]);
+		entry.types = dependencies.fTypes;
+		entry.references = new CachedReference[references.size()];
+		int index = 0;
+		for (Reference reference : references) {
+			IApiMember member = reference.getMember();
+			CachedReference cached = new CachedReference();
+			cached.memberKind = member.getType();
+			switch (cached.memberKind) {
+				case IApiElement.TYPE :
+					cached.memberType = member.getName();
+					break;
+				case IApiElement.FIELD :
+				case IApiElement.METHOD :
+					cached.memberType = member.getEnclosingType().getName();
+					cached.memberName = member.getName();
+					cached.memberSignature = member.getSignature();
+					break;
+				default :
+					return null;
+			}
+			cached.referenceType = reference.getReferenceType();
+			cached.kind = reference.getReferenceKind();
+			cached.flags = reference.getReferenceFlags();
+			cached.line = reference.getLineNumber();
+			cached.typeName = reference.getReferencedTypeName();
+			cached.referencedMemberName = reference.getReferencedMemberName();
+			cached.signature = reference.getReferencedSignature();
+			entry.references[index++] = cached;
+		}
+		return entry;
+	}
+
+	/**
+	 * Creates the references of the given entry if it is still valid.
+	 *
+	 * @return the references or <code>null</code> if the entry is outdated
+	 */
+	private static List<IReference> restore(Entry entry, IApiType type, byte[] contents, MessageDigest digest) throws CoreException {
+		IApiComponent component = type.getApiComponent();
+		Map<String, IApiType> types = new HashMap<>();
+		types.put(type.getName(), type);
+		digest.update(contents);
+		for (String nestedType : entry.nestedTypes) {
+			IApiTypeRoot root = component.findTypeRoot(nestedType);
+			if (!(root instanceof AbstractApiTypeRoot)) {
+				return null;
+			}
+			updateNested(digest, nestedType, ((AbstractApiTypeRoot) root).getContents());
+			types.put(nestedType, root.getStructure());
+		}
+		if (!Arrays.equals(entry.hash, digest.digest())) {
+			return null;
+		}
+		for (Map.Entry<String, byte[]> dependency : entry.types.entrySet()) {
+			IApiType dependencyType = findType(component, dependency.getKey());
+			byte[] fingerprint = dependencyType != null ? getFingerprint(dependencyType) : null;
+			if (!Arrays.equals(dependency.getValue(), fingerprint)) {
+				return null;
+			}
+		}
+		List<IReference> references = new LinkedList<>();
+		for (CachedReference cached : entry.references) {
+			IApiType memberType = types.get(cached.memberType);
+			if (memberType == null) {
+				return null;
+			}
+			IApiMember member = switch (cached.memberKind) {
+				case IApiElement.FIELD -> memberType.getField(cached.memberName);
+				case IApiElement.METHOD -> memberType.getMethod(cached.memberName, cached.memberSignature);
+				default -> memberType;
+			};
+			if (member == null) {
+				return null;
+			}
+			Reference reference = switch (cached.referenceType) {
+				case IReference.T_METHOD_REFERENCE -> Reference.methodReference(member, cached.typeName, cached.referencedMemberName, cached.signature, cached.kind, cached.flags);
+				case IReference.T_FIELD_REFERENCE -> Reference.fieldReference(member, cached.typeName, cached.referencedMemberName, cached.kind, cached.flags);
+				default -> Reference.typeReference(member, cached.typeName, cached.signature, cached.kind, cached.flags);
+			};
+			reference.setLineNumber(cached.line);
+			references.add(reference);
+		}
+		return references;
+	}
+
+	/**
+	 * Looks up a type the same way the {@link ReferenceExtractor} does.
+	 */
+	private static IApiType findType(IApiComponent component, String typeName) throws CoreException {
+		IApiTypeRoot root = component.findTypeRoot(typeName);
+		if (root == null) {
+			IApiComponent[] components = component.getBaseline().resolvePackage(component, Signatures.getPackageName(typeName));
+			for (IApiComponent c : components) {
+				root = c.findTypeRoot(typeName);
+				if (root != null) {
+					break;
+				}
+			}
+		}
+		return root != null ? root.getStructure() : null;
+	}
+
+	private static byte[] getFingerprint(IApiType type) {
+		return type instanceof ApiType apiType ? apiType.getFingerprint() : null;
+	}
+
+	private static void updateNested(MessageDigest digest, String typeName, byte[] contents) {
+		digest.update(typeName.getBytes(StandardCharsets.UTF_8));
+		digest.update((byte) 0);
+		digest.update(contents);
+	}
+
+	private static MessageDigest newDigest() {
+		try {
+			return MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			return null;
+		}
+	}
+
+	private void read(DataInputStream in) throws IOException {
+		if (in.readInt() != VERSION) {
+			return;
+		}
+		int entryCount = in.readInt();
+		for (int i = 0; i < entryCount; i++) {
+			String typeName = in.readUTF();
+			Entry entry = new Entry();
+			entry.referenceKinds = in.readInt();
+			entry.hash = readBytes(in);
+			entry.nestedTypes = new String[in.readInt()];
+			for (int j = 0; j < entry.nestedTypes.length; j++) {
+				entry.nestedTypes[j] = in.readUTF();
+			}
+			int typeCount = in.readInt();
+			entry.types = new LinkedHashMap<>(typeCount);
+			for (int j = 0; j < typeCount; j++) {
+				entry.types.put(in.readUTF(), readBytes(in));
+			}
+			entry.references = new CachedReference[in.readInt()];
+			for (int j = 0; j < entry.references.length; j++) {
+				CachedReference cached = new CachedReference();
+				cached.memberKind = in.readInt();
+				cached.memberType = readString(in);
+				cached.memberName = readString(in);
+				cached.memberSignature = readString(in);
+				cached.referenceType = in.readInt();
+				cached.kind = in.readInt();
+				cached.flags = in.readInt();
+				cached.line = in.readInt();
+				cached.typeName = readString(in);
+				cached.referencedMemberName = readString(in);
+				cached.signature = readString(in);
+				entry.references[j] = cached;
+			}
+			fEntries.put(typeName, entry);
+		}
+	}
+
+	private void write(DataOutputStream out) throws IOException {
+		out.writeInt(VERSION);
+		out.writeInt(fEntries.size());
+		for (Map.Entry<String, Entry> mapEntry : fEntries.entrySet()) {
+			Entry entry = mapEntry.getValue();
+			out.writeUTF(mapEntry.getKey());
+			out.writeInt(entry.referenceKinds);
+			writeBytes(out, entry.hash);
+			out.writeInt(entry.nestedTypes.length);
+			for (String nestedType : entry.nestedTypes) {
+				out.writeUTF(nestedType);
+			}
+			out.writeInt(entry.types.size());
+			for (Map.Entry<String, byte[]> dependency : entry.types.entrySet()) {
+				out.writeUTF(dependency.getKey());
+				writeBytes(out, dependency.getValue());
+			}
+			out.writeInt(entry.references.length);
+			for (CachedReference cached : entry.references) {
+				out.writeInt(cached.memberKind);
+				writeString(out, cached.memberType);
+				writeString(out, cached.memberName);
+				writeString(out, cached.memberSignature);
+				out.writeInt(cached.referenceType);
+				out.writeInt(cached.kind);
+				out.writeInt(cached.flags);
+				out.writeInt(cached.line);
+				writeString(out, cached.typeName);
+				writeString(out, cached.referencedMemberName);
+				writeString(out, cached.signature);
+			}
+		}
+	}
+
+	private static byte[] readBytes(DataInputStream in) throws IOException {
+		int length = in.readInt();
+		if (length < 0) {
+			return null;
+		}
+		byte[] bytes = new byte[length];
+		in.readFully(bytes);
+		return bytes;
+	}
+
+	private static void writeBytes(DataOutputStream out, byte[] bytes) throws IOException {
+		if (bytes == null) {
+			out.writeInt(-1);
+			return;
+		}
+		out.writeInt(bytes.length);
+		out.write(bytes);
+	}
+
+	private static String readString(DataInputStream in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	private static void writeString(DataOutputStream out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -381,16 +381,16 @@ public class ReferenceExtractor extends ClassVisitor {
 											}
 										}
 									}
-									if (root != null) {
-										IApiType type = root.getStructure();
-										if (type != null && (!"<init>".equals(name)) //$NON-NLS-1$
-												&& getDefaultDefined(type, name, desc, false) != null) {
-											flags = IReference.F_DEFAULT_METHOD;
-										}
+									IApiType type = root != null ? root.getStructure() : null;
+									ReferenceExtractor.this.recordDependency(owner_sig, type);
+									if (type != null && (!"<init>".equals(name)) //$NON-NLS-1$
+											&& getDefaultDefined(type, name, desc, false) != null) {
+										flags = IReference.F_DEFAULT_METHOD;
 									}
 								}
 							} catch (CoreException ce) {
 								// do nothing, give up
+								ReferenceExtractor.this.recordDependency(null, null);
 							}
 						}
 					}
@@ -901,6 +901,12 @@ public class ReferenceExtractor extends ClassVisitor {
 	 */
 	private int fVersion;
 
+	/**
+	 * The class files and types the extracted references depend on, or
+	 * <code>null</code> if they are not recorded
+	 */
+	ReferenceCache.Dependencies fDependencies = null;
+
 	/**
 	 * Bit mask that determines if we need to visit members
 	 */
@@ -1244,6 +1250,7 @@ public class ReferenceExtractor extends ClassVisitor {
 				IApiType type = root.getStructure();
 				if (type == null) {
 					// do nothing for a bad classfile
+					recordDependency(null, null);
 					return;
 				}
 				Set<Reference> refs = processInnerClass(type, fReferenceKinds);
@@ -1262,8 +1269,11 @@ public class ReferenceExtractor extends ClassVisitor {
 				if (refs != null && !refs.isEmpty()) {
 					this.collector.addAll(refs);
 				}
+			} else {
+				recordDependency(null, null);
 			}
 		} catch (CoreException ce) {
+			recordDependency(null, null);
 			ApiPlugin.log("Failed to compute types for " + pname, ce); //$NON-NLS-1$
 		}
 	}
@@ -1274,7 +1284,12 @@ public class ReferenceExtractor extends ClassVisitor {
 	private Set<Reference> processInnerClass(IApiType type, int refkinds) throws CoreException {
 		HashSet<Reference> refs = new HashSet<>();
 		ReferenceExtractor extractor = new ReferenceExtractor(type, refs, refkinds, this.fieldtracker);
-		ClassReader reader = new ClassReader(((AbstractApiTypeRoot) type.getTypeRoot()).getContents());
+		byte[] contents = ((AbstractApiTypeRoot) type.getTypeRoot()).getContents();
+		if (fDependencies != null) {
+			fDependencies.addNestedType(type.getName(), contents);
+			extractor.fDependencies = fDependencies;
+		}
+		ClassReader reader = new ClassReader(contents);
 		reader.accept(extractor, ClassReader.SKIP_FRAMES);
 		return refs;
 	}
@@ -1335,6 +1350,7 @@ public class ReferenceExtractor extends ClassVisitor {
 					}
 				} catch (CoreException e) {
 					// Do nothing, skip this reference
+					recordDependency(null, null);
 				}
 			}
 			int argumentcount = 0;
@@ -1403,8 +1419,9 @@ public class ReferenceExtractor extends ClassVisitor {
 	 * @return the IApiType containing the default method definition or
 	 *         <code>null</code>
 	 */
-	static IApiType getDefaultDefined(IApiType type, String name, String signature, boolean isOverride) throws CoreException {
+	IApiType getDefaultDefined(IApiType type, String name, String signature, boolean isOverride) throws CoreException {
 		if (type != null) {
+			recordDependency(type.getName(), type);
 			if (!isOverride) {
 				IApiMethod method = type.getMethod(name, signature);
 				if (method != null) {
@@ -1413,13 +1430,21 @@ public class ReferenceExtractor extends ClassVisitor {
 					}
 				}
 			}
-			IApiType superclass = getDefaultDefined(type.getSuperclass(), name, signature, false);
+			IApiType supertype = type.getSuperclass();
+			if (supertype == null && type.getSuperclassName() != null) {
+				recordDependency(type.getSuperclassName(), null);
+			}
+			IApiType superclass = getDefaultDefined(supertype, name, signature, false);
 			if (superclass != null) {
 				return superclass;
 			}
 			IApiType[] ints = type.getSuperInterfaces();
-			for (IApiType j : ints) {
-				IApiType superint = getDefaultDefined(j, name, signature, false);
+			String[] names = type.getSuperInterfaceNames();
+			for (int i = 0; i < ints.length; i++) {
+				if (ints[i] == null && names != null && i < names.length) {
+					recordDependency(names[i], null);
+				}
+				IApiType superint = getDefaultDefined(ints[i], name, signature, false);
 				if (superint != null) {
 					return superint;
 				}
@@ -1428,6 +1453,21 @@ public class ReferenceExtractor extends ClassVisitor {
 		return null;
 	}
 
+	/**
+	 * Records a type the extracted references depend on, if dependencies are
+	 * recorded for a {@link ReferenceCache}.
+	 *
+	 * @param typeName the name of the type or <code>null</code> if the lookup
+	 *            of a type failed
+	 * @param type the type found for the name or <code>null</code> if there is
+	 *            none
+	 */
+	void recordDependency(String typeName, IApiType type) {
+		if (fDependencies != null) {
+			fDependencies.addType(typeName, type);
+		}
+	}
+
 
 
 }
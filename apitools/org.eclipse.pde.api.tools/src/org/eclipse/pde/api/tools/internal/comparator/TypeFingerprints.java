@@ -0,0 +1,178 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.comparator;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.pde.api.tools.internal.model.ApiType;
+import org.eclipse.pde.api.tools.internal.provisional.IApiAnnotations;
+import org.eclipse.pde.api.tools.internal.provisional.IApiDescription;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiField;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiMethod;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
+
+/**
+ * Computes API fingerprints of types to find types that cannot have any delta
+ * without running a {@link ClassFileComparator}.
+ * <p>
+ * The API fingerprint of a type combines the structural fingerprint computed
+ * when the type structure is built (see {@link ApiType#getFingerprint()}), the
+ * API description annotations of the type and of its fields and methods, and
+ * the API fingerprints of its member types and of its resolved super types.
+ * This covers everything a {@link ClassFileComparator} looks at, so two types
+ * with the same API fingerprint always compare without delta.
+ * </p>
+ * <p>
+ * Fingerprints of super types are remembered, so one instance should be used
+ * for all the types compared between two components. Instances are not thread
+ * safe.
+ * </p>
+ *
+ * @since 1.3.300
+ */
+public class TypeFingerprints {
+
+	/**
+	 * Marks the types whose fingerprint is being computed, to stop on cyclic
+	 * hierarchies of broken class files
+	 */
+	private static final byte[] IN_PROGRESS = new byte[0];
+
+	private static final byte[] UNKNOWN = new byte[0];
+
+	private final Map<IApiType, byte[]> fFingerprints = new HashMap<>();
+
+	/**
+	 * Returns whether the given types have the same API fingerprint, in which
+	 * case comparing them cannot produce any delta.
+	 *
+	 * @param type the type from the reference component
+	 * @param component the reference component
+	 * @param type2 the type from the component to compare with
+	 * @param component2 the component to compare with
+	 * @return <code>true</code> if the types are known to be API identical,
+	 *         <code>false</code> if they need to be compared
+	 */
+	public boolean isUnchanged(IApiType type, IApiComponent component, IApiType type2, IApiComponent component2) {
+		if (type == null || type2 == null || !component.equals(type.getApiComponent()) || !component2.equals(type2.getApiComponent())) {
+			return false;
+		}
+		byte[] fingerprint = getFingerprint(type);
+		return fingerprint != null && Arrays.equals(fingerprint, getFingerprint(type2));
+	}
+
+	/**
+	 * Returns the API fingerprint of the given type.
+	 *
+	 * @param type the type
+	 * @return the fingerprint or <code>null</code> if it cannot be computed,
+	 *         e.g. because a member type could not be found
+	 */
+	public byte[] getFingerprint(IApiType type) {
+		byte[] fingerprint = fFingerprints.get(type);
+		if (fingerprint == null) {
+			fFingerprints.put(type, IN_PROGRESS);
+			fingerprint = computeFingerprint(type);
+			fFingerprints.put(type, fingerprint == null ? UNKNOWN : fingerprint);
+		}
+		return fingerprint == IN_PROGRESS || fingerprint == UNKNOWN ? null : fingerprint;
+	}
+
+	private byte[] computeFingerprint(IApiType type) {
+		if (!(type instanceof ApiType apiType) || apiType.getFingerprint() == null) {
+			return null;
+		}
+		IApiComponent component = type.getApiComponent();
+		if (component == null) {
+			return null;
+		}
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+			digest.update(apiType.getFingerprint());
+			IApiDescription description = component.getApiDescription();
+			update(digest, description.resolveAnnotations(type.getHandle()));
+			// members are sorted the same way as for the structural fingerprint
+			IApiField[] fields = type.getFields();
+			Arrays.sort(fields, Comparator.comparing(IApiField::getName));
+			for (IApiField field : fields) {
+				update(digest, description.resolveAnnotations(field.getHandle()));
+			}
+			IApiMethod[] methods = type.getMethods();
+			Arrays.sort(methods, Comparator.comparing(IApiMethod::getName).thenComparing(IApiMethod::getSignature, Comparator.nullsFirst(Comparator.naturalOrder())));
+			for (IApiMethod method : methods) {
+				update(digest, description.resolveAnnotations(method.getHandle()));
+			}
+			if (type.getSuperclassName() != null && !update(digest, type.getSuperclass())) {
+				return null;
+			}
+			for (IApiType superinterface : type.getSuperInterfaces()) {
+				if (!update(digest, superinterface)) {
+					return null;
+				}
+			}
+			for (IApiType member : type.getMemberTypes()) {
+				if (member == null || !update(digest, member)) {
+					return null;
+				}
+			}
+		} catch (NoSuchAlgorithmException | CoreException e) {
+			return null;
+		}
+		return digest.digest();
+	}
+
+	/**
+	 * Adds the fingerprint of the given related type to the digest. Types that
+	 * cannot be resolved are recorded by their absence.
+	 *
+	 * @return <code>false</code> if the fingerprint of the related type is
+	 *         unknown
+	 */
+	private boolean update(MessageDigest digest, IApiType type) {
+		if (type == null) {
+			digest.update((byte) 0);
+			return true;
+		}
+		byte[] fingerprint = getFingerprint(type);
+		if (fingerprint == null) {
+			return false;
+		}
+		digest.update((byte) 1);
+		digest.update(type.getApiComponent().getSymbolicName().getBytes(StandardCharsets.UTF_8));
+		digest.update(fingerprint);
+		return true;
+	}
+
+	private static void update(MessageDigest digest, IApiAnnotations annotations) {
+		if (annotations == null) {
+			digest.update((byte) 0);
+			return;
+		}
+		digest.update((byte) 1);
+		int visibility = annotations.getVisibility();
+		int restrictions = annotations.getRestrictions();
+		digest.update(new byte[] {
+				(byte) (visibility >>> 24), (byte) (visibility >>> 16),
+				(byte) (visibility >>> 8), (byte) visibility,
+				(byte) (restrictions >>> 24), (byte) (restrictions >>> 16),
+				(byte) (restrictions >>> 8), (byte) restrictions });
+	}
+}
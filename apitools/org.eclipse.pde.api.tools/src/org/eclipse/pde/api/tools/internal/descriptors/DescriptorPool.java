@@ -0,0 +1,126 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.descriptors;
+
+import java.lang.ref.WeakReference;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IElementDescriptor;
+
+/**
+ * Pool of canonical element descriptors and of the names and signatures they
+ * are created from. Equal descriptors created through the pool are the same
+ * instance, which considerably reduces the memory used by API descriptions,
+ * references and filter stores of large baselines.
+ * <p>
+ * The pool only holds weak references, so descriptors that are no longer used
+ * elsewhere are garbage collected. It is split into segments with their own
+ * lock so it can be used concurrently.
+ * </p>
+ * <p>
+ * The shared pool used by {@link org.eclipse.pde.api.tools.internal.provisional.Factory}
+ * is only enabled with the system property
+ * <code>-Dorg.eclipse.pde.api.tools.descriptorPool=true</code>.
+ * </p>
+ *
+ * @since 1.3.300
+ */
+public final class DescriptorPool {
+
+	private static final DescriptorPool fDefault = Boolean.getBoolean("org.eclipse.pde.api.tools.descriptorPool") ? new DescriptorPool() : null; //$NON-NLS-1$
+
+	private static final int SEGMENTS = 16;
+
+	@SuppressWarnings("unchecked")
+	private final Map<Object, WeakReference<Object>>[] fSegments = new Map[SEGMENTS];
+
+	/**
+	 * Constructs a new, empty pool
+	 */
+	public DescriptorPool() {
+		for (int i = 0; i < SEGMENTS; i++) {
+			fSegments[i] = new WeakHashMap<>();
+		}
+	}
+
+	/**
+	 * @return the pool shared by the descriptor factory or <code>null</code>
+	 *         if pooling is disabled
+	 */
+	public static DescriptorPool getDefault() {
+		return fDefault;
+	}
+
+	/**
+	 * Returns the canonical instance of the given descriptor.
+	 * <p>
+	 * Type descriptors with a generic signature are never pooled since their
+	 * equality does not consider the signature.
+	 * </p>
+	 *
+	 * @param descriptor the descriptor
+	 * @return the pooled descriptor equal to the given one, or the given one if
+	 *         there was none yet
+	 */
+	public <T extends IElementDescriptor> T intern(T descriptor) {
+		if (descriptor == null || (descriptor instanceof ReferenceTypeDescriptorImpl type && type.getGenericSignature() != null)) {
+			return descriptor;
+		}
+		return doIntern(descriptor);
+	}
+
+	/**
+	 * Returns the canonical instance of the given name or signature.
+	 *
+	 * @param value the string
+	 * @return the pooled string equal to the given one, or the given one if
+	 *         there was none yet
+	 */
+	public String intern(String value) {
+		if (value == null) {
+			return null;
+		}
+		return doIntern(value);
+	}
+
+	/**
+	 * @return the number of elements currently held by the pool
+	 */
+	public int size() {
+		int size = 0;
+		for (Map<Object, WeakReference<Object>> segment : fSegments) {
+			synchronized (segment) {
+				size += segment.size();
+			}
+		}
+		return size;
+	}
+
+	@SuppressWarnings("unchecked")
+	private <T> T doIntern(T value) {
+		Map<Object, WeakReference<Object>> segment = fSegments[(value.hashCode() & 0x7fffffff) % SEGMENTS];
+		synchronized (segment) {
+			WeakReference<Object> reference = segment.get(value);
+			if (reference != null) {
+				Object pooled = reference.get();
+				// equal descriptors of a different kind, e.g. a package and a
+				// string, are never returned
+				if (pooled != null && pooled.getClass() == value.getClass()) {
+					return (T) pooled;
+				}
+			}
+			segment.put(value, new WeakReference<>(value));
+			return value;
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2017 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,13 @@ import java.io.File;
 import java.net.URI;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
@@ -26,6 +33,8 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.OperationCanceledException;
+import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.URIUtil;
 import org.eclipse.osgi.service.resolver.BundleDescription;
@@ -65,13 +74,27 @@ public class ApiModelFactory {
 	/**
 	 * Next available bundle id
 	 */
-	private static long fNextId = 0L;
+	private static final AtomicLong fNextId = new AtomicLong();
+
+	/**
+	 * Maximum number of threads used to create API components concurrently
+	 */
+	private static final int MAX_THREADS = Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), 8));
+
+	/**
+	 * Creates an API component at a location, see
+	 * {@link ApiModelFactory#newApiComponent(IApiBaseline, String)}
+	 */
+	@FunctionalInterface
+	public interface ComponentCreator {
+		IApiComponent create(IApiBaseline baseline, String location) throws CoreException;
+	}
 
 	/**
 	 * @return a viable int id for a bundle
 	 */
 	private static long getBundleID() {
-		return fNextId++;
+		return fNextId.getAndIncrement();
 	}
 
 	/**
@@ -94,6 +117,152 @@ public class ApiModelFactory {
 		return null;
 	}
 
+	/**
+	 * Creates and returns new API components for this baseline at the specified
+	 * locations. Locations that do not contain a valid API component are
+	 * skipped. The components are created concurrently, since each creation
+	 * reads the manifest of its bundle, and are returned in the order of the
+	 * locations. The components are not added to the baseline.
+	 *
+	 * @param baseline the baseline the components are created for
+	 * @param locations absolute paths in the local file system to the API
+	 *            components
+	 * @param monitor progress monitor or <code>null</code>
+	 * @return the API components, possibly empty, never <code>null</code>
+	 * @exception CoreException if unable to create one of the components
+	 * @exception OperationCanceledException if the monitor was canceled, in
+	 *                which case the created components are disposed
+	 */
+	public static IApiComponent[] newApiComponents(IApiBaseline baseline, List<String> locations, IProgressMonitor monitor) throws CoreException {
+		return newApiComponents(baseline, locations, ApiModelFactory::newApiComponent, MAX_THREADS, monitor);
+	}
+
+	/**
+	 * Creates and returns new API components for this baseline at the specified
+	 * locations with the given creator, using up to the given number of
+	 * threads. The components are returned in the order of the locations,
+	 * locations the creator returns <code>null</code> for are skipped.
+	 *
+	 * @param baseline the baseline the components are created for
+	 * @param locations absolute paths in the local file system to the API
+	 *            components
+	 * @param creator creates the component at a location
+	 * @param maxThreads the maximum number of threads creating components
+	 * @param monitor progress monitor or <code>null</code>
+	 * @return the API components, possibly empty, never <code>null</code>
+	 * @exception CoreException if unable to create one of the components, in
+	 *                which case all created components are disposed
+	 * @exception OperationCanceledException if the monitor was canceled, in
+	 *                which case all created components are disposed
+	 */
+	public static IApiComponent[] newApiComponents(IApiBaseline baseline, List<String> locations, ComponentCreator creator, int maxThreads, IProgressMonitor monitor) throws CoreException {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, locations.size());
+		List<IApiComponent> components = new ArrayList<>(locations.size());
+		int threads = Math.min(maxThreads, locations.size());
+		ExecutorService executor = threads > 1 ? Executors.newFixedThreadPool(threads) : null;
+		List<Future<IApiComponent>> futures = new ArrayList<>(locations.size());
+		// the number of locations whose component was collected
+		int collected = 0;
+		boolean done = false;
+		try {
+			if (executor != null) {
+				for (String location : locations) {
+					futures.add(executor.submit(() -> creator.create(baseline, location)));
+				}
+			}
+			for (int i = 0; i < locations.size(); i++) {
+				subMonitor.split(1);
+				IApiComponent component = executor != null ? getComponent(futures.get(i), subMonitor) : creator.create(baseline, locations.get(i));
+				collected++;
+				if (component != null) {
+					subMonitor.subTask(NLS.bind(Messages.adding_component__0, component.getSymbolicName()));
+					components.add(component);
+				}
+			}
+			done = true;
+		} finally {
+			if (executor != null) {
+				executor.shutdownNow();
+			}
+			if (!done) {
+				for (IApiComponent component : components) {
+					component.dispose();
+				}
+				if (executor != null) {
+					disposeUncollected(executor, futures.subList(collected, futures.size()));
+				}
+			}
+		}
+		return components.toArray(new IApiComponent[components.size()]);
+	}
+
+	/**
+	 * Waits for the tasks of the given executor that already started and
+	 * disposes the components they created, as they hold open archives.
+	 */
+	private static void disposeUncollected(ExecutorService executor, List<Future<IApiComponent>> futures) {
+		boolean interrupted = false;
+		while (true) {
+			try {
+				if (executor.awaitTermination(1, TimeUnit.SECONDS)) {
+					break;
+				}
+			} catch (InterruptedException e) {
+				// the components must be disposed all the same
+				interrupted = true;
+			}
+		}
+		if (interrupted) {
+			Thread.currentThread().interrupt();
+		}
+		for (Future<IApiComponent> future : futures) {
+			if (future.isDone() && !future.isCancelled()) {
+				try {
+					IApiComponent component = future.get();
+					if (component != null) {
+						component.dispose();
+					}
+				} catch (ExecutionException | InterruptedException e) {
+					// no component was created
+				}
+			}
+		}
+	}
+
+	/**
+	 * Waits for a component created by {@link #newApiComponents} while
+	 * checking the monitor for cancellation.
+	 */
+	private static IApiComponent getComponent(Future<IApiComponent> future, IProgressMonitor monitor) throws CoreException {
+		try {
+			while (true) {
+				if (monitor.isCanceled()) {
+					throw new OperationCanceledException();
+				}
+				try {
+					return future.get(100, TimeUnit.MILLISECONDS);
+				} catch (TimeoutException e) {
+					// check the monitor again
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof CoreException coreException) {
+				throw coreException;
+			}
+			if (cause instanceof RuntimeException runtimeException) {
+				throw runtimeException;
+			}
+			if (cause instanceof Error error) {
+				throw error;
+			}
+			throw new CoreException(Status.error(cause.getMessage(), cause));
+		}
+	}
+
 	/**
 	 * Creates and returns a new API component for this baseline based on the
 	 * given model or <code>null</code> if the given model cannot be resolved or
@@ -240,22 +409,9 @@ public class ApiModelFactory {
 				subMonitor.subTask(Messages.resolving_target_definition);
 				container.resolve(definition, subMonitor.split(30));
 				subMonitor.split(1);
-				TargetBundle[] bundles = container.getBundles();
-				List<IApiComponent> components = new ArrayList<>();
-				if (bundles.length > 0) {
-					subMonitor.setWorkRemaining(bundles.length);
-					for (TargetBundle bundle : bundles) {
-						subMonitor.split(1);
-						if (!bundle.isSourceBundle()) {
-							IApiComponent component = ApiModelFactory.newApiComponent(baseline, URIUtil.toFile(bundle.getBundleInfo().getLocation()).getAbsolutePath());
-							if (component != null) {
-								subMonitor.subTask(NLS.bind(Messages.adding_component__0, component.getSymbolicName()));
-								components.add(component);
-							}
-						}
-					}
-				}
-				result = components.toArray(new IApiComponent[components.size()]);
+				List<String> locations = getLocations(container.getBundles());
+				subMonitor.setWorkRemaining(locations.size());
+				result = newApiComponents(baseline, locations, subMonitor.split(locations.size()));
 			} else {
 				// The target platform service is unavailable (OSGi isn't
 				// running), add components by searching the plug-ins directory
@@ -265,14 +421,12 @@ public class ApiModelFactory {
 					if (files == null) {
 						return NO_COMPONENTS;
 					}
-					List<IApiComponent> components = new ArrayList<>();
+					List<String> locations = new ArrayList<>(files.length);
 					for (File bundle : files) {
-						IApiComponent component = ApiModelFactory.newApiComponent(baseline, bundle.getAbsolutePath());
-						if (component != null) {
-							components.add(component);
-						}
+						locations.add(bundle.getAbsolutePath());
 					}
-					result = components.toArray(new IApiComponent[components.size()]);
+					subMonitor.setWorkRemaining(locations.size());
+					result = newApiComponents(baseline, locations, subMonitor.split(locations.size()));
 				}
 			}
 			if (result != null) {
@@ -295,22 +449,9 @@ public class ApiModelFactory {
 				throw new CoreException(result);
 			}
 			subMonitor.split(1);
-			TargetBundle[] bundles = definition.getBundles();
-			List<IApiComponent> components = new ArrayList<>();
-			if (bundles.length > 0) {
-				subMonitor.setWorkRemaining(bundles.length);
-				for (TargetBundle bundle : bundles) {
-					subMonitor.split(1);
-					if (!bundle.isSourceBundle()) {
-						IApiComponent component = ApiModelFactory.newApiComponent(baseline, URIUtil.toFile(bundle.getBundleInfo().getLocation()).getAbsolutePath());
-						if (component != null) {
-							subMonitor.subTask(NLS.bind(Messages.adding_component__0, component.getSymbolicName()));
-							components.add(component);
-						}
-					}
-				}
-			}
-			baseline.addApiComponents(components.toArray(new IApiComponent[components.size()]));
+			List<String> locations = getLocations(definition.getBundles());
+			subMonitor.setWorkRemaining(locations.size());
+			baseline.addApiComponents(newApiComponents(baseline, locations, subMonitor.split(locations.size())));
 			baseline.setLocation(generateTargetLocation(definition));
 			return baseline;
 		} finally {
@@ -318,6 +459,20 @@ public class ApiModelFactory {
 		}
 	}
 
+	/**
+	 * @return the file system locations of the given bundles, excluding source
+	 *         bundles
+	 */
+	private static List<String> getLocations(TargetBundle[] bundles) {
+		List<String> locations = new ArrayList<>(bundles.length);
+		for (TargetBundle bundle : bundles) {
+			if (!bundle.isSourceBundle()) {
+				locations.add(URIUtil.toFile(bundle.getBundleInfo().getLocation()).getAbsolutePath());
+			}
+		}
+		return locations;
+	}
+
 	/**
 	 * Create predictable location description for a target definition. Form is
 	 * <code>target:/targetSeq/definitionLocation</code>. A location must be
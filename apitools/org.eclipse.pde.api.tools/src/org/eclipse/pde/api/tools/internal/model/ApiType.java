@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -135,6 +135,11 @@ public class ApiType extends ApiMember implements IApiType {
 	 */
 	private IApiMethod fEnclosingMethod = null;
 
+	/**
+	 * Digest of the structure of this type, see {@link #getFingerprint()}
+	 */
+	private byte[] fFingerprint = null;
+
 	/**
 	 * Creates an API type. Note that if an API component is not specified, then
 	 * some operations will not be available (navigating super types, member
@@ -521,6 +526,40 @@ public class ApiType extends ApiMember implements IApiType {
 		fMemberTypes.put(simpleName, null);
 	}
 
+	/**
+	 * @return the simple names of the member types of this type, in the order
+	 *         they were added
+	 */
+	String[] getMemberTypeNames() {
+		if (fMemberTypes == null) {
+			return new String[0];
+		}
+		return fMemberTypes.keySet().toArray(new String[fMemberTypes.size()]);
+	}
+
+	/**
+	 * Returns a digest of the structure of this type as it was read from its
+	 * class file: its modifiers, the names of its super types and member types
+	 * and the names, signatures, modifiers, thrown exceptions, constant and
+	 * default values of its fields and methods. Method bodies are not part of
+	 * the fingerprint, so two types with the same fingerprint have the same
+	 * structure but may have a different implementation.
+	 *
+	 * @return the fingerprint or <code>null</code> if it is unknown
+	 */
+	public byte[] getFingerprint() {
+		return fFingerprint;
+	}
+
+	/**
+	 * Used when building a type structure.
+	 *
+	 * @param fingerprint the digest of the structure of this type
+	 */
+	void setFingerprint(byte[] fingerprint) {
+		fFingerprint = fingerprint;
+	}
+
 	@Override
 	public IApiType getMemberType(String simpleName) throws CoreException {
 		if (fMemberTypes == null) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2020 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,11 @@ package org.eclipse.pde.api.tools.internal.model;
 import java.io.ByteArrayInputStream;
 import java.io.DataInputStream;
 import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -27,6 +32,8 @@ import org.eclipse.osgi.util.NLS;
 import org.eclipse.pde.api.tools.internal.model.StubArchiveApiTypeContainer.ArchiveApiTypeRoot;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiField;
+import org.eclipse.pde.api.tools.internal.provisional.model.IApiMethod;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
 import org.eclipse.pde.api.tools.internal.util.Util;
@@ -266,9 +273,98 @@ public class TypeStructureBuilder extends ClassVisitor {
 			// thrown from ASM 5.0 for bad bytecodes
 			return logAndReturn(file, iae);
 		}
+		setFingerprint(visitor.fType);
 		return visitor.fType;
 	}
 
+	/**
+	 * Computes and sets the fingerprint of the given type structure once it
+	 * has been completely built.
+	 *
+	 * @param type the type structure or <code>null</code>
+	 * @see ApiType#getFingerprint()
+	 */
+	static void setFingerprint(ApiType type) {
+		if (type == null) {
+			return;
+		}
+		MessageDigest digest;
+		try {
+			digest = MessageDigest.getInstance("SHA-256"); //$NON-NLS-1$
+		} catch (NoSuchAlgorithmException e) {
+			// every platform supports SHA-256, the type simply has no
+			// fingerprint otherwise
+			return;
+		}
+		update(digest, type.getModifiers());
+		update(digest, type.getName());
+		update(digest, type.getGenericSignature());
+		update(digest, type.getSuperclassName());
+		String[] interfaces = type.getSuperInterfaceNames();
+		update(digest, interfaces == null ? -1 : interfaces.length);
+		if (interfaces != null) {
+			for (String name : interfaces) {
+				update(digest, name);
+			}
+		}
+		update(digest, (type.isMemberType() ? 1 : 0) | (type.isLocal() ? 2 : 0) | (type.isAnonymous() ? 4 : 0));
+		String[] members = type.getMemberTypeNames();
+		Arrays.sort(members);
+		update(digest, members.length);
+		for (String name : members) {
+			update(digest, name);
+		}
+		// fields and methods are sorted so that reordering members in the
+		// source does not change the fingerprint
+		IApiField[] fields = type.getFields();
+		Arrays.sort(fields, Comparator.comparing(IApiField::getName));
+		update(digest, fields.length);
+		for (IApiField field : fields) {
+			update(digest, field.getModifiers());
+			update(digest, field.getName());
+			update(digest, field.getSignature());
+			update(digest, field.getGenericSignature());
+			Object value = field.getConstantValue();
+			update(digest, value == null ? null : value.getClass().getName() + ':' + value);
+		}
+		IApiMethod[] methods = type.getMethods();
+		Arrays.sort(methods, Comparator.comparing(IApiMethod::getName).thenComparing(IApiMethod::getSignature, Comparator.nullsFirst(Comparator.naturalOrder())));
+		update(digest, methods.length);
+		for (IApiMethod method : methods) {
+			update(digest, method.getModifiers());
+			update(digest, method.getName());
+			update(digest, method.getSignature());
+			update(digest, method.getGenericSignature());
+			update(digest, method.getDefaultValue());
+			String[] exceptions = method.getExceptionNames();
+			update(digest, exceptions == null ? -1 : exceptions.length);
+			if (exceptions != null) {
+				for (String name : exceptions) {
+					update(digest, name);
+				}
+			}
+		}
+		type.setFingerprint(digest.digest());
+	}
+
+	private static void update(MessageDigest digest, int value) {
+		digest.update((byte) (value >>> 24));
+		digest.update((byte) (value >>> 16));
+		digest.update((byte) (value >>> 8));
+		digest.update((byte) value);
+	}
+
+	private static void update(MessageDigest digest, String value) {
+		if (value == null) {
+			update(digest, -1);
+			return;
+		}
+		// prefix with the length so that adjacent values cannot be confused
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		update(digest, bytes.length);
+		digest.update(bytes);
+	}
+
 	/**
 	 * Builds a type structure with the given .class file bytes in the specified
 	 * API component.
@@ -448,7 +544,9 @@ public class TypeStructureBuilder extends ClassVisitor {
 			}
 		} catch (IOException e) {
 			ApiPlugin.log(e);
+			return type;
 		}
+		setFingerprint(type);
 		return type;
 	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2015 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -21,9 +21,11 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.pde.api.tools.internal.builder.TypeScope;
 import org.eclipse.pde.api.tools.internal.descriptors.ComponentDescriptorImpl;
+import org.eclipse.pde.api.tools.internal.descriptors.DescriptorPool;
 import org.eclipse.pde.api.tools.internal.descriptors.PackageDescriptorImpl;
 import org.eclipse.pde.api.tools.internal.model.CompositeApiTypeContainer;
 import org.eclipse.pde.api.tools.internal.provisional.descriptors.IComponentDescriptor;
+import org.eclipse.pde.api.tools.internal.provisional.descriptors.IElementDescriptor;
 import org.eclipse.pde.api.tools.internal.provisional.descriptors.IFieldDescriptor;
 import org.eclipse.pde.api.tools.internal.provisional.descriptors.IMemberDescriptor;
 import org.eclipse.pde.api.tools.internal.provisional.descriptors.IMethodDescriptor;
@@ -80,7 +82,11 @@ public class Factory {
 	 * @return an {@link IPackageDescriptor} for the package
 	 */
 	public static IPackageDescriptor packageDescriptor(String packageName) {
-		return new PackageDescriptorImpl(packageName);
+		DescriptorPool pool = DescriptorPool.getDefault();
+		if (pool == null) {
+			return new PackageDescriptorImpl(packageName);
+		}
+		return pool.intern(new PackageDescriptorImpl(pool.intern(packageName)));
 	}
 
 	/**
@@ -93,7 +99,7 @@ public class Factory {
 	public static IReferenceTypeDescriptor typeDescriptor(String fullyQualifiedName) {
 		String packageName = Signatures.getPackageName(fullyQualifiedName);
 		String typeName = Signatures.getTypeName(fullyQualifiedName);
-		return packageDescriptor(packageName).getType(typeName);
+		return intern(packageDescriptor(packageName).getType(typeName));
 	}
 
 	/**
@@ -107,7 +113,11 @@ public class Factory {
 	 */
 	public static IMethodDescriptor methodDescriptor(String typename, String name, String signature) {
 		IReferenceTypeDescriptor type = typeDescriptor(typename);
-		return type.getMethod(name, signature);
+		DescriptorPool pool = DescriptorPool.getDefault();
+		if (pool == null) {
+			return type.getMethod(name, signature);
+		}
+		return pool.intern(type.getMethod(pool.intern(name), pool.intern(signature)));
 	}
 
 	/**
@@ -120,7 +130,24 @@ public class Factory {
 	 */
 	public static IFieldDescriptor fieldDescriptor(String typename, String name) {
 		IReferenceTypeDescriptor type = typeDescriptor(typename);
-		return type.getField(name);
+		DescriptorPool pool = DescriptorPool.getDefault();
+		if (pool == null) {
+			return type.getField(name);
+		}
+		return pool.intern(type.getField(pool.intern(name)));
+	}
+
+	/**
+	 * Returns the shared instance of the given descriptor if descriptor pooling
+	 * is enabled.
+	 *
+	 * @param descriptor the descriptor
+	 * @return the pooled descriptor or the given one
+	 * @see DescriptorPool
+	 */
+	private static <T extends IElementDescriptor> T intern(T descriptor) {
+		DescriptorPool pool = DescriptorPool.getDefault();
+		return pool == null ? descriptor : pool.intern(descriptor);
 	}
 
 	/**
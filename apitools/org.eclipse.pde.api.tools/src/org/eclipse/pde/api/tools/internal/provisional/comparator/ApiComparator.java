@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2019 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,7 @@ import org.eclipse.jdt.core.Flags;
 import org.eclipse.pde.api.tools.internal.builder.AbstractProblemDetector;
 import org.eclipse.pde.api.tools.internal.comparator.ClassFileComparator;
 import org.eclipse.pde.api.tools.internal.comparator.Delta;
+import org.eclipse.pde.api.tools.internal.comparator.TypeFingerprints;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.IApiAnnotations;
 import org.eclipse.pde.api.tools.internal.provisional.IApiDescription;
@@ -37,6 +38,7 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiScope;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics;
 import org.eclipse.pde.api.tools.internal.util.Util;
 import org.osgi.framework.Version;
 
@@ -418,6 +420,11 @@ public class ApiComparator {
 				}
 			}
 			localmonitor.split(1);
+			if (new TypeFingerprints().isUnchanged(typeDescriptor, component, typeDescriptor2, component2)) {
+				AnalysisMetrics.getDefault().count(AnalysisMetrics.TYPES_UNCHANGED, component.getSymbolicName(), 1);
+				return NO_DELTA;
+			}
+			AnalysisMetrics.getDefault().count(AnalysisMetrics.TYPES_COMPARED, component.getSymbolicName(), 1);
 			ClassFileComparator comparator = new ClassFileComparator(typeDescriptor, typeRoot2, component, component2, referenceBaseline, baseline, visibilityModifiers);
 			IDelta delta = comparator.getDelta(localmonitor.split(1));
 			if (ApiPlugin.DEBUG_API_COMPARATOR) {
@@ -469,6 +476,11 @@ public class ApiComparator {
 		}
 		IDelta delta = null;
 		try {
+			if (new TypeFingerprints().isUnchanged(typeRoot.getStructure(), component, typeRoot2.getStructure(), component2)) {
+				AnalysisMetrics.getDefault().count(AnalysisMetrics.TYPES_UNCHANGED, component.getSymbolicName(), 1);
+				return NO_DELTA;
+			}
+			AnalysisMetrics.getDefault().count(AnalysisMetrics.TYPES_COMPARED, component.getSymbolicName(), 1);
 			ClassFileComparator comparator = new ClassFileComparator(typeRoot, typeRoot2, component, component2, referenceBaseline, baseline, visibilityModifiers);
 			delta = comparator.getDelta(SubMonitor.convert(monitor));
 			if (ApiPlugin.DEBUG_API_COMPARATOR) {
@@ -627,6 +639,8 @@ public class ApiComparator {
 		}
 		final IApiDescription apiDescription = component.getApiDescription();
 		final IApiDescription apiDescription2 = component2.getApiDescription();
+		// fingerprints of the super types are shared by all the compared types
+		final TypeFingerprints fingerprints = new TypeFingerprints();
 		if (typeRootContainers != null) {
 			SubMonitor loopMonitor = localmonitor.split(1).setWorkRemaining(typeRootContainers.length);
 			for (IApiTypeContainer container : typeRootContainers) {
@@ -747,6 +761,11 @@ public class ApiComparator {
 												Util.getComponentVersionsId(component2) }));
 									}
 									typeRootBaseLineNames.add(typeName);
+									if (fingerprints.isUnchanged(typeDescriptor, component, typeDescriptor2, provider)) {
+										AnalysisMetrics.getDefault().count(AnalysisMetrics.TYPES_UNCHANGED, component.getSymbolicName(), 1);
+										return;
+									}
+									AnalysisMetrics.getDefault().count(AnalysisMetrics.TYPES_COMPARED, component.getSymbolicName(), 1);
 									ClassFileComparator comparator = new ClassFileComparator(typeDescriptor, typeRoot2, component, provider, referenceBaseline, baseline, visibilityModifiers);
 									IDelta delta = comparator.getDelta(visitMonitor.split(1));
 									if (ApiPlugin.DEBUG_API_COMPARATOR) {
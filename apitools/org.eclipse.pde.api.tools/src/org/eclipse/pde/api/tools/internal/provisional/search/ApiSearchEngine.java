@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2015 IBM Corporation and others.
+ * Copyright (c) 2009, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -39,6 +39,7 @@ import org.eclipse.pde.api.tools.internal.provisional.model.IApiType;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeContainer;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiTypeRoot;
 import org.eclipse.pde.api.tools.internal.search.SearchMessages;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics;
 
 /**
  * Engine used to search for API use
@@ -258,7 +259,9 @@ public final class ApiSearchEngine {
 					loopstart = System.currentTimeMillis();
 					System.out.println("Searching " + scopeelements[i].getApiComponent().getSymbolicName() + "..."); //$NON-NLS-1$ //$NON-NLS-2$
 				}
-				searchReferences(requestor, scopeelements[i], reporter, localmonitor.split(1));
+				try (AnalysisMetrics.Timer timer = AnalysisMetrics.getDefault().time(AnalysisMetrics.SEARCH, scopeelements[i].getApiComponent().getSymbolicName())) {
+					searchReferences(requestor, scopeelements[i], reporter, localmonitor.split(1));
+				}
 				localmonitor.setTaskName(taskname);
 				if (localmonitor.isCanceled()) {
 					reporter.reportResults(scopeelements[i], NO_REFERENCES);
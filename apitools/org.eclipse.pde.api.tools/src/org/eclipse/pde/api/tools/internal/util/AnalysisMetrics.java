@@ -0,0 +1,423 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.util;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Collects the time spent in the phases of the API analysis and counters such
+ * as cache hits, both overall and per API component.
+ * <p>
+ * Collection is disabled by default. It is enabled with the system property
+ * <code>-Dorg.eclipse.pde.api.tools.metrics=true</code> or by the API analysis
+ * application and Ant tasks when a metrics report is requested. The collected
+ * values are reported as JSON, see {@link #toJSON()}.
+ * </p>
+ * <p>
+ * Independently of the collection, every timed phase is emitted as a
+ * <code>org.eclipse.pde.api.tools.AnalysisPhase</code> Java Flight Recorder
+ * event when a recording is running and JFR is available.
+ * </p>
+ * <p>
+ * This class is thread safe.
+ * </p>
+ *
+ * @since 1.3.300
+ */
+public final class AnalysisMetrics {
+
+	/**
+	 * Phase extracting the references of the types of a component
+	 */
+	public static final String EXTRACTION = "extraction"; //$NON-NLS-1$
+
+	/**
+	 * Phase resolving the extracted references
+	 */
+	public static final String RESOLUTION = "resolution"; //$NON-NLS-1$
+
+	/**
+	 * Phase building the problem detectors of a component
+	 */
+	public static final String DETECTOR_BUILD = "detectorBuild"; //$NON-NLS-1$
+
+	/**
+	 * Phase creating the API use problems from the resolved references
+	 */
+	public static final String DETECTORS = "detectors"; //$NON-NLS-1$
+
+	/**
+	 * Phase comparing a component with its baseline counterpart
+	 */
+	public static final String COMPATIBILITY = "compatibility"; //$NON-NLS-1$
+
+	/**
+	 * Phase checking the <code>@since</code> tags of the changed elements
+	 */
+	public static final String SINCE_TAGS = "sinceTags"; //$NON-NLS-1$
+
+	/**
+	 * Phase creating the problem markers in the workspace
+	 */
+	public static final String MARKERS = "markers"; //$NON-NLS-1$
+
+	/**
+	 * Phase running an API search
+	 */
+	public static final String SEARCH = "search"; //$NON-NLS-1$
+
+	/**
+	 * Phase restoring the API baselines from the workspace metadata
+	 */
+	public static final String BASELINE_RESTORE = "baselineRestore"; //$NON-NLS-1$
+
+	/**
+	 * Counter of the references extracted
+	 */
+	public static final String REFERENCES = "references"; //$NON-NLS-1$
+
+	/**
+	 * Counter of the types whose references were found in the reference cache
+	 */
+	public static final String REFERENCE_CACHE_HITS = "referenceCacheHits"; //$NON-NLS-1$
+
+	/**
+	 * Counter of the types whose references had to be extracted again
+	 */
+	public static final String REFERENCE_CACHE_MISSES = "referenceCacheMisses"; //$NON-NLS-1$
+
+	/**
+	 * Counter of the types compared with a class file comparator
+	 */
+	public static final String TYPES_COMPARED = "typesCompared"; //$NON-NLS-1$
+
+	/**
+	 * Counter of the types whose comparison was skipped because their API
+	 * fingerprints are identical
+	 */
+	public static final String TYPES_UNCHANGED = "typesUnchanged"; //$NON-NLS-1$
+
+	/**
+	 * Counter of the problems reported
+	 */
+	public static final String PROBLEMS = "problems"; //$NON-NLS-1$
+
+	private static final AnalysisMetrics fDefault = new AnalysisMetrics(Boolean.getBoolean("org.eclipse.pde.api.tools.metrics")); //$NON-NLS-1$
+
+	private static final boolean JFR_AVAILABLE = isJFRAvailable();
+
+	/**
+	 * Timer returned when neither collection nor JFR is enabled
+	 */
+	private static final Timer NO_TIMER = new Timer(null, null, null, null);
+
+	private volatile boolean fEnabled;
+
+	private final Metrics fTotal = new Metrics();
+
+	private final Map<String, Metrics> fComponents = new ConcurrentHashMap<>();
+
+	/**
+	 * Constructs new metrics
+	 *
+	 * @param enabled whether values are collected
+	 */
+	public AnalysisMetrics(boolean enabled) {
+		fEnabled = enabled;
+	}
+
+	/**
+	 * @return the metrics the API analysis reports to
+	 */
+	public static AnalysisMetrics getDefault() {
+		return fDefault;
+	}
+
+	/**
+	 * @return whether values are collected
+	 */
+	public boolean isEnabled() {
+		return fEnabled;
+	}
+
+	/**
+	 * Enables or disables the collection of values. Values already collected
+	 * are kept.
+	 *
+	 * @param enabled whether values are collected
+	 */
+	public void setEnabled(boolean enabled) {
+		fEnabled = enabled;
+	}
+
+	/**
+	 * Starts timing a phase. The returned timer must be closed when the phase
+	 * ends, typically with a try-with-resources statement.
+	 *
+	 * @param phase the phase, e.g. {@link #EXTRACTION}
+	 * @param component the symbolic name of the component the phase runs for
+	 *            or <code>null</code>
+	 * @return the running timer, never <code>null</code>
+	 */
+	public Timer time(String phase, String component) {
+		Object event = JFR_AVAILABLE ? AnalysisPhaseEvent.begin(phase, component) : null;
+		if (!fEnabled && event == null) {
+			return NO_TIMER;
+		}
+		return new Timer(fEnabled ? this : null, phase, component, event);
+	}
+
+	/**
+	 * Adds the given value to a counter
+	 *
+	 * @param counter the counter, e.g. {@link #REFERENCE_CACHE_HITS}
+	 * @param component the symbolic name of the component the value is counted
+	 *            for or <code>null</code>
+	 * @param delta the value to add
+	 */
+	public void count(String counter, String component, long delta) {
+		if (!fEnabled) {
+			return;
+		}
+		fTotal.add(fTotal.fCounters, counter, delta);
+		if (component != null) {
+			Metrics metrics = getMetrics(component);
+			metrics.add(metrics.fCounters, counter, delta);
+		}
+	}
+
+	/**
+	 * Returns the total of the given counter
+	 *
+	 * @param counter the counter
+	 * @param component the symbolic name of a component or <code>null</code>
+	 *            for the total of all components
+	 * @return the value of the counter
+	 */
+	public long getCount(String counter, String component) {
+		Metrics metrics = component == null ? fTotal : fComponents.get(component);
+		LongAdder adder = metrics == null ? null : metrics.fCounters.get(counter);
+		return adder == null ? 0 : adder.sum();
+	}
+
+	/**
+	 * Returns the number of times the given phase ran
+	 *
+	 * @param phase the phase
+	 * @param component the symbolic name of a component or <code>null</code>
+	 *            for all components
+	 * @return the number of times the phase was timed
+	 */
+	public long getPhaseCount(String phase, String component) {
+		Metrics metrics = component == null ? fTotal : fComponents.get(component);
+		LongAdder adder = metrics == null ? null : metrics.fPhaseCounts.get(phase);
+		return adder == null ? 0 : adder.sum();
+	}
+
+	/**
+	 * Discards all collected values
+	 */
+	public void reset() {
+		fTotal.clear();
+		fComponents.clear();
+	}
+
+	/**
+	 * Returns the collected values as a JSON object of the form
+	 *
+	 * <pre>
+	 * {
+	 *   "phases": { "extraction": { "count": 3, "millis": 120 }, ... },
+	 *   "counters": { "referenceCacheHits": 42, ... },
+	 *   "components": {
+	 *     "org.example.bundle": { "phases": { ... }, "counters": { ... } }
+	 *   }
+	 * }
+	 * </pre>
+	 *
+	 * Names are sorted so reports of successive runs can be compared.
+	 *
+	 * @return the JSON report
+	 */
+	public String toJSON() {
+		StringBuilder buffer = new StringBuilder();
+		buffer.append("{\n"); //$NON-NLS-1$
+		fTotal.appendJSON(buffer, "  "); //$NON-NLS-1$
+		buffer.append(",\n  \"components\": {"); //$NON-NLS-1$
+		boolean first = true;
+		for (Map.Entry<String, Metrics> entry : new TreeMap<>(fComponents).entrySet()) {
+			buffer.append(first ? "\n" : ",\n"); //$NON-NLS-1$ //$NON-NLS-2$
+			first = false;
+			buffer.append("    "); //$NON-NLS-1$
+			appendString(buffer, entry.getKey());
+			buffer.append(": {\n"); //$NON-NLS-1$
+			entry.getValue().appendJSON(buffer, "      "); //$NON-NLS-1$
+			buffer.append("\n    }"); //$NON-NLS-1$
+		}
+		buffer.append(first ? "}\n}\n" : "\n  }\n}\n"); //$NON-NLS-1$ //$NON-NLS-2$
+		return buffer.toString();
+	}
+
+	/**
+	 * Writes the JSON report to the given file, see {@link #toJSON()}
+	 *
+	 * @param file the file to write, its parent folders are created as needed
+	 * @throws IOException if the file cannot be written
+	 */
+	public void writeJSON(File file) throws IOException {
+		File parent = file.getAbsoluteFile().getParentFile();
+		if (parent != null) {
+			Files.createDirectories(parent.toPath());
+		}
+		Files.writeString(file.toPath(), toJSON(), StandardCharsets.UTF_8);
+	}
+
+	private Metrics getMetrics(String component) {
+		return fComponents.computeIfAbsent(component, name -> new Metrics());
+	}
+
+	void record(String phase, String component, long nanos) {
+		fTotal.record(phase, nanos);
+		if (component != null) {
+			getMetrics(component).record(phase, nanos);
+		}
+	}
+
+	static void appendString(StringBuilder buffer, String value) {
+		buffer.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			switch (c) {
+				case '"' -> buffer.append("\\\""); //$NON-NLS-1$
+				case '\\' -> buffer.append("\\\\"); //$NON-NLS-1$
+				case '\n' -> buffer.append("\\n"); //$NON-NLS-1$
+				case '\r' -> buffer.append("\\r"); //$NON-NLS-1$
+				case '\t' -> buffer.append("\\t"); //$NON-NLS-1$
+				default -> {
+					if (c < 0x20) {
+						buffer.append(String.format("\\u%04x", Integer.valueOf(c))); //$NON-NLS-1$
+					} else {
+						buffer.append(c);
+					}
+				}
+			}
+		}
+		buffer.append('"');
+	}
+
+	private static boolean isJFRAvailable() {
+		try {
+			Class.forName("jdk.jfr.Event", false, AnalysisMetrics.class.getClassLoader()); //$NON-NLS-1$
+			return true;
+		} catch (ClassNotFoundException | LinkageError e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Times a phase from its creation until it is closed
+	 */
+	public static final class Timer implements AutoCloseable {
+
+		private final AnalysisMetrics fMetrics;
+		private final String fPhase;
+		private final String fComponent;
+		/**
+		 * The JFR event, typed as {@link Object} so this class does not
+		 * depend on JFR
+		 */
+		private final Object fEvent;
+		private final long fStart;
+		private boolean fClosed;
+
+		Timer(AnalysisMetrics metrics, String phase, String component, Object event) {
+			fMetrics = metrics;
+			fPhase = phase;
+			fComponent = component;
+			fEvent = event;
+			fStart = metrics == null ? 0 : System.nanoTime();
+		}
+
+		/**
+		 * Stops the timer and records the elapsed time. Closing a timer more
+		 * than once has no effect.
+		 */
+		@Override
+		public void close() {
+			if (fClosed || (fMetrics == null && fEvent == null)) {
+				return;
+			}
+			fClosed = true;
+			if (fMetrics != null) {
+				fMetrics.record(fPhase, fComponent, System.nanoTime() - fStart);
+			}
+			if (fEvent != null) {
+				AnalysisPhaseEvent.end(fEvent);
+			}
+		}
+	}
+
+	/**
+	 * Values collected overall or for one component
+	 */
+	private static final class Metrics {
+		final Map<String, LongAdder> fPhaseCounts = new ConcurrentHashMap<>();
+		final Map<String, LongAdder> fPhaseNanos = new ConcurrentHashMap<>();
+		final Map<String, LongAdder> fCounters = new ConcurrentHashMap<>();
+
+		void record(String phase, long nanos) {
+			add(fPhaseCounts, phase, 1);
+			add(fPhaseNanos, phase, nanos);
+		}
+
+		void add(Map<String, LongAdder> values, String name, long delta) {
+			values.computeIfAbsent(name, key -> new LongAdder()).add(delta);
+		}
+
+		void clear() {
+			fPhaseCounts.clear();
+			fPhaseNanos.clear();
+			fCounters.clear();
+		}
+
+		void appendJSON(StringBuilder buffer, String indent) {
+			buffer.append(indent).append("\"phases\": {"); //$NON-NLS-1$
+			boolean first = true;
+			for (Map.Entry<String, LongAdder> entry : new TreeMap<>(fPhaseCounts).entrySet()) {
+				buffer.append(first ? "\n" : ",\n").append(indent).append("  "); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				first = false;
+				appendString(buffer, entry.getKey());
+				LongAdder nanos = fPhaseNanos.get(entry.getKey());
+				buffer.append(": { \"count\": ").append(entry.getValue().sum()); //$NON-NLS-1$
+				buffer.append(", \"millis\": ").append(nanos == null ? 0 : TimeUnit.NANOSECONDS.toMillis(nanos.sum())).append(" }"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+			buffer.append(first ? "},\n" : "\n" + indent + "},\n"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+			buffer.append(indent).append("\"counters\": {"); //$NON-NLS-1$
+			first = true;
+			for (Map.Entry<String, LongAdder> entry : new TreeMap<>(fCounters).entrySet()) {
+				buffer.append(first ? "\n" : ",\n").append(indent).append("  "); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				first = false;
+				appendString(buffer, entry.getKey());
+				buffer.append(": ").append(entry.getValue().sum()); //$NON-NLS-1$
+			}
+			buffer.append(first ? "}" : "\n" + indent + "}"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+}
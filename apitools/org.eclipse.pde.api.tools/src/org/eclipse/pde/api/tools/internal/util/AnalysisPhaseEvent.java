@@ -0,0 +1,59 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.api.tools.internal.util;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Java Flight Recorder event of a phase of the API analysis. Only loaded by
+ * {@link AnalysisMetrics} once it knows JFR is available.
+ *
+ * @since 1.3.300
+ */
+@Name("org.eclipse.pde.api.tools.AnalysisPhase")
+@Label("API Analysis Phase")
+@Category({ "Eclipse", "API Tools" })
+final class AnalysisPhaseEvent extends Event {
+
+	@Label("Phase")
+	String phase;
+
+	@Label("Component")
+	String component;
+
+	/**
+	 * Begins an event if JFR records it
+	 *
+	 * @return the event or <code>null</code> if it is not recorded
+	 */
+	static Object begin(String phase, String component) {
+		AnalysisPhaseEvent event = new AnalysisPhaseEvent();
+		if (!event.isEnabled()) {
+			return null;
+		}
+		event.phase = phase;
+		event.component = component;
+		event.begin();
+		return event;
+	}
+
+	static void end(Object event) {
+		AnalysisPhaseEvent phaseEvent = (AnalysisPhaseEvent) event;
+		phaseEvent.end();
+		if (phaseEvent.shouldCommit()) {
+			phaseEvent.commit();
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2024 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -29,6 +29,10 @@ import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Properties;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.apache.tools.ant.BuildException;
 import org.eclipse.core.runtime.CoreException;
@@ -167,6 +171,12 @@ public class APIToolsAnalysisTask extends CommonUtilsTask {
 	 */
 	private boolean processUnresolvedBundles = true;
 
+	/**
+	 * The number of components analyzed concurrently, <code>1</code> by
+	 * default
+	 */
+	private int parallelism = 1;
+
 	private Summary[] createAllSummaries(Map<String, IApiProblem[]> allProblems) {
 		Set<Map.Entry<String, IApiProblem[]>> entrySet = allProblems.entrySet();
 		int size = entrySet.size();
@@ -330,170 +340,192 @@ public class APIToolsAnalysisTask extends CommonUtilsTask {
 				System.out.println("No include list location"); //$NON-NLS-1$
 			}
 		}
-		// unzip reference
-		long time = 0;
-		if (this.debug) {
-			time = System.currentTimeMillis();
-		}
-		File referenceInstallDir = extractSDK(REFERENCE, this.referenceBaselineLocation);
-
-		File baselineInstallDir = extractSDK(CURRENT, this.currentBaselineLocation);
-		if (this.debug) {
-			System.out.println("Preparation of baseline installation : " + (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
-			time = System.currentTimeMillis();
-		}
-		// run the comparison
-		// create baseline for the reference
-		IApiBaseline referenceBaseline = createBaseline(REFERENCE_BASELINE_NAME, referenceInstallDir.getAbsolutePath(), this.eeFileLocation);
-		IApiBaseline currentBaseline = createBaseline(CURRENT_BASELINE_NAME, baselineInstallDir.getAbsolutePath(), this.eeFileLocation);
-
-		if (this.excludeListLocation != null) {
-			this.excludedElements = CommonUtilsTask.initializeFilteredElements(this.excludeListLocation, currentBaseline, this.debug);
-			if (this.debug) {
-				System.out.println("=============================================================================="); //$NON-NLS-1$
-				System.out.println("Excluded elements list:"); //$NON-NLS-1$
-				System.out.println(this.excludedElements);
-			}
-		}
-		if (this.includeListLocation != null) {
-			this.includedElements = CommonUtilsTask.initializeFilteredElements(this.includeListLocation, currentBaseline, this.debug);
-			if (this.debug) {
-				System.out.println("=============================================================================="); //$NON-NLS-1$
-				System.out.println("Included elements list:"); //$NON-NLS-1$
-				System.out.println(this.includedElements);
-			}
-		}
-		if (this.debug) {
-			System.out.println("Creation of both baselines : " + (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
-			time = System.currentTimeMillis();
-		}
 		Map<String, IApiProblem[]> allProblems = new HashMap<>();
 		List<String> allNonApiBundles = new ArrayList<>();
 		List<String> allApiBundles = new ArrayList<>();
 		Map<String, Object> bundlesWithErrors = new LinkedHashMap<>();
+		startMetrics();
 		try {
-			IApiComponent[] apiComponents = currentBaseline.getApiComponents();
-			int length = apiComponents.length;
-			Set<String> visitedApiComponentNames = new HashSet<>();
-			for (int i = 0; i < length; i++) {
-				IApiComponent apiComponent = apiComponents[i];
-				String name = apiComponent.getSymbolicName();
-				visitedApiComponentNames.add(name);
-
-				if (isFiltered(name)) {
-					continue;
+			// unzip reference
+			long time = 0;
+			if (this.debug) {
+				time = System.currentTimeMillis();
+			}
+			File referenceInstallDir = extractSDK(REFERENCE, this.referenceBaselineLocation);
+
+			File baselineInstallDir = extractSDK(CURRENT, this.currentBaselineLocation);
+			if (this.debug) {
+				System.out.println("Preparation of baseline installation : " + (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
+				time = System.currentTimeMillis();
+			}
+			// run the comparison
+			// create baseline for the reference
+			IApiBaseline referenceBaseline = createBaseline(REFERENCE_BASELINE_NAME, referenceInstallDir.getAbsolutePath(), this.eeFileLocation);
+			IApiBaseline currentBaseline = createBaseline(CURRENT_BASELINE_NAME, baselineInstallDir.getAbsolutePath(), this.eeFileLocation);
+
+			if (this.excludeListLocation != null) {
+				this.excludedElements = CommonUtilsTask.initializeFilteredElements(this.excludeListLocation, currentBaseline, this.debug);
+				if (this.debug) {
+					System.out.println("=============================================================================="); //$NON-NLS-1$
+					System.out.println("Excluded elements list:"); //$NON-NLS-1$
+					System.out.println(this.excludedElements);
 				}
-				if (apiComponent.isSystemComponent()) {
-					continue;
+			}
+			if (this.includeListLocation != null) {
+				this.includedElements = CommonUtilsTask.initializeFilteredElements(this.includeListLocation, currentBaseline, this.debug);
+				if (this.debug) {
+					System.out.println("=============================================================================="); //$NON-NLS-1$
+					System.out.println("Included elements list:"); //$NON-NLS-1$
+					System.out.println(this.includedElements);
 				}
-				if (!Util.isApiToolsComponent(apiComponent)) {
-					if (Util.hasJavaPackages(apiComponent)) {
-						allNonApiBundles.add(name);
+			}
+			if (this.debug) {
+				System.out.println("Creation of both baselines : " + (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
+				time = System.currentTimeMillis();
+			}
+			try {
+				IApiComponent[] apiComponents = currentBaseline.getApiComponents();
+				int length = apiComponents.length;
+				Set<String> visitedApiComponentNames = new HashSet<>();
+				List<IApiComponent> componentsToAnalyze = new ArrayList<>();
+				for (int i = 0; i < length; i++) {
+					IApiComponent apiComponent = apiComponents[i];
+					String name = apiComponent.getSymbolicName();
+					visitedApiComponentNames.add(name);
+
+					if (isFiltered(name)) {
+						continue;
 					}
-					continue;
-				}
-
-				// If the component has resolver errors the results may not be
-				// accurate, store problems in other category
-				try {
-					ResolverError[] resolverErrors = apiComponent.getErrors();
-					if (resolverErrors != null && resolverErrors.length > 0) {
-						bundlesWithErrors.put(name, apiComponent.getErrors());
-						if (!processUnresolvedBundles) {
-							// If the user has turned off the setting, do not
-							// process bundles with resolver errors
-							continue;
+					if (apiComponent.isSystemComponent()) {
+						continue;
+					}
+					if (!Util.isApiToolsComponent(apiComponent)) {
+						if (Util.hasJavaPackages(apiComponent)) {
+							allNonApiBundles.add(name);
 						}
+						continue;
 					}
-				} catch (CoreException e) {
-					ApiPlugin.log(e.getStatus());
-					throw new BuildException(e);
-				}
 
-				allApiBundles.add(name);
-				BaseApiAnalyzer analyzer = new BaseApiAnalyzer();
-				try {
-					analyzer.setContinueOnResolverError(true);
-					analyzer.analyzeComponent(null, getFilterStore(name), this.properties, referenceBaseline, apiComponent, new BuildContext(), new NullProgressMonitor());
-					IApiProblem[] problems = analyzer.getProblems();
-					// remove duplicates
-					problems = removeDuplicates(problems);
-					if (problems.length != 0) {
-						allProblems.put(name, problems);
-					} else if (this.debug) {
-						System.out.println(name + " has no problems"); //$NON-NLS-1$
+					// If the component has resolver errors the results may not be
+					// accurate, store problems in other category
+					try {
+						ResolverError[] resolverErrors = apiComponent.getErrors();
+						if (resolverErrors != null && resolverErrors.length > 0) {
+							bundlesWithErrors.put(name, apiComponent.getErrors());
+							if (!processUnresolvedBundles) {
+								// If the user has turned off the setting, do not
+								// process bundles with resolver errors
+								continue;
+							}
+						}
+					} catch (CoreException e) {
+						ApiPlugin.log(e.getStatus());
+						throw new BuildException(e);
 					}
-				} catch (RuntimeException e) {
-					ApiPlugin.log(e);
-					throw e;
-				} finally {
-					analyzer.dispose();
-				}
-			}
-			if (debug) {
-				System.out.println("=========================="); //$NON-NLS-1$
-				System.out.println("Total number of components in current baseline :" + length); //$NON-NLS-1$
-				System.out.println("=========================="); //$NON-NLS-1$
-				System.out.println("Total number of api tools components in current baseline :" + allApiBundles.size()); //$NON-NLS-1$
-				System.out.println("Details:"); //$NON-NLS-1$
-				Collections.sort(allApiBundles);
-				for (String string : allApiBundles) {
-					System.out.println(string);
+
+					allApiBundles.add(name);
+					componentsToAnalyze.add(apiComponent);
 				}
-				System.out.println("=========================="); //$NON-NLS-1$
-				System.out.println("Total number of non-api tools components in current baseline :" + allNonApiBundles.size()); //$NON-NLS-1$
-				System.out.println("Details:"); //$NON-NLS-1$
-				Collections.sort(allNonApiBundles);
-				for (String string : allNonApiBundles) {
-					System.out.println(string);
+				if (this.parallelism > 1 && componentsToAnalyze.size() > 1) {
+					ExecutorService executor = Executors.newFixedThreadPool(Math.min(this.parallelism, componentsToAnalyze.size()));
+					try {
+						List<Future<IApiProblem[]>> results = new ArrayList<>(componentsToAnalyze.size());
+						for (IApiComponent apiComponent : componentsToAnalyze) {
+							results.add(executor.submit(() -> analyze(apiComponent, referenceBaseline)));
+						}
+						// collect the results in the order of the baseline so the
+						// report does not depend on the scheduling
+						for (int i = 0; i < componentsToAnalyze.size(); i++) {
+							addProblems(allProblems, componentsToAnalyze.get(i).getSymbolicName(), results.get(i).get());
+						}
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new BuildException(e);
+					} catch (ExecutionException e) {
+						Throwable cause = e.getCause();
+						if (cause instanceof RuntimeException runtimeException) {
+							throw runtimeException;
+						}
+						if (cause instanceof Error error) {
+							throw error;
+						}
+						throw new BuildException(cause);
+					} finally {
+						executor.shutdownNow();
+					}
+				} else {
+					for (IApiComponent apiComponent : componentsToAnalyze) {
+						addProblems(allProblems, apiComponent.getSymbolicName(), analyze(apiComponent, referenceBaseline));
+					}
 				}
-				System.out.println("=========================="); //$NON-NLS-1$
-				System.out.println("Total number of components with resolver errors :" + bundlesWithErrors.size()); //$NON-NLS-1$
-				System.out.println("Details:"); //$NON-NLS-1$
-				List<String> names = new ArrayList<>();
-				names.addAll(bundlesWithErrors.keySet());
-				Collections.sort(names);
-				for (String name : names) {
-					System.out.println(name);
-					ResolverError[] errors = (ResolverError[]) bundlesWithErrors.get(name);
-					for (ResolverError error : errors) {
-						System.out.println(error);
+				if (debug) {
+					System.out.println("=========================="); //$NON-NLS-1$
+					System.out.println("Total number of components in current baseline :" + length); //$NON-NLS-1$
+					System.out.println("=========================="); //$NON-NLS-1$
+					System.out.println("Total number of api tools components in current baseline :" + allApiBundles.size()); //$NON-NLS-1$
+					System.out.println("Details:"); //$NON-NLS-1$
+					Collections.sort(allApiBundles);
+					for (String string : allApiBundles) {
+						System.out.println(string);
+					}
+					System.out.println("=========================="); //$NON-NLS-1$
+					System.out.println("Total number of non-api tools components in current baseline :" + allNonApiBundles.size()); //$NON-NLS-1$
+					System.out.println("Details:"); //$NON-NLS-1$
+					Collections.sort(allNonApiBundles);
+					for (String string : allNonApiBundles) {
+						System.out.println(string);
+					}
+					System.out.println("=========================="); //$NON-NLS-1$
+					System.out.println("Total number of components with resolver errors :" + bundlesWithErrors.size()); //$NON-NLS-1$
+					System.out.println("Details:"); //$NON-NLS-1$
+					List<String> names = new ArrayList<>();
+					names.addAll(bundlesWithErrors.keySet());
+					Collections.sort(names);
+					for (String name : names) {
+						System.out.println(name);
+						ResolverError[] errors = (ResolverError[]) bundlesWithErrors.get(name);
+						for (ResolverError error : errors) {
+							System.out.println(error);
+						}
 					}
+					System.out.println("=========================="); //$NON-NLS-1$
 				}
-				System.out.println("=========================="); //$NON-NLS-1$
-			}
 
-			// Check if any components have been removed from the baseline
-			IApiComponent[] baselineApiComponents = referenceBaseline.getApiComponents();
-			for (IApiComponent apiComponent : baselineApiComponents) {
-				String id = apiComponent.getSymbolicName();
-				if (!visitedApiComponentNames.remove(id)) {
-					// A component has been removed. Apply any include/exclude
-					// filters
-					if (!isFiltered(id)) {
-						IApiProblem problem = ApiProblemFactory.newApiProblem(id, null, new String[] { id }, new String[] {
-								IApiMarkerConstants.MARKER_ATTR_HANDLE_ID,
-								IApiMarkerConstants.API_MARKER_ATTR_ID }, new Object[] {
-								id,
-								Integer.valueOf(IApiMarkerConstants.COMPATIBILITY_MARKER_ID), }, 0, -1, -1, IApiProblem.CATEGORY_COMPATIBILITY, IDelta.API_BASELINE_ELEMENT_TYPE, IDelta.REMOVED, IDelta.API_COMPONENT);
-						allProblems.put(id, new IApiProblem[] { problem });
+				// Check if any components have been removed from the baseline
+				IApiComponent[] baselineApiComponents = referenceBaseline.getApiComponents();
+				for (IApiComponent apiComponent : baselineApiComponents) {
+					String id = apiComponent.getSymbolicName();
+					if (!visitedApiComponentNames.remove(id)) {
+						// A component has been removed. Apply any include/exclude
+						// filters
+						if (!isFiltered(id)) {
+							IApiProblem problem = ApiProblemFactory.newApiProblem(id, null, new String[] { id }, new String[] {
+									IApiMarkerConstants.MARKER_ATTR_HANDLE_ID,
+									IApiMarkerConstants.API_MARKER_ATTR_ID }, new Object[] {
+									id,
+									Integer.valueOf(IApiMarkerConstants.COMPATIBILITY_MARKER_ID), }, 0, -1, -1, IApiProblem.CATEGORY_COMPATIBILITY, IDelta.API_BASELINE_ELEMENT_TYPE, IDelta.REMOVED, IDelta.API_COMPONENT);
+							allProblems.put(id, new IApiProblem[] { problem });
+						}
 					}
-				}
 
+				}
+			} finally {
+				if (this.debug) {
+					System.out.println("API tools verification check : " + (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
+					time = System.currentTimeMillis();
+				}
+				referenceBaseline.dispose();
+				currentBaseline.dispose();
+				StubApiComponent.disposeAllCaches();
+				deleteBaseline(this.referenceBaselineLocation, referenceInstallDir);
+				deleteBaseline(this.currentBaselineLocation, baselineInstallDir);
+				if (this.debug) {
+					System.out.println("Cleanup : " + (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
+				}
 			}
 		} finally {
-			if (this.debug) {
-				System.out.println("API tools verification check : " + (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
-				time = System.currentTimeMillis();
-			}
-			referenceBaseline.dispose();
-			currentBaseline.dispose();
-			StubApiComponent.disposeAllCaches();
-			deleteBaseline(this.referenceBaselineLocation, referenceInstallDir);
-			deleteBaseline(this.currentBaselineLocation, baselineInstallDir);
-			if (this.debug) {
-				System.out.println("Cleanup : " + (System.currentTimeMillis() - time) + "ms"); //$NON-NLS-1$ //$NON-NLS-2$
-			}
+			// stop collecting metrics also if the analysis failed
+			writeMetrics();
 		}
 
 		Summary[] summaries = createAllSummaries(allProblems);
@@ -525,6 +557,36 @@ public class APIToolsAnalysisTask extends CommonUtilsTask {
 		return false;
 	}
 
+	/**
+	 * Analyzes the given component against the reference baseline with a new
+	 * analyzer, so that several components can be analyzed concurrently
+	 *
+	 * @return the problems found for the component with duplicates removed
+	 */
+	private IApiProblem[] analyze(IApiComponent apiComponent, IApiBaseline referenceBaseline) {
+		String name = apiComponent.getSymbolicName();
+		BaseApiAnalyzer analyzer = new BaseApiAnalyzer();
+		try {
+			analyzer.setContinueOnResolverError(true);
+			analyzer.analyzeComponent(null, getFilterStore(name), this.properties, referenceBaseline, apiComponent, new BuildContext(), new NullProgressMonitor());
+			// remove duplicates
+			return removeDuplicates(analyzer.getProblems());
+		} catch (RuntimeException e) {
+			ApiPlugin.log(e);
+			throw e;
+		} finally {
+			analyzer.dispose();
+		}
+	}
+
+	private void addProblems(Map<String, IApiProblem[]> allProblems, String name, IApiProblem[] problems) {
+		if (problems.length != 0) {
+			allProblems.put(name, problems);
+		} else if (this.debug) {
+			System.out.println(name + " has no problems"); //$NON-NLS-1$
+		}
+	}
+
 	private IApiProblem[] removeDuplicates(IApiProblem[] problems) {
 		int length = problems.length;
 		if (length <= 1) {
@@ -888,4 +950,17 @@ public class APIToolsAnalysisTask extends CommonUtilsTask {
 		this.processUnresolvedBundles = processUnresolvedBundles;
 	}
 
+	/**
+	 * Set the number of API components to analyze concurrently. Every
+	 * component is analyzed by its own analyzer and the problems are reported
+	 * in the same order and format as for a sequential analysis. Values less
+	 * than <code>2</code> analyze the components one after the other, which is
+	 * the default.
+	 *
+	 * @param parallelism the number of components to analyze concurrently
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
 }
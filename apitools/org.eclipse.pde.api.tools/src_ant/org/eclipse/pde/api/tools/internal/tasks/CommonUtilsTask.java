@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2008, 2018 IBM Corporation and others.
+ * Copyright (c) 2008, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -29,6 +29,7 @@ import org.eclipse.pde.api.tools.internal.model.ApiModelFactory;
 import org.eclipse.pde.api.tools.internal.provisional.ApiPlugin;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics;
 import org.eclipse.pde.api.tools.internal.util.FilteredElements;
 import org.eclipse.pde.api.tools.internal.util.TarException;
 import org.eclipse.pde.api.tools.internal.util.Util;
@@ -55,6 +56,7 @@ public abstract class CommonUtilsTask extends Task {
 	protected String includeListLocation;
 
 	protected String reportLocation;
+	protected String metricsLocation;
 
 	/**
 	 * Creates a baseline with the given name and EE file location in the given
@@ -195,6 +197,55 @@ public abstract class CommonUtilsTask extends Task {
 		}
 	}
 
+	/**
+	 * Set the location of the file the metrics of the API analysis are written
+	 * to as JSON, see {@link AnalysisMetrics#toJSON()}. No metrics are
+	 * collected if the location is not set.
+	 *
+	 * @param metricsLocation the location of the metrics file
+	 * @since 1.3.300
+	 */
+	public void setMetrics(String metricsLocation) {
+		this.metricsLocation = metricsLocation;
+	}
+
+	/**
+	 * Starts collecting metrics if a metrics location is set
+	 *
+	 * @since 1.3.300
+	 */
+	protected void startMetrics() {
+		if (this.metricsLocation != null) {
+			AnalysisMetrics.getDefault().reset();
+			AnalysisMetrics.getDefault().setEnabled(true);
+		}
+	}
+
+	/**
+	 * Writes the collected metrics to the metrics location, if set, and stops
+	 * collecting them
+	 *
+	 * @throws BuildException if the metrics file cannot be written
+	 * @since 1.3.300
+	 */
+	protected void writeMetrics() throws BuildException {
+		if (this.metricsLocation == null) {
+			return;
+		}
+		AnalysisMetrics metrics = AnalysisMetrics.getDefault();
+		metrics.setEnabled(false);
+		try {
+			metrics.writeJSON(new File(this.metricsLocation));
+		} catch (IOException e) {
+			throw new BuildException(e);
+		} finally {
+			metrics.reset();
+		}
+		if (this.debug) {
+			System.out.println("API analysis metrics written to " + this.metricsLocation); //$NON-NLS-1$
+		}
+	}
+
 	/**
 	 * Parses and returns patterns as an array of Strings or <code>null</code>
 	 * if none.
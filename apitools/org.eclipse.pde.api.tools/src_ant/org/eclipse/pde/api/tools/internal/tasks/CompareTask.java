@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2010 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -34,6 +34,7 @@ import org.eclipse.pde.api.tools.internal.provisional.comparator.ApiScope;
 import org.eclipse.pde.api.tools.internal.provisional.comparator.IDelta;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiBaseline;
 import org.eclipse.pde.api.tools.internal.provisional.model.IApiComponent;
+import org.eclipse.pde.api.tools.internal.util.AnalysisMetrics;
 import org.eclipse.pde.api.tools.internal.util.FilteredElements;
 import org.eclipse.pde.api.tools.internal.util.Util;
 import org.eclipse.pde.api.tools.internal.util.UtilMessages;
@@ -78,82 +79,87 @@ public class CompareTask extends CommonUtilsTask {
 				System.out.println("No include list location"); //$NON-NLS-1$
 			}
 		}
-		// create reference
-		File referenceInstallDir = extractSDK(REFERENCE, this.referenceBaselineLocation);
-
-		File baselineInstallDir = extractSDK(CURRENT, this.currentBaselineLocation);
+		IDelta delta = null;
+		startMetrics();
+		try {
+			// create reference
+			File referenceInstallDir = extractSDK(REFERENCE, this.referenceBaselineLocation);
 
-		// run the comparison
-		// create baseline for the reference
-		IApiBaseline referenceBaseline = createBaseline(REFERENCE_BASELINE_NAME, referenceInstallDir.getAbsolutePath(), this.eeFileLocation);
-		IApiBaseline currentBaseline = createBaseline(CURRENT_BASELINE_NAME, baselineInstallDir.getAbsolutePath(), this.eeFileLocation);
+			File baselineInstallDir = extractSDK(CURRENT, this.currentBaselineLocation);
 
-		IDelta delta = null;
+			// run the comparison
+			// create baseline for the reference
+			IApiBaseline referenceBaseline = createBaseline(REFERENCE_BASELINE_NAME, referenceInstallDir.getAbsolutePath(), this.eeFileLocation);
+			IApiBaseline currentBaseline = createBaseline(CURRENT_BASELINE_NAME, baselineInstallDir.getAbsolutePath(), this.eeFileLocation);
 
-		FilteredElements excludedElements = CommonUtilsTask.initializeFilteredElements(this.excludeListLocation, currentBaseline, this.debug);
+			FilteredElements excludedElements = CommonUtilsTask.initializeFilteredElements(this.excludeListLocation, currentBaseline, this.debug);
 
-		if (this.debug) {
-			System.out.println("===================================================================================="); //$NON-NLS-1$
-			System.out.println("Excluded elements list:"); //$NON-NLS-1$
-			System.out.println(excludedElements);
-		}
+			if (this.debug) {
+				System.out.println("===================================================================================="); //$NON-NLS-1$
+				System.out.println("Excluded elements list:"); //$NON-NLS-1$
+				System.out.println(excludedElements);
+			}
 
-		FilteredElements includedElements = CommonUtilsTask.initializeFilteredElements(this.includeListLocation, currentBaseline, this.debug);
+			FilteredElements includedElements = CommonUtilsTask.initializeFilteredElements(this.includeListLocation, currentBaseline, this.debug);
 
-		if (this.debug) {
-			System.out.println("===================================================================================="); //$NON-NLS-1$
-			System.out.println("Included elements list:"); //$NON-NLS-1$
-			System.out.println(includedElements);
-		}
-		ApiScope scope = new ApiScope();
-		if (this.componentsList != null) {
-			// needs to set up individual components
-			IApiComponent[] apiComponents = currentBaseline.getApiComponents();
-			String[] componentsNames = this.componentsList.split(","); //$NON-NLS-1$
-			if (componentsNames.length == 0) {
-				scope.addElement(currentBaseline);
-			} else {
-				for (String componentsName : componentsNames) {
-					String componentName = componentsName;
-					componentName = componentName.trim();
-					if (componentName.startsWith(Util.REGULAR_EXPRESSION_START)) {
-						// regular expression
-						componentName = componentName.substring(2);
-						Pattern pattern = null;
-						try {
-							pattern = Pattern.compile(componentName);
-							for (IApiComponent apiComponent : apiComponents) {
-								String componentId = apiComponent.getSymbolicName();
-								Matcher matcher = pattern.matcher(componentId);
-								if (matcher.matches()) {
-									scope.addElement(apiComponent);
+			if (this.debug) {
+				System.out.println("===================================================================================="); //$NON-NLS-1$
+				System.out.println("Included elements list:"); //$NON-NLS-1$
+				System.out.println(includedElements);
+			}
+			ApiScope scope = new ApiScope();
+			if (this.componentsList != null) {
+				// needs to set up individual components
+				IApiComponent[] apiComponents = currentBaseline.getApiComponents();
+				String[] componentsNames = this.componentsList.split(","); //$NON-NLS-1$
+				if (componentsNames.length == 0) {
+					scope.addElement(currentBaseline);
+				} else {
+					for (String componentsName : componentsNames) {
+						String componentName = componentsName;
+						componentName = componentName.trim();
+						if (componentName.startsWith(Util.REGULAR_EXPRESSION_START)) {
+							// regular expression
+							componentName = componentName.substring(2);
+							Pattern pattern = null;
+							try {
+								pattern = Pattern.compile(componentName);
+								for (IApiComponent apiComponent : apiComponents) {
+									String componentId = apiComponent.getSymbolicName();
+									Matcher matcher = pattern.matcher(componentId);
+									if (matcher.matches()) {
+										scope.addElement(apiComponent);
+									}
 								}
+							} catch (PatternSyntaxException e) {
+								throw new BuildException(NLS.bind(UtilMessages.comparison_invalidRegularExpression, componentName));
+							}
+						} else {
+							IApiComponent apiComponent = currentBaseline.getApiComponent(componentName);
+							if (apiComponent != null) {
+								scope.addElement(apiComponent);
 							}
-						} catch (PatternSyntaxException e) {
-							throw new BuildException(NLS.bind(UtilMessages.comparison_invalidRegularExpression, componentName));
-						}
-					} else {
-						IApiComponent apiComponent = currentBaseline.getApiComponent(componentName);
-						if (apiComponent != null) {
-							scope.addElement(apiComponent);
 						}
 					}
 				}
+			} else {
+				scope.addElement(currentBaseline);
+			}
+			try (AnalysisMetrics.Timer timer = AnalysisMetrics.getDefault().time(AnalysisMetrics.COMPATIBILITY, null)) {
+				delta = ApiComparator.compare(scope, referenceBaseline, this.visibilityModifiers, false, null);
+			} catch (CoreException e) {
+				// an error occurred during the comparison
+				throw new BuildException(NLS.bind(Messages.illegalElementInScope, e.getMessage()));
+			} finally {
+				referenceBaseline.dispose();
+				currentBaseline.dispose();
+				StubApiComponent.disposeAllCaches();
+				deleteBaseline(this.referenceBaselineLocation, referenceInstallDir);
+				deleteBaseline(this.currentBaselineLocation, baselineInstallDir);
 			}
-		} else {
-			scope.addElement(currentBaseline);
-		}
-		try {
-			delta = ApiComparator.compare(scope, referenceBaseline, this.visibilityModifiers, false, null);
-		} catch (CoreException e) {
-			// an error occurred during the comparison
-			throw new BuildException(NLS.bind(Messages.illegalElementInScope, e.getMessage()));
 		} finally {
-			referenceBaseline.dispose();
-			currentBaseline.dispose();
-			StubApiComponent.disposeAllCaches();
-			deleteBaseline(this.referenceBaselineLocation, referenceInstallDir);
-			deleteBaseline(this.currentBaselineLocation, baselineInstallDir);
+			// stop collecting metrics also if the analysis failed
+			writeMetrics();
 		}
 		if (delta == null) {
 			// an error occurred during the comparison
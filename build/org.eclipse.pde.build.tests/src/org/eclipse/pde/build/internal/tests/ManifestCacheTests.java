@@ -0,0 +1,124 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.build.internal.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Dictionary;
+import java.util.Hashtable;
+import java.util.jar.JarFile;
+
+import org.eclipse.pde.internal.build.site.ManifestCache;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public class ManifestCacheTests {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testCachedManifestIsReused() throws Exception {
+		File cacheFile = new File(folder.getRoot(), "manifests.cache");
+		File bundle = createBundle("a", "1.0.0");
+
+		ManifestCache cache = ManifestCache.open(cacheFile.getAbsolutePath());
+		assertNull(cache.get(bundle));
+		cache.put(bundle, headers("a", "1.0.0"));
+		cache.save();
+
+		Dictionary<String, String> cached = ManifestCache.open(cacheFile.getAbsolutePath()).get(bundle);
+		assertNotNull(cached);
+		assertEquals("a", cached.get("Bundle-SymbolicName"));
+		assertEquals("1.0.0", cached.get("Bundle-Version"));
+	}
+
+	@Test
+	public void testChangedManifestIsNotReused() throws Exception {
+		File cacheFile = new File(folder.getRoot(), "manifests.cache");
+		File bundle = createBundle("a", "1.0.0");
+
+		ManifestCache cache = ManifestCache.open(cacheFile.getAbsolutePath());
+		cache.put(bundle, headers("a", "1.0.0"));
+		cache.save();
+
+		File manifest = new File(bundle, JarFile.MANIFEST_NAME);
+		long lastModified = manifest.lastModified();
+		writeManifest(bundle, "a", "1.0.1.qualifier");
+		manifest.setLastModified(lastModified + 10000);
+
+		assertNull(ManifestCache.open(cacheFile.getAbsolutePath()).get(bundle));
+	}
+
+	@Test
+	public void testBundlesNoLongerLookedUpAreDropped() throws Exception {
+		File cacheFile = new File(folder.getRoot(), "manifests.cache");
+		File a = createBundle("a", "1.0.0");
+		File b = createBundle("b", "1.0.0");
+
+		ManifestCache cache = ManifestCache.open(cacheFile.getAbsolutePath());
+		cache.put(a, headers("a", "1.0.0"));
+		cache.put(b, headers("b", "1.0.0"));
+		cache.save();
+
+		// only a is part of the next state
+		cache = ManifestCache.open(cacheFile.getAbsolutePath());
+		assertNotNull(cache.get(a));
+		cache.save();
+
+		cache = ManifestCache.open(cacheFile.getAbsolutePath());
+		assertNotNull(cache.get(a));
+		assertNull(cache.get(b));
+	}
+
+	@Test
+	public void testCorruptCacheIsIgnored() throws Exception {
+		File cacheFile = new File(folder.getRoot(), "manifests.cache");
+		File bundle = createBundle("a", "1.0.0");
+		Files.write(cacheFile.toPath(), new byte[] {0, 0, 0, 1, 0, 0, 0, 5, 1});
+
+		ManifestCache cache = ManifestCache.open(cacheFile.getAbsolutePath());
+		assertNull(cache.get(bundle));
+		cache.put(bundle, headers("a", "1.0.0"));
+		cache.save();
+
+		assertNotNull(ManifestCache.open(cacheFile.getAbsolutePath()).get(bundle));
+	}
+
+	private File createBundle(String name, String version) throws IOException {
+		File bundle = folder.newFolder(name);
+		writeManifest(bundle, name, version);
+		return bundle;
+	}
+
+	private static void writeManifest(File bundle, String name, String version) throws IOException {
+		File manifest = new File(bundle, JarFile.MANIFEST_NAME);
+		manifest.getParentFile().mkdirs();
+		String content = "Manifest-Version: 1.0\nBundle-ManifestVersion: 2\nBundle-SymbolicName: " + name
+				+ "\nBundle-Version: " + version + "\n";
+		Files.write(manifest.toPath(), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static Dictionary<String, String> headers(String name, String version) {
+		Dictionary<String, String> headers = new Hashtable<>();
+		headers.put("Bundle-SymbolicName", name);
+		headers.put("Bundle-Version", version);
+		return headers;
+	}
+}
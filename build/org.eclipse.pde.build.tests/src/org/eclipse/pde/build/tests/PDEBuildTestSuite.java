@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2017 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials are made available under the
  * terms of the Eclipse Public License 2.0 which accompanies this distribution,
@@ -15,6 +15,7 @@ package org.eclipse.pde.build.tests;
 
 import org.eclipse.pde.build.internal.tests.AssembleTests;
 import org.eclipse.pde.build.internal.tests.FetchTests;
+import org.eclipse.pde.build.internal.tests.ManifestCacheTests;
 import org.eclipse.pde.build.internal.tests.ProductTests;
 import org.eclipse.pde.build.internal.tests.ScriptGenerationTests;
 import org.eclipse.pde.build.internal.tests.SourceTests;
@@ -24,6 +25,6 @@ import org.junit.runners.Suite;
 
 @RunWith(Suite.class)
 @Suite.SuiteClasses({ SourceTests.class, ScriptGenerationTests.class, ProductTests.class, LicenseTests.class,
-		AssembleTests.class, P2TestSuite.class, FetchTests.class })
+		AssembleTests.class, P2TestSuite.class, FetchTests.class, ManifestCacheTests.class })
 public class PDEBuildTestSuite {
 }
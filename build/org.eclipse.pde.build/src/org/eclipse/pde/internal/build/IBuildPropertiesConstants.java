@@ -91,6 +91,7 @@ public interface IBuildPropertiesConstants {
 	public static final String RESOLVER_DEV_MODE = "resolution.devMode"; //$NON-NLS-1$
 	public static final String PROPERTY_INDIVIDUAL_SOURCE = "individualSourceBundles"; //$NON-NLS-1$
 	public static final String PROPERTY_ALLOW_BINARY_CYCLES = "allowBinaryCycles"; //$NON-NLS-1$
+	public static final String PROPERTY_MANIFEST_CACHE = "manifestCacheLocation"; //$NON-NLS-1$
 
 	public static final String PROPERTY_TRANSFORMED_REPO = "transformedRepoLocation"; //$NON-NLS-1$
 	public static final String PROPERTY_P2_METADATA_REPO = "p2.metadata.repo"; //$NON-NLS-1$
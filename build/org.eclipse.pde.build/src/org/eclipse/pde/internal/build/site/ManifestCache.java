@@ -0,0 +1,196 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.internal.build.site;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Dictionary;
+import java.util.Enumeration;
+import java.util.Hashtable;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.jar.JarFile;
+
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.pde.internal.build.BundleHelper;
+import org.eclipse.pde.internal.build.IPDEBuildConstants;
+
+/**
+ * On-disk cache of the processed manifest dictionaries loaded by
+ * {@link PDEState}. Entries are keyed by the absolute bundle location and are
+ * only reused as long as the time stamp and size of the manifest source (the
+ * jar itself or the <code>META-INF/MANIFEST.MF</code> of a folder) are
+ * unchanged. This allows repeated headless builds against the same base
+ * location to skip reading and parsing every manifest again.
+ * <p>
+ * Only the entries of the bundles looked up since the cache was opened are
+ * saved, so bundles that are no longer part of the state are dropped.
+ * </p>
+ * <p>
+ * The cache is safe to be queried concurrently.
+ * </p>
+ */
+public class ManifestCache {
+	private static final int VERSION = 1;
+
+	private static final ManifestCache NONE = new ManifestCache(null);
+
+	private record Entry(long lastModified, long length, Map<String, String> headers) {
+	}
+
+	private final File cacheFile;
+	private final Map<String, Entry> entries = new ConcurrentHashMap<>();
+	private final Set<String> used = ConcurrentHashMap.newKeySet();
+	private volatile boolean dirty;
+
+	private ManifestCache(File cacheFile) {
+		this.cacheFile = cacheFile;
+	}
+
+	/**
+	 * Returns the cache backed by the given file, or a cache that never hits
+	 * if the location is <code>null</code>.
+	 *
+	 * @param location the file to persist the cache to, may be <code>null</code>
+	 * @return the manifest cache, never <code>null</code>
+	 */
+	public static ManifestCache open(String location) {
+		if (location == null || location.isBlank())
+			return NONE;
+		ManifestCache cache = new ManifestCache(new File(location));
+		cache.load();
+		return cache;
+	}
+
+	/**
+	 * Returns a copy of the cached manifest for the given bundle location or
+	 * <code>null</code> if there is none or it is stale.
+	 */
+	public Dictionary<String, String> get(File bundleLocation) {
+		if (cacheFile == null)
+			return null;
+		String key = bundleLocation.getAbsolutePath();
+		used.add(key);
+		Entry entry = entries.get(key);
+		if (entry == null)
+			return null;
+		File source = getManifestSource(bundleLocation);
+		if (source.lastModified() != entry.lastModified() || source.length() != entry.length())
+			return null;
+		return new Hashtable<>(entry.headers());
+	}
+
+	public void put(File bundleLocation, Dictionary<String, String> manifest) {
+		if (cacheFile == null)
+			return;
+		String key = bundleLocation.getAbsolutePath();
+		used.add(key);
+		File source = getManifestSource(bundleLocation);
+		long lastModified = source.lastModified();
+		if (lastModified == 0L)
+			return;
+		Map<String, String> headers = new Hashtable<>(manifest.size());
+		for (Enumeration<String> keys = manifest.keys(); keys.hasMoreElements();) {
+			String key = keys.nextElement();
+			headers.put(key, manifest.get(key));
+		}
+		entries.put(key, new Entry(lastModified, source.length(), headers));
+		dirty = true;
+	}
+
+	private static File getManifestSource(File bundleLocation) {
+		if (bundleLocation.isFile())
+			return bundleLocation;
+		return new File(bundleLocation, JarFile.MANIFEST_NAME);
+	}
+
+	private void load() {
+		if (!cacheFile.isFile())
+			return;
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(new FileInputStream(cacheFile)))) {
+			if (input.readInt() != VERSION)
+				return;
+			int count = input.readInt();
+			for (int i = 0; i < count; i++) {
+				String location = input.readUTF();
+				long lastModified = input.readLong();
+				long length = input.readLong();
+				int size = input.readInt();
+				Map<String, String> headers = new Hashtable<>(size);
+				for (int j = 0; j < size; j++) {
+					headers.put(input.readUTF(), readString(input));
+				}
+				entries.put(location, new Entry(lastModified, length, headers));
+			}
+		} catch (IOException e) {
+			// a corrupt cache is simply rebuilt
+			entries.clear();
+		}
+	}
+
+	/**
+	 * Drops the entries of the bundles that were not looked up since the cache
+	 * was opened and writes the cache back to disk if it changed since it was
+	 * loaded.
+	 */
+	public void save() {
+		if (cacheFile == null)
+			return;
+		if (entries.keySet().retainAll(used))
+			dirty = true;
+		if (!dirty)
+			return;
+		File parent = cacheFile.getParentFile();
+		if (parent != null)
+			parent.mkdirs();
+		try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(cacheFile)))) {
+			output.writeInt(VERSION);
+			output.writeInt(entries.size());
+			for (Map.Entry<String, Entry> mapEntry : entries.entrySet()) {
+				Entry entry = mapEntry.getValue();
+				output.writeUTF(mapEntry.getKey());
+				output.writeLong(entry.lastModified());
+				output.writeLong(entry.length());
+				output.writeInt(entry.headers().size());
+				for (Map.Entry<String, String> header : entry.headers().entrySet()) {
+					output.writeUTF(header.getKey());
+					writeString(output, header.getValue());
+				}
+			}
+			dirty = false;
+		} catch (IOException e) {
+			BundleHelper.getDefault().getLog().log(new Status(IStatus.WARNING, IPDEBuildConstants.PI_PDEBUILD, e.getMessage(), e));
+		}
+	}
+
+	// header values such as Export-Package may exceed the 64k limit of writeUTF
+	private static void writeString(DataOutputStream output, String value) throws IOException {
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private static String readString(DataInputStream input) throws IOException {
+		byte[] bytes = new byte[input.readInt()];
+		input.readFully(bytes);
+		return new String(bytes, StandardCharsets.UTF_8);
+	}
+}
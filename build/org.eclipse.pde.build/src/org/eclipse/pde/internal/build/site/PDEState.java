@@ -31,6 +31,7 @@ import java.util.Hashtable;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Properties;
 import java.util.Set;
 import java.util.TreeSet;
@@ -92,6 +93,7 @@ public class PDEState implements IPDEBuildConstants, IBuildPropertiesConstants {
 	private final Set<Dictionary<String, String>> convertedManifests;
 	private long lastSortingDate = 0L;
 	private String[] eeSources;
+	private ManifestCache manifestCache;
 
 	protected long getNextId() {
 		return ++id;
@@ -379,9 +381,40 @@ public class PDEState implements IPDEBuildConstants, IBuildPropertiesConstants {
 	}
 
 	public void addBundles(Collection<File> bundles) {
-		for (File bundle : bundles) {
-			addBundle(bundle);
+		// Reading the manifests is independent per bundle and is done concurrently, while
+		// the bundles are added to the state in their original order to keep the ids stable
+		// the cache is kept for the lifetime of the state so that saving it only
+		// drops the bundles that are not part of the state
+		if (manifestCache == null)
+			manifestCache = ManifestCache.open(AbstractScriptGenerator.getImmutableAntProperty(PROPERTY_MANIFEST_CACHE));
+		ManifestCache cache = manifestCache;
+		List<File> locations = new ArrayList<>(bundles);
+		List<Optional<Dictionary<String, String>>> manifests = locations.parallelStream().map(bundle -> Optional.ofNullable(loadManifest(bundle, cache))).toList();
+		for (int i = 0; i < locations.size(); i++) {
+			File bundle = locations.get(i);
+			Dictionary<String, String> manifest = manifests.get(i).orElse(null);
+			if (manifest == null) {
+				addFlexibleRoot(bundle);
+				continue;
+			}
+			try {
+				hasQualifier(bundle, manifest);
+			} catch (BundleException e) {
+				//should not happen since we know the header
+			}
+			addBundle(manifest, bundle);
 		}
+		cache.save();
+	}
+
+	private Dictionary<String, String> loadManifest(File bundleLocation, ManifestCache cache) {
+		Dictionary<String, String> manifest = cache.get(bundleLocation);
+		if (manifest != null)
+			return manifest;
+		manifest = loadManifest(bundleLocation);
+		if (manifest != null)
+			cache.put(bundleLocation, manifest);
+		return manifest;
 	}
 
 	public void resolveState() {
@@ -0,0 +1,4 @@
+package ds.annotations.test3;
+
+public abstract class Base {
+}
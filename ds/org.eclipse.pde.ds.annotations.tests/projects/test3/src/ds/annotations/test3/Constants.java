@@ -0,0 +1,6 @@
+package ds.annotations.test3;
+
+public interface Constants {
+
+	String NAME = "ds.annotations.test3.constant";
+}
@@ -0,0 +1,11 @@
+package ds.annotations.test3;
+
+import org.osgi.service.component.annotations.Component;
+
+/**
+ * Only refers to {@link Service} in its documentation, which is compiled
+ * again when the service changes but does not affect the component.
+ */
+@Component
+public class DependentComponent {
+}
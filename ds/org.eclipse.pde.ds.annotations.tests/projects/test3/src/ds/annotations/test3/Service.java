@@ -0,0 +1,6 @@
+package ds.annotations.test3;
+
+public interface Service {
+
+	void run();
+}
@@ -0,0 +1,7 @@
+package ds.annotations.test3;
+
+import org.osgi.service.component.annotations.Component;
+
+@Component
+public class SubtypeComponent extends Base {
+}
@@ -0,0 +1,208 @@
+package org.eclipse.pde.ds.internal.annotations.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.IWorkspace;
+import org.eclipse.core.resources.IWorkspaceDescription;
+import org.eclipse.core.resources.IncrementalProjectBuilder;
+import org.eclipse.core.resources.ProjectScope;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.preferences.IEclipsePreferences;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.JavaCore;
+import org.eclipse.pde.ds.internal.annotations.DSAnnotationCompilationParticipant;
+import org.eclipse.pde.ds.internal.annotations.ProjectContext;
+import org.eclipse.pde.ds.internal.annotations.ProjectState.Fingerprint;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests which compilation units recompiled by incremental builds are
+ * processed again, and which are skipped because nothing they depend on
+ * changed.
+ */
+@SuppressWarnings("restriction")
+public class IncrementalBuildTest extends CompilationParticipantTest {
+
+	private static final String DS_PREFERENCES = "org.eclipse.pde.ds.annotations";
+
+	private static final String VALIDATION_ERROR_LEVEL = "validationErrorLevel";
+
+	private static final String DEPENDENT_COMPONENT = "ds/annotations/test3/DependentComponent.java";
+
+	private static final String SUBTYPE_COMPONENT = "ds/annotations/test3/SubtypeComponent.java";
+
+	private static final String CONSTANT_COMPONENT = "ds/annotations/test3/ConstantComponent.java";
+
+	private final Map<IFile, byte[]> originalContents = new LinkedHashMap<>();
+
+	private IJavaProject javaProject;
+
+	private boolean autoBuilding;
+
+	@Override
+	protected String getTestProjectName() {
+		return "ds.annotations.test3";
+	}
+
+	@Before
+	public void disableAutoBuilding() throws Exception {
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		IWorkspaceDescription description = workspace.getDescription();
+		autoBuilding = description.isAutoBuilding();
+		description.setAutoBuilding(false);
+		workspace.setDescription(description);
+
+		javaProject = JavaCore.create(testProject);
+		build();
+	}
+
+	@After
+	public void restoreProject() throws Exception {
+		for (Map.Entry<IFile, byte[]> entry : originalContents.entrySet()) {
+			entry.getKey().setContents(new ByteArrayInputStream(entry.getValue()), IResource.FORCE, null);
+		}
+
+		IEclipsePreferences preferences = new ProjectScope(testProject).getNode(DS_PREFERENCES);
+		if (!"error".equals(preferences.get(VALIDATION_ERROR_LEVEL, null))) {
+			preferences.put(VALIDATION_ERROR_LEVEL, "error");
+			preferences.flush();
+		}
+
+		build();
+
+		IWorkspace workspace = ResourcesPlugin.getWorkspace();
+		IWorkspaceDescription description = workspace.getDescription();
+		description.setAutoBuilding(autoBuilding);
+		workspace.setDescription(description);
+	}
+
+	@Test
+	public void unchangedDependentSkipped() throws Exception {
+		Fingerprint fingerprint = getFingerprint(DEPENDENT_COMPONENT);
+		assertNotNull("Missing fingerprint!", fingerprint);
+		IFile descriptor = getDescriptor("ds.annotations.test3.DependentComponent");
+		long descriptorStamp = descriptor.getModificationStamp();
+
+		// the component refers to the service in its documentation only, so
+		// it is compiled again when the service changes but its descriptor
+		// does not depend on it
+		modify("ds/annotations/test3/Service.java", "void run();", "void run();\n\n\tvoid stop();");
+		assertTrue("Component not up to date!", isUpToDate(DEPENDENT_COMPONENT));
+
+		build();
+		assertSame("Component processed again!", fingerprint, getFingerprint(DEPENDENT_COMPONENT));
+		assertEquals("Descriptor rewritten!", descriptorStamp, descriptor.getModificationStamp());
+	}
+
+	@Test
+	public void changedSupertypeProcessed() throws Exception {
+		Fingerprint fingerprint = getFingerprint(SUBTYPE_COMPONENT);
+		assertNotNull("Missing fingerprint!", fingerprint);
+		assertTrue("Component not up to date!", isUpToDate(SUBTYPE_COMPONENT));
+
+		modify("ds/annotations/test3/Base.java", "class Base {", "class Base {\n\n\tprotected void stop() {\n\t}");
+		assertFalse("Component up to date after its supertype changed!", isUpToDate(SUBTYPE_COMPONENT));
+
+		build();
+		Fingerprint newFingerprint = getFingerprint(SUBTYPE_COMPONENT);
+		assertNotNull("Missing fingerprint!", newFingerprint);
+		assertNotEquals("Component not processed again!", fingerprint, newFingerprint);
+		assertTrue("Component not up to date!", isUpToDate(SUBTYPE_COMPONENT));
+		assertTrue("Missing component descriptor!", getDescriptor("ds.annotations.test3.SubtypeComponent").exists());
+	}
+
+	@Test
+	public void changedConstantProcessed() throws Exception {
+		IFile descriptor = getDescriptor("ds.annotations.test3.constant");
+		assertTrue("Missing component descriptor!", descriptor.exists());
+		assertTrue("Component not up to date!", isUpToDate(CONSTANT_COMPONENT));
+
+		// the constant is the name of the component
+		modify("ds/annotations/test3/Constants.java", "test3.constant\"", "test3.renamed\"");
+		assertFalse("Component up to date after a referenced constant changed!", isUpToDate(CONSTANT_COMPONENT));
+
+		build();
+		assertFalse("Descriptor of former component name not removed!", descriptor.exists());
+		assertTrue("Missing component descriptor!", getDescriptor("ds.annotations.test3.renamed").exists());
+	}
+
+	@Test
+	public void cleanBuildClearsFingerprints() throws Exception {
+		assertNotNull("Missing fingerprint!", getFingerprint(DEPENDENT_COMPONENT));
+		assertNotNull("Missing fingerprint!", getFingerprint(SUBTYPE_COMPONENT));
+
+		testProject.build(IncrementalProjectBuilder.CLEAN_BUILD, null);
+		assertNull("Fingerprint not cleared!", getFingerprint(DEPENDENT_COMPONENT));
+		assertNull("Fingerprint not cleared!", getFingerprint(SUBTYPE_COMPONENT));
+		assertFalse("Component up to date after a clean build!", isUpToDate(DEPENDENT_COMPONENT));
+
+		build();
+		assertNotNull("Missing fingerprint!", getFingerprint(DEPENDENT_COMPONENT));
+		assertTrue("Component not up to date!", isUpToDate(DEPENDENT_COMPONENT));
+	}
+
+	@Test
+	public void settingsChangeClearsFingerprints() throws Exception {
+		Fingerprint fingerprint = getFingerprint(DEPENDENT_COMPONENT);
+		assertNotNull("Missing fingerprint!", fingerprint);
+
+		IEclipsePreferences preferences = new ProjectScope(testProject).getNode(DS_PREFERENCES);
+		preferences.put(VALIDATION_ERROR_LEVEL, "warning");
+		preferences.flush();
+
+		build();
+		Fingerprint newFingerprint = getFingerprint(DEPENDENT_COMPONENT);
+		assertNotNull("Missing fingerprint!", newFingerprint);
+		assertNotSame("Component not processed again!", fingerprint, newFingerprint);
+	}
+
+	private void build() throws Exception {
+		testProject.build(IncrementalProjectBuilder.INCREMENTAL_BUILD, null);
+	}
+
+	private Fingerprint getFingerprint(String cuKey) {
+		return DSAnnotationCompilationParticipant.getState(javaProject).getFingerprint(cuKey);
+	}
+
+	private boolean isUpToDate(String cuKey) {
+		ICompilationUnit cu = JavaCore.createCompilationUnitFrom(testProject.getFile("src/" + cuKey));
+		ProjectContext context = new ProjectContext(javaProject, DSAnnotationCompilationParticipant.getState(javaProject));
+		return context.isUpToDate(cu, cuKey);
+	}
+
+	private IFile getDescriptor(String componentName) {
+		return testProject.getFile("OSGI-INF/" + componentName + ".xml");
+	}
+
+	private void modify(String cuKey, String text, String replacement) throws Exception {
+		IFile file = testProject.getFile("src/" + cuKey);
+		byte[] contents;
+		try (InputStream in = file.getContents()) {
+			contents = in.readAllBytes();
+		}
+
+		originalContents.putIfAbsent(file, contents);
+		String source = new String(contents, StandardCharsets.UTF_8);
+		assertTrue("Text to replace not found!", source.contains(text));
+		byte[] modified = source.replace(text, replacement).getBytes(StandardCharsets.UTF_8);
+		file.setContents(new ByteArrayInputStream(modified), IResource.FORCE, null);
+	}
+}
@@ -0,0 +1,78 @@
+package org.eclipse.pde.ds.internal.annotations.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.ObjectOutputStream;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.eclipse.pde.ds.internal.annotations.DSAnnotationVersion;
+import org.eclipse.pde.ds.internal.annotations.ProjectState;
+import org.eclipse.pde.ds.internal.annotations.ValidationErrorLevel;
+import org.junit.Test;
+
+public class ProjectStateTest {
+
+	@Test
+	public void binaryFormatRoundTrip() throws Exception {
+		ProjectState state = new ProjectState();
+		state.setPath("OSGI-INF");
+		state.setSpecVersion(DSAnnotationVersion.V1_3);
+		state.setErrorLevel(ValidationErrorLevel.warning);
+
+		HashMap<String, String> dsKeys = new HashMap<>();
+		dsKeys.put("test.Component", "OSGI-INF/test.Component.xml");
+		dsKeys.put("test.Component$Nested", "OSGI-INF/test.Component$Nested.xml");
+		state.updateMappings("test/Component.java", dsKeys);
+		state.setFingerprint("test/Component.java", new ProjectState.Fingerprint(42L,
+				Map.of("test.Service", 7L, "java.lang.Object", -1L), Map.of("OSGI-INF/test.Component.xml", 3L)));
+
+		ProjectState copy = ProjectState.read(new DataInputStream(new ByteArrayInputStream(write(state))));
+		assertEquals(state, copy);
+		assertEquals(state.getFingerprint("test/Component.java"), copy.getFingerprint("test/Component.java"));
+		assertEquals(state.getModelFiles("test/Component.java"), copy.getModelFiles("test/Component.java"));
+	}
+
+	@Test
+	public void emptyStateRoundTrip() throws Exception {
+		ProjectState state = new ProjectState();
+		ProjectState copy = ProjectState.read(new DataInputStream(new ByteArrayInputStream(write(state))));
+		assertEquals(state, copy);
+	}
+
+	@Test
+	public void serializedStateNotRead() throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(new ProjectState());
+		}
+
+		assertNull(ProjectState.read(new DataInputStream(new ByteArrayInputStream(bytes.toByteArray()))));
+	}
+
+	@Test
+	public void removeMappingsRemovesFingerprint() throws Exception {
+		ProjectState state = new ProjectState();
+		HashMap<String, String> dsKeys = new HashMap<>();
+		dsKeys.put("test.Component", "OSGI-INF/test.Component.xml");
+		state.updateMappings("test/Component.java", dsKeys);
+		state.setFingerprint("test/Component.java", new ProjectState.Fingerprint(1L, Map.of(), Map.of()));
+
+		state.removeMappings("test/Component.java");
+		assertNull(state.getFingerprint("test/Component.java"));
+	}
+
+	private static byte[] write(ProjectState state) throws Exception {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			state.write(out);
+		}
+
+		return bytes.toByteArray();
+	}
+}
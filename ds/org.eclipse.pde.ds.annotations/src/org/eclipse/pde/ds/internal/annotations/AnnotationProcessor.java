@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2017 Ecliptical Software Inc. and others.
+ * Copyright (c) 2012, 2026 Ecliptical Software Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,6 +17,7 @@ import java.util.Collection;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.core.resources.ICommand;
 import org.eclipse.core.resources.IContainer;
@@ -32,7 +33,14 @@ import org.eclipse.jdt.core.IJavaElement;
 import org.eclipse.jdt.core.compiler.BuildContext;
 import org.eclipse.jdt.core.compiler.CategorizedProblem;
 import org.eclipse.jdt.core.dom.ASTRequestor;
+import org.eclipse.jdt.core.dom.ASTVisitor;
+import org.eclipse.jdt.core.dom.AbstractTypeDeclaration;
 import org.eclipse.jdt.core.dom.CompilationUnit;
+import org.eclipse.jdt.core.dom.IBinding;
+import org.eclipse.jdt.core.dom.IMethodBinding;
+import org.eclipse.jdt.core.dom.ITypeBinding;
+import org.eclipse.jdt.core.dom.IVariableBinding;
+import org.eclipse.jdt.core.dom.SimpleName;
 
 public class AnnotationProcessor extends ASTRequestor {
 
@@ -80,6 +88,11 @@ public class AnnotationProcessor extends ASTRequestor {
 			context.getAbandoned().addAll(oldDSKeys);
 		}
 
+		// remember what the generated files depend on, so the CU is only processed again when that changes
+		if (problems.isEmpty() && !dsKeys.isEmpty()) {
+			state.setFingerprint(cuKey, context.createFingerprint(source, collectDependencies(ast), dsKeys.values()));
+		}
+
 		if (!problems.isEmpty()) {
 			char[] filename = source.getResource().getFullPath().toString().toCharArray();
 			for (DSAnnotationProblem problem : problems) {
@@ -148,4 +161,78 @@ public class AnnotationProcessor extends ASTRequestor {
 			Activator.log(e);
 		}
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Collects the fully-qualified names of the top-level types of all types
+	 * referenced by the given AST, and of their supertypes, except the types
+	 * declared by the AST itself.
+	 */
+	static Set<String> collectDependencies(CompilationUnit ast) {
+		DependencyCollector collector = new DependencyCollector();
+		for (Object type : ast.types()) {
+			ITypeBinding typeBinding = ((AbstractTypeDeclaration) type).resolveBinding();
+			if (typeBinding != null) {
+				collector.declared.add(typeBinding.getQualifiedName());
+			}
+		}
+
+		ast.accept(collector);
+		collector.dependencies.removeAll(collector.declared);
+		return collector.dependencies;
+	}
+
+	private static class DependencyCollector extends ASTVisitor {
+
+		final Set<String> declared = new HashSet<>();
+
+		final Set<String> dependencies = new HashSet<>();
+
+		private final Set<ITypeBinding> visited = new HashSet<>();
+
+		@Override
+		public boolean visit(SimpleName node) {
+			IBinding binding = node.resolveBinding();
+			if (binding instanceof ITypeBinding) {
+				addType((ITypeBinding) binding);
+			} else if (binding instanceof IMethodBinding) {
+				addType(((IMethodBinding) binding).getDeclaringClass());
+			} else if (binding instanceof IVariableBinding) {
+				IVariableBinding variableBinding = (IVariableBinding) binding;
+				addType(variableBinding.getDeclaringClass());
+				addType(variableBinding.getType());
+			}
+
+			return false;
+		}
+
+		private void addType(ITypeBinding type) {
+			if (type == null) {
+				return;
+			}
+
+			if (type.isArray()) {
+				type = type.getElementType();
+			}
+
+			type = type.getErasure();
+			if (type.isPrimitive() || type.isNullType() || !visited.add(type)) {
+				return;
+			}
+
+			ITypeBinding topLevelType = type;
+			while (topLevelType.getDeclaringClass() != null) {
+				topLevelType = topLevelType.getDeclaringClass();
+			}
+
+			String name = topLevelType.getQualifiedName();
+			if (!name.isEmpty()) {
+				dependencies.add(name);
+			}
+
+			addType(type.getSuperclass());
+			for (ITypeBinding superInterface : type.getInterfaces()) {
+				addType(superInterface);
+			}
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2021 Ecliptical Software Inc. and others.
+ * Copyright (c) 2012, 2026 Ecliptical Software Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,12 +15,16 @@
  *******************************************************************************/
 package org.eclipse.pde.ds.internal.annotations;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.io.InputStream;
 import java.io.ObjectInputStream;
-import java.io.ObjectOutputStream;
 import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Collection;
@@ -140,7 +144,7 @@ public class DSAnnotationCompilationParticipant extends CompilationParticipant {
 		ProjectState state = getState(project, retval);
 		result = retval[0];
 
-		processingContext.put(project, new ProjectContext(state));
+		processingContext.put(project, new ProjectContext(project, state));
 
 		if (state.getFormatVersion() != ProjectState.FORMAT_VERSION) {
 			state.setFormatVersion(ProjectState.FORMAT_VERSION);
@@ -178,11 +182,22 @@ public class DSAnnotationCompilationParticipant extends CompilationParticipant {
 			result = NEEDS_FULL_BUILD;
 		}
 
+		if (result == NEEDS_FULL_BUILD) {
+			// settings changed, generated files must be brought up to date
+			state.clearFingerprints();
+		}
+
 		Activator.getDefault().listenForClasspathPreferenceChanges(project);
 
 		return result;
 	}
 
+	@Override
+	public void cleanStarting(IJavaProject project) {
+		// a clean build regenerates all files
+		getState(project).clearFingerprints();
+	}
+
 	private <E extends Enum<E>> E getEnumValue(String property, Class<E> enumType, E defaultValue) {
 		try {
 			return Enum.valueOf(enumType, property);
@@ -240,8 +255,14 @@ public class DSAnnotationCompilationParticipant extends CompilationParticipant {
 			return null;
 		}
 
-		try (ObjectInputStream in = new ObjectInputStream(new FileInputStream(stateFile))) {
-			ProjectState state = (ProjectState) in.readObject();
+		try (InputStream in = new BufferedInputStream(new FileInputStream(stateFile))) {
+			in.mark(8);
+			ProjectState state = ProjectState.read(new DataInputStream(in));
+			if (state == null) {
+				// state saved with Java serialization by an older version
+				in.reset();
+				state = (ProjectState) new ObjectInputStream(in).readObject();
+			}
 
 			if (debug.isDebugging()) {
 				debug.trace(String.format("Loaded state for project: %s", project.getName())); //$NON-NLS-1$
@@ -435,8 +456,8 @@ public class DSAnnotationCompilationParticipant extends CompilationParticipant {
 			}
 		}
 
-		try (ObjectOutputStream out = new ObjectOutputStream(new FileOutputStream(stateFile))) {
-			out.writeObject(state);
+		try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(stateFile)))) {
+			state.write(out);
 		}
 	}
 
@@ -708,6 +729,24 @@ public class DSAnnotationCompilationParticipant extends CompilationParticipant {
 		ProjectContext projectContext = processingContext.get(javaProject);
 		ProjectState state = projectContext.getState();
 
+		// skip CUs recompiled only because other types changed, if none of the types they depend on did
+		for (Iterator<ICompilationUnit> i = fileMap.keySet().iterator(); i.hasNext();) {
+			ICompilationUnit cu = i.next();
+			String cuKey = AnnotationProcessor.getCompilationUnitKey(cu);
+			if (projectContext.isUpToDate(cu, cuKey)) {
+				if (debug.isDebugging()) {
+					debug.trace(String.format("Skipping up-to-date compilation unit %s.", cuKey)); //$NON-NLS-1$
+				}
+
+				projectContext.getUnprocessed().remove(cuKey);
+				i.remove();
+			}
+		}
+
+		if (fileMap.isEmpty()) {
+			return;
+		}
+
 		parser.setIgnoreMethodBodies(state.getErrorLevel() == ValidationErrorLevel.ignore);
 
 		ICompilationUnit[] cuArr = fileMap.keySet().toArray(new ICompilationUnit[fileMap.size()]);
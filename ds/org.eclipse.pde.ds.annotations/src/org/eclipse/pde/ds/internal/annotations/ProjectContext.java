@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2016 Ecliptical Software Inc. and others.
+ * Copyright (c) 2012, 2026 Ecliptical Software Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,11 +13,30 @@
  *******************************************************************************/
 package org.eclipse.pde.ds.internal.annotations;
 
+import java.io.File;
 import java.util.Collection;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.jdt.core.ICompilationUnit;
+import org.eclipse.jdt.core.IJavaElement;
+import org.eclipse.jdt.core.IJavaProject;
+import org.eclipse.jdt.core.IPackageFragmentRoot;
+import org.eclipse.jdt.core.IType;
+import org.eclipse.jdt.core.JavaModelException;
+import org.eclipse.pde.ds.internal.annotations.ProjectState.Fingerprint;
+import org.eclipse.pde.internal.core.project.PDEProject;
+
+@SuppressWarnings("restriction")
 public class ProjectContext {
 
+	private final IJavaProject project;
+
 	private final ProjectState state;
 
 	// DS files abandoned since last run
@@ -28,7 +47,11 @@ public class ProjectContext {
 
 	private final ProjectState oldState;
 
-	public ProjectContext(ProjectState state) {
+	// modification stamps of the types looked up in this run, by fully-qualified top-level type name
+	private final Map<String, Long> typeStamps = new HashMap<>();
+
+	public ProjectContext(IJavaProject project, ProjectState state) {
+		this.project = project;
 		this.state = state;
 
 		// track unprocessed CUs from the start
@@ -53,4 +76,113 @@ public class ProjectContext {
 	public Collection<String> getUnprocessed() {
 		return unprocessed;
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Determines whether the given compilation unit, its dependencies and its
+	 * generated DS files did not change since it was last processed, so
+	 * processing it again would generate the same files and no problems.
+	 *
+	 * @param cu the compilation unit to check
+	 * @param cuKey the key of the compilation unit
+	 * @return whether processing the compilation unit can be skipped
+	 */
+	public boolean isUpToDate(ICompilationUnit cu, String cuKey) {
+		Fingerprint fingerprint = state.getFingerprint(cuKey);
+		if (fingerprint == null) {
+			return false;
+		}
+
+		IResource resource = cu.getResource();
+		if (resource == null || resource.getModificationStamp() != fingerprint.getStamp()) {
+			return false;
+		}
+
+		for (Map.Entry<String, Long> entry : fingerprint.getDependencies().entrySet()) {
+			if (getTypeStamp(entry.getKey()) != entry.getValue()) {
+				return false;
+			}
+		}
+
+		for (Map.Entry<String, Long> entry : fingerprint.getFiles().entrySet()) {
+			if (getFile(entry.getKey()).getModificationStamp() != entry.getValue()) {
+				return false;
+			}
+		}
+
+		return true;
+	}
+
+	/**
+	 * Creates the fingerprint of a compilation unit just processed.
+	 *
+	 * @param cu the processed compilation unit
+	 * @param dependencies fully-qualified names of the top-level types
+	 *            referenced by the compilation unit
+	 * @param dsKeys the generated DS files
+	 * @return the fingerprint, or <code>null</code> if the compilation unit or
+	 *         one of the DS files does not exist
+	 */
+	public Fingerprint createFingerprint(ICompilationUnit cu, Collection<String> dependencies, Collection<String> dsKeys) {
+		IResource resource = cu.getResource();
+		if (resource == null || !resource.exists()) {
+			return null;
+		}
+
+		HashMap<String, Long> dependencyStamps = new HashMap<>(dependencies.size());
+		for (String dependency : dependencies) {
+			dependencyStamps.put(dependency, getTypeStamp(dependency));
+		}
+
+		HashMap<String, Long> fileStamps = new HashMap<>(dsKeys.size());
+		for (String dsKey : dsKeys) {
+			IFile file = getFile(dsKey);
+			if (!file.exists()) {
+				return null;
+			}
+
+			fileStamps.put(dsKey, file.getModificationStamp());
+		}
+
+		return new Fingerprint(resource.getModificationStamp(), dependencyStamps, fileStamps);
+	}
+
+	private IFile getFile(String dsKey) {
+		IProject iproject = project.getProject();
+		return PDEProject.getBundleRelativeFile(iproject, IPath.fromPortableString(dsKey));
+	}
+
+	private long getTypeStamp(String typeName) {
+		return typeStamps.computeIfAbsent(typeName, this::computeTypeStamp);
+	}
+
+	private long computeTypeStamp(String typeName) {
+		try {
+			IType type = project.findType(typeName);
+			if (type == null) {
+				return IResource.NULL_STAMP;
+			}
+
+			// source file, or class file or archive in the workspace
+			IResource resource = type.getResource();
+			if (resource != null) {
+				return 31L * resource.getFullPath().hashCode() + resource.getModificationStamp();
+			}
+
+			// external archive or class folder
+			IPackageFragmentRoot root = (IPackageFragmentRoot) type.getAncestor(IJavaElement.PACKAGE_FRAGMENT_ROOT);
+			if (root == null) {
+				return IResource.NULL_STAMP;
+			}
+
+			IPath path = root.getPath();
+			File file = path.toFile();
+			if (!root.isArchive()) {
+				file = new File(file, type.getFullyQualifiedName('$').replace('.', '/') + ".class"); //$NON-NLS-1$
+			}
+
+			return 31L * path.hashCode() + file.lastModified();
+		} catch (JavaModelException e) {
+			return IResource.NULL_STAMP;
+		}
+	}
+}
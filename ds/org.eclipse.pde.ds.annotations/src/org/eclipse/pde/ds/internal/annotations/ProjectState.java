@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2012, 2017 Ecliptical Software Inc. and others.
+ * Copyright (c) 2012, 2026 Ecliptical Software Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -13,6 +13,9 @@
  *******************************************************************************/
 package org.eclipse.pde.ds.internal.annotations;
 
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
 import java.io.Serializable;
 import java.util.Collection;
 import java.util.Collections;
@@ -30,6 +33,12 @@ public class ProjectState implements Serializable, Cloneable {
 	// current state file format version
 	public static final int FORMAT_VERSION = 1;
 
+	// leading bytes of the binary state format ("DSST"), which legacy serialized states never start with
+	private static final int BINARY_MAGIC = 0x44535354;
+
+	// current binary state format version
+	private static final int BINARY_VERSION = 1;
+
 	// package-prefixed CU name (w/out file extension) to plugin-root-relative (portable) paths of generated DS files (deprecated)
 	// note: we keep it non-null in case user downgrades to older plugin version where old logic depends on that
 	private /*final*/ Map<String, Collection<String>> mappings = new HashMap<>();
@@ -51,6 +60,73 @@ public class ProjectState implements Serializable, Cloneable {
 	// (de)serialized state file format version
 	private int formatVersion = FORMAT_VERSION;
 
+	// package fragment root-relative CU path to the inputs and outputs of its last processing, if it can be skipped when they did not change
+	private transient Map<String, Fingerprint> fingerprints;
+
+	/**
+	 * Modification stamps of a processed compilation unit, of the types its
+	 * component descriptors were generated from and of the descriptors.
+	 * Fingerprints are immutable.
+	 */
+	public static final class Fingerprint {
+
+		private final long stamp;
+
+		private final Map<String, Long> dependencies;
+
+		private final Map<String, Long> files;
+
+		/**
+		 * @param stamp modification stamp of the compilation unit
+		 * @param dependencies modification stamps of the compilation units or
+		 *            class files of the referenced types, by fully-qualified
+		 *            top-level type name
+		 * @param files modification stamps of the generated DS files, by
+		 *            plugin-root-relative (portable) path
+		 */
+		public Fingerprint(long stamp, Map<String, Long> dependencies, Map<String, Long> files) {
+			this.stamp = stamp;
+			this.dependencies = Collections.unmodifiableMap(new HashMap<>(dependencies));
+			this.files = Collections.unmodifiableMap(new HashMap<>(files));
+		}
+
+		public long getStamp() {
+			return stamp;
+		}
+
+		public Map<String, Long> getDependencies() {
+			return dependencies;
+		}
+
+		public Map<String, Long> getFiles() {
+			return files;
+		}
+
+		@Override
+		public int hashCode() {
+			return Long.hashCode(stamp) + 31 * dependencies.hashCode() + 31 * 31 * files.hashCode();
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (obj == this) {
+				return true;
+			}
+
+			if (!(obj instanceof Fingerprint)) {
+				return false;
+			}
+
+			Fingerprint o = (Fingerprint) obj;
+			return stamp == o.stamp && dependencies.equals(o.dependencies) && files.equals(o.files);
+		}
+
+		@Override
+		public String toString() {
+			return "Fingerprint[stamp=" + stamp + ";dependencies=" + dependencies + ";files=" + files + ']'; //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+
 	public int getFormatVersion() {
 		return formatVersion;
 	}
@@ -68,6 +144,10 @@ public class ProjectState implements Serializable, Cloneable {
 	}
 
 	public Collection<String> removeMappings(String cuKey) {
+		if (fingerprints != null) {
+			fingerprints.remove(cuKey);
+		}
+
 		if (types == null) {
 			// fall back to (deprecated) mappings
 			return mappings.remove(toLegacyCUKey(cuKey));
@@ -133,6 +213,32 @@ public class ProjectState implements Serializable, Cloneable {
 		return oldDSKeys;
 	}
 
+	public Fingerprint getFingerprint(String cuKey) {
+		return fingerprints == null ? null : fingerprints.get(cuKey);
+	}
+
+	public void setFingerprint(String cuKey, Fingerprint fingerprint) {
+		if (fingerprint == null) {
+			if (fingerprints != null) {
+				fingerprints.remove(cuKey);
+			}
+		} else {
+			if (fingerprints == null) {
+				fingerprints = new HashMap<>();
+			}
+
+			fingerprints.put(cuKey, fingerprint);
+		}
+	}
+
+	/**
+	 * Forgets all fingerprints, so all compilation units are processed again
+	 * when they are compiled next.
+	 */
+	public void clearFingerprints() {
+		fingerprints = null;
+	}
+
 	public String getPath() {
 		return path;
 	}
@@ -181,6 +287,173 @@ public class ProjectState implements Serializable, Cloneable {
 		return files;
 	}
 
+	private Map<String, Fingerprint> getFingerprints() {
+		return fingerprints == null ? Collections.emptyMap() : fingerprints;
+	}
+
+	/**
+	 * Writes this state in the binary state format.
+	 *
+	 * @see #read(DataInput)
+	 */
+	public void write(DataOutput out) throws IOException {
+		out.writeInt(BINARY_MAGIC);
+		out.writeInt(BINARY_VERSION);
+		out.writeInt(formatVersion);
+		writeString(out, path);
+		writeString(out, specVersion == null ? null : specVersion.name());
+		writeString(out, errorLevel == null ? null : errorLevel.name());
+		writeString(out, missingUnbindMethodLevel == null ? null : missingUnbindMethodLevel.name());
+		writeMultiMap(out, mappings);
+		out.writeBoolean(types != null);
+		if (types != null) {
+			writeMultiMap(out, types);
+		}
+
+		out.writeBoolean(files != null);
+		if (files != null) {
+			out.writeInt(files.size());
+			for (Map.Entry<String, String> entry : files.entrySet()) {
+				out.writeUTF(entry.getKey());
+				out.writeUTF(entry.getValue());
+			}
+		}
+
+		Map<String, Fingerprint> fps = getFingerprints();
+		out.writeInt(fps.size());
+		for (Map.Entry<String, Fingerprint> entry : fps.entrySet()) {
+			Fingerprint fingerprint = entry.getValue();
+			out.writeUTF(entry.getKey());
+			out.writeLong(fingerprint.getStamp());
+			writeStamps(out, fingerprint.getDependencies());
+			writeStamps(out, fingerprint.getFiles());
+		}
+	}
+
+	/**
+	 * Reads a state written in the binary state format.
+	 *
+	 * @return the state, or <code>null</code> if the input is not in the
+	 *         binary state format
+	 * @throws IOException if the state cannot be read or is in an unsupported
+	 *             version of the binary state format
+	 * @see #write(DataOutput)
+	 */
+	public static ProjectState read(DataInput in) throws IOException {
+		if (in.readInt() != BINARY_MAGIC) {
+			return null;
+		}
+
+		int version = in.readInt();
+		if (version != BINARY_VERSION) {
+			throw new IOException("Unsupported project state version: " + version); //$NON-NLS-1$
+		}
+
+		ProjectState state = new ProjectState();
+		state.formatVersion = in.readInt();
+		state.path = readString(in);
+		state.specVersion = readEnum(in, DSAnnotationVersion.class);
+		state.errorLevel = readEnum(in, ValidationErrorLevel.class);
+		state.missingUnbindMethodLevel = readEnum(in, ValidationErrorLevel.class);
+		state.mappings = readMultiMap(in);
+		if (in.readBoolean()) {
+			state.types = readMultiMap(in);
+		}
+
+		if (in.readBoolean()) {
+			int size = in.readInt();
+			state.files = new HashMap<>(size);
+			for (int i = 0; i < size; i++) {
+				state.files.put(in.readUTF(), in.readUTF());
+			}
+		}
+
+		int size = in.readInt();
+		if (size > 0) {
+			state.fingerprints = new HashMap<>(size);
+			for (int i = 0; i < size; i++) {
+				String cuKey = in.readUTF();
+				long stamp = in.readLong();
+				Map<String, Long> dependencies = readStamps(in);
+				Map<String, Long> files = readStamps(in);
+				state.fingerprints.put(cuKey, new Fingerprint(stamp, dependencies, files));
+			}
+		}
+
+		return state;
+	}
+
+	private static void writeString(DataOutput out, String value) throws IOException {
+		out.writeBoolean(value != null);
+		if (value != null) {
+			out.writeUTF(value);
+		}
+	}
+
+	private static String readString(DataInput in) throws IOException {
+		return in.readBoolean() ? in.readUTF() : null;
+	}
+
+	private static <E extends Enum<E>> E readEnum(DataInput in, Class<E> enumType) throws IOException {
+		String name = readString(in);
+		if (name == null) {
+			return null;
+		}
+
+		try {
+			return Enum.valueOf(enumType, name);
+		} catch (IllegalArgumentException e) {
+			// unknown value, use the default
+			return null;
+		}
+	}
+
+	private static void writeMultiMap(DataOutput out, Map<String, Collection<String>> map) throws IOException {
+		out.writeInt(map.size());
+		for (Map.Entry<String, Collection<String>> entry : map.entrySet()) {
+			out.writeUTF(entry.getKey());
+			out.writeInt(entry.getValue().size());
+			for (String value : entry.getValue()) {
+				out.writeUTF(value);
+			}
+		}
+	}
+
+	private static Map<String, Collection<String>> readMultiMap(DataInput in) throws IOException {
+		int size = in.readInt();
+		Map<String, Collection<String>> map = new HashMap<>(size);
+		for (int i = 0; i < size; i++) {
+			String key = in.readUTF();
+			int count = in.readInt();
+			Collection<String> values = new HashSet<>(count);
+			for (int j = 0; j < count; j++) {
+				values.add(in.readUTF());
+			}
+
+			map.put(key, values);
+		}
+
+		return map;
+	}
+
+	private static void writeStamps(DataOutput out, Map<String, Long> stamps) throws IOException {
+		out.writeInt(stamps.size());
+		for (Map.Entry<String, Long> entry : stamps.entrySet()) {
+			out.writeUTF(entry.getKey());
+			out.writeLong(entry.getValue());
+		}
+	}
+
+	private static Map<String, Long> readStamps(DataInput in) throws IOException {
+		int size = in.readInt();
+		Map<String, Long> stamps = new HashMap<>(size);
+		for (int i = 0; i < size; i++) {
+			stamps.put(in.readUTF(), in.readLong());
+		}
+
+		return stamps;
+	}
+
 	@Override
 	public ProjectState clone() {
 		ProjectState clone;
@@ -206,6 +479,10 @@ public class ProjectState implements Serializable, Cloneable {
 			clone.files = new HashMap<>(files);
 		}
 
+		if (fingerprints != null) {
+			clone.fingerprints = new HashMap<>(fingerprints);
+		}
+
 		return clone;
 	}
 
@@ -227,7 +504,8 @@ public class ProjectState implements Serializable, Cloneable {
 				&& missingUnbindMethodLevel == o.missingUnbindMethodLevel
 				&& mappings.equals(o.mappings)
 				&& (files == null ? o.files == null : files.equals(o.files))
-				&& (types == null ? o.types == null : types.equals(o.types));
+				&& (types == null ? o.types == null : types.equals(o.types))
+				&& getFingerprints().equals(o.getFingerprints());
 	}
 
 	@Override
@@ -236,7 +514,8 @@ public class ProjectState implements Serializable, Cloneable {
 		buf.append(path).append(";mappings="); //$NON-NLS-1$
 		buf.append(mappings).append(";types="); //$NON-NLS-1$
 		buf.append(types).append(";files="); //$NON-NLS-1$
-		buf.append(files).append(";errorLevel="); //$NON-NLS-1$
+		buf.append(files).append(";fingerprints="); //$NON-NLS-1$
+		buf.append(fingerprints).append(";errorLevel="); //$NON-NLS-1$
 		buf.append(specVersion).append(";specVersion="); //$NON-NLS-1$
 		buf.append(errorLevel).append(";missingUnbindMethodLevel="); //$NON-NLS-1$
 		buf.append(missingUnbindMethodLevel).append(";formatVersion="); //$NON-NLS-1$
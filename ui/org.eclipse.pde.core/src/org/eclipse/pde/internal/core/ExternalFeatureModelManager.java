@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2021 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -25,6 +25,11 @@ import java.util.Collection;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -49,6 +54,16 @@ import org.eclipse.pde.internal.core.target.Messages;
  */
 public class ExternalFeatureModelManager {
 
+	/**
+	 * The number of threads parsing feature manifests
+	 */
+	private static final int PARALLELISM = Math.min(8, Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * The minimum number of feature manifests to parse in parallel
+	 */
+	private static final int PARALLEL_THRESHOLD = 16;
+
 	/**
 	 * Creates a feature model for the feature based on the given feature XML
 	 * file.
@@ -135,9 +150,10 @@ public class ExternalFeatureModelManager {
 		List<IFeatureModel> result = new ArrayList<>();
 		TargetFeature[] features = target.getAllFeatures();
 		if (features != null) {
-			for (TargetFeature feature : features) {
-				IFeatureModel model = getFreshFeatureModel(feature);
-				if (model.isLoaded()) {
+			List<IFeatureModel> models = parse(List.of(features), ExternalFeatureModelManager::getFreshFeatureModel,
+					null);
+			for (IFeatureModel model : models) {
+				if (model != null && model.isLoaded()) {
 					result.add(model);
 				}
 			}
@@ -223,23 +239,71 @@ public class ExternalFeatureModelManager {
 	}
 
 	private static TargetFeature[] createFeatures(URL[] featurePaths, IProgressMonitor monitor) {
-		SubMonitor subMonitor = SubMonitor.convert(monitor, featurePaths.length);
-		Map<String, TargetFeature> uniqueFeatures = new LinkedHashMap<>();
-		for (URL featurePath : featurePaths) {
+		List<TargetFeature> features = parse(List.of(featurePaths), featurePath -> {
 			File manifest = new File(featurePath.getFile(), ICoreConstants.FEATURE_FILENAME_DESCRIPTOR);
 			if (!manifest.exists() || !manifest.isFile()) {
-				subMonitor.split(1);
-				continue;
+				return null;
 			}
 			try {
-				TargetFeature model = new TargetFeature(manifest);
-				uniqueFeatures.put(model.getId() + "_" + model.getVersion(), model); //$NON-NLS-1$
+				return new TargetFeature(manifest);
 			} catch (CoreException e) {
 				// Ignore bad files in the collection
+				return null;
+			}
+		}, monitor);
+		Map<String, TargetFeature> uniqueFeatures = new LinkedHashMap<>();
+		for (TargetFeature model : features) {
+			if (model != null) {
+				uniqueFeatures.put(model.getId() + "_" + model.getVersion(), model); //$NON-NLS-1$
 			}
-			subMonitor.split(1);
 		}
 		Collection<TargetFeature> models = uniqueFeatures.values();
 		return models.toArray(new TargetFeature[models.size()]);
 	}
+
+	/**
+	 * Applies the given parser to the given inputs, in parallel if there are
+	 * enough of them. Parsers of different inputs must not depend on each
+	 * other.
+	 *
+	 * @param inputs
+	 *            the inputs to parse
+	 * @param parser
+	 *            parses one input, may return <code>null</code>
+	 * @param monitor
+	 *            progress monitor or <code>null</code>
+	 * @return the results of the parser, in the order of the inputs
+	 */
+	private static <T, R> List<R> parse(List<T> inputs, Function<T, R> parser, IProgressMonitor monitor) {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, inputs.size());
+		List<R> results = new ArrayList<>(inputs.size());
+		if (inputs.size() < PARALLEL_THRESHOLD || PARALLELISM < 2) {
+			for (T input : inputs) {
+				results.add(parser.apply(input));
+				subMonitor.split(1);
+			}
+			return results;
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(PARALLELISM);
+		try {
+			List<Future<R>> futures = new ArrayList<>(inputs.size());
+			for (T input : inputs) {
+				futures.add(executor.submit(() -> parser.apply(input)));
+			}
+			for (Future<R> future : futures) {
+				try {
+					results.add(future.get());
+				} catch (ExecutionException e) {
+					PDECore.log(e.getCause());
+					results.add(null);
+				}
+				subMonitor.split(1);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			executor.shutdownNow();
+		}
+		return results;
+	}
 }
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2017 IBM Corporation and others.
+ *  Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -99,12 +99,9 @@ public class FeatureModelManager {
 		fProviderListener = this::handleModelsChanged;
 		fWorkspaceManager.addModelProviderListener(fProviderListener);
 
-		IFeatureModel[] models = fWorkspaceManager.getFeatureModels();
-		for (IFeatureModel model : models) {
-			// add all workspace models, including invalid or duplicate (save
-			// id, ver)
-			fActiveModels.add(model);
-		}
+		// add all workspace models, including invalid or duplicate (save
+		// id, ver)
+		fActiveModels.addAll(fWorkspaceManager.getFeatureModels());
 
 		fExternalManager = new ExternalFeatureModelManager();
 		fExternalManager.addModelProviderListener(fProviderListener);
@@ -263,6 +260,14 @@ public class FeatureModelManager {
 
 	private synchronized IFeatureModelDelta processEvent(IModelProviderEvent e) {
 		FeatureModelDelta delta = new FeatureModelDelta();
+		// copy each table once for the whole event and publish it when the event is processed
+		fActiveModels.update(activeModels -> fInactiveModels
+				.update(inactiveModels -> processEvent(e, delta, activeModels, inactiveModels)));
+		return delta;
+	}
+
+	private void processEvent(IModelProviderEvent e, FeatureModelDelta delta, FeatureTable.Mutable activeModels,
+			FeatureTable.Mutable inactiveModels) {
 		/*
 		 * Set of Idvers for which there might be necessary to move a model
 		 * between active models and inactive models
@@ -274,7 +279,7 @@ public class FeatureModelManager {
 				if (!(removed[i] instanceof IFeatureModel model)) {
 					continue;
 				}
-				FeatureTable.Idver idver = fActiveModels.remove(model);
+				FeatureTable.Idver idver = activeModels.remove(model);
 				if (idver != null) {
 					// may need to activate another model
 					if (affectedIdVers == null) {
@@ -283,7 +288,7 @@ public class FeatureModelManager {
 					affectedIdVers.add(idver);
 					delta.add(model, IFeatureModelDelta.REMOVED);
 				} else {
-					fInactiveModels.remove(model);
+					inactiveModels.remove(model);
 				}
 			}
 		}
@@ -294,7 +299,7 @@ public class FeatureModelManager {
 					continue;
 				}
 				if (model.getUnderlyingResource() != null) {
-					FeatureTable.Idver idver = fActiveModels.add(model);
+					FeatureTable.Idver idver = activeModels.add(model);
 					delta.add(model, IFeatureModelDelta.ADDED);
 					// may need to deactivate another model
 					if (affectedIdVers == null) {
@@ -308,18 +313,18 @@ public class FeatureModelManager {
 					}
 					String id = model.getFeature().getId();
 					String version = model.getFeature().getVersion();
-					if (fInactiveModels.get(id, version).length > 0) {
+					if (inactiveModels.get(id, version).length > 0) {
 						// ignore duplicate external models
 						continue;
 					}
-					IFeatureModel[] activeModels = fActiveModels.get(id, version);
-					for (final IFeatureModel activeModel : activeModels) {
+					IFeatureModel[] existingModels = activeModels.get(id, version);
+					for (final IFeatureModel activeModel : existingModels) {
 						if (activeModel.getUnderlyingResource() == null) {
 							// ignore duplicate external models
 							continue;
 						}
 					}
-					FeatureTable.Idver idver = fInactiveModels.add(model);
+					FeatureTable.Idver idver = inactiveModels.add(model);
 					// may need to activate this model
 					if (affectedIdVers == null) {
 						affectedIdVers = new HashSet<>();
@@ -339,10 +344,10 @@ public class FeatureModelManager {
 				String id = model.getFeature().getId();
 				String version = model.getFeature().getVersion();
 
-				FeatureTable.Idver oldIdver = fActiveModels.get(model);
+				FeatureTable.Idver oldIdver = activeModels.get(model);
 				if (oldIdver != null && !oldIdver.equals(id, version)) {
 					// version changed
-					FeatureTable.Idver idver = fActiveModels.add(model);
+					FeatureTable.Idver idver = activeModels.add(model);
 					if (affectedIdVers == null) {
 						affectedIdVers = new HashSet<>();
 					}
@@ -357,7 +362,7 @@ public class FeatureModelManager {
 			}
 		}
 		/* 2. Move features between active and inactive tables if necessary */
-		adjustExternalVisibility(delta, affectedIdVers);
+		adjustExternalVisibility(delta, affectedIdVers, activeModels, inactiveModels);
 		/*
 		 * 3. Changed models that do result in FeatureModelDelta.ADDED or
 		 * FeatureModelDelta.Removed fire FeatureModelDelta.CHANGED
@@ -374,13 +379,13 @@ public class FeatureModelManager {
 
 			}
 		}
-		return delta;
 	}
 
-	private void adjustExternalVisibility(FeatureModelDelta delta, Set<Idver> affectedIdVers) {
+	private void adjustExternalVisibility(FeatureModelDelta delta, Set<Idver> affectedIdVers,
+			FeatureTable.Mutable activeModels, FeatureTable.Mutable inactiveModels) {
 		if (affectedIdVers != null) {
 			for (final Idver idver : affectedIdVers) {
-				IFeatureModel[] affectedModels = fActiveModels.get(idver);
+				IFeatureModel[] affectedModels = activeModels.get(idver);
 				if (affectedModels.length > 1) {
 					/*
 					 * there must have been at least one workspace and one
@@ -389,8 +394,8 @@ public class FeatureModelManager {
 					for (final IFeatureModel model : affectedModels) {
 						if (model.getUnderlyingResource() == null) {
 							// move external to inactive
-							fActiveModels.remove(model);
-							fInactiveModels.add(model);
+							activeModels.remove(model);
+							inactiveModels.add(model);
 							delta.add(model, IFeatureModelDelta.REMOVED);
 						}
 					}
@@ -398,11 +403,11 @@ public class FeatureModelManager {
 
 				if (affectedModels.length <= 0) {
 					// no workspace model
-					IFeatureModel[] models = fInactiveModels.get(idver);
+					IFeatureModel[] models = inactiveModels.get(idver);
 					if (models.length > 0) {
 						// external model exists, move it to active
-						fInactiveModels.remove(models[0]);
-						fActiveModels.add(models[0]);
+						inactiveModels.remove(models[0]);
+						activeModels.add(models[0]);
 						delta.add(models[0], IFeatureModelDelta.ADDED);
 					}
 				}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2005, 2017 IBM Corporation and others.
+ *  Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -14,8 +14,11 @@
 package org.eclipse.pde.internal.core;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.function.Consumer;
 
 import org.eclipse.pde.internal.core.ifeature.IFeature;
 import org.eclipse.pde.internal.core.ifeature.IFeatureModel;
@@ -25,8 +28,13 @@ import org.eclipse.pde.internal.core.ifeature.IFeatureModel;
  * retrieval. Given id or version may have more than one corresponding model. A
  * model has only one id and version that can be null. When models changes, its
  * Idver stays unchanged until the models reinserted.
+ * <p>
+ * Lookups read an immutable snapshot of the table without locking.
+ * Modifications are serialized and publish a new snapshot, several
+ * modifications can publish a single one through {@link #update(Consumer)}.
+ * </p>
  */
-class FeatureTable {
+public class FeatureTable {
 	public static class Idver {
 		private final String fId;
 
@@ -84,71 +92,85 @@ class FeatureTable {
 
 	private static final IFeatureModel[] NO_MODELS = new IFeatureModel[0];
 
-	/**
-	 * Map of IFeatureModel to Idver
-	 */
-	private final Map<IFeatureModel, Idver> fModel2idver;
+	private static final Idver[] NO_IDVERS = new Idver[0];
 
 	/**
-	 * Map of Idver to ArrayList of IFeatureModel
+	 * Immutable state of the table. Maps and arrays of a snapshot are never
+	 * modified once the snapshot is published.
 	 */
-	private final Map<Idver, ArrayList<IFeatureModel>> fIdver2models;
+	private static final class Snapshot {
+		/**
+		 * Map of IFeatureModel to Idver
+		 */
+		final Map<IFeatureModel, Idver> model2idver;
+
+		/**
+		 * Map of Idver to array of IFeatureModel
+		 */
+		final Map<Idver, IFeatureModel[]> idver2models;
+
+		/**
+		 * Map of Id to array of Idver
+		 */
+		final Map<String, Idver[]> id2idvers;
+
+		Snapshot(Map<IFeatureModel, Idver> model2idver, Map<Idver, IFeatureModel[]> idver2models,
+				Map<String, Idver[]> id2idvers) {
+			this.model2idver = model2idver;
+			this.idver2models = idver2models;
+			this.id2idvers = id2idvers;
+		}
+	}
 
 	/**
-	 * Map of Id to ArrayList of Idver
+	 * The current state, read without locking and replaced as a whole by the
+	 * modifications, which are serialized
 	 */
-	private final Map<String, ArrayList<Idver>> fId2idvers;
+	private volatile Snapshot fSnapshot;
 
 	public FeatureTable() {
-
-		fModel2idver = new HashMap<>();
-		fIdver2models = new HashMap<>();
-		fId2idvers = new HashMap<>();
-	}
-
-	public synchronized Idver get(IFeatureModel model) {
-		return fModel2idver.get(model);
+		fSnapshot = new Snapshot(new HashMap<>(), new HashMap<>(), new HashMap<>());
 	}
 
-	public synchronized IFeatureModel[] get(String id, String version) {
-		return getImpl(new Idver(id, version));
+	public Idver get(IFeatureModel model) {
+		return fSnapshot.model2idver.get(model);
 	}
 
-	public synchronized IFeatureModel[] get(Idver idver) {
-		return getImpl(idver);
+	public IFeatureModel[] get(String id, String version) {
+		return get(new Idver(id, version));
 	}
 
-	private IFeatureModel[] getImpl(Idver idver) {
-		ArrayList<IFeatureModel> models = fIdver2models.get(idver);
+	public IFeatureModel[] get(Idver idver) {
+		IFeatureModel[] models = fSnapshot.idver2models.get(idver);
 		if (models == null) {
 			return NO_MODELS;
 		}
-		return models.toArray(new IFeatureModel[models.size()]);
+		return models.clone();
 	}
 
-	public synchronized IFeatureModel[] get(String id) {
-		ArrayList<Idver> idvers = fId2idvers.get(id);
+	public IFeatureModel[] get(String id) {
+		Snapshot snapshot = fSnapshot;
+		Idver[] idvers = snapshot.id2idvers.get(id);
 		if (idvers == null) {
 			return NO_MODELS;
 		}
 		ArrayList<IFeatureModel> allModels = new ArrayList<>();
-		for (int i = 0; i < idvers.size(); i++) {
-			Idver idver = idvers.get(i);
-			ArrayList<IFeatureModel> models = fIdver2models.get(idver);
+		for (Idver idver : idvers) {
+			IFeatureModel[] models = snapshot.idver2models.get(idver);
 			if (models == null) {
 				continue;
 			}
-			allModels.addAll(models);
+			Collections.addAll(allModels, models);
 		}
 		return allModels.toArray(new IFeatureModel[allModels.size()]);
 	}
 
-	public synchronized IFeatureModel[] getAll() {
-		return getAllImpl();
+	public IFeatureModel[] getAll() {
+		return getAll(fSnapshot);
 	}
 
-	private IFeatureModel[] getAllImpl() {
-		return fModel2idver.keySet().toArray(new IFeatureModel[fModel2idver.size()]);
+	private static IFeatureModel[] getAll(Snapshot snapshot) {
+		return snapshot.model2idver.keySet().toArray(new IFeatureModel[snapshot.model2idver.size()]);
 	}
 
 	/**
@@ -157,80 +179,187 @@ class FeatureTable {
 	 * @return Idver if model existed and was removed, null otherwise
 	 */
 	public synchronized Idver remove(IFeatureModel model) {
-		return removeImpl(model);
+		if (!fSnapshot.model2idver.containsKey(model)) {
+			return null;
+		}
+		Idver[] idver = new Idver[1];
+		update(table -> idver[0] = table.remove(model));
+		return idver[0];
+	}
+
+	/**
+	 * Adds the model. Updates the position of the model if already exist.
+	 *
+	 * @return Idver used during insertion
+	 */
+	public synchronized Idver add(IFeatureModel model) {
+		Idver[] idver = new Idver[1];
+		update(table -> idver[0] = table.add(model));
+		return idver[0];
+	}
+
+	/**
+	 * Adds the models, replacing the state only once.
+	 *
+	 * @see #add(IFeatureModel)
+	 */
+	public synchronized void addAll(IFeatureModel[] models) {
+		update(table -> {
+			for (IFeatureModel model : models) {
+				table.add(model);
+			}
+		});
+	}
+
+	/**
+	 * Applies several modifications to the table, copying the state once and
+	 * publishing a single new snapshot when the given updater returns.
+	 * Lookups from other threads see the state before the update until then.
+	 *
+	 * @param updater modifies the table through the given copy of its state
+	 */
+	public synchronized void update(Consumer<Mutable> updater) {
+		Mutable table = new Mutable(fSnapshot);
+		updater.accept(table);
+		fSnapshot = table.toSnapshot();
+	}
+
+	/**
+	 * Modifiable copy of the state of a table, only valid during
+	 * {@link FeatureTable#update(Consumer)}
+	 */
+	public static final class Mutable {
+		private final Map<IFeatureModel, Idver> model2idver;
+		private final Map<Idver, IFeatureModel[]> idver2models;
+		private final Map<String, Idver[]> id2idvers;
+
+		Mutable(Snapshot snapshot) {
+			// the arrays are shared with the snapshot, they are replaced and never modified
+			model2idver = new HashMap<>(snapshot.model2idver);
+			idver2models = new HashMap<>(snapshot.idver2models);
+			id2idvers = new HashMap<>(snapshot.id2idvers);
+		}
+
+		public Idver get(IFeatureModel model) {
+			return model2idver.get(model);
+		}
+
+		public IFeatureModel[] get(String id, String version) {
+			return get(new Idver(id, version));
+		}
+
+		public IFeatureModel[] get(Idver idver) {
+			IFeatureModel[] models = idver2models.get(idver);
+			if (models == null) {
+				return NO_MODELS;
+			}
+			return models.clone();
+		}
+
+		/**
+		 * @see FeatureTable#add(IFeatureModel)
+		 */
+		public Idver add(IFeatureModel model) {
+			return addImpl(model, model2idver, idver2models, id2idvers);
+		}
+
+		/**
+		 * @see FeatureTable#remove(IFeatureModel)
+		 */
+		public Idver remove(IFeatureModel model) {
+			return removeImpl(model, model2idver, idver2models, id2idvers);
+		}
+
+		Snapshot toSnapshot() {
+			return new Snapshot(model2idver, idver2models, id2idvers);
+		}
 	}
 
-	private Idver removeImpl(IFeatureModel model) {
-		Idver idver = fModel2idver.remove(model);
+	private static Idver removeImpl(IFeatureModel model, Map<IFeatureModel, Idver> model2idver,
+			Map<Idver, IFeatureModel[]> idver2models, Map<String, Idver[]> id2idvers) {
+		Idver idver = model2idver.remove(model);
 		if (idver == null) {
 			return null;
 		}
-		ArrayList<IFeatureModel> models = fIdver2models.get(idver);
-		for (int i = 0; i < models.size(); i++) {
-			if (models.get(i) == model) {
-				models.remove(i);
+		IFeatureModel[] models = idver2models.get(idver);
+		for (int i = 0; i < models.length; i++) {
+			if (models[i] == model) {
+				models = remove(models, i, NO_MODELS);
 				break;
 			}
 		}
-		if (models.isEmpty()) {
-			fIdver2models.remove(idver);
-
-			ArrayList<Idver> idvers = fId2idvers.get(idver.getId());
-			for (int i = 0; i < idvers.size(); i++) {
-				if (idvers.get(i).equals(idver)) {
-					idvers.remove(i);
+		if (models.length > 0) {
+			idver2models.put(idver, models);
+		} else {
+			idver2models.remove(idver);
+
+			Idver[] idvers = id2idvers.get(idver.getId());
+			for (int i = 0; i < idvers.length; i++) {
+				if (idvers[i].equals(idver)) {
+					idvers = remove(idvers, i, NO_IDVERS);
 					break;
 				}
 			}
-			if (idvers.isEmpty()) {
-				fId2idvers.remove(idver.getId());
+			if (idvers.length > 0) {
+				id2idvers.put(idver.getId(), idvers);
+			} else {
+				id2idvers.remove(idver.getId());
 			}
 		}
 		return idver;
 	}
 
-	/**
-	 * Adds the model. Updates the position of the model if already exist.
-	 *
-	 * @return Idver used during insertion
-	 */
-	public synchronized Idver add(IFeatureModel model) {
-		removeImpl(model);
+	private static Idver addImpl(IFeatureModel model, Map<IFeatureModel, Idver> model2idver,
+			Map<Idver, IFeatureModel[]> idver2models, Map<String, Idver[]> id2idvers) {
+		removeImpl(model, model2idver, idver2models, id2idvers);
 
 		IFeature feature = model.getFeature();
 		String id = feature.getId();
 		String ver = feature.getVersion();
 		Idver idver = new Idver(id, ver);
 
-		fModel2idver.put(model, idver);
+		model2idver.put(model, idver);
 
-		ArrayList<IFeatureModel> models = fIdver2models.get(idver);
-		if (models == null) {
-			models = new ArrayList<>(1);
-			fIdver2models.put(idver, models);
-		}
-		models.add(model);
+		IFeatureModel[] models = idver2models.get(idver);
+		idver2models.put(idver, models == null ? new IFeatureModel[] { model } : append(models, model));
 
-		ArrayList<Idver> idvers = fId2idvers.get(id);
+		Idver[] idvers = id2idvers.get(id);
 		if (idvers == null) {
-			idvers = new ArrayList<>(1);
-			fId2idvers.put(id, idvers);
+			id2idvers.put(id, new Idver[] { idver });
+		} else if (models == null) {
+			// the Idver is listed once, however many models it has
+			id2idvers.put(id, append(idvers, idver));
 		}
-		idvers.add(idver);
 
 		return idver;
 	}
 
+	private static <T> T[] append(T[] array, T element) {
+		T[] result = Arrays.copyOf(array, array.length + 1);
+		result[array.length] = element;
+		return result;
+	}
+
+	private static <T> T[] remove(T[] array, int index, T[] empty) {
+		if (array.length == 1) {
+			return empty;
+		}
+		T[] result = Arrays.copyOf(array, array.length - 1);
+		System.arraycopy(array, index + 1, result, index, array.length - index - 1);
+		return result;
+	}
+
 	@Override
-	public synchronized String toString() {
-		IFeatureModel[] models = getAllImpl();
+	public String toString() {
+		Snapshot snapshot = fSnapshot;
+		IFeatureModel[] models = getAll(snapshot);
 		StringBuilder buf = new StringBuilder(30 * models.length);
 		buf.append("["); //$NON-NLS-1$
 		for (int i = 0; i < models.length; i++) {
 			if (i > 0) {
 				buf.append(",  "); //$NON-NLS-1$
 			}
-			buf.append(get(models[i]));
+			buf.append(snapshot.model2idver.get(models[i]));
 			buf.append("@"); //$NON-NLS-1$
 			buf.append(models[i].getFeature().getId());
 			buf.append("_"); //$NON-NLS-1$
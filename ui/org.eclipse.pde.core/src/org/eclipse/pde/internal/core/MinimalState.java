@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2023 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -20,6 +20,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.Dictionary;
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -75,6 +76,12 @@ public class MinimalState {
 
 	private boolean fNoProfile;
 
+	/**
+	 * Ids of the bundles of a previous state by location, reused for bundles
+	 * added at the same location
+	 */
+	private Map<String, Long> fPreviousIds = Collections.emptyMap();
+
 	protected static StateObjectFactory stateObjectFactory;
 
 	protected String fSystemBundle = IPDEBuildConstants.BUNDLE_OSGI;
@@ -178,7 +185,7 @@ public class MinimalState {
 			// OSGi requires a dictionary over any map
 			Dictionary<String, String> dictionaryManifest = FrameworkUtil.asDictionary(manifest);
 			BundleDescription descriptor = stateObjectFactory.createBundleDescription(fState, dictionaryManifest,
-					bundleLocation.getAbsolutePath(), bundleId == -1 ? getNextId() : bundleId);
+					bundleLocation.getAbsolutePath(), bundleId == -1 ? getNextId(bundleLocation) : bundleId);
 			// new bundle
 			if (bundleId == -1 || !fState.updateBundle(descriptor)) {
 				fState.addBundle(descriptor);
@@ -384,6 +391,33 @@ public class MinimalState {
 		return ++fId;
 	}
 
+	private long getNextId(File bundleLocation) {
+		Long previousId = fPreviousIds.get(bundleLocation.getAbsolutePath());
+		if (previousId != null && fState.getBundle(previousId) == null) {
+			return previousId;
+		}
+		return getNextId();
+	}
+
+	/**
+	 * Makes bundles added to this state at the location of a bundle of the
+	 * given state reuse the id of that bundle, so ids of unchanged bundles are
+	 * stable across states. Bundles at other locations get ids not used by the
+	 * given state.
+	 *
+	 * @param previous the state to take the bundle ids from
+	 */
+	protected void reuseBundleIds(MinimalState previous) {
+		Map<String, Long> ids = new HashMap<>();
+		for (BundleDescription desc : previous.fState.getBundles()) {
+			if (desc.getLocation() != null) {
+				ids.put(desc.getLocation(), desc.getBundleId());
+			}
+		}
+		fPreviousIds = ids;
+		fId = Math.max(fId, previous.fId);
+	}
+
 	public String getSystemBundle() {
 		return fSystemBundle;
 	}
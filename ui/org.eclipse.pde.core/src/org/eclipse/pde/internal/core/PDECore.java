@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2018 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -45,6 +45,7 @@ import org.eclipse.pde.internal.core.builders.FeatureRebuilder;
 import org.eclipse.pde.internal.core.builders.PluginRebuilder;
 import org.eclipse.pde.internal.core.project.BundleProjectService;
 import org.eclipse.pde.internal.core.schema.SchemaRegistry;
+import org.eclipse.pde.internal.core.search.PluginSearchIndex;
 import org.eclipse.pde.internal.core.target.P2TargetUtils;
 import org.eclipse.pde.internal.core.target.TargetPlatformService;
 import org.osgi.framework.BundleContext;
@@ -169,6 +170,7 @@ public class PDECore extends Plugin implements DebugOptionsListener {
 	private SourceLocationManager fSourceLocationManager;
 	private JavadocLocationManager fJavadocLocationManager;
 	private SearchablePluginsManager fSearchablePluginsManager;
+	private PluginSearchIndex fPluginSearchIndex;
 	private ClasspathContainerResolverManager fClasspathContainerResolverManager;
 
 	// Tracing options manager
@@ -300,6 +302,16 @@ public class PDECore extends Plugin implements DebugOptionsListener {
 		return fSearchablePluginsManager;
 	}
 
+	public synchronized PluginSearchIndex getPluginSearchIndex() {
+		if (fPluginSearchIndex == null) {
+			fPluginSearchIndex = new PluginSearchIndex();
+			PluginModelManager manager = getModelManager();
+			manager.addPluginModelListener(fPluginSearchIndex);
+			manager.addExtensionDeltaListener(fPluginSearchIndex);
+		}
+		return fPluginSearchIndex;
+	}
+
 	public boolean areModelsInitialized() {
 		return getModelManager().isInitialized();
 	}
@@ -383,6 +395,12 @@ public class PDECore extends Plugin implements DebugOptionsListener {
 			fSearchablePluginsManager.shutdown();
 			fSearchablePluginsManager = null;
 		}
+		if (fPluginSearchIndex != null) {
+			PluginModelManager manager = getModelManager();
+			manager.removePluginModelListener(fPluginSearchIndex);
+			manager.removeExtensionDeltaListener(fPluginSearchIndex);
+			fPluginSearchIndex = null;
+		}
 		if (fFeatureModelManager != null) {
 			fFeatureModelManager.shutdown();
 			fFeatureModelManager = null;
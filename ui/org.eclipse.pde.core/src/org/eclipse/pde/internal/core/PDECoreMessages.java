@@ -369,5 +369,7 @@ public class PDECoreMessages extends NLS {
 
 	public static String ExportTargetJob_ConfiguringDestination;
 	public static String ExportTargetJob_ExportingTargetContents;
+	public static String ExportTargetJob_CopyProgress;
+	public static String ExportTargetJob_ErrorCopying;
 
 }
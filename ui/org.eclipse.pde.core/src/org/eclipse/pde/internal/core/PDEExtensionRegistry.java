@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2012 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,7 @@ import org.eclipse.core.runtime.IExtensionPoint;
 import org.eclipse.core.runtime.IExtensionRegistry;
 import org.eclipse.core.runtime.IRegistryChangeListener;
 import org.eclipse.core.runtime.RegistryFactory;
+import org.eclipse.core.runtime.spi.IDynamicExtensionRegistry;
 import org.eclipse.core.runtime.spi.RegistryContributor;
 import org.eclipse.osgi.service.resolver.BundleDescription;
 import org.eclipse.pde.core.plugin.IPluginExtension;
@@ -59,9 +60,19 @@ public class PDEExtensionRegistry {
 	}
 
 	public PDEExtensionRegistry(IPluginModelBase[] models) {
+		this(models, new File(PDECore.getDefault().getStateLocation().toFile(), EXTENSION_DIR));
+	}
+
+	/**
+	 * Creates a registry of the given models caching its contents in the
+	 * given directory.
+	 *
+	 * @param models the models of the registry
+	 * @param extensionsDir the cache directory of the registry
+	 */
+	public PDEExtensionRegistry(IPluginModelBase[] models, File extensionsDir) {
 		fModels = models;
 		if (fStrategy == null) {
-			File extensionsDir = new File(PDECore.getDefault().getStateLocation().toFile(), EXTENSION_DIR);
 			// Use TargetPDERegistryStrategy so we don't connect listeners to PluginModelManager.  This is used only in target so we don't need change events.
 			fStrategy = new TargetPDERegistryStrategy(new File[] {extensionsDir}, new boolean[] {false}, fMasterKey, this);
 		}
@@ -104,6 +115,12 @@ public class PDEExtensionRegistry {
 	}
 
 	public void targetReloaded() {
+		IExtensionRegistry registry = fRegistry;
+		if (registry instanceof IDynamicExtensionRegistry) {
+			// unchanged bundles keep their BundleDescription id's across target reloads, only update the contributions of the bundles that changed
+			fStrategy.updateBundles(registry);
+			return;
+		}
 		// stop old registry (which will write contents to FS) and delete the cache it creates
 		// might see if we can dispose of a registry without writing to file system.  NOTE: Don't call stop() because we want to still reuse fStrategy
 		if (fRegistry != null) {
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2007, 2017 IBM Corporation and others.
+ * Copyright (c) 2007, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -18,6 +18,16 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipFile;
 
@@ -49,6 +59,22 @@ public class PDERegistryStrategy extends RegistryStrategy {
 	private ExtensionListener fExtensionListener = null;
 	private PDEExtensionRegistry fPDERegistry = null;
 
+	/**
+	 * The number of threads adding bundles to a new or updated registry
+	 */
+	private static final int PARALLELISM = Math.min(8, Runtime.getRuntime().availableProcessors());
+
+	/**
+	 * The minimum number of bundles to add in parallel
+	 */
+	private static final int PARALLEL_THRESHOLD = 16;
+
+	/**
+	 * Location and modification stamp of the extensions file of the bundles
+	 * in the registry, by contributor id
+	 */
+	private final Map<String, String> fContributions = new ConcurrentHashMap<>();
+
 	class RegistryListener {
 		IExtensionRegistry fRegistry;
 
@@ -98,6 +124,7 @@ public class PDERegistryStrategy extends RegistryStrategy {
 						for (IContributor contributor : contributors) {
 							if (entry.getId().equals(contributor.getName())) {
 								registry.removeContributor(contributor, fKey);
+								fContributions.remove(((RegistryContributor) contributor).getActualId());
 								break;
 							}
 						}
@@ -172,7 +199,27 @@ public class PDERegistryStrategy extends RegistryStrategy {
 	public void onStart(IExtensionRegistry registry, boolean loadedFromCache) {
 		super.onStart(registry, loadedFromCache);
 		setListenerRegistry(registry);
-		if (!loadedFromCache) {
+		if (loadedFromCache) {
+			// bundle ids are not stable across sessions, the contributions time stamp covers the id of each bundle location
+			// and a cached contribution is only kept when its contributor still is the bundle with the same name and host
+			IDynamicExtensionRegistry dynamicRegistry = (IDynamicExtensionRegistry) registry;
+			Map<String, RegistryContributor> cached = new HashMap<>();
+			for (IContributor contributor : dynamicRegistry.getAllContributors()) {
+				cached.put(((RegistryContributor) contributor).getActualId(), (RegistryContributor) contributor);
+			}
+			for (IPluginModelBase base : fPDERegistry.getModels()) {
+				IContributor contributor = createContributor(base);
+				String stamp = getStamp(base);
+				if (contributor instanceof RegistryContributor registryContributor && stamp != null) {
+					RegistryContributor cachedContributor = cached.get(registryContributor.getActualId());
+					if (cachedContributor != null && isSameContributor(cachedContributor, registryContributor)) {
+						fContributions.putIfAbsent(registryContributor.getActualId(), stamp);
+					}
+				}
+			}
+			// remove the contributions of the other cached contributors and add the missing bundles
+			updateBundles(registry);
+		} else {
 			processBundles(registry);
 		}
 	}
@@ -184,7 +231,7 @@ public class PDERegistryStrategy extends RegistryStrategy {
 	}
 
 	@Override
-	public SAXParserFactory getXMLParser() {
+	public synchronized SAXParserFactory getXMLParser() {
 		if (xmlTracker == null) {
 			xmlTracker = new ServiceTracker<>(PDECore.getDefault().getBundleContext(), SAXParserFactory.class, null);
 			xmlTracker.open();
@@ -193,7 +240,108 @@ public class PDERegistryStrategy extends RegistryStrategy {
 	}
 
 	private void processBundles(IExtensionRegistry registry) {
-		addBundles(registry, fPDERegistry.getModels());
+		addBundlesInParallel(registry, fPDERegistry.getModels());
+	}
+
+	/**
+	 * Updates the registry to the current models after a target reload or
+	 * after it was loaded from its cache. Contributions of bundles whose id,
+	 * name, host and extensions file did not change are kept, the others are
+	 * removed and the bundles missing from the registry are added.
+	 *
+	 * @param registry the registry to update
+	 */
+	void updateBundles(IExtensionRegistry registry) {
+		long start = System.currentTimeMillis();
+		IPluginModelBase[] bases = fPDERegistry.getModels();
+		Map<String, RegistryContributor> contributors = new HashMap<>();
+		Map<String, String> stamps = new HashMap<>();
+		for (IPluginModelBase base : bases) {
+			IContributor contributor = createContributor(base);
+			if (contributor instanceof RegistryContributor registryContributor) {
+				String id = registryContributor.getActualId();
+				if (contributors.putIfAbsent(id, registryContributor) == null) {
+					stamps.put(id, getStamp(base));
+				}
+			}
+		}
+		IDynamicExtensionRegistry dynamicRegistry = (IDynamicExtensionRegistry) registry;
+		int kept = 0;
+		int removed = 0;
+		for (IContributor contributor : dynamicRegistry.getAllContributors()) {
+			RegistryContributor oldContributor = (RegistryContributor) contributor;
+			String id = oldContributor.getActualId();
+			RegistryContributor newContributor = contributors.get(id);
+			String stamp = fContributions.get(id);
+			if (newContributor != null && stamp != null && stamp.equals(stamps.get(id))
+					&& isSameContributor(oldContributor, newContributor)) {
+				kept++;
+			} else {
+				dynamicRegistry.removeContributor(oldContributor, fKey);
+				fContributions.remove(id);
+				removed++;
+			}
+		}
+		int count = fContributions.size();
+		addBundlesInParallel(registry, bases);
+		if (PDECore.DEBUG_MODEL) {
+			System.out.println("Extension registry updated in " + (System.currentTimeMillis() - start) + " ms: " + kept //$NON-NLS-1$ //$NON-NLS-2$
+					+ " bundles kept, " + removed + " removed, " + (fContributions.size() - count) + " added"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+		}
+	}
+
+	/**
+	 * @return whether the given contributors have the same id, name, host id
+	 *         and host name
+	 */
+	private static boolean isSameContributor(RegistryContributor oldContributor, RegistryContributor newContributor) {
+		return oldContributor.getActualId().equals(newContributor.getActualId())
+				&& Objects.equals(oldContributor.getActualName(), newContributor.getActualName())
+				&& oldContributor.getId().equals(newContributor.getId())
+				&& Objects.equals(oldContributor.getName(), newContributor.getName());
+	}
+
+	/**
+	 * Adds the given bundles to the registry, parsing their extensions in
+	 * parallel. Bundles with the same symbolic name are added in the given
+	 * order, so the workspace bundles, which come first, are found first.
+	 */
+	private void addBundlesInParallel(IExtensionRegistry registry, IPluginModelBase[] bases) {
+		if (bases.length < PARALLEL_THRESHOLD || PARALLELISM < 2) {
+			addBundles(registry, bases);
+			return;
+		}
+		// rank i holds the i-th bundle of each symbolic name
+		List<List<IPluginModelBase>> ranks = new ArrayList<>();
+		Map<String, Integer> counts = new HashMap<>();
+		for (IPluginModelBase base : bases) {
+			BundleDescription desc = base.getBundleDescription();
+			int rank = desc == null || desc.getSymbolicName() == null ? 0 : counts.merge(desc.getSymbolicName(), 1, Integer::sum) - 1;
+			if (rank == ranks.size()) {
+				ranks.add(new ArrayList<>());
+			}
+			ranks.get(rank).add(base);
+		}
+		ExecutorService executor = Executors.newFixedThreadPool(PARALLELISM);
+		try {
+			for (List<IPluginModelBase> rank : ranks) {
+				List<Future<?>> futures = new ArrayList<>(rank.size());
+				for (IPluginModelBase base : rank) {
+					futures.add(executor.submit(() -> addBundle(registry, base)));
+				}
+				for (Future<?> future : futures) {
+					try {
+						future.get();
+					} catch (ExecutionException e) {
+						PDECore.log(e.getCause());
+					}
+				}
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			executor.shutdownNow();
+		}
 	}
 
 	private void addBundles(IExtensionRegistry registry, IPluginModelBase[] bases) {
@@ -232,8 +380,8 @@ public class PDERegistryStrategy extends RegistryStrategy {
 					is = jfile.getInputStream(entry);
 				}
 			}
-			if (is != null) {
-				registry.addContribution(new BufferedInputStream(is), contributor, true, input.getPath(), null, fKey);
+			if (is != null && registry.addContribution(new BufferedInputStream(is), contributor, true, input.getPath(), null, fKey)) {
+				fContributions.put(((RegistryContributor) contributor).getActualId(), getStamp(input));
 			}
 		} catch (IOException e) {
 		} finally {
@@ -251,6 +399,7 @@ public class PDERegistryStrategy extends RegistryStrategy {
 			IContributor contributor = createContributor(base);
 			if (contributor != null && ((IDynamicExtensionRegistry) registry).hasContributor(contributor)) {
 				((IDynamicExtensionRegistry) registry).removeContributor(createContributor(base), fKey);
+				fContributions.remove(((RegistryContributor) contributor).getActualId());
 			}
 		}
 	}
@@ -285,6 +434,19 @@ public class PDERegistryStrategy extends RegistryStrategy {
 		return (inputFile.exists()) ? inputFile : null;
 	}
 
+	/**
+	 * @return the location and modification stamp of the extensions file of
+	 *         the given bundle or <code>null</code> if it has none
+	 */
+	private String getStamp(IPluginModelBase base) {
+		File input = getFile(base);
+		return input == null ? null : getStamp(input);
+	}
+
+	private static String getStamp(File input) {
+		return input.getPath() + '@' + input.lastModified() + '@' + input.length();
+	}
+
 	public IContributor createContributor(IPluginModelBase base) {
 		BundleDescription desc = base == null ? null : base.getBundleDescription();
 		// return null if the IPluginModelBase does not have a BundleDescription (since then we won't have a valid 'id')
@@ -327,7 +489,8 @@ public class PDERegistryStrategy extends RegistryStrategy {
 		fPDERegistry.getRegistry();
 	}
 
-	// Same timestamp calculations as PDEState.computeTimestamp(URL[] urls, long timestamp)
+	// Same timestamp calculations as PDEState.computeTimestamp(URL[] urls, long timestamp),
+	// plus the bundle id of each location since the cached contributions are stored by bundle id
 	@Override
 	public long getContributionsTimestamp() {
 		IPluginModelBase[] bases = fPDERegistry.getModels();
@@ -337,6 +500,8 @@ public class PDERegistryStrategy extends RegistryStrategy {
 			if (loc == null) {
 				continue;
 			}
+			BundleDescription desc = base.getBundleDescription();
+			long bundleId = desc == null ? -1 : desc.getBundleId();
 
 			File location = new File(loc);
 			if (location.exists()) {
@@ -357,6 +522,7 @@ public class PDERegistryStrategy extends RegistryStrategy {
 					}
 				}
 				timeStamp ^= location.getAbsolutePath().hashCode();
+				timeStamp ^= (location.getAbsolutePath() + '@' + bundleId).hashCode();
 			}
 		}
 		return timeStamp;
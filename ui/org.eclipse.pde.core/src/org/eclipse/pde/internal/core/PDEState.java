@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2016 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -57,8 +57,26 @@ public class PDEState extends MinimalState {
 	 * @param monitor progress monitor
 	 */
 	public PDEState(URI[] target, boolean addResolver, boolean removeDuplicates, IProgressMonitor monitor) {
+		this(target, addResolver, removeDuplicates, null, monitor);
+	}
+
+	/**
+	 * Creates a new PDE State containing bundles from the given URLs. Bundles
+	 * at the location of a bundle of the previous state keep the id of that
+	 * bundle.
+	 *
+	 * @param target urls of target bundles
+	 * @param addResolver whether to add a resolver to the state
+	 * @param removeDuplicates whether to remove duplicate conflicting bundles from the state
+	 * @param previous the state to take bundle ids from or <code>null</code>
+	 * @param monitor progress monitor
+	 */
+	public PDEState(URI[] target, boolean addResolver, boolean removeDuplicates, PDEState previous, IProgressMonitor monitor) {
 		long start = System.currentTimeMillis();
 		fAuxiliaryState = new PDEAuxiliaryState();
+		if (previous != null) {
+			reuseBundleIds(previous);
+		}
 
 		// We no longer try and restore from a cached state as it had no performance benefit
 		createNewTargetState(addResolver, target, monitor);
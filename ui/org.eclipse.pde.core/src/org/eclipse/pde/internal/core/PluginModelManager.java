@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2022 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -610,7 +610,7 @@ public class PluginModelManager implements IModelProviderListener {
 			fCancelled = true;
 		}
 
-		fState = new PDEState(externalUris, true, true, subMon.split(15));
+		fState = new PDEState(externalUris, true, true, oldState, subMon.split(15));
 		fExternalManager.setModels(fState.getTargetModels());
 		addToTable(entries, fExternalManager.getAllModels());
 
@@ -643,7 +643,7 @@ public class PluginModelManager implements IModelProviderListener {
 		subMon.split(5);
 
 		fEntries = entries;
-		// flush the extension registry cache since workspace data (BundleDescription id's) have changed.
+		// update the extension registry for the bundles that changed, unchanged bundles kept their BundleDescription id's
 		PDECore.getDefault().getExtensionsRegistry().targetReloaded();
 		if (oldState != null) {
 			// Need to update classpath entries
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2022 IBM Corporation and others.
+ *  Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -22,11 +22,15 @@ import java.net.URL;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
+import java.util.Optional;
 import java.util.Set;
 import java.util.StringTokenizer;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IConfigurationElement;
@@ -64,6 +68,12 @@ public class SourceLocationManager implements ICoreConstants {
 	 */
 	private BundleManifestSourceLocationManager fBundleManifestLocator = null;
 
+	/**
+	 * Source locations specified by the user, with the source files found in
+	 * them
+	 */
+	private UserLocations fUserLocations = null;
+
 	/**
 	 * Searches source locations for one that provides source for the given pluginBase.
 	 * Will search user specified locations, then bundle manifest specified locations, then
@@ -201,6 +211,7 @@ public class SourceLocationManager implements ICoreConstants {
 	public void reset() {
 		fExtensionLocations = null;
 		fBundleManifestLocator = null;
+		fUserLocations = null;
 	}
 
 	/**
@@ -209,16 +220,36 @@ public class SourceLocationManager implements ICoreConstants {
 	 *
 	 * @return array of source locations that have been specified by the user
 	 */
-	@SuppressWarnings("deprecation")
 	public List<IPath> getUserLocations() {
+		return getUserLocations(getUserLocationsPreference());
+	}
+
+	private List<IPath> getUserLocations(String pref) {
 		List<IPath> userLocations = new ArrayList<>();
-		String pref = PDECore.getDefault().getPreferencesManager().getString(P_SOURCE_LOCATIONS);
 		if (pref.length() > 0) {
 			parseSavedSourceLocations(pref, userLocations);
 		}
 		return userLocations;
 	}
 
+	@SuppressWarnings("deprecation")
+	private String getUserLocationsPreference() {
+		return PDECore.getDefault().getPreferencesManager().getString(P_SOURCE_LOCATIONS);
+	}
+
+	/**
+	 * @return the user specified locations for the current preference value
+	 */
+	private UserLocations getUserLocationsCache() {
+		String pref = getUserLocationsPreference();
+		UserLocations userLocations = fUserLocations;
+		if (userLocations == null || !userLocations.preference.equals(pref)) {
+			userLocations = new UserLocations(pref, getUserLocations(pref));
+			fUserLocations = userLocations;
+		}
+		return userLocations;
+	}
+
 	/**
 	 * @return array of source locations that have been added via extension point
 	 */
@@ -291,8 +322,31 @@ public class SourceLocationManager implements ICoreConstants {
 	 * @return path to the source file or <code>null</code> if one could not be found or if the file does not exist
 	 */
 	private IPath searchUserSpecifiedLocations(IPath relativePath) {
-		List<IPath> userLocations = getUserLocations();
-		for (IPath location : userLocations) {
+		UserLocations userLocations = getUserLocationsCache();
+		return findFile(userLocations.locations, relativePath, userLocations.index);
+	}
+
+	/**
+	 * Returns the first of the given locations containing a file at the given
+	 * relative path, looking it up in the index of the locations.
+	 *
+	 * @param locations locations to search
+	 * @param relativePath location of source file within the source location
+	 * @param index index of the given locations
+	 * @return path to the source file or <code>null</code> if none exists
+	 */
+	private static IPath findFile(Collection<IPath> locations, IPath relativePath, SourceIndex index) {
+		if (locations.isEmpty()) {
+			return null;
+		}
+		if (relativePath == null) {
+			return findFile(locations, relativePath);
+		}
+		return index.find(relativePath);
+	}
+
+	private static IPath findFile(Collection<IPath> locations, IPath relativePath) {
+		for (IPath location : locations) {
 			IPath fullPath = location.append(relativePath);
 			File file = fullPath.toFile();
 			if (file.exists()) {
@@ -312,14 +366,12 @@ public class SourceLocationManager implements ICoreConstants {
 	 *         found or if the file does not exist
 	 */
 	private IPath searchExtensionLocations(IPath relativePath, IPluginBase plugin) {
-		for (IPath location : getExtensionLocations()) {
-			IPath fullPath = location.append(relativePath);
-			File file = fullPath.toFile();
-			if (file.exists()) {
-				return fullPath;
-			}
+		SourceExtensions extensions = getExtensions();
+		IPath fullPath = findFile(extensions.locations, relativePath, extensions.index);
+		if (fullPath != null) {
+			return fullPath;
 		}
-		return getExtensions().locators.stream().map(locator -> {
+		return extensions.locators.stream().map(locator -> {
 			try {
 				return locator.locator.locateSource(plugin);
 			} catch (RuntimeException e) {
@@ -438,6 +490,7 @@ public class SourceLocationManager implements ICoreConstants {
 			}
 		}
 		Collections.sort(result.locators);
+		result.index = new SourceIndex(result.locations);
 		return result;
 	}
 
@@ -474,6 +527,62 @@ public class SourceLocationManager implements ICoreConstants {
 	private static final class SourceExtensions {
 		final Collection<IPath> locations = new LinkedHashSet<>();
 		final List<OrderedPluginSourcePathLocator> locators = new ArrayList<>();
+		SourceIndex index;
+	}
+
+	private static final class UserLocations {
+		final String preference;
+		final List<IPath> locations;
+		final SourceIndex index;
+
+		UserLocations(String preference, List<IPath> locations) {
+			this.preference = preference;
+			this.locations = locations;
+			this.index = new SourceIndex(locations);
+		}
+	}
+
+	/**
+	 * Index of the source locations by the name of their entries, which are
+	 * typically named <code>PluginID_PluginVersion</code>. Each location is
+	 * listed once when the index is created, so looking up a plug-in that has
+	 * no entry in any location does not touch the file system. Lookups of files
+	 * within an entry, including the ones that did not find a file, are
+	 * remembered for as long as the index is used.
+	 */
+	private static final class SourceIndex {
+		private final Map<String, List<IPath>> entries = new HashMap<>();
+		private final Map<IPath, Optional<IPath>> lookups = new ConcurrentHashMap<>();
+
+		SourceIndex(Collection<IPath> locations) {
+			for (IPath location : locations) {
+				String[] names = location.toFile().list();
+				if (names != null) {
+					for (String name : names) {
+						entries.computeIfAbsent(name, n -> new ArrayList<>(1)).add(location);
+					}
+				}
+			}
+		}
+
+		/**
+		 * @param relativePath location of source file within the source location
+		 * @return path to the source file in the first location containing it
+		 *         or <code>null</code> if none does
+		 */
+		IPath find(IPath relativePath) {
+			if (relativePath.segmentCount() == 0) {
+				return null;
+			}
+			List<IPath> locations = entries.get(relativePath.segment(0));
+			if (locations == null) {
+				return null;
+			}
+			if (relativePath.segmentCount() == 1) {
+				return locations.get(0).append(relativePath);
+			}
+			return lookups.computeIfAbsent(relativePath, path -> Optional.ofNullable(findFile(locations, path))).orElse(null);
+		}
 	}
 
 	private static final class OrderedPluginSourcePathLocator implements Comparable<OrderedPluginSourcePathLocator> {
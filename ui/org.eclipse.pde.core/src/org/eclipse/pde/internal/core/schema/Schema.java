@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2000, 2016 IBM Corporation and others.
+ *  Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -425,11 +425,21 @@ public class Schema extends PlatformObject implements ISchema {
 	}
 
 	public void load() {
+		// editable schemas are read from the workspace and kept in full, only
+		// cache the ones read for the schema registry
+		SchemaCache cache = fSchemaDescriptor != null && !(this instanceof EditableSchema) ? SchemaCache.getDefault() : null;
+		if (cache != null) {
+			Node root = cache.read(fURL, fAbbreviated);
+			if (root != null) {
+				traverseDocumentTree(root);
+				return;
+			}
+		}
 		URLConnection connection = null;
 		try {
 			connection = SchemaUtil.getURLConnection(fURL);
 			try (InputStream input = connection.getInputStream()) {
-				load(input);
+				load(input, cache);
 			}
 		} catch (FileNotFoundException e) {
 			fLoaded = false;
@@ -446,13 +456,21 @@ public class Schema extends PlatformObject implements ISchema {
 	}
 
 	public void load(InputStream stream) {
+		load(stream, null);
+	}
+
+	private void load(InputStream stream, SchemaCache cache) {
 		try {
 			XMLDefaultHandler handler = new XMLDefaultHandler(fAbbreviated);
 			@SuppressWarnings("restriction")
 			SAXParser parser = org.eclipse.core.internal.runtime.XmlProcessorFactory
 					.createSAXParserWithErrorOnDOCTYPE();
 			parser.parse(stream, handler);
-			traverseDocumentTree(handler.getDocumentElement());
+			Node root = handler.getDocumentElement();
+			traverseDocumentTree(root);
+			if (cache != null && fLoaded) {
+				cache.write(fURL, fAbbreviated, root);
+			}
 		} catch (SAXException e) {
 			// ignore parse errors - 'loaded' will be false anyway
 		} catch (IOException e) {
@@ -0,0 +1,287 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.internal.core.schema;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import javax.xml.parsers.ParserConfigurationException;
+
+import org.eclipse.pde.internal.core.PDECore;
+import org.w3c.dom.Document;
+import org.w3c.dom.Element;
+import org.w3c.dom.NamedNodeMap;
+import org.w3c.dom.Node;
+import org.w3c.dom.NodeList;
+
+/**
+ * Persistent cache of parsed extension point schema documents. The element
+ * tree produced by parsing an <code>.exsd</code> file is stored in a compact
+ * binary form in the PDE state area, keyed by the schema URL and validated with
+ * the time stamp and size of the file (or jar) containing it. Loading a cached
+ * schema then only requires rebuilding the element tree instead of opening the
+ * jar and parsing the XML again.
+ * <p>
+ * The cache holds a bounded number of entries, the least recently used ones
+ * are removed first.
+ * </p>
+ */
+public class SchemaCache {
+
+	private static final int VERSION = 2;
+
+	/**
+	 * Default maximum number of cached schemas
+	 */
+	private static final int MAX_ENTRIES = 2000;
+
+	/**
+	 * Number of writes after which the size of the cache is checked again
+	 */
+	private static final int PRUNE_INTERVAL = 64;
+	private static final String CACHE_DIR = ".schemas"; //$NON-NLS-1$
+
+	private static final byte ELEMENT = 1;
+	private static final byte TEXT = 2;
+	private static final byte END = 0;
+
+	private static SchemaCache fDefault;
+
+	private final Path fLocation;
+	private final int fMaxEntries;
+	private final AtomicInteger fWrites = new AtomicInteger();
+
+	/**
+	 * @param location the directory holding the cached schemas
+	 * @param maxEntries the maximum number of cached schemas
+	 */
+	public SchemaCache(Path location, int maxEntries) {
+		fLocation = location;
+		fMaxEntries = maxEntries;
+	}
+
+	/**
+	 * @return the cache in the PDE state area or <code>null</code> if PDE is not
+	 *         running, e.g. when schemas are converted by an Ant task
+	 */
+	static synchronized SchemaCache getDefault() {
+		if (fDefault == null) {
+			PDECore core = PDECore.getDefault();
+			if (core == null) {
+				return null;
+			}
+			fDefault = new SchemaCache(core.getStateLocation().append(CACHE_DIR).toPath(), MAX_ENTRIES);
+		}
+		return fDefault;
+	}
+
+	/**
+	 * Returns the file whose time stamp and size validate cache entries for
+	 * the given schema URL, or <code>null</code> if the schema is not stored
+	 * in the local file system and cannot be cached.
+	 */
+	private static File getSourceFile(URL url) {
+		String protocol = url.getProtocol();
+		if ("file".equals(protocol)) { //$NON-NLS-1$
+			return new File(url.getFile());
+		}
+		if ("jar".equals(protocol)) { //$NON-NLS-1$
+			String path = url.getPath();
+			int separator = path.indexOf("!/"); //$NON-NLS-1$
+			if (separator != -1 && path.startsWith("file:")) { //$NON-NLS-1$
+				return new File(path.substring(5, separator));
+			}
+		}
+		return null;
+	}
+
+	private Path getCacheFile(String key) {
+		return fLocation.resolve(Integer.toHexString(key.hashCode()) + ".bin"); //$NON-NLS-1$
+	}
+
+	private static String getKey(URL url, boolean abbreviated) {
+		return (abbreviated ? "a:" : "f:") + url.toExternalForm(); //$NON-NLS-1$ //$NON-NLS-2$
+	}
+
+	/**
+	 * Reads the cached document element of the schema at the given URL.
+	 *
+	 * @return the document element or <code>null</code> if there is no up to
+	 *         date cache entry
+	 */
+	public Node read(URL url, boolean abbreviated) {
+		File source = getSourceFile(url);
+		long timeStamp = source != null ? source.lastModified() : 0;
+		if (timeStamp == 0) {
+			return null;
+		}
+		String key = getKey(url, abbreviated);
+		Path file = getCacheFile(key);
+		if (!Files.isRegularFile(file)) {
+			return null;
+		}
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			if (input.readInt() != VERSION || !key.equals(input.readUTF()) || input.readLong() != timeStamp
+					|| input.readLong() != source.length()) {
+				return null;
+			}
+			@SuppressWarnings("restriction")
+			Document document = org.eclipse.core.internal.runtime.XmlProcessorFactory.newDocumentWithErrorOnDOCTYPE();
+			List<String> strings = new ArrayList<>();
+			if (input.readByte() != ELEMENT) {
+				return null;
+			}
+			Element root = readElement(input, document, strings);
+			document.appendChild(root);
+			// mark as recently used
+			file.toFile().setLastModified(System.currentTimeMillis());
+			return root;
+		} catch (IOException | ParserConfigurationException | RuntimeException e) {
+			// stale or corrupt entries are simply parsed again
+			return null;
+		}
+	}
+
+	/**
+	 * Stores the document element of the schema at the given URL.
+	 */
+	public void write(URL url, boolean abbreviated, Node root) {
+		File source = getSourceFile(url);
+		long timeStamp = source != null ? source.lastModified() : 0;
+		if (timeStamp == 0 || root == null || root.getNodeType() != Node.ELEMENT_NODE) {
+			return;
+		}
+		String key = getKey(url, abbreviated);
+		try {
+			Files.createDirectories(fLocation);
+			// write to a temporary file first so concurrent readers never see partial entries
+			Path temp = Files.createTempFile(fLocation, null, null);
+			try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+				output.writeInt(VERSION);
+				output.writeUTF(key);
+				output.writeLong(timeStamp);
+				output.writeLong(source.length());
+				writeNode(output, root, new HashMap<>());
+			}
+			Files.move(temp, getCacheFile(key), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			PDECore.log(e);
+			return;
+		}
+		if (fWrites.getAndIncrement() % PRUNE_INTERVAL == 0) {
+			prune();
+		}
+	}
+
+	/**
+	 * Removes the least recently used entries exceeding the maximum number of
+	 * entries.
+	 */
+	public void prune() {
+		File[] entries = fLocation.toFile().listFiles((dir, name) -> name.endsWith(".bin")); //$NON-NLS-1$
+		if (entries == null || entries.length <= fMaxEntries) {
+			return;
+		}
+		Arrays.sort(entries, Comparator.comparingLong(File::lastModified));
+		for (int i = 0; i < entries.length - fMaxEntries; i++) {
+			entries[i].delete();
+		}
+	}
+
+	private static void writeNode(DataOutputStream output, Node node, Map<String, Integer> strings) throws IOException {
+		switch (node.getNodeType()) {
+			case Node.ELEMENT_NODE :
+				output.writeByte(ELEMENT);
+				writeString(output, node.getNodeName(), strings);
+				NamedNodeMap attributes = node.getAttributes();
+				output.writeInt(attributes.getLength());
+				for (int i = 0; i < attributes.getLength(); i++) {
+					Node attribute = attributes.item(i);
+					writeString(output, attribute.getNodeName(), strings);
+					writeString(output, attribute.getNodeValue(), strings);
+				}
+				NodeList children = node.getChildNodes();
+				for (int i = 0; i < children.getLength(); i++) {
+					writeNode(output, children.item(i), strings);
+				}
+				output.writeByte(END);
+				break;
+			case Node.TEXT_NODE :
+			case Node.CDATA_SECTION_NODE :
+				output.writeByte(TEXT);
+				writeString(output, node.getNodeValue(), strings);
+				break;
+			default :
+				break;
+		}
+	}
+
+	private static Element readElement(DataInputStream input, Document document, List<String> strings) throws IOException {
+		Element element = document.createElement(readString(input, strings));
+		int attributeCount = input.readInt();
+		for (int i = 0; i < attributeCount; i++) {
+			element.setAttribute(readString(input, strings), readString(input, strings));
+		}
+		for (byte type = input.readByte(); type != END; type = input.readByte()) {
+			if (type == ELEMENT) {
+				element.appendChild(readElement(input, document, strings));
+			} else if (type == TEXT) {
+				element.appendChild(document.createTextNode(readString(input, strings)));
+			} else {
+				throw new IOException("Unexpected node type " + type); //$NON-NLS-1$
+			}
+		}
+		return element;
+	}
+
+	// element and attribute names repeat a lot, so every string is only written once per entry
+	private static void writeString(DataOutputStream output, String value, Map<String, Integer> strings) throws IOException {
+		Integer index = strings.get(value);
+		if (index != null) {
+			output.writeInt(index);
+			return;
+		}
+		strings.put(value, strings.size());
+		byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+		output.writeInt(-1);
+		output.writeInt(bytes.length);
+		output.write(bytes);
+	}
+
+	private static String readString(DataInputStream input, List<String> strings) throws IOException {
+		int index = input.readInt();
+		if (index >= 0) {
+			return strings.get(index);
+		}
+		byte[] bytes = new byte[input.readInt()];
+		input.readFully(bytes);
+		String value = new String(bytes, StandardCharsets.UTF_8);
+		strings.add(value);
+		return value;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2005, 2013 IBM Corporation and others.
+ * Copyright (c) 2005, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,7 +16,8 @@ package org.eclipse.pde.internal.core.schema;
 import java.io.File;
 import java.net.MalformedURLException;
 import java.net.URL;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
 
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.pde.core.plugin.IFragment;
@@ -35,13 +36,27 @@ import org.eclipse.pde.internal.core.util.CoreUtility;
 
 public class SchemaRegistry {
 
-	private final HashMap<String, ISchemaDescriptor> fRegistry = new HashMap<>();
+	/**
+	 * Maximum number of schema descriptors kept in memory. Least recently used
+	 * descriptors are evicted beyond that, their schemas are then restored from
+	 * the {@link SchemaCache} instead of being parsed again.
+	 */
+	private static final int MAX_DESCRIPTORS = 512;
+
+	private final Map<String, ISchemaDescriptor> fRegistry = new LinkedHashMap<>(16, 0.75f, true) {
+		private static final long serialVersionUID = 1L;
+
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, ISchemaDescriptor> eldest) {
+			return size() > MAX_DESCRIPTORS;
+		}
+	};
 
 	public ISchema getSchema(String extPointID) {
 		IPluginExtensionPoint point = PDECore.getDefault().getExtensionsRegistry().findExtensionPoint(extPointID);
 		if (point == null) {
 			// if there is an old schema associated with this extension point, release it.
-			if (fRegistry.containsKey(extPointID)) {
+			synchronized (fRegistry) {
 				fRegistry.remove(extPointID);
 			}
 			return null;
@@ -52,10 +67,13 @@ public class SchemaRegistry {
 			return null;
 		}
 
-		ISchemaDescriptor desc = getExistingDescriptor(extPointID, url);
-		if (desc == null) {
-			desc = new SchemaDescriptor(extPointID, url);
-			fRegistry.put(extPointID, desc);
+		ISchemaDescriptor desc;
+		synchronized (fRegistry) {
+			desc = getExistingDescriptor(extPointID, url);
+			if (desc == null) {
+				desc = new SchemaDescriptor(extPointID, url);
+				fRegistry.put(extPointID, desc);
+			}
 		}
 
 		return desc.getSchema(true);
@@ -68,10 +86,13 @@ public class SchemaRegistry {
 				return null;
 			}
 
-			ISchemaDescriptor desc = getExistingDescriptor(url.toString(), url);
-			if (desc == null) {
-				desc = new IncludedSchemaDescriptor(url);
-				fRegistry.put(url.toString(), desc);
+			ISchemaDescriptor desc;
+			synchronized (fRegistry) {
+				desc = getExistingDescriptor(url.toString(), url);
+				if (desc == null) {
+					desc = new IncludedSchemaDescriptor(url);
+					fRegistry.put(url.toString(), desc);
+				}
 			}
 			return desc.getSchema(true);
 		} catch (MalformedURLException e) {
@@ -80,12 +101,9 @@ public class SchemaRegistry {
 	}
 
 	private ISchemaDescriptor getExistingDescriptor(String key, URL url) {
-		ISchemaDescriptor desc = null;
-		if (fRegistry.containsKey(key)) {
-			desc = fRegistry.get(key);
-			if (hasSchemaChanged(desc, url)) {
-				desc = null;
-			}
+		ISchemaDescriptor desc = fRegistry.get(key);
+		if (desc != null && hasSchemaChanged(desc, url)) {
+			desc = null;
 		}
 		return desc;
 	}
@@ -183,7 +201,9 @@ public class SchemaRegistry {
 	}
 
 	public void shutdown() {
-		fRegistry.clear();
+		synchronized (fRegistry) {
+			fRegistry.clear();
+		}
 	}
 
 	private static String getId(IPluginExtensionPoint point, IPluginModelBase base) {
@@ -0,0 +1,259 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.internal.core.search;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.pde.core.plugin.IFragment;
+import org.eclipse.pde.core.plugin.IPluginBase;
+import org.eclipse.pde.core.plugin.IPluginExtension;
+import org.eclipse.pde.core.plugin.IPluginExtensionPoint;
+import org.eclipse.pde.core.plugin.IPluginImport;
+import org.eclipse.pde.core.plugin.IPluginModelBase;
+import org.eclipse.pde.core.plugin.ModelEntry;
+import org.eclipse.pde.internal.core.IExtensionDeltaEvent;
+import org.eclipse.pde.internal.core.IExtensionDeltaListener;
+import org.eclipse.pde.internal.core.IPluginModelListener;
+import org.eclipse.pde.internal.core.PDECore;
+import org.eclipse.pde.internal.core.PDEState;
+import org.eclipse.pde.internal.core.PluginModelDelta;
+import org.eclipse.pde.internal.core.PluginModelManager;
+
+/**
+ * Index of the plug-in models by the identifiers a {@link PluginSearchOperation}
+ * looks for: plug-in and fragment ids, the ids of required plug-ins and fragment
+ * hosts, extension point ids and the extension points extended.
+ * <p>
+ * Models are indexed the first time they are searched. Models that change,
+ * according to the model change and extension delta events of the
+ * {@link PluginModelManager}, are removed from the index and indexed again
+ * when they are searched next. The index is cleared when the target is
+ * reloaded.
+ * </p>
+ * <p>
+ * Keys are case insensitive, so the models found for a key must still be
+ * matched against the search pattern.
+ * </p>
+ */
+public class PluginSearchIndex implements IPluginModelListener, IExtensionDeltaListener {
+
+	/**
+	 * Plug-in and fragment ids
+	 */
+	private static final int DECLARATIONS = 0;
+
+	/**
+	 * Ids of required plug-ins and fragment hosts
+	 */
+	private static final int REFERENCES = 1;
+
+	/**
+	 * Ids of declared extension points
+	 */
+	private static final int EXTENSION_POINTS = 2;
+
+	/**
+	 * Ids of the extension points extended
+	 */
+	private static final int EXTENSIONS = 3;
+
+	@SuppressWarnings("unchecked")
+	private final Map<String, Set<IPluginModelBase>>[] fIndex = new Map[] {new HashMap<>(), new HashMap<>(), new HashMap<>(), new HashMap<>()};
+
+	/**
+	 * The keys of the indexed models, by kind
+	 */
+	private final Map<IPluginModelBase, List<String>[]> fKeys = new HashMap<>();
+
+	/**
+	 * The state of the indexed models
+	 */
+	private PDEState fState;
+
+	/**
+	 * Returns the models among the given ones that may contain an element
+	 * with the given identifier searched for by the given search element and
+	 * limit.
+	 *
+	 * @param models the models to search
+	 * @param searchElement one of the <code>ELEMENT_*</code> constants of
+	 *            {@link PluginSearchInput}
+	 * @param searchLimit one of the <code>LIMIT_*</code> constants of
+	 *            {@link PluginSearchInput}
+	 * @param id the identifier to search for, without wildcards
+	 * @return the candidate models, possibly empty
+	 */
+	public Set<IPluginModelBase> findModels(IPluginModelBase[] models, int searchElement, int searchLimit, String id) {
+		// get the state before locking the index, the model manager notifies the index while locked
+		PDEState state = PDECore.getDefault().getModelManager().getState();
+		synchronized (this) {
+			return findModels(state, models, searchElement, searchLimit, id);
+		}
+	}
+
+	private Set<IPluginModelBase> findModels(PDEState state, IPluginModelBase[] models, int searchElement, int searchLimit, String id) {
+		if (state != fState) {
+			clear();
+			fState = state;
+		}
+		for (IPluginModelBase model : models) {
+			if (!fKeys.containsKey(model)) {
+				add(model);
+			}
+		}
+		Set<IPluginModelBase> result = new HashSet<>();
+		String key = toKey(id);
+		switch (searchElement) {
+			case PluginSearchInput.ELEMENT_PLUGIN :
+				if (searchLimit != PluginSearchInput.LIMIT_REFERENCES) {
+					addModels(DECLARATIONS, key, result);
+				}
+				if (searchLimit != PluginSearchInput.LIMIT_DECLARATIONS) {
+					addModels(REFERENCES, key, result);
+				}
+				break;
+			case PluginSearchInput.ELEMENT_FRAGMENT :
+				addModels(DECLARATIONS, key, result);
+				break;
+			case PluginSearchInput.ELEMENT_EXTENSION_POINT :
+				if (searchLimit != PluginSearchInput.LIMIT_REFERENCES) {
+					addModels(EXTENSION_POINTS, key, result);
+				}
+				if (searchLimit != PluginSearchInput.LIMIT_DECLARATIONS) {
+					addModels(EXTENSIONS, key, result);
+				}
+				break;
+		}
+		return result;
+	}
+
+	@Override
+	public synchronized void modelsChanged(PluginModelDelta delta) {
+		remove(delta.getAddedEntries());
+		remove(delta.getRemovedEntries());
+		remove(delta.getChangedEntries());
+	}
+
+	@Override
+	public synchronized void extensionsChanged(IExtensionDeltaEvent event) {
+		remove(event.getAddedModels());
+		remove(event.getRemovedModels());
+		remove(event.getChangedModels());
+	}
+
+	/**
+	 * Removes all models from the index
+	 */
+	public synchronized void clear() {
+		for (Map<String, Set<IPluginModelBase>> index : fIndex) {
+			index.clear();
+		}
+		fKeys.clear();
+		fState = null;
+	}
+
+	private void addModels(int kind, String key, Set<IPluginModelBase> result) {
+		Set<IPluginModelBase> models = fIndex[kind].get(key);
+		if (models != null) {
+			result.addAll(models);
+		}
+	}
+
+	private void add(IPluginModelBase model) {
+		@SuppressWarnings("unchecked")
+		List<String>[] keys = new List[fIndex.length];
+		for (int i = 0; i < keys.length; i++) {
+			keys[i] = new ArrayList<>();
+		}
+		IPluginBase pluginBase = model.getPluginBase();
+		if (pluginBase != null) {
+			keys[DECLARATIONS].add(pluginBase.getId());
+			if (pluginBase instanceof IFragment fragment) {
+				keys[REFERENCES].add(fragment.getPluginId());
+			}
+			for (IPluginImport pluginImport : pluginBase.getImports()) {
+				keys[REFERENCES].add(pluginImport.getId());
+			}
+			for (IPluginExtensionPoint extensionPoint : pluginBase.getExtensionPoints()) {
+				keys[EXTENSION_POINTS].add(extensionPoint.getFullId());
+			}
+			for (IPluginExtension extension : pluginBase.getExtensions()) {
+				keys[EXTENSIONS].add(extension.getPoint());
+			}
+		}
+		for (int kind = 0; kind < keys.length; kind++) {
+			List<String> kindKeys = keys[kind];
+			for (int i = 0; i < kindKeys.size(); i++) {
+				String key = toKey(kindKeys.get(i));
+				kindKeys.set(i, key);
+				fIndex[kind].computeIfAbsent(key, k -> new HashSet<>()).add(model);
+			}
+		}
+		fKeys.put(model, keys);
+	}
+
+	private void remove(ModelEntry[] entries) {
+		if (entries.length == 0) {
+			return;
+		}
+		// entries of removed plug-ins no longer hold their models, find them by id
+		Set<String> ids = new HashSet<>();
+		for (ModelEntry entry : entries) {
+			ids.add(entry.getId());
+			remove(entry.getWorkspaceModels());
+			remove(entry.getExternalModels());
+		}
+		List<IPluginModelBase> removed = new ArrayList<>();
+		for (IPluginModelBase model : fKeys.keySet()) {
+			IPluginBase pluginBase = model.getPluginBase();
+			if (pluginBase == null || ids.contains(pluginBase.getId())) {
+				removed.add(model);
+			}
+		}
+		remove(removed.toArray(new IPluginModelBase[removed.size()]));
+	}
+
+	private void remove(IPluginModelBase[] models) {
+		for (IPluginModelBase model : models) {
+			List<String>[] keys = fKeys.remove(model);
+			if (keys == null) {
+				continue;
+			}
+			for (int kind = 0; kind < keys.length; kind++) {
+				for (String key : keys[kind]) {
+					Set<IPluginModelBase> indexed = fIndex[kind].get(key);
+					if (indexed != null && indexed.remove(model) && indexed.isEmpty()) {
+						fIndex[kind].remove(key);
+					}
+				}
+			}
+		}
+	}
+
+	private static String toKey(String id) {
+		return id == null ? "" : id.toLowerCase(Locale.ROOT); //$NON-NLS-1$
+	}
+
+	/**
+	 * @return whether the given search string can be looked up in the index,
+	 *         that is whether it has no wildcards
+	 */
+	public static boolean isIndexable(String searchString) {
+		return searchString != null && searchString.indexOf('*') == -1 && searchString.indexOf('?') == -1;
+	}
+}
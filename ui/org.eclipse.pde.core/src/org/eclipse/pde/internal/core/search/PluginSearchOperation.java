@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2000, 2016 IBM Corporation and others.
+ * Copyright (c) 2000, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -16,6 +16,7 @@ package org.eclipse.pde.internal.core.search;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Set;
 import java.util.regex.Pattern;
 
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -28,6 +29,7 @@ import org.eclipse.pde.core.plugin.IPluginExtension;
 import org.eclipse.pde.core.plugin.IPluginExtensionPoint;
 import org.eclipse.pde.core.plugin.IPluginImport;
 import org.eclipse.pde.core.plugin.IPluginModelBase;
+import org.eclipse.pde.internal.core.PDECore;
 import org.eclipse.pde.internal.core.ifeature.IFeatureModel;
 import org.eclipse.pde.internal.core.ifeature.IFeaturePlugin;
 import org.eclipse.pde.internal.core.util.PatternConstructor;
@@ -48,8 +50,15 @@ public class PluginSearchOperation {
 		IFeatureModel[] features = fInput.getSearchScope().getMatchingFeatureModels();
 		SubMonitor subMonitor = SubMonitor.convert(monitor, plugins.length + features.length);
 
+		// without wildcards, only visit the plug-ins the index finds for the search string
+		Set<IPluginModelBase> candidates = null;
+		if (PluginSearchIndex.isIndexable(fInput.getSearchString())) {
+			candidates = PDECore.getDefault().getPluginSearchIndex().findModels(plugins, fInput.getSearchElement(), fInput.getSearchLimit(), fInput.getSearchString());
+		}
 		for (IPluginModelBase candidate : plugins) {
-			visit(candidate);
+			if (candidates == null || candidates.contains(candidate)) {
+				visit(candidate);
+			}
 			subMonitor.split(1);
 		}
 
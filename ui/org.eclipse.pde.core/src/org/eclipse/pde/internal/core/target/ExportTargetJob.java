@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2015 EclipseSource Inc. and others.
+ * Copyright (c) 2010, 2026 EclipseSource Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,10 +14,28 @@
  *******************************************************************************/
 package org.eclipse.pde.internal.core.target;
 
+import java.io.IOException;
 import java.net.URI;
+import java.nio.channels.FileChannel;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.eclipse.core.filesystem.EFS;
 import org.eclipse.core.filesystem.IFileStore;
@@ -26,13 +44,14 @@ import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
-import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.SubMonitor;
 import org.eclipse.core.runtime.jobs.Job;
 import org.eclipse.equinox.p2.metadata.IInstallableUnit;
 import org.eclipse.equinox.p2.metadata.IProvidedCapability;
 import org.eclipse.equinox.p2.query.IQueryResult;
+import org.eclipse.osgi.util.NLS;
 import org.eclipse.pde.core.target.ITargetDefinition;
 import org.eclipse.pde.core.target.ITargetLocation;
 import org.eclipse.pde.core.target.NameVersionDescriptor;
@@ -42,9 +61,25 @@ import org.eclipse.pde.internal.core.PDECoreMessages;
 
 /**
  * This job exports the bundles and features that make up your target.
+ * <p>
+ * The files of all features and plug-ins to export are collected first and
+ * then copied by a pool of threads through NIO file channels. Files that
+ * already exist in the destination with the same size and either the same
+ * modification time or the same content are skipped, which makes repeated
+ * exports to the same mirror incremental.
+ * </p>
  */
 public class ExportTargetJob extends Job {
 
+	private static final long PROGRESS_INTERVAL_MS = 250;
+
+	/**
+	 * A file to copy, the destination file has the same relative path to
+	 * <code>destinationRoot</code> as the source file to <code>sourceRoot</code>
+	 */
+	private record CopyTask(Path sourceRoot, Path destinationRoot, Path source, long size, boolean link) {
+	}
+
 	private final URI fDestination;
 	private boolean fclearDestinationDirectory = true;
 	private IFileStore featureDir;
@@ -52,6 +87,13 @@ public class ExportTargetJob extends Job {
 	private IFileSystem fileSystem;
 	private Map<String, NameVersionDescriptor[]> filter;
 	private final ITargetDefinition fTarget;
+	/**
+	 * The files to copy by destination, the first location providing a file
+	 * wins like when the files were copied one after the other
+	 */
+	private final Map<Path, CopyTask> fCopyTasks = new LinkedHashMap<>();
+	private int fParallelism = Math.min(8, Runtime.getRuntime().availableProcessors());
+	private boolean fUseHardLinks;
 
 	public ExportTargetJob(ITargetDefinition target, URI destination, boolean clearDestinationDirectory) {
 		super("Export Current Target Definition"); //$NON-NLS-1$
@@ -79,18 +121,44 @@ public class ExportTargetJob extends Job {
 				ITargetLocation container = targetLocation;
 				container.resolve(fTarget, monitor);
 				if (!(container instanceof IUBundleContainer)) {
-					exportContainer(container, fTarget, featureDir, pluginDir, fileSystem, monitor);
+					exportContainer(container, fTarget, featureDir, pluginDir, monitor);
 				}
 			}
+			copyAll(monitor);
 			exportProfile(fTarget, fDestination, monitor);
 		} catch (CoreException e) {
 			return Status.error("Failed to export the target", e); //$NON-NLS-1$
+		} catch (OperationCanceledException e) {
+			return Status.CANCEL_STATUS;
 		} finally {
+			fCopyTasks.clear();
 			monitor.done();
 		}
 		return Status.OK_STATUS;
 	}
 
+	/**
+	 * Sets the number of threads used to copy the target contents, defaults to
+	 * the number of available processors but at most 8.
+	 *
+	 * @param parallelism number of copy threads, at least 1
+	 */
+	public void setParallelism(int parallelism) {
+		fParallelism = Math.max(1, parallelism);
+	}
+
+	/**
+	 * Sets whether files are hard linked instead of copied if the source and
+	 * the destination are on the same file store. Linked files share their
+	 * contents with the target, so this should only be used if neither side is
+	 * modified afterwards. Disabled by default.
+	 *
+	 * @param useHardLinks whether to hard link files where possible
+	 */
+	public void setUseHardLinks(boolean useHardLinks) {
+		fUseHardLinks = useHardLinks;
+	}
+
 	private void constructFilter(ITargetDefinition target) {
 		NameVersionDescriptor[] included = target.getIncluded();
 		if (included == null) {
@@ -191,7 +259,7 @@ public class ExportTargetJob extends Job {
 		return null;
 	}
 
-	private void exportContainer(ITargetLocation container, ITargetDefinition target, IFileStore featureDir, IFileStore pluginDir, IFileSystem fileSystem, IProgressMonitor monitor) throws CoreException {
+	private void exportContainer(ITargetLocation container, ITargetDefinition target, IFileStore featureDir, IFileStore pluginDir, IProgressMonitor monitor) throws CoreException {
 		TargetFeature[] features = container.getFeatures();
 		if (features != null) {
 			monitor.subTask(PDECoreMessages.ExportTargetExportFeatures);
@@ -199,7 +267,7 @@ public class ExportTargetJob extends Job {
 				if (shouldExport(feature)) {
 					String location = feature.getLocation();
 					if (location != null) {
-						copy(location, featureDir, fileSystem, monitor);
+						copy(location, featureDir, monitor);
 					}
 				}
 			}
@@ -210,29 +278,130 @@ public class ExportTargetJob extends Job {
 			monitor.subTask(PDECoreMessages.ExportTargetExportPlugins);
 			for (TargetBundle bundle : bundles) {
 				if (shouldExport(bundle)) {
-					copy(bundle.getBundleInfo().getLocation().getPath(), pluginDir, fileSystem, monitor);
+					copy(bundle.getBundleInfo().getLocation().getPath(), pluginDir, monitor);
 				}
 			}
 		}
 	}
 
-	private IStatus copy(String src, IFileStore destinationParent, IFileSystem fileSystem, IProgressMonitor monitor) throws CoreException {
-		IPath srcPath = IPath.fromOSString(src);
+	private void copy(String src, IFileStore destinationParent, IProgressMonitor monitor) throws CoreException {
+		Path source = IPath.fromOSString(src).toPath();
+		if (!Files.exists(source)) {
+			return;
+		}
+		Path destination = destinationParent.toLocalFile(EFS.NONE, monitor).toPath().resolve(source.getFileName());
+		try {
+			boolean link = fUseHardLinks && Files.getFileStore(source).equals(Files.getFileStore(destination.getParent()));
+			Files.walkFileTree(source, new SimpleFileVisitor<>() {
+				@Override
+				public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+					Files.createDirectories(destination.resolve(source.relativize(dir)));
+					return FileVisitResult.CONTINUE;
+				}
 
-		IFileStore source = fileSystem.getStore(srcPath);
-		String elementName = srcPath.segment(srcPath.segmentCount() - 1);
-		IFileStore destination = destinationParent.getChild(elementName);
+				@Override
+				public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) {
+					// several locations may contain the same file, copy it only once
+					fCopyTasks.putIfAbsent(destination.resolve(source.relativize(file)), new CopyTask(source, destination, file, attrs.size(), link));
+					return FileVisitResult.CONTINUE;
+				}
+			});
+		} catch (IOException e) {
+			throw new CoreException(Status.error(NLS.bind(PDECoreMessages.ExportTargetJob_ErrorCopying, source), e));
+		}
+	}
 
-		SubMonitor subMonitor = SubMonitor.convert(monitor, 1);
+	private void copyAll(IProgressMonitor monitor) throws CoreException {
+		if (fCopyTasks.isEmpty()) {
+			return;
+		}
+		SubMonitor subMonitor = SubMonitor.convert(monitor, fCopyTasks.size());
+		long totalBytes = fCopyTasks.values().stream().mapToLong(CopyTask::size).sum();
+		AtomicLong copiedBytes = new AtomicLong();
+		AtomicInteger processed = new AtomicInteger();
+		AtomicBoolean canceled = new AtomicBoolean();
+		ExecutorService executor = Executors.newFixedThreadPool(fParallelism);
+		List<Future<?>> futures = new ArrayList<>(fCopyTasks.size());
+		for (CopyTask task : fCopyTasks.values()) {
+			futures.add(executor.submit(() -> {
+				if (canceled.get()) {
+					return null;
+				}
+				if (copyFile(task)) {
+					copiedBytes.addAndGet(task.size());
+				}
+				processed.incrementAndGet();
+				return null;
+			}));
+		}
+		executor.shutdown();
+		long start = System.currentTimeMillis();
+		int reported = 0;
+		try {
+			boolean terminated = false;
+			while (!terminated) {
+				terminated = executor.awaitTermination(PROGRESS_INTERVAL_MS, TimeUnit.MILLISECONDS);
+				if (subMonitor.isCanceled()) {
+					canceled.set(true);
+					executor.shutdownNow();
+					throw new OperationCanceledException();
+				}
+				int done = processed.get();
+				subMonitor.worked(done - reported);
+				reported = done;
+				long elapsed = Math.max(1, System.currentTimeMillis() - start);
+				long copied = copiedBytes.get();
+				subMonitor.subTask(NLS.bind(PDECoreMessages.ExportTargetJob_CopyProgress, new Object[] {toMegaBytes(copied), toMegaBytes(totalBytes), toMegaBytes(copied * 1000 / elapsed)}));
+			}
+			for (Future<?> future : futures) {
+				future.get();
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			executor.shutdownNow();
+			throw new OperationCanceledException();
+		} catch (ExecutionException e) {
+			throw new CoreException(Status.error(NLS.bind(PDECoreMessages.ExportTargetJob_ErrorCopying, fDestination), e.getCause()));
+		}
+	}
 
-		if (destination.fetchInfo().exists()) {
-			return Status.OK_STATUS;
+	private static String toMegaBytes(long bytes) {
+		return Long.toString(bytes / (1024 * 1024));
+	}
+
+	/**
+	 * Copies a single file unless it is already up to date in the destination.
+	 *
+	 * @return whether the file has been copied
+	 */
+	private static boolean copyFile(CopyTask task) throws IOException {
+		Path source = task.source();
+		Path destination = task.destinationRoot().resolve(task.sourceRoot().relativize(source));
+		BasicFileAttributes sourceAttributes = Files.readAttributes(source, BasicFileAttributes.class);
+		if (Files.exists(destination)) {
+			BasicFileAttributes destinationAttributes = Files.readAttributes(destination, BasicFileAttributes.class);
+			if (destinationAttributes.size() == sourceAttributes.size() && (destinationAttributes.lastModifiedTime().equals(sourceAttributes.lastModifiedTime()) || Files.mismatch(source, destination) == -1)) {
+				return false;
+			}
+			Files.delete(destination);
+		}
+		if (task.link()) {
+			try {
+				Files.createLink(destination, source);
+				return true;
+			} catch (UnsupportedOperationException | IOException e) {
+				// fall back to copying the file
+			}
 		}
-		if (source.fetchInfo().isDirectory()) {
-			destination.mkdir(EFS.NONE, new NullProgressMonitor());
+		try (FileChannel in = FileChannel.open(source, StandardOpenOption.READ); FileChannel out = FileChannel.open(destination, StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING)) {
+			long size = in.size();
+			long position = 0;
+			while (position < size) {
+				position += in.transferTo(position, size - position, out);
+			}
 		}
-		source.copy(destination, EFS.OVERWRITE, subMonitor.split(1));
-		return Status.OK_STATUS;
+		Files.setLastModifiedTime(destination, sourceAttributes.lastModifiedTime());
+		return true;
 	}
 
 	@SuppressWarnings("restriction")
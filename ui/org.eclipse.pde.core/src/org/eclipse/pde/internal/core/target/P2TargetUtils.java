@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2010, 2023 EclipseSource Inc. and others.
+ * Copyright (c) 2010, 2026 EclipseSource Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,6 +30,7 @@ import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.TreeSet;
 import java.util.WeakHashMap;
 import java.util.concurrent.ConcurrentHashMap;
 
@@ -114,6 +115,12 @@ public class P2TargetUtils {
 	 */
 	public static final IPath BUNDLE_POOL = PDECore.getDefault().getStateLocation().append(".bundle_pool"); //$NON-NLS-1$
 
+	/**
+	 * Cache of the resolutions of targets made of IU locations
+	 */
+	private static final ResolutionCache RESOLUTION_CACHE = new ResolutionCache(
+			ResolutionCache.CACHE_LOCATION.toFile(), ResolutionCache.MAX_ENTRIES);
+
 	/**
 	 * Path to the local directory where install folders are created for p2 profile
 	 * based targets.
@@ -215,6 +222,12 @@ public class P2TargetUtils {
 	 */
 	private boolean fIncludeConfigurePhase = false;
 
+	/**
+	 * Whether the next synchronization must resolve the target against its
+	 * repositories rather than reuse a cached resolution
+	 */
+	private boolean fForceResolve = false;
+
 	/**
 	 * Deletes any profiles associated with target definitions that no longer exist
 	 * and returns a list of profile identifiers that were deleted.
@@ -249,7 +262,7 @@ public class P2TargetUtils {
 	/**
 	 * Recursively deletes folder and files.
 	 */
-	private static void delete(File folder) {
+	static void delete(File folder) {
 		File[] files = folder.listFiles();
 		for (File file : files) {
 			if (file.isDirectory()) {
@@ -294,6 +307,7 @@ public class P2TargetUtils {
 			((org.eclipse.equinox.internal.p2.engine.Profile) result.fProfile).setProperty(PROP_SEQUENCE_NUMBER, "-1"); //$NON-NLS-1$
 		}
 		result.fProfile = null;
+		result.fForceResolve = true;
 	}
 
 	/**
@@ -823,12 +837,36 @@ public class P2TargetUtils {
 		}
 		progress.setWorkRemaining(75);
 
+		String resolutionKey = computeResolutionKey(target);
+		boolean useCache = !fForceResolve;
+		fForceResolve = false;
 		try {
 			// Now resolve the profile and refresh the relate IU containers
-			if (getIncludeAllRequired()) {
-				resolveWithPlanner(target, progress.split(60));
-			} else {
-				resolveWithSlicer(target, progress.split(60));
+			boolean resolved = false;
+			if (resolutionKey != null && useCache) {
+				try {
+					resolved = resolveFromCache(target, resolutionKey, progress.split(10));
+				} catch (CoreException e) {
+					if (progress.isCanceled()) {
+						throw e;
+					}
+					// the cached units could not be installed, e.g. missing artifacts while offline
+					RESOLUTION_CACHE.remove(resolutionKey);
+					deleteProfile(target.getHandle());
+					createProfile(target);
+				}
+			}
+			progress.setWorkRemaining(65);
+			if (!resolved) {
+				if (getIncludeAllRequired()) {
+					resolveWithPlanner(target, progress.split(50));
+				} else {
+					resolveWithSlicer(target, progress.split(50));
+				}
+				if (resolutionKey != null && !progress.isCanceled()) {
+					IProfile profile = getProfileRegistry().getProfile(getProfileId(target));
+					RESOLUTION_CACHE.store(resolutionKey, profile != null ? profile : fProfile);
+				}
 			}
 
 			// If we are updating a profile then delete the old snapshot on success.
@@ -845,6 +883,102 @@ public class P2TargetUtils {
 		}
 	}
 
+	/**
+	 * Returns the key of the resolution cached for the given target, made of
+	 * everything the resolution depends on. Only targets whose locations are
+	 * all IU locations with explicit repositories and unit versions can be
+	 * cached, as the resolution of other locations depends on content that
+	 * may change.
+	 *
+	 * @param target the target to resolve
+	 * @return the key or <code>null</code> if the resolution of the target
+	 *         must not be cached
+	 */
+	public static String getResolutionKey(ITargetDefinition target) {
+		return getSynchronizer(target).computeResolutionKey(target);
+	}
+
+	private String computeResolutionKey(ITargetDefinition target) {
+		ITargetLocation[] containers = target.getTargetLocations();
+		if (containers == null || containers.length == 0) {
+			return null;
+		}
+		Set<String> repositories = new TreeSet<>();
+		Set<String> units = new TreeSet<>();
+		for (ITargetLocation container : containers) {
+			if (!(container instanceof IUBundleContainer iuContainer)) {
+				return null;
+			}
+			URI[] repos = iuContainer.getRepositories();
+			if (repos == null) {
+				return null;
+			}
+			for (URI repo : repos) {
+				repositories.add(repo.toString());
+			}
+			String[] ids = iuContainer.getIds();
+			Version[] versions = iuContainer.getVersions();
+			for (int i = 0; i < ids.length; i++) {
+				if (Version.emptyVersion.equals(versions[i])) {
+					// the latest version available is resolved
+					return null;
+				}
+				units.add(ids[i] + '/' + versions[i]);
+			}
+		}
+		StringBuilder key = new StringBuilder();
+		key.append(getProvisionMode(target)).append(';');
+		key.append(getIncludeAllEnvironments()).append(';');
+		key.append(getIncludeSource()).append(';');
+		key.append(getIncludeConfigurePhase()).append(';');
+		key.append(generateEnvironmentProperties(target)).append(';');
+		key.append(generateNLProperty(target)).append(';');
+		key.append(String.join(",", repositories)).append(';'); //$NON-NLS-1$
+		key.append(String.join(",", units)); //$NON-NLS-1$
+		return key.toString();
+	}
+
+	/**
+	 * Installs the units of the cached resolution of the given target into the
+	 * profile, without loading the metadata repositories of the target.
+	 * Artifacts missing from the bundle pool are still downloaded.
+	 *
+	 * @param target the target to resolve
+	 * @param resolutionKey the key of the cached resolution
+	 * @param monitor for reporting progress
+	 * @return whether a cached resolution was found
+	 * @throws CoreException if the cached units cannot be installed
+	 */
+	private boolean resolveFromCache(ITargetDefinition target, String resolutionKey, IProgressMonitor monitor) throws CoreException {
+		SubMonitor subMonitor = SubMonitor.convert(monitor, Messages.IUBundleContainer_0, 100);
+		ResolutionCache.Resolution resolution = RESOLUTION_CACHE.load(resolutionKey);
+		if (resolution == null) {
+			return false;
+		}
+		subMonitor.split(10);
+
+		IEngine engine = getEngine();
+		ProvisioningContext context = new ProvisioningContext(getAgent());
+		context.setMetadataRepositories(new URI[0]);
+		context.setArtifactRepositories(getArtifactRepositories(target).toArray(URI[]::new));
+		context.setProperty(ProvisioningContext.FOLLOW_REPOSITORY_REFERENCES, Boolean.toString(true));
+		IProvisioningPlan plan = engine.createPlan(fProfile, context);
+		setPlanProperties(plan, target, getProvisionMode(target));
+		resolution.profileProperties().forEach(plan::setProfileProperty);
+		for (IInstallableUnit unit : resolution.units()) {
+			plan.addInstallableUnit(unit);
+		}
+		for (IInstallableUnit unit : resolution.roots()) {
+			plan.setInstallableUnitProfileProperty(unit, PROP_INSTALLED_IU, Boolean.toString(true));
+		}
+
+		IStatus result = engine.perform(plan, createPhaseSet(), subMonitor.split(90));
+		if (result.getSeverity() == IStatus.ERROR || result.getSeverity() == IStatus.CANCEL) {
+			throw new CoreException(result);
+		}
+		return true;
+	}
+
 	private void createProfile(ITargetDefinition target) throws CoreException, ProvisionException {
 		// create a new profile
 		IProfileRegistry registry = getProfileRegistry();
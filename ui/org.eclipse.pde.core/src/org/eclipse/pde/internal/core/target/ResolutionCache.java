@@ -0,0 +1,258 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.internal.core.target;
+
+import java.io.File;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.equinox.p2.core.ProvisionException;
+import org.eclipse.equinox.p2.engine.IProfile;
+import org.eclipse.equinox.p2.engine.query.IUProfilePropertyQuery;
+import org.eclipse.equinox.p2.metadata.IInstallableUnit;
+import org.eclipse.equinox.p2.metadata.Version;
+import org.eclipse.equinox.p2.query.QueryUtil;
+import org.eclipse.equinox.p2.repository.metadata.IMetadataRepository;
+import org.eclipse.equinox.p2.repository.metadata.IMetadataRepositoryManager;
+import org.eclipse.pde.internal.core.PDECore;
+
+/**
+ * Persistent cache of the installable units a target definition resolved to,
+ * keyed by everything the resolution depends on: the repositories, the root
+ * units and the resolution settings.
+ * <p>
+ * Each resolution is stored as a local metadata repository holding the units
+ * of the resolved profile. The root units and the PDE properties of the
+ * profile are stored as properties of the repository. The repositories are
+ * removed from the repository manager once read or written so they are never
+ * used as software sites.
+ * </p>
+ */
+public class ResolutionCache {
+
+	/**
+	 * Path to the local directory where resolutions are cached
+	 */
+	static final IPath CACHE_LOCATION = PDECore.getDefault().getStateLocation().append(".resolution_cache"); //$NON-NLS-1$
+
+	/**
+	 * Maximum number of cached resolutions, the least recently used ones are
+	 * removed first
+	 */
+	public static final int MAX_ENTRIES = 20;
+
+	private static final String PROP_KEY = PDECore.PLUGIN_ID + ".resolution.key"; //$NON-NLS-1$
+	private static final String PROP_ROOTS = PDECore.PLUGIN_ID + ".resolution.roots"; //$NON-NLS-1$
+	private static final String PROFILE_PROPERTY_PREFIX = PDECore.PLUGIN_ID + ".resolution.profile."; //$NON-NLS-1$
+
+	/**
+	 * A cached resolution
+	 *
+	 * @param units all units of the resolved profile
+	 * @param roots the units installed as roots
+	 * @param profileProperties the PDE properties of the resolved profile
+	 */
+	public record Resolution(Set<IInstallableUnit> units, Set<IInstallableUnit> roots,
+			Map<String, String> profileProperties) {
+	}
+
+	private final File fLocation;
+
+	private final int fMaxEntries;
+
+	/**
+	 * @param location the directory of the cache, which does not need to
+	 *            exist
+	 * @param maxEntries the maximum number of cached resolutions
+	 */
+	public ResolutionCache(File location, int maxEntries) {
+		fLocation = location;
+		fMaxEntries = maxEntries;
+	}
+
+	/**
+	 * Returns the resolution cached for the given key.
+	 *
+	 * @param key the resolution key
+	 * @return the resolution or <code>null</code> if there is none or it cannot
+	 *         be read
+	 */
+	public Resolution load(String key) {
+		File location = getLocation(key);
+		if (!location.isDirectory()) {
+			return null;
+		}
+		URI uri = location.toURI();
+		try {
+			IMetadataRepositoryManager manager = P2TargetUtils.getRepoManager();
+			IMetadataRepository repository;
+			try {
+				repository = manager.loadRepository(uri, null);
+			} finally {
+				manager.removeRepository(uri);
+			}
+			Map<String, String> properties = repository.getProperties();
+			if (!key.equals(properties.get(PROP_KEY))) {
+				return null;
+			}
+			Set<IInstallableUnit> units = repository.query(QueryUtil.createIUAnyQuery(), null).toUnmodifiableSet();
+			Set<IInstallableUnit> roots = new HashSet<>();
+			String rootNames = properties.get(PROP_ROOTS);
+			if (rootNames != null && !rootNames.isEmpty()) {
+				for (String root : rootNames.split(",")) { //$NON-NLS-1$
+					int separator = root.lastIndexOf('/');
+					Version version = Version.create(root.substring(separator + 1));
+					IInstallableUnit unit = findUnit(units, root.substring(0, separator), version);
+					if (unit == null) {
+						return null;
+					}
+					roots.add(unit);
+				}
+			}
+			Map<String, String> profileProperties = new HashMap<>();
+			for (Entry<String, String> property : properties.entrySet()) {
+				if (property.getKey().startsWith(PROFILE_PROPERTY_PREFIX)) {
+					profileProperties.put(property.getKey().substring(PROFILE_PROPERTY_PREFIX.length()), property.getValue());
+				}
+			}
+			// mark as recently used
+			location.setLastModified(System.currentTimeMillis());
+			return new Resolution(units, roots, profileProperties);
+		} catch (ProvisionException e) {
+			// damaged cache entry, resolve again
+			remove(key);
+			return null;
+		} catch (CoreException e) {
+			PDECore.log(e);
+			return null;
+		} catch (IllegalArgumentException e) {
+			// malformed version
+			remove(key);
+			return null;
+		}
+	}
+
+	/**
+	 * Caches the resolution held by the given profile.
+	 *
+	 * @param key the resolution key
+	 * @param profile the resolved profile
+	 */
+	void store(String key, IProfile profile) {
+		IUProfilePropertyQuery rootQuery = new IUProfilePropertyQuery(P2TargetUtils.PROP_INSTALLED_IU, Boolean.toString(true));
+		Map<String, String> profileProperties = new HashMap<>();
+		for (Entry<String, String> property : profile.getProperties().entrySet()) {
+			String name = property.getKey();
+			if (name.startsWith(PDECore.PLUGIN_ID) && !name.equals(P2TargetUtils.PROP_SEQUENCE_NUMBER)) {
+				profileProperties.put(name, property.getValue());
+			}
+		}
+		store(key, new Resolution(profile.query(QueryUtil.createIUAnyQuery(), null).toUnmodifiableSet(),
+				profile.query(rootQuery, null).toUnmodifiableSet(), profileProperties));
+	}
+
+	/**
+	 * Caches the given resolution, then removes the least recently used
+	 * resolutions exceeding the maximum number of entries.
+	 *
+	 * @param key the resolution key
+	 * @param resolution the resolution
+	 */
+	public void store(String key, Resolution resolution) {
+		remove(key);
+		File location = getLocation(key);
+		URI uri = location.toURI();
+
+		StringBuilder roots = new StringBuilder();
+		for (IInstallableUnit root : resolution.roots()) {
+			if (roots.length() > 0) {
+				roots.append(',');
+			}
+			roots.append(root.getId()).append('/').append(root.getVersion());
+		}
+		Map<String, String> properties = new HashMap<>();
+		properties.put(PROP_KEY, key);
+		properties.put(PROP_ROOTS, roots.toString());
+		properties.put(IMetadataRepository.PROP_COMPRESSED, Boolean.toString(true));
+		resolution.profileProperties().forEach((name, value) -> properties.put(PROFILE_PROPERTY_PREFIX + name, value));
+
+		try {
+			IMetadataRepositoryManager manager = P2TargetUtils.getRepoManager();
+			try {
+				IMetadataRepository repository = manager.createRepository(uri, "PDE Target Resolution", //$NON-NLS-1$
+						IMetadataRepositoryManager.TYPE_SIMPLE_REPOSITORY, properties);
+				repository.addInstallableUnits(resolution.units());
+			} finally {
+				manager.removeRepository(uri);
+			}
+		} catch (CoreException e) {
+			PDECore.log(e);
+			remove(key);
+			return;
+		}
+		prune();
+	}
+
+	/**
+	 * Removes the resolution cached for the given key, if any.
+	 *
+	 * @param key the resolution key
+	 */
+	public void remove(String key) {
+		File location = getLocation(key);
+		if (location.exists()) {
+			P2TargetUtils.delete(location);
+		}
+	}
+
+	private void prune() {
+		File[] entries = fLocation.listFiles(File::isDirectory);
+		if (entries == null || entries.length <= fMaxEntries) {
+			return;
+		}
+		Arrays.sort(entries, Comparator.comparingLong(File::lastModified));
+		for (int i = 0; i < entries.length - fMaxEntries; i++) {
+			P2TargetUtils.delete(entries[i]);
+		}
+	}
+
+	private static IInstallableUnit findUnit(Set<IInstallableUnit> units, String id, Version version) {
+		for (IInstallableUnit unit : units) {
+			if (unit.getId().equals(id) && unit.getVersion().equals(version)) {
+				return unit;
+			}
+		}
+		return null;
+	}
+
+	private File getLocation(String key) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-256").digest(key.getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+			return new File(fLocation, HexFormat.of().formatHex(digest));
+		} catch (NoSuchAlgorithmException e) {
+			// every Java platform supports SHA-256
+			throw new IllegalStateException(e);
+		}
+	}
+}
@@ -39,7 +39,8 @@ public class TargetPlatformProvisionTask extends Task {
 	private File targetFile;
 	private File destinationDirectory;
 	private boolean clearDestination;
-
+	private int parallelism;
+	private boolean useHardLinks;
 
 	@Override
 	public void execute() throws BuildException {
@@ -58,6 +59,10 @@ public class TargetPlatformProvisionTask extends Task {
 	private void export(final ITargetDefinition targetDefinition) throws CoreException {
 		// export using Job to allow progress reporting when run inside IDE
 		ExportTargetJob exportTargetJob = new ExportTargetJob(targetDefinition, destinationDirectory.toURI(), clearDestination);
+		if (parallelism > 0) {
+			exportTargetJob.setParallelism(parallelism);
+		}
+		exportTargetJob.setUseHardLinks(useHardLinks);
 		exportTargetJob.schedule();
 		try {
 			exportTargetJob.join();
@@ -120,6 +125,21 @@ public class TargetPlatformProvisionTask extends Task {
 		this.clearDestination = clearDestination;
 	}
 
+	/**
+	 * Set the number of threads used to copy the target contents.
+	 */
+	public void setParallelism(int parallelism) {
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Set whether files are hard linked instead of copied when the target and
+	 * the destination are on the same file system.
+	 */
+	public void setUseHardLinks(boolean useHardLinks) {
+		this.useHardLinks = useHardLinks;
+	}
+
 	/**
 	 * Set the folder in which the target will be provisioned.
 	 */
@@ -0,0 +1,229 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.genericeditor.extension.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.junit.Assert.assertTrue;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.core.runtime.FileLocator;
+import org.eclipse.core.runtime.jobs.IJobManager;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.viewers.StyledString;
+import org.eclipse.pde.internal.genericeditor.target.extension.autocomplete.TargetDefinitionContentAssist;
+import org.eclipse.pde.internal.genericeditor.target.extension.model.RepositoryCache;
+import org.eclipse.pde.internal.genericeditor.target.extension.model.RepositoryUnitIndex;
+import org.eclipse.pde.internal.genericeditor.target.extension.model.UnitNode;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.osgi.framework.FrameworkUtil;
+
+public class RepositoryCacheTests {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private String getFileLocationForSite(String name) throws Exception {
+		return FileLocator
+				.toFileURL(FrameworkUtil.getBundle(getClass()).getEntry("testing-files/testing-sites/" + name + "/"))
+				.toURI().toString();
+	}
+
+	@Test
+	public void testIndexedQueries() throws Exception {
+		String repo = getFileLocationForSite("MultipleUnitsConfirmSorting");
+		RepositoryCache cache = new RepositoryCache(null);
+		RepositoryUnitIndex index = cache.fetchUnitIndex(repo, false);
+		assertEquals(7, index.getUnits().size());
+		assertTrue(cache.isUpToDate(repo));
+
+		assertEquals(7, cache.getUnitsByPrefix(repo, "org.eclipse.fake.").size());
+		assertEquals(0, cache.getUnitsByPrefix(repo, "org.eclipse.fake.8").size());
+		List<UnitNode> matches = cache.getUnitsBySearchTerm(repo, "fake.3");
+		assertEquals(1, matches.size());
+		assertEquals("org.eclipse.fake.3", matches.get(0).getId());
+		assertEquals(7, cache.getUnitsBySearchTerm(repo, ".").size());
+		assertEquals(0, cache.getUnitsBySearchTerm(repo, "fake.1.0").size());
+
+		UnitNode unit = index.getUnit("org.eclipse.fake.6");
+		assertNotNull(unit);
+		assertEquals(2, unit.getAvailableVersions().size());
+		assertNull(index.getUnit("org.eclipse.fake"));
+	}
+
+	@Test
+	public void testCompletionCandidates() {
+		RepositoryUnitIndex index = new RepositoryUnitIndex(units("org.eclipse.core.runtime", "org.eclipse.pde.core",
+				"com.example.Foo", "org.apache.ant", "org.junit5", "a"));
+
+		assertEquals(index.getUnits(), index.getCompletionCandidates(""));
+		assertEquals(List.of("org.eclipse.core.runtime", "org.eclipse.pde.core"), ids(index.getCompletionCandidates("CORE")));
+		assertEquals(List.of("com.example.Foo"), ids(index.getCompletionCandidates("ex")));
+		assertEquals(List.of("org.eclipse.core.runtime", "org.eclipse.pde.core"), ids(index.getCompletionCandidates("oec")));
+		assertEquals(List.of("com.example.Foo"), ids(index.getCompletionCandidates("F")));
+		assertEquals(List.of(), ids(index.getCompletionCandidates("xyz")));
+
+		// the candidates contain every unit accepted by the completion filter
+		for (String term : List.of("o", "oe", "oec", "ecr", "cEF", "F", "foo", "j5", "5", "org.", "pde.c", "ORG", "a")) {
+			List<UnitNode> candidates = index.getCompletionCandidates(term);
+			for (UnitNode unit : index.getUnits()) {
+				StyledString match = TargetDefinitionContentAssist.getFilteredStyledString(unit.getId(), term);
+				if (match != null && match.length() > 0) {
+					assertTrue(unit.getId() + " must be a candidate for " + term, candidates.contains(unit));
+				}
+			}
+		}
+	}
+
+	@Test
+	public void testPersistedUnitsAreReused() throws Exception {
+		String repo = "file:/repository/";
+		Path location = folder.newFolder().toPath();
+		AtomicInteger fetches = new AtomicInteger();
+		RepositoryCache cache = new RepositoryCache(location, r -> {
+			fetches.incrementAndGet();
+			return units("a.b", "c.d");
+		});
+		assertEquals(2, cache.fetchUnitIndex(repo, false).getUnits().size());
+		assertEquals(2, cache.getUnitIndex(repo).getUnits().size());
+		assertEquals(1, fetches.get());
+
+		CountDownLatch release = new CountDownLatch(1);
+		AtomicInteger refetches = new AtomicInteger();
+		RepositoryCache restarted = new RepositoryCache(location, r -> {
+			refetches.incrementAndGet();
+			try {
+				release.await();
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			return units("a.b", "c.d", "e.f");
+		});
+		try {
+			assertFalse(restarted.isUpToDate(repo));
+			// the fetch is blocked, so the units can only be the persisted ones
+			assertEquals(2, restarted.getUnitIndex(repo).getUnits().size());
+		} finally {
+			release.countDown();
+		}
+		assertEquals(3, restarted.fetchUnitIndexAsync(repo, false).get(30, TimeUnit.SECONDS).getUnits().size());
+		assertEquals(3, restarted.getUnitIndex(repo).getUnits().size());
+		assertEquals(1, refetches.get());
+	}
+
+	@Test
+	public void testFailedFetchIsNotCached() throws Exception {
+		String repo = "file:/repository/";
+		AtomicInteger fetches = new AtomicInteger();
+		RepositoryCache cache = new RepositoryCache(null, r -> {
+			switch (fetches.incrementAndGet()) {
+			case 1:
+				throw new IllegalStateException("unreachable repository");
+			case 2:
+				throw new LinkageError("broken fetcher");
+			default:
+				return units("a.b", "c.d");
+			}
+		});
+		assertFetchFails(cache.fetchUnitIndexAsync(repo, false), IllegalStateException.class);
+		assertFalse(cache.isUpToDate(repo));
+		// errors complete the fetch as well
+		assertFetchFails(cache.fetchUnitIndexAsync(repo, false), LinkageError.class);
+		assertFalse(cache.isUpToDate(repo));
+
+		assertEquals(2, cache.fetchUnitIndexAsync(repo, false).get(30, TimeUnit.SECONDS).getUnits().size());
+		assertTrue(cache.isUpToDate(repo));
+		assertEquals(3, fetches.get());
+	}
+
+	@Test
+	public void testFailedFetchInCallingThreadIsNotCached() {
+		String repo = "file:/repository/";
+		AtomicInteger fetches = new AtomicInteger();
+		RepositoryCache cache = new RepositoryCache(null, r -> {
+			if (fetches.incrementAndGet() == 1) {
+				throw new IllegalStateException("unreachable repository");
+			}
+			return units("a.b");
+		});
+		CompletionException e = assertThrows(CompletionException.class, () -> cache.fetchUnitIndex(repo, false));
+		assertEquals(IllegalStateException.class, e.getCause().getClass());
+		assertFalse(cache.isUpToDate(repo));
+		assertEquals(1, cache.fetchUnitIndex(repo, false).getUnits().size());
+		assertEquals(2, fetches.get());
+	}
+
+	@Test
+	public void testCancelledFetchIsNotCached() throws Exception {
+		String repo = "file:/repository/";
+		AtomicInteger fetches = new AtomicInteger();
+		RepositoryCache cache = new RepositoryCache(null, r -> {
+			fetches.incrementAndGet();
+			return units("a.b", "c.d");
+		});
+		CompletableFuture<RepositoryUnitIndex> cancelled;
+		IJobManager jobManager = Job.getJobManager();
+		// keep the fetch from running so it is cancelled before it starts
+		jobManager.suspend();
+		try {
+			cancelled = cache.fetchUnitIndexAsync(repo, false);
+			jobManager.cancel(cache);
+		} finally {
+			jobManager.resume();
+		}
+		assertTrue(cancelled.isCancelled());
+		assertThrows(CancellationException.class, cancelled::join);
+		assertFalse(cache.isUpToDate(repo));
+		assertEquals(0, fetches.get());
+
+		assertEquals(2, cache.getUnitIndex(repo).getUnits().size());
+		assertTrue(cache.isUpToDate(repo));
+		assertEquals(1, fetches.get());
+	}
+
+	private static void assertFetchFails(CompletableFuture<RepositoryUnitIndex> fetch,
+			Class<? extends Throwable> expected) throws Exception {
+		ExecutionException e = assertThrows(ExecutionException.class, () -> fetch.get(30, TimeUnit.SECONDS));
+		assertEquals(expected, e.getCause().getClass());
+	}
+
+	private static List<UnitNode> units(String... ids) {
+		List<UnitNode> units = new ArrayList<>();
+		for (String id : ids) {
+			UnitNode unit = new UnitNode();
+			unit.setId(id);
+			unit.setVersion("1.0.0");
+			unit.getAvailableVersions().add("1.0.0");
+			units.add(unit);
+		}
+		return units;
+	}
+
+	private static List<String> ids(List<UnitNode> units) {
+		return units.stream().map(UnitNode::getId).toList();
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2018, 2022 Red Hat Inc. and others
+ * Copyright (c) 2018, 2026 Red Hat Inc. and others
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -30,6 +30,7 @@ import org.eclipse.pde.internal.genericeditor.target.extension.model.ITargetCons
 import org.eclipse.pde.internal.genericeditor.target.extension.model.LocationNode;
 import org.eclipse.pde.internal.genericeditor.target.extension.model.Node;
 import org.eclipse.pde.internal.genericeditor.target.extension.model.RepositoryCache;
+import org.eclipse.pde.internal.genericeditor.target.extension.model.RepositoryUnitIndex;
 import org.eclipse.pde.internal.genericeditor.target.extension.model.UnitNode;
 import org.eclipse.pde.internal.genericeditor.target.extension.model.xml.Parser;
 import org.eclipse.pde.internal.genericeditor.target.extension.p2.UpdateJob;
@@ -84,16 +85,11 @@ public class UpdateUnitVersions extends AbstractHandler {
 						continue;
 					}
 				}
-				List<UnitNode> repositoryUnits = cache.fetchP2UnitsFromRepo(repositoryLocation, false);
+				RepositoryUnitIndex repositoryUnits = cache.fetchUnitIndex(repositoryLocation, false);
 				for (Node n2 : locationNode.getChildNodesByTag(ITargetConstants.UNIT_TAG)) {
 					UnitNode unitNode = ((UnitNode) n2);
-					List<String> versions = null;
-					for (UnitNode unit : repositoryUnits) {
-						if (unit.getId().equals(unitNode.getId())) {
-							versions = unit.getAvailableVersions();
-							break;
-						}
-					}
+					UnitNode unit = repositoryUnits.getUnit(unitNode.getId());
+					List<String> versions = unit != null ? unit.getAvailableVersions() : null;
 					if (versions == null || versions.isEmpty()) {
 						continue;
 					}
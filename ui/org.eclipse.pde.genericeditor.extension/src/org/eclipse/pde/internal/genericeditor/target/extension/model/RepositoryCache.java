@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2016, 2017 Red Hat Inc. and others
+ * Copyright (c) 2016, 2026 Red Hat Inc. and others
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,38 +14,100 @@
  *******************************************************************************/
 package org.eclipse.pde.internal.genericeditor.target.extension.model;
 
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
 import java.util.ArrayList;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
 
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.ILog;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.IStatus;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.jobs.IJobChangeEvent;
+import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.core.runtime.jobs.JobChangeAdapter;
+import org.eclipse.pde.internal.genericeditor.target.extension.p2.Messages;
 import org.eclipse.pde.internal.genericeditor.target.extension.p2.P2Fetcher;
+import org.osgi.framework.FrameworkUtil;
 
 /**
  * This class is used to cache the p2 repositories completion information order
  * to minimize IO round trips and have instant completion for IUs and their
  * versions.
  *
- * There will be only one cache shared between editors. In the future a function
- * will be added for the user to be able to flush this cache.
+ * There will be only one cache shared between editors. Repositories are
+ * fetched in background jobs, which belong to the family of the cache, and
+ * indexed with a {@link RepositoryUnitIndex}. Failed or cancelled fetches are
+ * not cached. If a persistence location is available, fetched units are also
+ * written to disk so that completion can be served from the previous session
+ * while the repository is fetched again. The cache is safe to be used from
+ * multiple threads.
  */
 public class RepositoryCache {
 
+	private static final int PERSISTENCE_VERSION = 1;
+
 	private static RepositoryCache instance;
 
-	Map<String, List<UnitNode>> cache = new HashMap<>();
+	private final Map<String, CompletableFuture<RepositoryUnitIndex>> cache = new ConcurrentHashMap<>();
+
+	private final Map<String, RepositoryUnitIndex> persistedCache = new ConcurrentHashMap<>();
+
+	private final Path persistenceLocation;
 
-	private RepositoryCache() {
-		//avoid instantiation
+	private final Function<String, List<UnitNode>> fetcher;
+
+	/**
+	 * Creates a new cache.
+	 *
+	 * @param persistenceLocation
+	 *            directory where fetched units are persisted between sessions,
+	 *            or <code>null</code> to keep them in memory only
+	 */
+	public RepositoryCache(Path persistenceLocation) {
+		this(persistenceLocation, P2Fetcher::fetchAvailableUnits);
+	}
+
+	/**
+	 * Creates a new cache fetching the units of repositories with the given
+	 * function.
+	 *
+	 * @param persistenceLocation
+	 *            directory where fetched units are persisted between sessions,
+	 *            or <code>null</code> to keep them in memory only
+	 * @param fetcher
+	 *            returns the units available in a repository, given its URL
+	 */
+	public RepositoryCache(Path persistenceLocation, Function<String, List<UnitNode>> fetcher) {
+		this.persistenceLocation = persistenceLocation;
+		this.fetcher = fetcher;
 	}
 
 	/**
 	 * @return default instance of this cache.
 	 */
 
-	public static RepositoryCache getDefault() {
+	public static synchronized RepositoryCache getDefault() {
 		if (instance == null) {
-			instance = new RepositoryCache();
+			Path location = null;
+			try {
+				location = Platform.getStateLocation(FrameworkUtil.getBundle(RepositoryCache.class))
+						.append("repositories").toPath(); //$NON-NLS-1$
+			} catch (IllegalStateException e) {
+				// no instance location, don't persist
+			}
+			instance = new RepositoryCache(location);
 		}
 		return instance;
 	}
@@ -61,11 +123,74 @@ public class RepositoryCache {
 	 *         <code>null</code>.
 	 */
 	public List<UnitNode> fetchP2UnitsFromRepo(String repo, boolean flush) {
-		if ((flush) || (cache.get(repo) == null)) {
-			List<UnitNode> units = P2Fetcher.fetchAvailableUnits(repo);
-			cache.put(repo, units);
+		return fetchUnitIndex(repo, flush).getUnits();
+	}
+
+	/**
+	 * Fetches information in the calling thread and caches it, waiting for a
+	 * running fetch of the same repository instead if there is one and no
+	 * flush is needed.
+	 *
+	 * @param repo
+	 *            repository URL
+	 * @param flush
+	 *            whether a flush is needed
+	 * @return the index of the IUs available in the 'repo' repository. Never
+	 *         <code>null</code>.
+	 */
+	public RepositoryUnitIndex fetchUnitIndex(String repo, boolean flush) {
+		CompletableFuture<RepositoryUnitIndex> fetch = new CompletableFuture<>();
+		if (flush) {
+			cache.put(repo, fetch);
+		} else {
+			CompletableFuture<RepositoryUnitIndex> running = cache.putIfAbsent(repo, fetch);
+			if (running != null) {
+				return running.join();
+			}
+		}
+		fetch(repo, fetch);
+		return fetch.join();
+	}
+
+	/**
+	 * Starts fetching the repository in a background job unless it is already
+	 * cached or being fetched.
+	 *
+	 * @param repo
+	 *            repository URL
+	 * @param flush
+	 *            whether a flush is needed
+	 * @return a future completed with the index of the IUs available in the
+	 *         'repo' repository
+	 */
+	public CompletableFuture<RepositoryUnitIndex> fetchUnitIndexAsync(String repo, boolean flush) {
+		if (flush) {
+			// replace atomically so a failing fetch cannot remove itself before it is cached
+			return cache.compute(repo, (r, running) -> startFetch(r));
+		}
+		return cache.computeIfAbsent(repo, this::startFetch);
+	}
+
+	/**
+	 * Returns the index for the repository preferring data that is available
+	 * without waiting: an already fetched index or, while the repository is
+	 * fetched in background, the units persisted by a previous session. Only if
+	 * neither is available this waits for the fetch to complete.
+	 *
+	 * @param repo
+	 *            repository URL
+	 * @return the index of the IUs available in the 'repo' repository. Never
+	 *         <code>null</code>.
+	 */
+	public RepositoryUnitIndex getUnitIndex(String repo) {
+		CompletableFuture<RepositoryUnitIndex> fetch = fetchUnitIndexAsync(repo, false);
+		if (!fetch.isDone()) {
+			RepositoryUnitIndex persisted = persistedCache.computeIfAbsent(repo, this::readPersisted);
+			if (persisted != null) {
+				return persisted;
+			}
 		}
-		return cache.get(repo);
+		return fetch.join();
 	}
 
 	/**
@@ -86,14 +211,7 @@ public class RepositoryCache {
 	 * @return A list of IUs whose id starts with 'prefix'
 	 */
 	public List<UnitNode> getUnitsByPrefix(String repo, String prefix) {
-		List<UnitNode> allUnits = fetchP2UnitsFromRepo(repo, false);
-		List<UnitNode> result = new ArrayList<>();
-		for (UnitNode unit : allUnits) {
-			if (unit.getId().startsWith(prefix)) {
-				result.add(unit);
-			}
-		}
-		return result;
+		return getUnitIndex(repo).getUnitsByPrefix(prefix);
 	}
 
 	/**
@@ -113,14 +231,7 @@ public class RepositoryCache {
 	 * @return A list of IUs whose id contains 'searchTerm'
 	 */
 	public List<UnitNode> getUnitsBySearchTerm(String repo, String searchTerm) {
-		List<UnitNode> allUnits = fetchP2UnitsFromRepo(repo, false);
-		List<UnitNode> result = new ArrayList<>();
-		for (UnitNode unit : allUnits) {
-			if (unit.getId().contains(searchTerm)) {
-				result.add(unit);
-			}
-		}
-		return result;
+		return getUnitIndex(repo).getUnitsBySearchTerm(searchTerm);
 	}
 
 	/**
@@ -131,7 +242,8 @@ public class RepositoryCache {
 	 * @return whether the cache is up to date for this repo
 	 */
 	public boolean isUpToDate(String repo) {
-		return cache.get(repo) != null;
+		CompletableFuture<RepositoryUnitIndex> fetch = cache.get(repo);
+		return fetch != null && !fetch.isCompletedExceptionally();
 	}
 
 	/**
@@ -139,5 +251,123 @@ public class RepositoryCache {
 	 */
 	public void flush() {
 		cache.clear();
+		persistedCache.clear();
+	}
+
+	private CompletableFuture<RepositoryUnitIndex> startFetch(String repo) {
+		CompletableFuture<RepositoryUnitIndex> result = new CompletableFuture<>();
+		Job job = new Job(Messages.UpdateJob_P2DataFetch + repo) {
+			@Override
+			protected IStatus run(IProgressMonitor monitor) {
+				fetch(repo, result);
+				return Status.OK_STATUS;
+			}
+
+			@Override
+			public boolean belongsTo(Object family) {
+				return family == RepositoryCache.this;
+			}
+		};
+		job.setSystem(true);
+		job.addJobChangeListener(new JobChangeAdapter() {
+			@Override
+			public void done(IJobChangeEvent event) {
+				// the job may end without running, for example when cancelled before it started
+				if (result.isDone()) {
+					return;
+				}
+				cache.remove(repo, result);
+				IStatus status = event.getResult();
+				if (status.getSeverity() == IStatus.CANCEL) {
+					result.cancel(false);
+				} else {
+					result.completeExceptionally(new CoreException(status));
+				}
+			}
+		});
+		job.schedule();
+		return result;
+	}
+
+	private void fetch(String repo, CompletableFuture<RepositoryUnitIndex> result) {
+		try {
+			List<UnitNode> units = fetcher.apply(repo);
+			RepositoryUnitIndex index = new RepositoryUnitIndex(units);
+			if (!units.isEmpty()) {
+				persist(repo, index);
+			}
+			result.complete(index);
+		} catch (Throwable e) {
+			// fetch again on the next request rather than failing it as well
+			cache.remove(repo, result);
+			result.completeExceptionally(e);
+			if (e instanceof Error error) {
+				throw error;
+			}
+		}
+	}
+
+	private Path getPersistenceFile(String repo) {
+		return persistenceLocation.resolve(Integer.toHexString(repo.hashCode()) + ".units"); //$NON-NLS-1$
+	}
+
+	private void persist(String repo, RepositoryUnitIndex index) {
+		if (persistenceLocation == null) {
+			return;
+		}
+		persistedCache.put(repo, index);
+		try {
+			Files.createDirectories(persistenceLocation);
+			try (DataOutputStream output = new DataOutputStream(
+					new BufferedOutputStream(Files.newOutputStream(getPersistenceFile(repo))))) {
+				output.writeInt(PERSISTENCE_VERSION);
+				output.writeUTF(repo);
+				List<UnitNode> units = index.getUnits();
+				output.writeInt(units.size());
+				for (UnitNode unit : units) {
+					output.writeUTF(unit.getId());
+					output.writeUTF(unit.getVersion());
+					List<String> versions = unit.getAvailableVersions();
+					output.writeInt(versions.size());
+					for (String version : versions) {
+						output.writeUTF(version);
+					}
+				}
+			}
+		} catch (IOException e) {
+			ILog.get().warn("Failed to persist units of repository " + repo, e); //$NON-NLS-1$
+		}
+	}
+
+	private RepositoryUnitIndex readPersisted(String repo) {
+		if (persistenceLocation == null) {
+			return null;
+		}
+		Path file = getPersistenceFile(repo);
+		if (!Files.isRegularFile(file)) {
+			return null;
+		}
+		try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+			// the file name is a hash, so also check the stored location
+			if (input.readInt() != PERSISTENCE_VERSION || !repo.equals(input.readUTF())) {
+				return null;
+			}
+			int count = input.readInt();
+			List<UnitNode> units = new ArrayList<>(count);
+			for (int i = 0; i < count; i++) {
+				UnitNode unit = new UnitNode();
+				unit.setId(input.readUTF());
+				unit.setVersion(input.readUTF());
+				int versionCount = input.readInt();
+				for (int j = 0; j < versionCount; j++) {
+					unit.getAvailableVersions().add(input.readUTF());
+				}
+				units.add(unit);
+			}
+			return new RepositoryUnitIndex(units);
+		} catch (IOException e) {
+			ILog.get().warn("Failed to read persisted units of repository " + repo, e); //$NON-NLS-1$
+			return null;
+		}
 	}
 }
@@ -0,0 +1,268 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.internal.genericeditor.target.extension.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Immutable, indexed snapshot of the units available in one p2 repository.
+ * Units are kept sorted by id so that prefix queries are answered by a binary
+ * search, and every lower case id is split into trigrams so that substring
+ * queries only have to look at the units sharing all trigrams of the search
+ * term. The first characters of the segments of each id are indexed as well
+ * to find the units matched by abbreviations such as 'oec' for
+ * 'org.eclipse.core'.
+ */
+public class RepositoryUnitIndex {
+
+	private static final int GRAM_LENGTH = 3;
+
+	private final List<UnitNode> units;
+	private final String[] lowerCaseIds;
+	private final Map<String, UnitNode> unitsById;
+	private final String[] sortedIds;
+	private final UnitNode[] sortedUnits;
+	private final Map<String, int[]> grams;
+	private final Map<Character, int[]> segmentStarts;
+
+	public RepositoryUnitIndex(List<UnitNode> units) {
+		List<UnitNode> displayOrder = new ArrayList<>(units);
+		displayOrder.sort(Comparator.comparing(UnitNode::getId, String.CASE_INSENSITIVE_ORDER));
+		this.units = Collections.unmodifiableList(displayOrder);
+
+		sortedUnits = units.toArray(new UnitNode[units.size()]);
+		Arrays.sort(sortedUnits, Comparator.comparing(UnitNode::getId));
+		sortedIds = new String[sortedUnits.length];
+		unitsById = new HashMap<>(sortedUnits.length * 2);
+		for (int i = 0; i < sortedUnits.length; i++) {
+			sortedIds[i] = sortedUnits[i].getId();
+			unitsById.put(sortedIds[i], sortedUnits[i]);
+		}
+
+		// postings refer to the display order so query results need no sorting
+		lowerCaseIds = new String[displayOrder.size()];
+		Map<String, IntList> gramPostings = new HashMap<>();
+		Map<Character, IntList> startPostings = new HashMap<>();
+		for (int i = 0; i < lowerCaseIds.length; i++) {
+			String id = displayOrder.get(i).getId();
+			lowerCaseIds[i] = id.toLowerCase(Locale.ROOT);
+			for (int j = 0; j + GRAM_LENGTH <= lowerCaseIds[i].length(); j++) {
+				gramPostings.computeIfAbsent(lowerCaseIds[i].substring(j, j + GRAM_LENGTH), g -> new IntList())
+						.addUnique(i);
+			}
+			for (int j = 0; j < id.length(); j++) {
+				if (isSegmentStart(id, j)) {
+					startPostings.computeIfAbsent(id.charAt(j), c -> new IntList()).addUnique(i);
+				}
+			}
+		}
+		grams = new HashMap<>(gramPostings.size() * 2);
+		gramPostings.forEach((gram, list) -> grams.put(gram, list.toArray()));
+		segmentStarts = new HashMap<>(startPostings.size() * 2);
+		startPostings.forEach((start, list) -> segmentStarts.put(start, list.toArray()));
+	}
+
+	/**
+	 * Segments of ids start at upper case letters, after '.' and '_' and at the
+	 * first digit of a number, like in
+	 * {@code TargetDefinitionContentAssist#getFilteredStyledString}.
+	 */
+	private static boolean isSegmentStart(String id, int index) {
+		if (index == 0) {
+			return true;
+		}
+		char c = id.charAt(index);
+		char previous = id.charAt(index - 1);
+		return Character.isUpperCase(c) || previous == '.' || previous == '_'
+				|| (Character.isDigit(c) && !Character.isDigit(previous));
+	}
+
+	/**
+	 * @return all units of the repository sorted case-insensitively by id.
+	 *         Never <code>null</code>.
+	 */
+	public List<UnitNode> getUnits() {
+		return units;
+	}
+
+	/**
+	 * @param id
+	 *            the id of the installable unit
+	 * @return the unit with the given id or <code>null</code> if the
+	 *         repository does not contain it
+	 */
+	public UnitNode getUnit(String id) {
+		return unitsById.get(id);
+	}
+
+	/**
+	 * @param prefix
+	 *            the prefix the unit ids have to start with
+	 * @return the units whose id starts with 'prefix'
+	 */
+	public List<UnitNode> getUnitsByPrefix(String prefix) {
+		int start = Arrays.binarySearch(sortedIds, prefix);
+		if (start < 0) {
+			start = -start - 1;
+		}
+		List<UnitNode> result = new ArrayList<>();
+		for (int i = start; i < sortedIds.length && sortedIds[i].startsWith(prefix); i++) {
+			result.add(sortedUnits[i]);
+		}
+		return result;
+	}
+
+	/**
+	 * @param searchTerm
+	 *            the term the unit ids have to contain
+	 * @return the units whose id contains 'searchTerm', sorted
+	 *         case-insensitively by id
+	 */
+	public List<UnitNode> getUnitsBySearchTerm(String searchTerm) {
+		List<UnitNode> result = new ArrayList<>();
+		for (int candidate : findSubstringCandidates(searchTerm.toLowerCase(Locale.ROOT))) {
+			UnitNode unit = units.get(candidate);
+			if (unit.getId().contains(searchTerm)) {
+				result.add(unit);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the units that may be proposed for the given search term: the
+	 * units whose id contains the term ignoring case and the units whose id
+	 * segments start with the characters of the term in order. The result may
+	 * contain some units that the completion filter does not accept but
+	 * contains all units it does accept.
+	 *
+	 * @param searchTerm
+	 *            the text typed so far
+	 * @return the candidate units, sorted case-insensitively by id
+	 */
+	public List<UnitNode> getCompletionCandidates(String searchTerm) {
+		if (searchTerm.isEmpty()) {
+			return units;
+		}
+		String lowerCaseTerm = searchTerm.toLowerCase(Locale.ROOT);
+		int[] substrings = findSubstringCandidates(lowerCaseTerm);
+		int[] segments = segmentStarts.getOrDefault(searchTerm.charAt(0), new int[0]);
+		List<UnitNode> result = new ArrayList<>();
+		int i = 0;
+		int j = 0;
+		// merge both ascending candidate lists
+		while (i < substrings.length || j < segments.length) {
+			int candidate;
+			boolean matches;
+			if (j == segments.length || (i < substrings.length && substrings[i] <= segments[j])) {
+				candidate = substrings[i++];
+				matches = lowerCaseIds[candidate].contains(lowerCaseTerm);
+				if (j < segments.length && segments[j] == candidate) {
+					j++;
+					matches = matches || containsInOrder(units.get(candidate).getId(), searchTerm);
+				}
+			} else {
+				candidate = segments[j++];
+				matches = containsInOrder(units.get(candidate).getId(), searchTerm);
+			}
+			if (matches) {
+				result.add(units.get(candidate));
+			}
+		}
+		return result;
+	}
+
+	private static boolean containsInOrder(String id, String searchTerm) {
+		int index = 0;
+		for (int i = 0; i < searchTerm.length() && index >= 0; i++) {
+			index = id.indexOf(searchTerm.charAt(i), index);
+			if (index >= 0) {
+				index++;
+			}
+		}
+		return index >= 0;
+	}
+
+	/**
+	 * @return the display positions of the units whose lower case id may
+	 *         contain the given lower case term, in ascending order
+	 */
+	private int[] findSubstringCandidates(String lowerCaseTerm) {
+		if (lowerCaseTerm.length() < GRAM_LENGTH) {
+			IntList candidates = new IntList();
+			for (int i = 0; i < lowerCaseIds.length; i++) {
+				if (lowerCaseIds[i].contains(lowerCaseTerm)) {
+					candidates.addUnique(i);
+				}
+			}
+			return candidates.toArray();
+		}
+		int[] candidates = null;
+		for (int j = 0; j + GRAM_LENGTH <= lowerCaseTerm.length(); j++) {
+			int[] posting = grams.get(lowerCaseTerm.substring(j, j + GRAM_LENGTH));
+			if (posting == null) {
+				return new int[0];
+			}
+			candidates = candidates == null ? posting : intersect(candidates, posting);
+			if (candidates.length == 0) {
+				break;
+			}
+		}
+		return candidates;
+	}
+
+	private static int[] intersect(int[] a, int[] b) {
+		int[] result = new int[Math.min(a.length, b.length)];
+		int i = 0;
+		int j = 0;
+		int size = 0;
+		while (i < a.length && j < b.length) {
+			if (a[i] < b[j]) {
+				i++;
+			} else if (a[i] > b[j]) {
+				j++;
+			} else {
+				result[size++] = a[i];
+				i++;
+				j++;
+			}
+		}
+		return Arrays.copyOf(result, size);
+	}
+
+	private static final class IntList {
+		private int[] values = new int[4];
+		private int size;
+
+		void addUnique(int value) {
+			// values are added in ascending order, so duplicates are always last
+			if (size > 0 && values[size - 1] == value) {
+				return;
+			}
+			if (size == values.length) {
+				values = Arrays.copyOf(values, size * 2);
+			}
+			values[size++] = value;
+		}
+
+		int[] toArray() {
+			return Arrays.copyOf(values, size);
+		}
+	}
+}
@@ -0,0 +1,173 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.junit.runtime.tests;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Proxy;
+import java.net.URI;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarOutputStream;
+import java.util.jar.Manifest;
+
+import org.eclipse.pde.internal.junit.runtime.MultiBundleClassLoader;
+import org.junit.Test;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.Constants;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.wiring.BundleWiring;
+
+public class MultiBundleClassLoaderTest {
+
+	/**
+	 * A bundle with the given local classes, which can also load the classes
+	 * and resources added later as if they came from a dynamic import or a
+	 * re-exported bundle, unknown to its wiring.
+	 */
+	private static class FakeBundle {
+		final List<String> localClasses = new ArrayList<>();
+		final Map<String, Class<?>> classes = new HashMap<>();
+		final Map<String, URL> resources = new HashMap<>();
+		final List<String> loadedClasses = new ArrayList<>();
+
+		FakeBundle local(String name, Class<?> c) {
+			localClasses.add(name.replace('.', '/') + ".class");
+			classes.put(name, c);
+			return this;
+		}
+
+		Bundle toBundle() {
+			BundleWiring wiring = (BundleWiring) Proxy.newProxyInstance(getClass().getClassLoader(),
+					new Class<?>[] { BundleWiring.class }, (proxy, method, args) -> switch (method.getName()) {
+					case "listResources" -> new ArrayList<>(localClasses);
+					case "getRequiredWires" -> Collections.emptyList();
+					default -> throw new UnsupportedOperationException(method.getName());
+					});
+			return (Bundle) Proxy.newProxyInstance(getClass().getClassLoader(), new Class<?>[] { Bundle.class },
+					(proxy, method, args) -> switch (method.getName()) {
+					case "adapt" -> args[0] == BundleWiring.class ? wiring : null;
+					case "loadClass" -> {
+						loadedClasses.add((String) args[0]);
+						Class<?> c = classes.get(args[0]);
+						if (c == null) {
+							throw new ClassNotFoundException((String) args[0]);
+						}
+						yield c;
+					}
+					case "getResource" -> resources.get(args[0]);
+					case "hashCode" -> System.identityHashCode(proxy);
+					case "equals" -> proxy == args[0];
+					case "toString" -> "FakeBundle";
+					default -> throw new UnsupportedOperationException(method.getName());
+					});
+		}
+	}
+
+	@Test
+	public void testIndexedBundlesAreAskedFirst() throws Exception {
+		FakeBundle a = new FakeBundle().local("a.A", Integer.class);
+		FakeBundle b = new FakeBundle().local("b.B", Long.class);
+		MultiBundleClassLoader loader = new MultiBundleClassLoader(List.of(a.toBundle(), b.toBundle()));
+
+		assertSame(Long.class, loader.loadClass("b.B"));
+		assertEquals(List.of(), a.loadedClasses);
+		assertSame(Integer.class, loader.loadClass("a.A"));
+		assertEquals(List.of("b.B"), b.loadedClasses);
+	}
+
+	@Test
+	public void testClassUnknownToTheIndexIsFound() throws Exception {
+		FakeBundle a = new FakeBundle().local("p.A", Integer.class);
+		// b loads p.B through a dynamic import or buddy loading
+		FakeBundle b = new FakeBundle();
+		b.classes.put("p.B", Long.class);
+		MultiBundleClassLoader loader = new MultiBundleClassLoader(List.of(a.toBundle(), b.toBundle()));
+
+		assertSame(Long.class, loader.loadClass("p.B"));
+		assertEquals(List.of("p.B"), a.loadedClasses);
+	}
+
+	@Test
+	public void testMissingClassIsNotLookedUpAgain() throws Exception {
+		FakeBundle a = new FakeBundle().local("p.A", Integer.class);
+		FakeBundle b = new FakeBundle();
+		MultiBundleClassLoader loader = new MultiBundleClassLoader(List.of(a.toBundle(), b.toBundle()));
+
+		assertThrows(ClassNotFoundException.class, () -> loader.loadClass("p.B"));
+		assertEquals(List.of("p.B"), a.loadedClasses);
+		assertEquals(List.of("p.B"), b.loadedClasses);
+		assertThrows(ClassNotFoundException.class, () -> loader.loadClass("p.B"));
+		assertEquals(List.of("p.B"), a.loadedClasses);
+		assertEquals(List.of("p.B"), b.loadedClasses);
+	}
+
+	@Test
+	public void testResourceUnknownToTheIndexIsFound() throws Exception {
+		FakeBundle a = new FakeBundle().local("p.A", Integer.class);
+		FakeBundle b = new FakeBundle();
+		URL url = URI.create("file:/p/resource.txt").toURL();
+		b.resources.put("p/resource.txt", url);
+		MultiBundleClassLoader loader = new MultiBundleClassLoader(List.of(a.toBundle(), b.toBundle()));
+
+		assertEquals(url, loader.getResource("p/resource.txt"));
+		assertNull(loader.getResource("p/other.txt"));
+	}
+
+	@Test
+	public void testMissesAreForgottenWhenBundlesChange() throws Exception {
+		FakeBundle a = new FakeBundle().local("p.A", Integer.class);
+		MultiBundleClassLoader loader = new MultiBundleClassLoader(List.of(a.toBundle()));
+		assertThrows(ClassNotFoundException.class, () -> loader.loadClass("p.B"));
+		assertNull(loader.getResource("p/resource.txt"));
+
+		// as if a dynamic import was wired to a newly installed bundle
+		a.classes.put("p.B", Long.class);
+		URL url = URI.create("file:/p/resource.txt").toURL();
+		a.resources.put("p/resource.txt", url);
+		assertThrows(ClassNotFoundException.class, () -> loader.loadClass("p.B"));
+
+		BundleContext context = FrameworkUtil.getBundle(getClass()).getBundleContext();
+		Bundle installed = context.installBundle("multibundleclassloader.test", createBundle());
+		try {
+			assertSame(Long.class, loader.loadClass("p.B"));
+			assertEquals(url, loader.getResource("p/resource.txt"));
+		} finally {
+			installed.uninstall();
+		}
+	}
+
+	private static InputStream createBundle() throws IOException {
+		Manifest manifest = new Manifest();
+		manifest.getMainAttributes().put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		manifest.getMainAttributes().putValue(Constants.BUNDLE_MANIFESTVERSION, "2");
+		manifest.getMainAttributes().putValue(Constants.BUNDLE_SYMBOLICNAME, "multibundleclassloader.test");
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (JarOutputStream jar = new JarOutputStream(bytes, manifest)) {
+			// the manifest is all the bundle needs
+		}
+		return new ByteArrayInputStream(bytes.toByteArray());
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2018, 2023 IBM Corporation and others.
+ *  Copyright (c) 2018, 2026 IBM Corporation and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -14,26 +14,126 @@
 package org.eclipse.pde.internal.junit.runtime;
 
 import java.io.IOException;
+import java.lang.ref.WeakReference;
 import java.net.URL;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Enumeration;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.core.runtime.FileLocator;
 import org.osgi.framework.Bundle;
+import org.osgi.framework.BundleContext;
+import org.osgi.framework.BundleEvent;
+import org.osgi.framework.FrameworkEvent;
+import org.osgi.framework.FrameworkListener;
+import org.osgi.framework.FrameworkUtil;
+import org.osgi.framework.SynchronousBundleListener;
+import org.osgi.framework.namespace.BundleNamespace;
+import org.osgi.framework.namespace.PackageNamespace;
+import org.osgi.framework.wiring.BundleCapability;
+import org.osgi.framework.wiring.BundleWire;
+import org.osgi.framework.wiring.BundleWiring;
 
-class MultiBundleClassLoader extends ClassLoader {
+/**
+ * Loads classes and resources from a list of bundles, trying them in order.
+ * To avoid asking every bundle for every class, an index from package name to
+ * the bundles that can load classes of that package (local, imported or
+ * required packages) is built from the bundle wirings on first use. The index
+ * does not know about dynamic imports, buddy loading or packages re-exported
+ * through required bundles, so when none of the indexed bundles can load a
+ * class or resource the remaining bundles are still asked in order.
+ * <p>
+ * Classes and resources that no bundle could provide are remembered so
+ * repeated lookups, which are frequent during test engine discovery, fail
+ * fast. As dynamic imports and newly installed or refreshed bundles can make
+ * them available later, the misses and the index are dropped whenever the
+ * framework installs, resolves, unresolves, updates or uninstalls a bundle or
+ * refreshes packages.
+ * </p>
+ */
+public class MultiBundleClassLoader extends ClassLoader {
 	private final List<Bundle> bundleList;
 
+	private volatile Map<String, List<Bundle>> packageIndex;
+
+	/**
+	 * Replaced rather than cleared on invalidation, so a lookup that started
+	 * before does not add its miss to the new set
+	 */
+	private volatile Set<String> missingClasses = ConcurrentHashMap.newKeySet();
+
+	private volatile Set<String> missingResources = ConcurrentHashMap.newKeySet();
+
 	public MultiBundleClassLoader(List<Bundle> platformEngineBundles) {
 		super(null); // never delegate to system classloader, only load classes via given Bundles
 		this.bundleList = platformEngineBundles;
+		Bundle bundle = FrameworkUtil.getBundle(MultiBundleClassLoader.class);
+		BundleContext context = bundle != null ? bundle.getBundleContext() : null;
+		if (context != null) {
+			Invalidator invalidator = new Invalidator(this, context);
+			context.addBundleListener(invalidator);
+			context.addFrameworkListener(invalidator);
+		}
 	}
 
 	@Override
 	protected Class<?> findClass(String name) throws ClassNotFoundException {
-		for (Bundle temp : bundleList) {
+		Set<String> missing = missingClasses;
+		if (missing.contains(name)) {
+			throw new ClassNotFoundException(name);
+		}
+		int lastDot = name.lastIndexOf('.');
+		String packageName = lastDot == -1 ? "" : name.substring(0, lastDot); //$NON-NLS-1$
+		List<Bundle> candidates = getCandidates(packageName);
+		Class<?> c = loadClass(candidates, name);
+		if (c != null) {
+			return c;
+		}
+		if (candidates != bundleList) {
+			c = loadClass(getRemaining(candidates), name);
+			if (c != null) {
+				return c;
+			}
+		}
+		missing.add(name);
+		throw new ClassNotFoundException(name);
+	}
+
+	@Override
+	protected URL findResource(String name) {
+		Set<String> missing = missingResources;
+		if (missing.contains(name)) {
+			return null;
+		}
+		String path = name.startsWith("/") ? name.substring(1) : name; //$NON-NLS-1$
+		int lastSlash = path.lastIndexOf('/');
+		String packageName = lastSlash == -1 ? "" : path.substring(0, lastSlash).replace('/', '.'); //$NON-NLS-1$
+		List<Bundle> candidates = getCandidates(packageName);
+		URL url = getResource(candidates, name);
+		if (url == null && candidates != bundleList) {
+			url = getResource(getRemaining(candidates), name);
+		}
+		if (url == null) {
+			missing.add(name);
+			return null;
+		}
+		try {
+			return FileLocator.resolve(url);
+		} catch (IOException e) {
+			return null;
+		}
+	}
+
+	private static Class<?> loadClass(List<Bundle> bundles, String name) {
+		for (Bundle temp : bundles) {
 			try {
 				Class<?> c = temp.loadClass(name);
 				if (c != null) {
@@ -42,24 +142,35 @@ class MultiBundleClassLoader extends ClassLoader {
 			} catch (ClassNotFoundException e) {
 			}
 		}
-		throw new ClassNotFoundException(name);
+		return null;
 	}
 
-	@Override
-	protected URL findResource(String name) {
-		for (Bundle temp : bundleList) {
+	private static URL getResource(List<Bundle> bundles, String name) {
+		for (Bundle temp : bundles) {
 			URL url = temp.getResource(name);
 			if (url != null) {
-				try {
-					return FileLocator.resolve(url);
-				} catch (IOException e) {
-					return null;
-				}
+				return url;
 			}
 		}
 		return null;
 	}
 
+	/**
+	 * Returns the bundles of the bundle list that are not among the given
+	 * candidates, in list order.
+	 */
+	private List<Bundle> getRemaining(List<Bundle> candidates) {
+		Set<Bundle> asked = Collections.newSetFromMap(new IdentityHashMap<>());
+		asked.addAll(candidates);
+		List<Bundle> remaining = new ArrayList<>(bundleList.size());
+		for (Bundle bundle : bundleList) {
+			if (!asked.contains(bundle)) {
+				remaining.add(bundle);
+			}
+		}
+		return remaining;
+	}
+
 	@Override
 	protected Enumeration<URL> findResources(String name) throws IOException {
 		List<URL> merged = new ArrayList<>();
@@ -71,4 +182,140 @@ class MultiBundleClassLoader extends ClassLoader {
 		}
 		return Collections.enumeration(merged);
 	}
-}
\ No newline at end of file
+
+	/**
+	 * Returns the bundles to ask for classes or resources of the given package,
+	 * in the order of the bundle list. Packages that are not known to any
+	 * bundle wiring (e.g. resource folders like <code>META-INF</code>) are
+	 * looked up in all bundles.
+	 */
+	private List<Bundle> getCandidates(String packageName) {
+		List<Bundle> candidates = getPackageIndex().get(packageName);
+		if (candidates == null) {
+			return bundleList;
+		}
+		return candidates;
+	}
+
+	private Map<String, List<Bundle>> getPackageIndex() {
+		Map<String, List<Bundle>> index = packageIndex;
+		if (index == null) {
+			synchronized (this) {
+				index = packageIndex;
+				if (index == null) {
+					index = createPackageIndex();
+					packageIndex = index;
+				}
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * Forgets the misses and the package index, as bundles may have become
+	 * available or changed their wiring.
+	 */
+	void invalidate() {
+		missingClasses = ConcurrentHashMap.newKeySet();
+		missingResources = ConcurrentHashMap.newKeySet();
+		synchronized (this) {
+			packageIndex = null;
+		}
+	}
+
+	private Map<String, List<Bundle>> createPackageIndex() {
+		// bundles without a wiring are always tried after the indexed ones
+		List<Bundle> unindexedBundles = new ArrayList<>();
+		Map<String, Set<Bundle>> packages = new HashMap<>();
+		for (Bundle bundle : bundleList) {
+			BundleWiring wiring = bundle.adapt(BundleWiring.class);
+			if (wiring == null) {
+				unindexedBundles.add(bundle);
+				continue;
+			}
+			Collection<String> classFiles = wiring.listResources("/", "*.class", //$NON-NLS-1$ //$NON-NLS-2$
+					BundleWiring.LISTRESOURCES_LOCAL | BundleWiring.LISTRESOURCES_RECURSE);
+			for (String classFile : classFiles) {
+				int lastSlash = classFile.lastIndexOf('/');
+				String packageName = lastSlash == -1 ? "" : classFile.substring(0, lastSlash).replace('/', '.'); //$NON-NLS-1$
+				addToIndex(packages, packageName, bundle);
+			}
+			for (BundleWire wire : wiring.getRequiredWires(PackageNamespace.PACKAGE_NAMESPACE)) {
+				addToIndex(packages, (String) wire.getCapability().getAttributes().get(PackageNamespace.PACKAGE_NAMESPACE), bundle);
+			}
+			for (BundleWire wire : wiring.getRequiredWires(BundleNamespace.BUNDLE_NAMESPACE)) {
+				BundleWiring provider = wire.getProviderWiring();
+				if (provider == null) {
+					continue;
+				}
+				for (BundleCapability export : provider.getCapabilities(PackageNamespace.PACKAGE_NAMESPACE)) {
+					addToIndex(packages, (String) export.getAttributes().get(PackageNamespace.PACKAGE_NAMESPACE), bundle);
+				}
+			}
+		}
+		Map<String, List<Bundle>> index = new HashMap<>();
+		for (Map.Entry<String, Set<Bundle>> entry : packages.entrySet()) {
+			// bundles were added in list order, keep it as lookup order
+			List<Bundle> candidates = new ArrayList<>(entry.getValue());
+			candidates.addAll(unindexedBundles);
+			index.put(entry.getKey(), candidates);
+		}
+		return index;
+	}
+
+	/**
+	 * Invalidates a loader when bundles change, and unregisters itself once the
+	 * loader is no longer used.
+	 */
+	private static class Invalidator implements SynchronousBundleListener, FrameworkListener {
+		private final WeakReference<MultiBundleClassLoader> loader;
+		private final BundleContext context;
+
+		Invalidator(MultiBundleClassLoader loader, BundleContext context) {
+			this.loader = new WeakReference<>(loader);
+			this.context = context;
+		}
+
+		@Override
+		public void bundleChanged(BundleEvent event) {
+			switch (event.getType()) {
+				case BundleEvent.INSTALLED :
+				case BundleEvent.RESOLVED :
+				case BundleEvent.UNRESOLVED :
+				case BundleEvent.UPDATED :
+				case BundleEvent.UNINSTALLED :
+					invalidate();
+					break;
+				default :
+					break;
+			}
+		}
+
+		@Override
+		public void frameworkEvent(FrameworkEvent event) {
+			if (event.getType() == FrameworkEvent.PACKAGES_REFRESHED) {
+				invalidate();
+			}
+		}
+
+		private void invalidate() {
+			MultiBundleClassLoader classLoader = loader.get();
+			if (classLoader != null) {
+				classLoader.invalidate();
+				return;
+			}
+			try {
+				context.removeBundleListener(this);
+				context.removeFrameworkListener(this);
+			} catch (IllegalStateException e) {
+				// the bundle was stopped, its listeners are gone
+			}
+		}
+	}
+
+	private static void addToIndex(Map<String, Set<Bundle>> packages, String packageName, Bundle bundle) {
+		if (packageName != null) {
+			packages.computeIfAbsent(packageName, p -> new LinkedHashSet<>()).add(bundle);
+		}
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2015 EclipseSource Corporation and others.
+ * Copyright (c) 2009, 2026 EclipseSource Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -39,5 +39,11 @@ public interface IPDEConstants {
 	String DOCLEARLOG = "clearwslog"; //$NON-NLS-1$
 	String LAUNCHER_PDE_VERSION = "pde.version"; //$NON-NLS-1$
 	String APPEND_ARGS_EXPLICITLY = "append.args"; //$NON-NLS-1$
+	/**
+	 * Launch configuration attribute key. The value is an integer specifying
+	 * the number of runtimes the test classes of a JUnit plug-in launch are
+	 * split across when run. The default value is <code>1</code>.
+	 */
+	String JUNIT_SHARDS = "junit_shards"; //$NON-NLS-1$
 
 }
@@ -0,0 +1,494 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.internal.launching.launcher;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Reader;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+
+import org.eclipse.debug.core.model.IProcess;
+
+/**
+ * Merges the test runs of the runtimes of a sharded JUnit plug-in launch into
+ * the single test run the JUnit view listens to.
+ * <p>
+ * Each runtime reports to its own port of the merger. The merger connects to
+ * the port of the JUnit view as if it were the only runtime, sends it the
+ * number and the trees of the tests of all runtimes, then relays the test
+ * events of the runtimes as they come. Test identifiers are made unique
+ * across runtimes and the run ends when all runtimes ended. Stop requests of
+ * the JUnit view are sent to all runtimes.
+ * </p>
+ */
+public class TestShardMerger implements Runnable {
+
+	// messages of the remote test runner protocol
+	private static final String TEST_RUN_START = "%TESTC  "; //$NON-NLS-1$
+	private static final String TEST_TREE = "%TSTTREE"; //$NON-NLS-1$
+	private static final String TEST_START = "%TESTS  "; //$NON-NLS-1$
+	private static final String TEST_END = "%TESTE  "; //$NON-NLS-1$
+	private static final String TEST_ERROR = "%ERROR  "; //$NON-NLS-1$
+	private static final String TEST_FAILED = "%FAILED "; //$NON-NLS-1$
+	private static final String TEST_RUN_END = "%RUNTIME"; //$NON-NLS-1$
+	private static final String TEST_STOPPED = "%TSTSTP "; //$NON-NLS-1$
+	private static final String TRACE_END = "%TRACEE "; //$NON-NLS-1$
+	private static final String PROTOCOL_VERSION = "v2"; //$NON-NLS-1$
+	private static final String STOP_COMMAND = ">STOP"; //$NON-NLS-1$
+
+	/**
+	 * The start and end messages of the multi-line messages
+	 */
+	private static final Map<String, String> BLOCKS = Map.of( //
+			"%TRACES ", TRACE_END, //$NON-NLS-1$
+			"%EXPECTS", "%EXPECTE", //$NON-NLS-1$ //$NON-NLS-2$
+			"%ACTUALS", "%ACTUALE", //$NON-NLS-1$ //$NON-NLS-2$
+			"%RTRACES", "%RTRACEE"); //$NON-NLS-1$ //$NON-NLS-2$
+
+	/**
+	 * Field of the parent identifier in test tree messages
+	 */
+	private static final int TREE_PARENT_FIELD = 5;
+
+	private static final int CONNECT_ATTEMPTS = 20;
+
+	private static final int ACCEPT_TIMEOUT = 1000;
+
+	/**
+	 * Reads the messages of one runtime
+	 */
+	public static class ShardReader {
+		private final BufferedReader fReader;
+		private String fPushedBack;
+
+		/**
+		 * @param reader the messages of the runtime
+		 */
+		public ShardReader(Reader reader) {
+			fReader = new BufferedReader(reader);
+		}
+
+		String readLine() throws IOException {
+			if (fPushedBack != null) {
+				String line = fPushedBack;
+				fPushedBack = null;
+				return line;
+			}
+			return fReader.readLine();
+		}
+
+		void pushBack(String line) {
+			fPushedBack = line;
+		}
+
+		/**
+		 * Reads a message with all lines that belong to it, that is a failure
+		 * with its trace and compared values or a multi-line message.
+		 *
+		 * @return the lines of the message or <code>null</code> at the end of
+		 *         the run
+		 */
+		public List<String> readMessage() throws IOException {
+			String line = readLine();
+			if (line == null) {
+				return null;
+			}
+			List<String> message = new ArrayList<>();
+			message.add(line);
+			if (line.startsWith(TEST_FAILED) || line.startsWith(TEST_ERROR)) {
+				readUntil(TRACE_END, message);
+				// compared values may follow the trace
+				String next;
+				while ((next = readLine()) != null) {
+					String end = getBlockEnd(next);
+					if (end == null || end.equals(TRACE_END)) {
+						pushBack(next);
+						break;
+					}
+					message.add(next);
+					readUntil(end, message);
+				}
+			} else {
+				String end = getBlockEnd(line);
+				if (end != null) {
+					readUntil(end, message);
+				}
+			}
+			return message;
+		}
+
+		private void readUntil(String end, List<String> message) throws IOException {
+			String line;
+			while ((line = readLine()) != null) {
+				message.add(line);
+				if (line.startsWith(end)) {
+					return;
+				}
+			}
+		}
+
+		private static String getBlockEnd(String line) {
+			return line.length() < TEST_TREE.length() ? null : BLOCKS.get(line.substring(0, TEST_TREE.length()));
+		}
+	}
+
+	private final int fPort;
+	private final ServerSocket[] fServerSockets;
+	private final IProcess[] fProcesses;
+	private final Socket[] fShardSockets;
+	private final PrintWriter[] fShardWriters;
+	private final Consumer<Map<String, Long>> fDurationsListener;
+	private final Map<String, Long> fDurations = new ConcurrentHashMap<>();
+
+	private Socket fSocket;
+	private PrintWriter fWriter;
+	private volatile boolean fStopped;
+
+	/**
+	 * Creates a merger and opens the ports of the runtimes.
+	 *
+	 * @param port the port the JUnit view listens to
+	 * @param shardCount the number of runtimes
+	 * @param durationsListener notified of the durations of the test
+	 *            classes, by class name, at the end of the run
+	 * @throws IOException if the ports cannot be opened
+	 */
+	TestShardMerger(int port, int shardCount, Consumer<Map<String, Long>> durationsListener) throws IOException {
+		fPort = port;
+		fServerSockets = new ServerSocket[shardCount];
+		fProcesses = new IProcess[shardCount];
+		fShardSockets = new Socket[shardCount];
+		fShardWriters = new PrintWriter[shardCount];
+		fDurationsListener = durationsListener;
+		try {
+			for (int i = 0; i < shardCount; i++) {
+				fServerSockets[i] = new ServerSocket(0, 1, InetAddress.getLoopbackAddress());
+				fServerSockets[i].setSoTimeout(ACCEPT_TIMEOUT);
+			}
+		} catch (IOException e) {
+			close();
+			throw e;
+		}
+	}
+
+	/**
+	 * @return the port the given runtime must report to
+	 */
+	int getPort(int shard) {
+		return fServerSockets[shard].getLocalPort();
+	}
+
+	/**
+	 * Sets the process of the given runtime, the runtime is not waited for
+	 * once its process terminated
+	 */
+	void setProcess(int shard, IProcess process) {
+		fProcesses[shard] = process;
+	}
+
+	/**
+	 * Starts merging in the background
+	 */
+	void start() {
+		Thread thread = new Thread(this, "JUnit Plug-in Test Shard Merger"); //$NON-NLS-1$
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	@Override
+	public void run() {
+		try {
+			if (!connect()) {
+				return;
+			}
+			long start = System.currentTimeMillis();
+			ShardReader[] readers = new ShardReader[fServerSockets.length];
+			int testCount = 0;
+			List<String> trees = new ArrayList<>();
+			for (int i = 0; i < readers.length; i++) {
+				readers[i] = accept(i);
+				if (readers[i] != null) {
+					testCount += readHeader(readers[i], i, trees);
+				}
+			}
+			synchronized (fWriter) {
+				fWriter.println(TEST_RUN_START + testCount + ' ' + PROTOCOL_VERSION);
+				trees.forEach(fWriter::println);
+				fWriter.flush();
+			}
+			startStopForwarder();
+
+			List<Thread> relays = new ArrayList<>();
+			for (int i = 0; i < readers.length; i++) {
+				if (readers[i] != null) {
+					ShardReader reader = readers[i];
+					int shard = i;
+					Thread relay = new Thread(() -> relay(reader, shard), "JUnit Plug-in Test Shard " + (i + 1)); //$NON-NLS-1$
+					relay.setDaemon(true);
+					relay.start();
+					relays.add(relay);
+				}
+			}
+			for (Thread relay : relays) {
+				relay.join();
+			}
+			long elapsed = System.currentTimeMillis() - start;
+			synchronized (fWriter) {
+				fWriter.println((fStopped ? TEST_STOPPED : TEST_RUN_END) + elapsed);
+				fWriter.flush();
+			}
+			if (!fStopped) {
+				fDurationsListener.accept(fDurations);
+			}
+		} catch (IOException e) {
+			// the JUnit view or a runtime went away, the run is over
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			close();
+		}
+	}
+
+	/**
+	 * Connects to the JUnit view, which starts listening once the first
+	 * runtime was launched
+	 *
+	 * @return whether the JUnit view could be reached
+	 */
+	private boolean connect() throws InterruptedException {
+		for (int i = 0; i < CONNECT_ATTEMPTS; i++) {
+			try {
+				fSocket = new Socket(InetAddress.getLoopbackAddress(), fPort);
+				fWriter = new PrintWriter(new OutputStreamWriter(fSocket.getOutputStream(), StandardCharsets.UTF_8), false);
+				return true;
+			} catch (IOException e) {
+				Thread.sleep(1000);
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Waits for the given runtime to report
+	 *
+	 * @return the reader of the runtime or <code>null</code> if it terminated
+	 *         without reporting
+	 */
+	private ShardReader accept(int shard) throws IOException {
+		while (true) {
+			try {
+				Socket socket = fServerSockets[shard].accept();
+				PrintWriter writer = new PrintWriter(new OutputStreamWriter(socket.getOutputStream(), StandardCharsets.UTF_8), true);
+				synchronized (fShardWriters) {
+					fShardSockets[shard] = socket;
+					fShardWriters[shard] = writer;
+				}
+				return new ShardReader(new InputStreamReader(socket.getInputStream(), StandardCharsets.UTF_8));
+			} catch (SocketTimeoutException e) {
+				IProcess process = fProcesses[shard];
+				if (process == null || process.isTerminated()) {
+					return null;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Reads the start message and the test trees of the given runtime
+	 *
+	 * @return the number of tests of the runtime
+	 */
+	private int readHeader(ShardReader reader, int shard, List<String> trees) throws IOException {
+		int testCount = 0;
+		String line;
+		while ((line = reader.readLine()) != null) {
+			if (line.startsWith(TEST_RUN_START)) {
+				String count = line.substring(TEST_RUN_START.length()).trim();
+				int separator = count.indexOf(' ');
+				try {
+					testCount = Integer.parseInt(separator < 0 ? count : count.substring(0, separator));
+				} catch (NumberFormatException e) {
+					// unknown count
+				}
+			} else if (line.startsWith(TEST_TREE)) {
+				trees.add(remapIds(line, shard, fServerSockets.length));
+			} else {
+				reader.pushBack(line);
+				break;
+			}
+		}
+		return testCount;
+	}
+
+	private void relay(ShardReader reader, int shard) {
+		Map<String, Long> startTimes = new HashMap<>();
+		try {
+			List<String> message;
+			while ((message = reader.readMessage()) != null) {
+				String first = message.get(0);
+				if (first.startsWith(TEST_RUN_END)) {
+					continue;
+				}
+				if (first.startsWith(TEST_STOPPED)) {
+					fStopped = true;
+					continue;
+				}
+				message.set(0, remapIds(first, shard, fServerSockets.length));
+				recordDuration(message.get(0), startTimes);
+				synchronized (fWriter) {
+					message.forEach(fWriter::println);
+					fWriter.flush();
+				}
+			}
+		} catch (IOException e) {
+			// the runtime terminated
+		}
+	}
+
+	private void recordDuration(String line, Map<String, Long> startTimes) {
+		if (line.startsWith(TEST_START)) {
+			startTimes.put(line, System.currentTimeMillis());
+		} else if (line.startsWith(TEST_END)) {
+			Long startTime = startTimes.remove(TEST_START + line.substring(TEST_END.length()));
+			String className = getClassName(line);
+			if (startTime != null && className != null) {
+				fDurations.merge(className, System.currentTimeMillis() - startTime, Long::sum);
+			}
+		}
+	}
+
+	/**
+	 * @return the top level class of the test of the given start or end
+	 *         message, test names have the form <code>method(class)</code>
+	 */
+	private static String getClassName(String line) {
+		int open = line.lastIndexOf('(');
+		int close = line.lastIndexOf(')');
+		if (open < 0 || close < open) {
+			return null;
+		}
+		String className = line.substring(open + 1, close);
+		int nested = className.indexOf('$');
+		return nested < 0 ? className : className.substring(0, nested);
+	}
+
+	private void startStopForwarder() {
+		Thread forwarder = new Thread(() -> {
+			try {
+				BufferedReader reader = new BufferedReader(new InputStreamReader(fSocket.getInputStream(), StandardCharsets.UTF_8));
+				String line;
+				while ((line = reader.readLine()) != null) {
+					if (line.startsWith(STOP_COMMAND)) {
+						synchronized (fShardWriters) {
+							for (PrintWriter writer : fShardWriters) {
+								if (writer != null) {
+									writer.println(line);
+								}
+							}
+						}
+					}
+				}
+			} catch (IOException e) {
+				// the run is over
+			}
+		}, "JUnit Plug-in Test Shard Commands"); //$NON-NLS-1$
+		forwarder.setDaemon(true);
+		forwarder.start();
+	}
+
+	/**
+	 * Makes the test identifiers of the given message of the given runtime
+	 * unique across runtimes
+	 *
+	 * @param line the first line of the message
+	 * @param shard the index of the runtime
+	 * @param shardCount the number of runtimes
+	 * @return the line with the identifiers of the runtime replaced
+	 */
+	public static String remapIds(String line, int shard, int shardCount) {
+		String prefix = line.length() < TEST_TREE.length() ? line : line.substring(0, TEST_TREE.length());
+		if (!prefix.equals(TEST_TREE) && !prefix.equals(TEST_START) && !prefix.equals(TEST_END) && !prefix.equals(TEST_ERROR) && !prefix.equals(TEST_FAILED)) {
+			return line;
+		}
+		// fields are separated by commas, escaped commas are preceded by a backslash
+		List<Integer> separators = new ArrayList<>();
+		for (int i = prefix.length(); i < line.length(); i++) {
+			char c = line.charAt(i);
+			if (c == '\\') {
+				i++;
+			} else if (c == ',') {
+				separators.add(i);
+			}
+		}
+		separators.add(line.length());
+
+		StringBuilder result = new StringBuilder(line.length() + 8);
+		int start = prefix.length();
+		for (int field = 0; field < separators.size(); field++) {
+			int end = separators.get(field);
+			String value = line.substring(start, end);
+			boolean isId = field == 0 || (field == TREE_PARENT_FIELD && prefix.equals(TEST_TREE));
+			result.append(field == 0 ? prefix : ","); //$NON-NLS-1$
+			result.append(isId ? remapId(value, shard, shardCount) : value);
+			start = end + 1;
+		}
+		return result.toString();
+	}
+
+	private static String remapId(String id, int shard, int shardCount) {
+		try {
+			long value = Long.parseLong(id);
+			// negative identifiers denote no test, like the parent of top level tests
+			return value < 0 ? id : Long.toString(value * shardCount + shard);
+		} catch (NumberFormatException e) {
+			return (shard + 1) + "." + id; //$NON-NLS-1$
+		}
+	}
+
+	/**
+	 * Closes all connections and ports
+	 */
+	void close() {
+		for (ServerSocket serverSocket : fServerSockets) {
+			closeQuietly(serverSocket);
+		}
+		synchronized (fShardWriters) {
+			for (Socket socket : fShardSockets) {
+				closeQuietly(socket);
+			}
+		}
+		closeQuietly(fSocket);
+	}
+
+	private static void closeQuietly(AutoCloseable closeable) {
+		if (closeable != null) {
+			try {
+				closeable.close();
+			} catch (Exception e) {
+				// already closed
+			}
+		}
+	}
+}
@@ -0,0 +1,353 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.internal.launching.launcher;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.Status;
+import org.eclipse.core.runtime.SubMonitor;
+import org.eclipse.debug.core.ILaunch;
+import org.eclipse.debug.core.ILaunchConfiguration;
+import org.eclipse.debug.core.model.IProcess;
+import org.eclipse.jdt.launching.IVMRunner;
+import org.eclipse.jdt.launching.VMRunnerConfiguration;
+import org.eclipse.pde.internal.core.util.CoreUtility;
+import org.eclipse.pde.internal.launching.PDELaunchingPlugin;
+import org.eclipse.pde.launching.IPDELauncherConstants;
+
+/**
+ * Runs the test classes of a JUnit plug-in launch in several runtimes at once.
+ * <p>
+ * The test classes listed in the test names file of the launch are split
+ * across the runtimes, balancing the time the classes took in previous runs.
+ * Each runtime gets its own workspace and configuration area and reports to a
+ * {@link TestShardMerger} which merges the reports into a single test run.
+ * Launches of a single test class are run in one runtime.
+ * </p>
+ */
+public class TestShardingVMRunner implements IVMRunner {
+
+	private static final String DURATIONS_FILE = "junit_test_durations.properties"; //$NON-NLS-1$
+
+	private static final Object DURATIONS_LOCK = new Object();
+
+	private static final String P2_DATA_AREA = "eclipse.p2.data.area"; //$NON-NLS-1$
+
+	private static final String CONFIG_DIR = "@config.dir"; //$NON-NLS-1$
+
+	private final IVMRunner fRunner;
+	private final ILaunchConfiguration fConfiguration;
+	private final int fShardCount;
+
+	/**
+	 * @param runner the runner launching each runtime
+	 * @param configuration the launch configuration
+	 * @param shardCount the maximum number of runtimes
+	 */
+	public TestShardingVMRunner(IVMRunner runner, ILaunchConfiguration configuration, int shardCount) {
+		fRunner = runner;
+		fConfiguration = configuration;
+		fShardCount = shardCount;
+	}
+
+	@Override
+	public void run(VMRunnerConfiguration configuration, ILaunch launch, IProgressMonitor monitor) throws CoreException {
+		String[] arguments = configuration.getProgramArguments();
+		int portIndex = indexOf(arguments, "-port"); //$NON-NLS-1$
+		int testNamesIndex = indexOf(arguments, "-testNameFile"); //$NON-NLS-1$
+		List<String> testClasses = portIndex < 0 || testNamesIndex < 0 ? List.of() : readTestClasses(arguments[testNamesIndex + 1]);
+		int shardCount = Math.min(fShardCount, testClasses.size());
+		if (shardCount < 2) {
+			fRunner.run(configuration, launch, monitor);
+			return;
+		}
+
+		SubMonitor subMonitor = SubMonitor.convert(monitor, shardCount);
+		List<List<String>> shards = partition(testClasses, shardCount, loadDurations());
+		TestShardMerger merger;
+		try {
+			merger = new TestShardMerger(Integer.parseInt(arguments[portIndex + 1]), shardCount, TestShardingVMRunner::saveDurations);
+		} catch (IOException e) {
+			throw new CoreException(Status.error(e.getMessage(), e));
+		}
+		boolean started = false;
+		try {
+			for (int i = 0; i < shardCount; i++) {
+				String[] shardArguments = arguments.clone();
+				shardArguments[portIndex + 1] = Integer.toString(merger.getPort(i));
+				shardArguments[testNamesIndex + 1] = writeTestClasses(shards.get(i));
+				relocateWorkspace(shardArguments, i);
+				relocateConfiguration(shardArguments, configuration.getVMArguments(), i);
+				configuration.setProgramArguments(shardArguments);
+
+				int processCount = launch.getProcesses().length;
+				fRunner.run(configuration, launch, subMonitor.split(1));
+				IProcess[] processes = launch.getProcesses();
+				merger.setProcess(i, processes.length > processCount ? processes[processes.length - 1] : null);
+			}
+			merger.start();
+			started = true;
+		} catch (IOException e) {
+			throw new CoreException(Status.error(e.getMessage(), e));
+		} finally {
+			configuration.setProgramArguments(arguments);
+			if (!started) {
+				merger.close();
+			}
+		}
+	}
+
+	/**
+	 * Shows the command line of the launch as it is without sharding, the
+	 * runtimes of the shards only differ by their ports, test classes,
+	 * workspaces and configuration areas.
+	 */
+	@Override
+	public String showCommandLine(VMRunnerConfiguration configuration, ILaunch launch, IProgressMonitor monitor) throws CoreException {
+		return fRunner.showCommandLine(configuration, launch, monitor);
+	}
+
+	/**
+	 * Splits the given test classes into the given number of shards taking
+	 * about the same time, the classes without known duration are assumed to
+	 * take the average time. The classes of a shard are in the given order.
+	 *
+	 * @param testClasses the names of the test classes
+	 * @param shardCount the number of shards
+	 * @param durations the known durations of test classes, by name
+	 * @return the names of the test classes of each shard
+	 */
+	public static List<List<String>> partition(List<String> testClasses, int shardCount, Map<String, Long> durations) {
+		long total = 0;
+		int known = 0;
+		for (String testClass : testClasses) {
+			Long duration = durations.get(testClass);
+			if (duration != null) {
+				total += duration;
+				known++;
+			}
+		}
+		long average = known == 0 ? 1 : Math.max(1, total / known);
+
+		// assign the longest classes first, each to the shard that ends first
+		List<String> sorted = new ArrayList<>(testClasses);
+		sorted.sort(Comparator.comparingLong((String testClass) -> durations.getOrDefault(testClass, average)).reversed());
+		List<List<String>> shards = new ArrayList<>(shardCount);
+		long[] loads = new long[shardCount];
+		for (int i = 0; i < shardCount; i++) {
+			shards.add(new ArrayList<>());
+		}
+		for (String testClass : sorted) {
+			int shard = 0;
+			for (int i = 1; i < shardCount; i++) {
+				if (loads[i] < loads[shard]) {
+					shard = i;
+				}
+			}
+			shards.get(shard).add(testClass);
+			loads[shard] += durations.getOrDefault(testClass, average);
+		}
+
+		Map<String, Integer> order = new HashMap<>();
+		for (int i = 0; i < testClasses.size(); i++) {
+			order.putIfAbsent(testClasses.get(i), i);
+		}
+		for (List<String> shard : shards) {
+			shard.sort(Comparator.comparing(order::get));
+		}
+		return shards;
+	}
+
+	private static int indexOf(String[] arguments, String name) {
+		for (int i = 0; i < arguments.length - 1; i++) {
+			if (name.equals(arguments[i])) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	private static List<String> readTestClasses(String testNamesFile) throws CoreException {
+		try {
+			return Files.readAllLines(Path.of(testNamesFile), StandardCharsets.UTF_8).stream().map(String::trim).filter(name -> !name.isEmpty()).toList();
+		} catch (IOException e) {
+			throw new CoreException(Status.error(e.getMessage(), e));
+		}
+	}
+
+	private static String writeTestClasses(List<String> testClasses) throws IOException {
+		File file = File.createTempFile("testNames", ".txt"); //$NON-NLS-1$ //$NON-NLS-2$
+		file.deleteOnExit();
+		Files.write(file.toPath(), testClasses, StandardCharsets.UTF_8);
+		return file.getAbsolutePath();
+	}
+
+	/**
+	 * Points the given arguments to a workspace of their own next to the
+	 * workspace of the launch, cleared if the workspace of the launch is
+	 */
+	private void relocateWorkspace(String[] arguments, int shard) throws CoreException {
+		int index = indexOf(arguments, "-data"); //$NON-NLS-1$
+		if (index < 0) {
+			return;
+		}
+		File workspace = new File(new File(arguments[index + 1]).getPath() + "_shard" + (shard + 1)); //$NON-NLS-1$
+		if (fConfiguration.getAttribute(IPDELauncherConstants.DOCLEAR, false)) {
+			CoreUtility.deleteContent(workspace);
+		}
+		arguments[index + 1] = workspace.getPath();
+	}
+
+	/**
+	 * Points the given program arguments to a configuration area of their own
+	 * within the configuration area of the launch, with the same configuration
+	 * and p2 data area. A p2 data area relative to the configuration area is
+	 * copied along, the p2 data area given by the VM arguments taking
+	 * precedence over the one of the configuration.
+	 *
+	 * @param arguments the program arguments of the launch, which are updated
+	 * @param vmArguments the VM arguments of the launch
+	 * @param shard the index of the shard
+	 * @throws IOException if the configuration area cannot be copied
+	 */
+	public static void relocateConfiguration(String[] arguments, String[] vmArguments, int shard) throws IOException {
+		int index = indexOf(arguments, "-configuration"); //$NON-NLS-1$
+		if (index < 0) {
+			return;
+		}
+		String location = arguments[index + 1];
+		File configDir = new File(location.startsWith("file:") ? location.substring(5) : location); //$NON-NLS-1$
+		File shardDir = new File(configDir, "shard" + (shard + 1)); //$NON-NLS-1$
+		shardDir.mkdirs();
+		File configIni = new File(configDir, "config.ini"); //$NON-NLS-1$
+		Properties configuration = new Properties();
+		if (configIni.isFile()) {
+			Files.copy(configIni.toPath(), new File(shardDir, configIni.getName()).toPath(), StandardCopyOption.REPLACE_EXISTING);
+			try (InputStream stream = Files.newInputStream(configIni.toPath())) {
+				configuration.load(stream);
+			}
+		}
+		String p2DataArea = configuration.getProperty(P2_DATA_AREA);
+		if (vmArguments != null) {
+			for (String vmArgument : vmArguments) {
+				if (vmArgument.startsWith("-D" + P2_DATA_AREA + '=')) { //$NON-NLS-1$
+					p2DataArea = vmArgument.substring(P2_DATA_AREA.length() + 3);
+				}
+			}
+		}
+		if (p2DataArea != null && p2DataArea.startsWith(CONFIG_DIR)) {
+			String relativePath = p2DataArea.substring(CONFIG_DIR.length()).replace('\\', '/');
+			while (relativePath.startsWith("/")) { //$NON-NLS-1$
+				relativePath = relativePath.substring(1);
+			}
+			Path source = configDir.toPath().resolve(relativePath);
+			if (!relativePath.isEmpty() && Files.isDirectory(source)) {
+				copyDirectory(source, shardDir.toPath().resolve(relativePath));
+			}
+		}
+		arguments[index + 1] = "file:" + IPath.fromOSString(shardDir.getPath()).addTrailingSeparator().toString(); //$NON-NLS-1$
+	}
+
+	/**
+	 * Copies the given directory with its content, replacing existing files
+	 */
+	private static void copyDirectory(Path source, Path destination) throws IOException {
+		Files.walkFileTree(source, new SimpleFileVisitor<>() {
+			@Override
+			public FileVisitResult preVisitDirectory(Path dir, BasicFileAttributes attrs) throws IOException {
+				Files.createDirectories(destination.resolve(source.relativize(dir)));
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult visitFile(Path file, BasicFileAttributes attrs) throws IOException {
+				Files.copy(file, destination.resolve(source.relativize(file)), StandardCopyOption.REPLACE_EXISTING);
+				return FileVisitResult.CONTINUE;
+			}
+		});
+	}
+
+	private static File getDurationsFile() {
+		return PDELaunchingPlugin.getDefault().getStateLocation().append(DURATIONS_FILE).toFile();
+	}
+
+	private static Properties readDurations() throws IOException {
+		Properties properties = new Properties();
+		File file = getDurationsFile();
+		if (file.isFile()) {
+			try (InputStream stream = Files.newInputStream(file.toPath())) {
+				properties.load(stream);
+			}
+		}
+		return properties;
+	}
+
+	/**
+	 * @return the durations of the test classes in previous runs, by name
+	 */
+	private static Map<String, Long> loadDurations() {
+		Map<String, Long> durations = new HashMap<>();
+		Properties properties;
+		synchronized (DURATIONS_LOCK) {
+			try {
+				properties = readDurations();
+			} catch (IOException e) {
+				PDELaunchingPlugin.log(e);
+				return durations;
+			}
+		}
+		for (String name : properties.stringPropertyNames()) {
+			try {
+				durations.put(name, Long.valueOf(properties.getProperty(name)));
+			} catch (NumberFormatException e) {
+				// ignore the damaged entry
+			}
+		}
+		return durations;
+	}
+
+	private static void saveDurations(Map<String, Long> durations) {
+		if (durations.isEmpty()) {
+			return;
+		}
+		synchronized (DURATIONS_LOCK) {
+			try {
+				Properties properties = readDurations();
+				durations.forEach((name, duration) -> properties.setProperty(name, Long.toString(duration)));
+				try (OutputStream stream = Files.newOutputStream(getDurationsFile().toPath())) {
+					properties.store(stream, null);
+				}
+			} catch (IOException e) {
+				PDELaunchingPlugin.log(e);
+			}
+		}
+	}
+}
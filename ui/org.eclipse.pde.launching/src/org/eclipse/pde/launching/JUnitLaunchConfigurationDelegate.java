@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2006, 2022 IBM Corporation and others.
+ * Copyright (c) 2006, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -45,6 +45,7 @@ import org.eclipse.debug.core.DebugPlugin;
 import org.eclipse.debug.core.ILaunch;
 import org.eclipse.debug.core.ILaunchConfiguration;
 import org.eclipse.debug.core.ILaunchConfigurationWorkingCopy;
+import org.eclipse.debug.core.ILaunchManager;
 import org.eclipse.jdt.core.IClasspathEntry;
 import org.eclipse.jdt.core.IJavaProject;
 import org.eclipse.jdt.internal.junit.launcher.ITestKind;
@@ -79,6 +80,7 @@ import org.eclipse.pde.internal.launching.launcher.LaunchConfigurationHelper;
 import org.eclipse.pde.internal.launching.launcher.LaunchPluginValidator;
 import org.eclipse.pde.internal.launching.launcher.LauncherUtils;
 import org.eclipse.pde.internal.launching.launcher.RequirementHelper;
+import org.eclipse.pde.internal.launching.launcher.TestShardingVMRunner;
 import org.eclipse.pde.internal.launching.launcher.VMHelper;
 
 /**
@@ -131,7 +133,13 @@ public class JUnitLaunchConfigurationDelegate extends org.eclipse.jdt.junit.laun
 	@Override
 	public IVMRunner getVMRunner(ILaunchConfiguration configuration, String mode) throws CoreException {
 		IVMInstall launcher = VMHelper.createLauncher(configuration);
-		return launcher.getVMRunner(mode);
+		IVMRunner runner = launcher.getVMRunner(mode);
+		// split the tests across runtimes when run, debugging several runtimes at once is of little use
+		int shards = configuration.getAttribute(IPDEConstants.JUNIT_SHARDS, 1);
+		if (shards > 1 && ILaunchManager.RUN_MODE.equals(mode)) {
+			return new TestShardingVMRunner(runner, configuration, shards);
+		}
+		return runner;
 	}
 
 	@Override
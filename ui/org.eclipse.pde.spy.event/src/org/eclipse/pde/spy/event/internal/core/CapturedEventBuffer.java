@@ -0,0 +1,97 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.spy.event.internal.core;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import org.eclipse.pde.spy.event.internal.model.CapturedEvent;
+
+/**
+ * Fixed capacity ring buffer of captured events. Any number of threads can add
+ * events without locking or waiting; when the buffer is full the oldest events
+ * are overwritten. A single reader drains the events added since its last
+ * drain, skipping the ones overwritten in the meantime.
+ */
+public class CapturedEventBuffer {
+
+	private static final class Slot {
+		final long sequence;
+
+		final CapturedEvent event;
+
+		Slot(long sequence, CapturedEvent event) {
+			this.sequence = sequence;
+			this.event = event;
+		}
+	}
+
+	private final AtomicReferenceArray<Slot> slots;
+
+	private final AtomicLong nextSequence = new AtomicLong();
+
+	private long readSequence;
+
+	public CapturedEventBuffer(int capacity) {
+		if (capacity <= 0) {
+			throw new IllegalArgumentException("capacity must be positive"); //$NON-NLS-1$
+		}
+		slots = new AtomicReferenceArray<>(capacity);
+	}
+
+	public int getCapacity() {
+		return slots.length();
+	}
+
+	public void add(CapturedEvent event) {
+		long sequence = nextSequence.getAndIncrement();
+		slots.set((int) (sequence % slots.length()), new Slot(sequence, event));
+	}
+
+	/**
+	 * Removes the events added since the last drain. Must only be called by one
+	 * thread at a time.
+	 *
+	 * @return the events, oldest first
+	 */
+	public List<CapturedEvent> drain() {
+		long end = nextSequence.get();
+		long start = Math.max(readSequence, end - slots.length());
+		List<CapturedEvent> events = new ArrayList<>((int) (end - start));
+		for (long sequence = start; sequence < end; sequence++) {
+			Slot slot = slots.get((int) (sequence % slots.length()));
+			if (slot != null && slot.sequence == sequence) {
+				events.add(slot.event);
+			} else if (slot == null || slot.sequence < sequence) {
+				// the event is not published yet, read it with the next drain
+				end = sequence;
+				break;
+			}
+			// otherwise the event was overwritten since
+		}
+		readSequence = end;
+		return events;
+	}
+
+	/**
+	 * Removes all events. Must not be called while events are added or drained.
+	 */
+	public void clear() {
+		for (int i = 0; i < slots.length(); i++) {
+			slots.set(i, null);
+		}
+		nextSequence.set(0);
+		readSequence = 0;
+	}
+}
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2022 IBM Corporation and others.
+ * Copyright (c) 2013, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -15,7 +15,12 @@ package org.eclipse.pde.spy.event.internal.core;
 
 import java.util.Collection;
 import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.eclipse.e4.core.services.events.IEventBroker;
 import org.eclipse.e4.ui.internal.workbench.UIEventPublisher;
@@ -23,8 +28,22 @@ import org.eclipse.e4.ui.services.internal.events.EventBroker;
 import org.eclipse.e4.ui.workbench.UIEvents;
 import org.eclipse.pde.spy.event.internal.model.CapturedEvent;
 import org.eclipse.pde.spy.event.internal.model.CapturedEventFilter;
+import org.eclipse.pde.spy.event.internal.model.ItemToFilter;
 import org.osgi.service.event.EventHandler;
 
+/**
+ * Captures the events of a topic into a bounded {@link CapturedEventBuffer}.
+ * Events are delivered to the {@link NewEventListener} when
+ * {@link #deliverEvents()} is called, so the event broker never waits for the
+ * listener.
+ * <p>
+ * Of the events matching the filters, the first {@link #MAX_EVENTS_PER_SECOND}
+ * events of each topic in a second are captured, after that only one in
+ * {@link #SAMPLING_INTERVAL}, so high-frequency topics cannot flood the
+ * buffer. The publisher of an event is only looked up if the event is captured
+ * or the filters need it.
+ * </p>
+ */
 @SuppressWarnings("restriction")
 public class EventMonitor {
 
@@ -32,10 +51,48 @@ public class EventMonitor {
 		void newEvent(CapturedEvent event);
 	}
 
+	/**
+	 * Maximum number of events kept until they are delivered
+	 */
+	public static final int BUFFER_CAPACITY = 5000;
+
+	/**
+	 * Number of events of a topic captured per second before sampling
+	 */
+	public static final int MAX_EVENTS_PER_SECOND = 50;
+
+	/**
+	 * One in this many events of a topic is captured once
+	 * {@link #MAX_EVENTS_PER_SECOND} is exceeded
+	 */
+	public static final int SAMPLING_INTERVAL = 100;
+
+	private static final long WINDOW_NANOS = TimeUnit.SECONDS.toNanos(1);
+
 	private static Set<Integer> EVENT_HELPER_CLASSES = Set.of(UIEvents.class.getName().hashCode(),
 			UIEventPublisher.class.getName().hashCode());
 
-	private Collection<CapturedEventFilter> filters;
+	/**
+	 * Rate of the events of one topic in the current one second window
+	 */
+	private static final class TopicRate {
+		private volatile long windowStart = System.nanoTime();
+
+		private final AtomicInteger count = new AtomicInteger();
+
+		boolean accept() {
+			long now = System.nanoTime();
+			if (now - windowStart >= WINDOW_NANOS) {
+				// concurrent events may reset the window twice, which only lets a few more events through
+				windowStart = now;
+				count.set(0);
+			}
+			int n = count.incrementAndGet();
+			return n <= MAX_EVENTS_PER_SECOND || (n - MAX_EVENTS_PER_SECOND) % SAMPLING_INTERVAL == 0;
+		}
+	}
+
+	private volatile Collection<CapturedEventFilter> filters;
 
 	private final IEventBroker eventBroker;
 
@@ -43,14 +100,19 @@ public class EventMonitor {
 
 	private CapturedEventFilterMatcher eventFilterMatcher;
 
-	private final EventHandler eventHandler = event -> {
-		if (listener == null) {
-			return;
-		}
+	private final CapturedEventBuffer buffer = new CapturedEventBuffer(BUFFER_CAPACITY);
+
+	private final Map<String, TopicRate> topicRates = new ConcurrentHashMap<>();
+
+	private volatile boolean filtersOnPublisher;
 
+	private final EventHandler eventHandler = event -> {
+		String topic = event.getTopic();
 		CapturedEvent capturedEvent = new CapturedEvent();
-		capturedEvent.setTopic(event.getTopic());
-		capturedEvent.setPublisherClassName(getPublisherClassName());
+		capturedEvent.setTopic(topic);
+		if (filtersOnPublisher) {
+			capturedEvent.setPublisherClassName(getPublisherClassName());
+		}
 
 		for (String propertyName : event.getPropertyNames()) {
 			Object value = event.getProperty(propertyName);
@@ -60,9 +122,15 @@ public class EventMonitor {
 			}
 		}
 
-		if (shouldBeCaptured(capturedEvent)) {
-			listener.newEvent(capturedEvent);
+		if (!shouldBeCaptured(capturedEvent) || !topicRates.computeIfAbsent(topic, t -> new TopicRate()).accept()) {
+			return;
+		}
+
+		// walking the stack is expensive, only do it for the events captured
+		if (!filtersOnPublisher) {
+			capturedEvent.setPublisherClassName(getPublisherClassName());
 		}
+		buffer.add(capturedEvent);
 	};
 
 	public EventMonitor(IEventBroker eventBroker) {
@@ -71,6 +139,10 @@ public class EventMonitor {
 
 	public void start(String baseTopic, Collection<CapturedEventFilter> filters) {
 		this.filters = filters;
+		filtersOnPublisher = filters != null
+				&& filters.stream().anyMatch(filter -> filter.getItemToFilter() == ItemToFilter.Publisher);
+		buffer.clear();
+		topicRates.clear();
 		eventBroker.subscribe(baseTopic, eventHandler);
 	}
 
@@ -82,6 +154,23 @@ public class EventMonitor {
 		this.listener = listener;
 	}
 
+	/**
+	 * Delivers the events captured since the last delivery to the listener, in
+	 * the calling thread. Events overwritten in the buffer in the meantime are
+	 * lost.
+	 *
+	 * @return the number of events delivered
+	 */
+	public int deliverEvents() {
+		List<CapturedEvent> events = buffer.drain();
+		if (listener != null) {
+			for (CapturedEvent event : events) {
+				listener.newEvent(event);
+			}
+		}
+		return events.size();
+	}
+
 	private boolean shouldBeCaptured(CapturedEvent event) {
 		if (filters != null) {
 			Iterator<CapturedEventFilter> iter = filters.iterator();
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2022 IBM Corporation and others.
+ * Copyright (c) 2013, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -14,10 +14,14 @@
 package org.eclipse.pde.spy.event.internal.ui;
 
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 import org.eclipse.core.databinding.beans.typed.PojoProperties;
+import org.eclipse.core.databinding.observable.Diffs;
 import org.eclipse.core.databinding.observable.IObservable;
 import org.eclipse.core.databinding.observable.list.IObservableList;
+import org.eclipse.core.databinding.observable.list.ListDiffEntry;
 import org.eclipse.core.databinding.observable.list.WritableList;
 import org.eclipse.core.databinding.observable.map.IObservableMap;
 import org.eclipse.core.databinding.observable.masterdetail.IObservableFactory;
@@ -59,7 +63,7 @@ import org.eclipse.swt.widgets.TreeItem;
 public class CapturedEventTree extends TreeViewer {
 	private ICapturedEventTreeListener listener;
 
-	private final WritableList<CapturedEvent> capturedEvents;
+	private final CapturedEventList capturedEvents;
 
 	private final Clipboard clipboard;
 
@@ -101,7 +105,7 @@ public class CapturedEventTree extends TreeViewer {
 				new String[] { Messages.CapturedEventTree_Name, Messages.CapturedEventTree_Param1, Messages.CapturedEventTree_Param2 });
 		setLabelProvider(new ObservableMapLabelProvider(attributes));
 
-		capturedEvents = new WritableList<>(new ArrayList<>(), CapturedEvent.class);
+		capturedEvents = new CapturedEventList();
 		setInput(capturedEvents);
 
 		clipboard = new Clipboard(getTree().getDisplay());
@@ -353,6 +357,18 @@ public class CapturedEventTree extends TreeViewer {
 		capturedEvents.add(event);
 	}
 
+	/**
+	 * Adds the given events, then removes the oldest events so at most the
+	 * given number of events remain.
+	 */
+	public void addEvents(Collection<CapturedEvent> events, int maxEvents) {
+		capturedEvents.addAll(events);
+		int excess = capturedEvents.size() - maxEvents;
+		if (excess > 0) {
+			capturedEvents.removeFirst(excess);
+		}
+	}
+
 	public void setListener(ICapturedEventTreeListener listener) {
 		this.listener = listener;
 	}
@@ -361,6 +377,31 @@ public class CapturedEventTree extends TreeViewer {
 		capturedEvents.clear();
 	}
 
+	/**
+	 * List of the captured events, which can remove its oldest events in one
+	 * change
+	 */
+	private static final class CapturedEventList extends WritableList<CapturedEvent> {
+		CapturedEventList() {
+			super(new ArrayList<>(), CapturedEvent.class);
+		}
+
+		/**
+		 * Removes the given number of events from the start of the list.
+		 */
+		void removeFirst(int count) {
+			checkRealm();
+			List<CapturedEvent> removed = wrappedList.subList(0, count);
+			List<ListDiffEntry<CapturedEvent>> entries = new ArrayList<>(count);
+			for (CapturedEvent event : removed) {
+				// each entry applies to the list left by the previous ones
+				entries.add(Diffs.createListDiffEntry(0, false, event));
+			}
+			removed.clear();
+			fireListChange(Diffs.createListDiff(entries));
+		}
+	}
+
 	private static class TreeItemForeground {
 		private final Color paramColor;
 
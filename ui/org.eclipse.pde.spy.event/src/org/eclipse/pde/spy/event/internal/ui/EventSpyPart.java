@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2013, 2022 IBM Corporation and others.
+ * Copyright (c) 2013, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -17,7 +17,9 @@
  *******************************************************************************/
 package org.eclipse.pde.spy.event.internal.ui;
 
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
 
 import org.eclipse.e4.core.contexts.IEclipseContext;
 import org.eclipse.e4.core.di.annotations.Optional;
@@ -41,6 +43,11 @@ import jakarta.inject.Inject;
 
 public class EventSpyPart implements EventMonitor.NewEventListener {
 
+	/**
+	 * Milliseconds between deliveries of the captured events to the tree
+	 */
+	private static final int DELIVERY_INTERVAL = 250;
+
 	private static final String[] SHOW_FILTER_LINK_TEXT = new String[] { Messages.EventSpyPart_ShowFilters, Messages.EventSpyPart_HideFilters };
 
 	private CapturedEventTree capturedEventTree;
@@ -53,6 +60,10 @@ public class EventSpyPart implements EventMonitor.NewEventListener {
 
 	private ToggleLink showFiltersLink;
 
+	private final List<CapturedEvent> newEvents = new ArrayList<>();
+
+	private final Runnable eventDelivery = this::deliverEvents;
+
 	@Inject
 	private LoggerWrapper logger;
 
@@ -95,6 +106,8 @@ public class EventSpyPart implements EventMonitor.NewEventListener {
 
 	@PreDestroy
 	private void saveDialogMemento() {
+		stopCaptureEvents();
+
 		SpyPartMemento memento = null;
 		String baseTopic = capturedEventFilters.getBaseTopic();
 		Collection<CapturedEventFilter> filters = capturedEventFilters.getFilters();
@@ -171,19 +184,46 @@ public class EventSpyPart implements EventMonitor.NewEventListener {
 			eventMonitor.setNewEventListener(this);
 		}
 		eventMonitor.start(capturedEventFilters.getBaseTopic(), capturedEventFilters.getFilters());
+		outer.getDisplay().timerExec(DELIVERY_INTERVAL, eventDelivery);
 		// getShell().setText(DIALOG_TITLE + " - capturing...");
 	}
 
 	public void stopCaptureEvents() {
 		if (eventMonitor != null) {
 			eventMonitor.stop();
+			if (!outer.isDisposed()) {
+				outer.getDisplay().timerExec(-1, eventDelivery);
+				deliverEvents(false);
+			}
 		}
 		// getShell().setText(DIALOG_TITLE);
 	}
 
+	private void deliverEvents() {
+		deliverEvents(true);
+	}
+
+	/**
+	 * Moves the events captured since the last delivery to the tree, in one
+	 * update
+	 */
+	private void deliverEvents(boolean reschedule) {
+		if (capturedEventTree.getControl().isDisposed()) {
+			return;
+		}
+		eventMonitor.deliverEvents();
+		if (!newEvents.isEmpty()) {
+			capturedEventTree.addEvents(newEvents, EventMonitor.BUFFER_CAPACITY);
+			newEvents.clear();
+		}
+		if (reschedule) {
+			outer.getDisplay().timerExec(DELIVERY_INTERVAL, eventDelivery);
+		}
+	}
+
 	@Override
 	public void newEvent(CapturedEvent event) {
-		capturedEventTree.addEvent(event);
+		newEvents.add(event);
 	}
 
 	@SuppressWarnings("restriction")
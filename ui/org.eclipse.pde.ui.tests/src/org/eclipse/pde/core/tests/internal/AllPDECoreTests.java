@@ -1,5 +1,7 @@
 package org.eclipse.pde.core.tests.internal;
 
+import org.eclipse.pde.core.tests.internal.schema.SchemaCacheTest;
+import org.eclipse.pde.core.tests.internal.search.PluginSearchIndexTest;
 import org.junit.runner.RunWith;
 import org.junit.runners.Suite;
 import org.junit.runners.Suite.SuiteClasses;
@@ -9,6 +11,13 @@ import org.junit.runners.Suite.SuiteClasses;
 	DependencyManagerTest.class, //
 	WorkspaceModelManagerTest.class, //
 	WorkspaceProductModelManagerTest.class, //
+	SchemaCacheTest.class, //
+	PDEExtensionRegistryTest.class, //
+	SourceLocationManagerTest.class, //
+	PluginSearchIndexTest.class, //
+	FeatureTableTest.class, //
+	FeatureModelManagerTest.class, //
+	ExternalFeatureModelManagerTest.class, //
 })
 public class AllPDECoreTests {
 }
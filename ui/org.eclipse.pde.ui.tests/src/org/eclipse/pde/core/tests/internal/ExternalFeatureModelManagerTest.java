@@ -0,0 +1,80 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.pde.core.target.TargetFeature;
+import org.eclipse.pde.internal.core.ExternalFeatureModelManager;
+import org.eclipse.pde.internal.core.PluginPathFinder;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests that the features of a platform are read in the order they are found,
+ * whether their manifests are parsed in parallel or not.
+ */
+public class ExternalFeatureModelManagerTest {
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testFewFeatures() throws Exception {
+		assertFeaturesInOrder(3);
+	}
+
+	@Test
+	public void testManyFeatures() throws Exception {
+		// enough features to be parsed in parallel
+		assertFeaturesInOrder(40);
+	}
+
+	private void assertFeaturesInOrder(int count) throws Exception {
+		Path home = folder.newFolder("platform").toPath();
+		Path features = home.resolve("features");
+		for (int i = 0; i < count; i++) {
+			// features of different sizes take different times to parse
+			int plugins = i % 2 == 0 ? 500 : 0;
+			FeatureModelManagerTest.writeFeature(features.resolve("feature" + i), "feature" + i, "1.0.0", plugins);
+		}
+		// two features with the same id and version
+		FeatureModelManagerTest.writeFeature(features.resolve("duplicate.a"), "duplicate", "1.0.0", 500);
+		FeatureModelManagerTest.writeFeature(features.resolve("duplicate.b"), "duplicate", "1.0.0", 0);
+
+		// the duplicate is listed at the position of the first one found, with
+		// the location of the last one
+		Map<String, String> expected = new LinkedHashMap<>();
+		for (URL featurePath : PluginPathFinder.getFeaturePaths(home.toString())) {
+			String name = new File(featurePath.getFile()).getName();
+			expected.put(name.startsWith("duplicate") ? "duplicate" : name, name);
+		}
+		assertEquals(count + 1, expected.size());
+
+		TargetFeature[] result = ExternalFeatureModelManager.createFeatures(home.toString(), new ArrayList<>(), null);
+		assertEquals(count + 1, result.length);
+		Map<String, String> actual = new LinkedHashMap<>();
+		for (TargetFeature feature : result) {
+			actual.put(feature.getId(), new File(feature.getLocation()).getName());
+		}
+		assertEquals(List.copyOf(expected.entrySet()), List.copyOf(actual.entrySet()));
+	}
+}
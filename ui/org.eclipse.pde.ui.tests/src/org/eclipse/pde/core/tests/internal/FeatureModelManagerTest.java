@@ -0,0 +1,113 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.pde.internal.core.FeatureModelManager;
+import org.eclipse.pde.internal.core.IFeatureModelDelta;
+import org.eclipse.pde.internal.core.IFeatureModelListener;
+import org.eclipse.pde.internal.core.PDECore;
+import org.eclipse.pde.internal.core.ifeature.IFeatureModel;
+import org.eclipse.pde.ui.tests.util.ProjectUtils;
+import org.eclipse.pde.ui.tests.util.TargetPlatformUtil;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.TestRule;
+
+/**
+ * Tests how the {@link FeatureModelManager} activates workspace and target
+ * features with the same id and version.
+ */
+public class FeatureModelManagerTest {
+
+	private static final String ID = "feature.manager.test";
+	private static final String VERSION = "1.0.0";
+
+	@ClassRule
+	public static final TestRule RESTORE_TARGET_DEFINITION = TargetPlatformUtil.RESTORE_CURRENT_TARGET_DEFINITION_AFTER;
+	@ClassRule
+	public static final TestRule CLEAR_WORKSPACE = ProjectUtils.DELETE_ALL_WORKSPACE_PROJECTS_BEFORE_AND_AFTER;
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testWorkspaceFeatureReplacesTargetFeature() throws Exception {
+		Path home = folder.newFolder("target").toPath();
+		writeFeature(home.resolve("features").resolve(ID + "_" + VERSION), ID, VERSION, 0);
+		TargetPlatformUtil.createAndSetTarget("features",
+				List.of(TargetPlatformUtil.TPS.newDirectoryLocation(home.toString())), null);
+
+		FeatureModelManager manager = PDECore.getDefault().getFeatureModelManager();
+		IFeatureModel external = manager.findFeatureModel(ID, VERSION);
+		assertNotNull(external);
+		assertNull(external.getUnderlyingResource());
+
+		List<IFeatureModelDelta> deltas = new CopyOnWriteArrayList<>();
+		IFeatureModelListener listener = deltas::add;
+		manager.addFeatureModelListener(listener);
+		try {
+			ProjectUtils.createFeatureProject(ID, VERSION, feature -> {
+			});
+			IFeatureModel workspace = manager.findFeatureModel(ID, VERSION);
+			IResource resource = workspace.getUnderlyingResource();
+			assertNotNull(resource);
+			assertArrayEquals(new IFeatureModel[] { workspace }, manager.findFeatureModels(ID));
+			// both tables are updated by the event adding the workspace feature
+			assertTrue(deltas.stream().anyMatch(
+					delta -> contains(delta.getAdded(), workspace) && contains(delta.getRemoved(), external)));
+
+			deltas.clear();
+			resource.getProject().delete(true, true, null);
+			assertSame(external, manager.findFeatureModel(ID, VERSION));
+			assertArrayEquals(new IFeatureModel[] { external }, manager.findFeatureModels(ID));
+			assertTrue(deltas.stream().anyMatch(
+					delta -> contains(delta.getAdded(), external) && contains(delta.getRemoved(), workspace)));
+		} finally {
+			manager.removeFeatureModelListener(listener);
+		}
+	}
+
+	/**
+	 * Writes the manifest of a feature including the given number of plug-ins
+	 */
+	static void writeFeature(Path directory, String id, String version, int plugins) throws IOException {
+		StringBuilder xml = new StringBuilder();
+		xml.append("<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n");
+		xml.append("<feature id=\"" + id + "\" label=\"" + directory.getFileName() + "\" version=\"" + version + "\">\n");
+		for (int i = 0; i < plugins; i++) {
+			xml.append("<plugin id=\"" + id + ".plugin" + i + "\" version=\"1.0.0\"/>\n");
+		}
+		xml.append("</feature>\n");
+		Files.createDirectories(directory);
+		Files.writeString(directory.resolve("feature.xml"), xml);
+	}
+
+	private static boolean contains(IFeatureModel[] models, IFeatureModel model) {
+		return Arrays.asList(models).contains(model);
+	}
+}
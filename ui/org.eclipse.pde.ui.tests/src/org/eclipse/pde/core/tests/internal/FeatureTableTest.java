@@ -0,0 +1,133 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertThrows;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import org.eclipse.pde.internal.core.FeatureTable;
+import org.eclipse.pde.internal.core.ifeature.IFeature;
+import org.eclipse.pde.internal.core.ifeature.IFeatureModel;
+import org.junit.After;
+import org.junit.Test;
+
+/**
+ * Tests that the lookups of a {@link FeatureTable} see the state published by
+ * the last completed modification, without waiting for a running one.
+ */
+public class FeatureTableTest {
+
+	private final ExecutorService reader = Executors.newSingleThreadExecutor();
+
+	private final IFeatureModel a1 = model("a", "1.0.0");
+	private final IFeatureModel a2 = model("a", "2.0.0");
+	private final IFeatureModel b1 = model("b", "1.0.0");
+
+	@After
+	public void tearDown() {
+		reader.shutdownNow();
+	}
+
+	@Test
+	public void testLookupsDuringUpdate() {
+		FeatureTable table = new FeatureTable();
+		table.add(a1);
+		table.update(mutable -> {
+			mutable.remove(a1);
+			mutable.add(a2);
+			mutable.add(b1);
+			assertArrayEquals(new IFeatureModel[] { a2 }, mutable.get("a", "2.0.0"));
+			assertNull(mutable.get(a1));
+
+			// other threads read the published state without waiting for the update
+			assertArrayEquals(new IFeatureModel[] { a1 }, read(() -> table.get("a")));
+			assertArrayEquals(new IFeatureModel[0], read(() -> table.get("b", "1.0.0")));
+			assertArrayEquals(new IFeatureModel[] { a1 }, read(table::getAll));
+		});
+		assertArrayEquals(new IFeatureModel[] { a2 }, table.get("a"));
+		assertArrayEquals(new IFeatureModel[] { b1 }, table.get("b", "1.0.0"));
+		assertNull(table.get(a1));
+		assertEquals(2, table.getAll().length);
+	}
+
+	@Test
+	public void testFailedUpdateIsNotPublished() {
+		FeatureTable table = new FeatureTable();
+		table.add(a1);
+		assertThrows(IllegalStateException.class, () -> table.update(mutable -> {
+			mutable.remove(a1);
+			mutable.add(b1);
+			throw new IllegalStateException();
+		}));
+		assertArrayEquals(new IFeatureModel[] { a1 }, table.getAll());
+		assertArrayEquals(new IFeatureModel[0], table.get("b"));
+	}
+
+	@Test
+	public void testNestedUpdates() {
+		// the feature model manager moves models between its active and
+		// inactive tables within nested updates
+		FeatureTable active = new FeatureTable();
+		FeatureTable inactive = new FeatureTable();
+		IFeatureModel workspace = model("a", "1.0.0");
+		active.add(a1);
+		active.update(activeModels -> inactive.update(inactiveModels -> {
+			activeModels.add(workspace);
+			activeModels.remove(a1);
+			inactiveModels.add(a1);
+			assertArrayEquals(new IFeatureModel[] { a1 }, read(() -> active.get("a", "1.0.0")));
+			assertArrayEquals(new IFeatureModel[0], read(() -> inactive.get("a", "1.0.0")));
+		}));
+		// the inner update is published first, then the outer one
+		assertArrayEquals(new IFeatureModel[] { workspace }, active.get("a", "1.0.0"));
+		assertArrayEquals(new IFeatureModel[] { a1 }, inactive.get("a", "1.0.0"));
+	}
+
+	@Test
+	public void testModelsWithSameIdAndVersion() {
+		FeatureTable table = new FeatureTable();
+		IFeatureModel duplicate = model("a", "1.0.0");
+		table.addAll(new IFeatureModel[] { a1, duplicate, a2 });
+		assertArrayEquals(new IFeatureModel[] { a1, duplicate }, table.get("a", "1.0.0"));
+		assertArrayEquals(new IFeatureModel[] { a1, duplicate, a2 }, table.get("a"));
+
+		assertEquals(new FeatureTable.Idver("a", "1.0.0"), table.remove(a1));
+		assertNull(table.remove(a1));
+		assertArrayEquals(new IFeatureModel[] { duplicate, a2 }, table.get("a"));
+	}
+
+	private <T> T read(Callable<T> lookup) {
+		try {
+			return reader.submit(lookup).get(10, TimeUnit.SECONDS);
+		} catch (Exception e) {
+			throw new AssertionError("Lookup did not complete", e);
+		}
+	}
+
+	private static IFeatureModel model(String id, String version) {
+		IFeature feature = mock(IFeature.class);
+		when(feature.getId()).thenReturn(id);
+		when(feature.getVersion()).thenReturn(version);
+		IFeatureModel model = mock(IFeatureModel.class);
+		when(model.getFeature()).thenReturn(feature);
+		return model;
+	}
+}
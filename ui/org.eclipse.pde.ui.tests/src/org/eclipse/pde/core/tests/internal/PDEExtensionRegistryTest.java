@@ -0,0 +1,155 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertNotNull;
+
+import java.io.File;
+import java.io.IOException;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.pde.core.plugin.IPluginExtension;
+import org.eclipse.pde.core.plugin.IPluginExtensionPoint;
+import org.eclipse.pde.core.plugin.IPluginModelBase;
+import org.eclipse.pde.core.plugin.PluginRegistry;
+import org.eclipse.pde.core.target.ITargetLocation;
+import org.eclipse.pde.internal.core.PDECore;
+import org.eclipse.pde.internal.core.PDEExtensionRegistry;
+import org.eclipse.pde.internal.core.PDEState;
+import org.eclipse.pde.ui.tests.util.TargetPlatformUtil;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.TestRule;
+import org.osgi.framework.Constants;
+
+/**
+ * Tests that the extensions of the PDE extension registry are attributed to
+ * the bundles declaring them when the bundle ids change.
+ */
+public class PDEExtensionRegistryTest {
+
+	private static final String A = "registry.test.a";
+	private static final String B = "registry.test.b";
+
+	@ClassRule
+	public static final TestRule RESTORE_TARGET_DEFINITION = TargetPlatformUtil.RESTORE_CURRENT_TARGET_DEFINITION_AFTER;
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testTargetReloadWithChangedBundleOrder() throws Exception {
+		Path a = writeBundle(folder.newFolder("first-a").toPath(), A, B);
+		Path b = writeBundle(folder.newFolder("first-b").toPath(), B, A);
+		TargetPlatformUtil.createAndSetTarget("first", List.of(getLocation(a), getLocation(b)), null);
+		PDEExtensionRegistry registry = PDECore.getDefault().getExtensionsRegistry();
+		assertContributions(registry, PluginRegistry.findModel(A), A, B);
+		assertContributions(registry, PluginRegistry.findModel(B), B, A);
+
+		// the same bundles at other locations, in the opposite order
+		b = writeBundle(folder.newFolder("second-b").toPath(), B, A);
+		a = writeBundle(folder.newFolder("second-a").toPath(), A, B);
+		TargetPlatformUtil.createAndSetTarget("second", List.of(getLocation(b), getLocation(a)), null);
+		assertContributions(registry, PluginRegistry.findModel(A), A, B);
+		assertContributions(registry, PluginRegistry.findModel(B), B, A);
+	}
+
+	@Test
+	public void testCachedRegistryWithChangedBundleOrder() throws Exception {
+		File cache = folder.newFolder("cache");
+		URI a = writeBundle(folder.newFolder("a").toPath(), A, B).toUri();
+		URI b = writeBundle(folder.newFolder("b").toPath(), B, A).toUri();
+
+		IPluginModelBase[] models = new PDEState(new URI[] { a, b }, true, false, new NullProgressMonitor())
+				.getTargetModels();
+		PDEExtensionRegistry registry = new PDEExtensionRegistry(models, cache);
+		assertContributions(registry, findModel(models, A), A, B);
+		assertContributions(registry, findModel(models, B), B, A);
+		// writes the cache
+		registry.stop();
+
+		// a new session reading the bundles in the opposite order gives them other ids
+		models = new PDEState(new URI[] { b, a }, true, false, new NullProgressMonitor()).getTargetModels();
+		registry = new PDEExtensionRegistry(models, cache);
+		try {
+			assertContributions(registry, findModel(models, A), A, B);
+			assertContributions(registry, findModel(models, B), B, A);
+		} finally {
+			registry.stop();
+		}
+	}
+
+	/**
+	 * Asserts that the given bundle contributes only its own extension point
+	 * and an extension of the extension point of the other bundle.
+	 */
+	private static void assertContributions(PDEExtensionRegistry registry, IPluginModelBase model, String id,
+			String otherId) {
+		assertNotNull(model);
+		IPluginExtensionPoint[] points = registry.findExtensionPointsForPlugin(model);
+		assertArrayEquals(new String[] { id + ".point" },
+				Arrays.stream(points).map(IPluginExtensionPoint::getFullId).toArray());
+		IPluginExtension[] extensions = registry.findExtensionsForPlugin(model);
+		assertArrayEquals(new String[] { otherId + ".point" },
+				Arrays.stream(extensions).map(IPluginExtension::getPoint).toArray());
+	}
+
+	private static IPluginModelBase findModel(IPluginModelBase[] models, String id) {
+		return Arrays.stream(models).filter(m -> id.equals(m.getPluginBase().getId())).findFirst().orElse(null);
+	}
+
+	private static ITargetLocation getLocation(Path bundle) {
+		return TargetPlatformUtil.TPS.newDirectoryLocation(bundle.getParent().toString());
+	}
+
+	/**
+	 * Writes a singleton bundle declaring the extension point
+	 * <code>&lt;id&gt;.point</code> and extending
+	 * <code>&lt;otherId&gt;.point</code>.
+	 *
+	 * @return the bundle jar
+	 */
+	private static Path writeBundle(Path directory, String id, String otherId) throws IOException {
+		Manifest manifest = new Manifest();
+		Attributes attributes = manifest.getMainAttributes();
+		attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		attributes.putValue(Constants.BUNDLE_MANIFESTVERSION, "2");
+		attributes.putValue(Constants.BUNDLE_SYMBOLICNAME, id + ";singleton:=true");
+		attributes.putValue(Constants.BUNDLE_VERSION, "1.0.0");
+		String pluginXml = "<?xml version=\"1.0\" encoding=\"UTF-8\"?>\n<?eclipse version=\"3.4\"?>\n<plugin>\n"
+				+ "<extension-point id=\"point\" name=\"Point\"/>\n<extension point=\"" + otherId
+				+ ".point\"/>\n</plugin>\n";
+
+		Path jar = directory.resolve(id + "_1.0.0.jar");
+		try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(jar))) {
+			out.putNextEntry(new ZipEntry(JarFile.MANIFEST_NAME));
+			manifest.write(out);
+			out.putNextEntry(new ZipEntry("plugin.xml"));
+			out.write(pluginXml.getBytes(StandardCharsets.UTF_8));
+		}
+		return jar;
+	}
+}
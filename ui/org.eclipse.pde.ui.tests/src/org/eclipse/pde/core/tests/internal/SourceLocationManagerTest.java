@@ -0,0 +1,176 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.pde.core.plugin.IPluginBase;
+import org.eclipse.pde.internal.core.ICoreConstants;
+import org.eclipse.pde.internal.core.PDECore;
+import org.eclipse.pde.internal.core.PDEPreferencesManager;
+import org.eclipse.pde.internal.core.SourceLocationManager;
+import org.eclipse.pde.ui.tests.util.TargetPlatformUtil;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.TestRule;
+
+/**
+ * Tests the lookup of source archives in the user specified source locations
+ * and how its results are kept until the locations change.
+ */
+public class SourceLocationManagerTest {
+
+	@SuppressWarnings("deprecation")
+	private static final String P_SOURCE_LOCATIONS = ICoreConstants.P_SOURCE_LOCATIONS;
+
+	private static final IPath SRC_ZIP = IPath.fromOSString("src.zip");
+
+	@ClassRule
+	public static final TestRule RESTORE_TARGET_DEFINITION = TargetPlatformUtil.RESTORE_CURRENT_TARGET_DEFINITION_AFTER;
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private final IPluginBase plugin = plugin("source.test.a", "1.0.0");
+
+	private String originalLocations;
+	private Path first;
+	private Path second;
+
+	@Before
+	public void setUp() throws IOException {
+		originalLocations = getPreferences().getString(P_SOURCE_LOCATIONS);
+		first = folder.newFolder("first").toPath();
+		second = folder.newFolder("second").toPath();
+		setUserLocations(first, second);
+	}
+
+	@After
+	public void tearDown() {
+		getPreferences().setValue(P_SOURCE_LOCATIONS, originalLocations);
+		PDECore.getDefault().getSourceLocationManager().reset();
+	}
+
+	@Test
+	public void testFindInUserLocations() throws IOException {
+		Path archive = createArchive(second, "source.test.a_1.0.0");
+		SourceLocationManager manager = new SourceLocationManager();
+		assertEquals(path(archive), manager.findSourcePath(plugin, SRC_ZIP));
+		assertEquals(archive.getParent().toFile(), manager.findSourcePlugin(plugin));
+
+		// the first location containing the archive is used
+		Path firstArchive = createArchive(first, "source.test.a_1.0.0");
+		manager.reset();
+		assertEquals(path(firstArchive), manager.findSourcePath(plugin, SRC_ZIP));
+		// only the exact version is found
+		assertNull(manager.findSourcePath(plugin("source.test.a", "1.0.1"), SRC_ZIP));
+	}
+
+	@Test
+	public void testFoundSourceIsRemembered() throws IOException {
+		Path archive = createArchive(first, "source.test.a_1.0.0");
+		SourceLocationManager manager = new SourceLocationManager();
+		assertEquals(path(archive), manager.findSourcePath(plugin, SRC_ZIP));
+
+		Files.delete(archive);
+		assertEquals(path(archive), manager.findSourcePath(plugin, SRC_ZIP));
+		manager.reset();
+		assertNull(manager.findSourcePath(plugin, SRC_ZIP));
+	}
+
+	@Test
+	public void testMissesAreRemembered() throws IOException {
+		SourceLocationManager manager = new SourceLocationManager();
+		assertNull(manager.findSourcePath(plugin, SRC_ZIP));
+
+		// neither a new source folder nor a new archive in a known folder is
+		// found until the locations are reset
+		Path archive = createArchive(first, "source.test.a_1.0.0");
+		assertNull(manager.findSourcePath(plugin, SRC_ZIP));
+		manager.reset();
+		assertEquals(path(archive), manager.findSourcePath(plugin, SRC_ZIP));
+
+		IPath otherLibrary = IPath.fromOSString("other.zip");
+		assertNull(manager.findSourcePath(plugin, otherLibrary));
+		Files.createFile(archive.resolveSibling("other.zip"));
+		assertNull(manager.findSourcePath(plugin, otherLibrary));
+		manager.reset();
+		assertEquals(path(archive.resolveSibling("other.zip")), manager.findSourcePath(plugin, otherLibrary));
+	}
+
+	@Test
+	public void testPreferenceChange() throws IOException {
+		SourceLocationManager manager = new SourceLocationManager();
+		assertNull(manager.findSourcePath(plugin, SRC_ZIP));
+
+		Path third = folder.newFolder("third").toPath();
+		Path archive = createArchive(third, "source.test.a_1.0.0");
+		setUserLocations(third);
+		assertEquals(path(archive), manager.findSourcePath(plugin, SRC_ZIP));
+
+		setUserLocations(first);
+		assertNull(manager.findSourcePath(plugin, SRC_ZIP));
+	}
+
+	@Test
+	public void testTargetReload() throws Exception {
+		SourceLocationManager manager = PDECore.getDefault().getSourceLocationManager();
+		manager.reset();
+		assertNull(manager.findSourcePath(plugin, SRC_ZIP));
+
+		Path archive = createArchive(first, "source.test.a_1.0.0");
+		assertNull(manager.findSourcePath(plugin, SRC_ZIP));
+		TargetPlatformUtil.loadAndSetTarget(TargetPlatformUtil.TPS.newTarget());
+		assertEquals(path(archive), manager.findSourcePath(plugin, SRC_ZIP));
+	}
+
+	private static PDEPreferencesManager getPreferences() {
+		return PDECore.getDefault().getPreferencesManager();
+	}
+
+	private static void setUserLocations(Path... locations) {
+		StringBuilder value = new StringBuilder();
+		for (Path location : locations) {
+			value.append(location).append(File.pathSeparatorChar);
+		}
+		getPreferences().setValue(P_SOURCE_LOCATIONS, value.toString());
+	}
+
+	private static Path createArchive(Path location, String sourceFolder) throws IOException {
+		Path folder = Files.createDirectories(location.resolve(sourceFolder));
+		return Files.createFile(folder.resolve("src.zip"));
+	}
+
+	private static IPath path(Path path) {
+		return IPath.fromOSString(path.toString());
+	}
+
+	private static IPluginBase plugin(String id, String version) {
+		IPluginBase plugin = mock(IPluginBase.class);
+		when(plugin.getId()).thenReturn(id);
+		when(plugin.getVersion()).thenReturn(version);
+		return plugin;
+	}
+}
@@ -0,0 +1,139 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal.schema;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+
+import javax.xml.parsers.DocumentBuilderFactory;
+
+import org.eclipse.pde.internal.core.schema.SchemaCache;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.w3c.dom.Element;
+import org.w3c.dom.Node;
+
+public class SchemaCacheTest {
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	private Path cacheLocation;
+
+	@Before
+	public void setUp() throws Exception {
+		cacheLocation = folder.newFolder("cache").toPath();
+	}
+
+	@Test
+	public void testCachedSchemaIsRead() throws Exception {
+		SchemaCache cache = new SchemaCache(cacheLocation, 10);
+		File schema = createSchema("a", "documentation");
+		URL url = schema.toURI().toURL();
+		assertNull(cache.read(url, false));
+
+		cache.write(url, false, parse(schema));
+		Node root = cache.read(url, false);
+		assertNotNull(root);
+		assertEquals("schema", root.getNodeName());
+		assertEquals("a", ((Element) root).getAttribute("targetNamespace"));
+		assertEquals("documentation", ((Element) root).getElementsByTagName("documentation").item(0).getTextContent());
+
+		// abbreviated and full schemas are cached separately
+		assertNull(cache.read(url, true));
+		// entries survive a restart
+		assertNotNull(new SchemaCache(cacheLocation, 10).read(url, false));
+	}
+
+	@Test
+	public void testChangedSchemaIsNotRead() throws Exception {
+		SchemaCache cache = new SchemaCache(cacheLocation, 10);
+		File schema = createSchema("a", "documentation");
+		URL url = schema.toURI().toURL();
+		cache.write(url, false, parse(schema));
+
+		// same time stamp, different size
+		long lastModified = schema.lastModified();
+		writeSchema(schema, "a", "changed documentation");
+		schema.setLastModified(lastModified);
+		assertNull(cache.read(url, false));
+
+		// same size, different time stamp
+		cache.write(url, false, parse(schema));
+		assertNotNull(cache.read(url, false));
+		schema.setLastModified(lastModified + 10000);
+		assertNull(cache.read(url, false));
+	}
+
+	@Test
+	public void testLeastRecentlyUsedEntriesAreRemoved() throws Exception {
+		SchemaCache cache = new SchemaCache(cacheLocation, 3);
+		URL[] urls = new URL[4];
+		for (int i = 0; i < urls.length; i++) {
+			File schema = createSchema("s" + i, "documentation");
+			urls[i] = schema.toURI().toURL();
+			cache.write(urls[i], false, parse(schema));
+		}
+		long old = System.currentTimeMillis() - 3600_000;
+		for (File entry : cacheLocation.toFile().listFiles()) {
+			entry.setLastModified(old);
+		}
+		assertNotNull(cache.read(urls[0], false));
+		assertNotNull(cache.read(urls[2], false));
+		assertNotNull(cache.read(urls[3], false));
+
+		cache.prune();
+		assertEquals(3, cacheLocation.toFile().listFiles().length);
+		assertNull(cache.read(urls[1], false));
+		assertNotNull(cache.read(urls[0], false));
+	}
+
+	@Test
+	public void testCorruptEntryIsIgnored() throws Exception {
+		SchemaCache cache = new SchemaCache(cacheLocation, 10);
+		File schema = createSchema("a", "documentation");
+		URL url = schema.toURI().toURL();
+		cache.write(url, false, parse(schema));
+		for (File entry : cacheLocation.toFile().listFiles()) {
+			byte[] content = Files.readAllBytes(entry.toPath());
+			Files.write(entry.toPath(), Arrays.copyOf(content, content.length / 2));
+		}
+		assertNull(cache.read(url, false));
+	}
+
+	private File createSchema(String namespace, String documentation) throws Exception {
+		File schema = folder.newFile(namespace + ".exsd");
+		writeSchema(schema, namespace, documentation);
+		return schema;
+	}
+
+	private static void writeSchema(File schema, String namespace, String documentation) throws Exception {
+		String content = "<?xml version='1.0' encoding='UTF-8'?>\n<schema targetNamespace=\"" + namespace
+				+ "\"><element name=\"extension\"><annotation><documentation>" + documentation
+				+ "</documentation></annotation></element></schema>";
+		Files.write(schema.toPath(), content.getBytes(StandardCharsets.UTF_8));
+	}
+
+	private static Node parse(File schema) throws Exception {
+		return DocumentBuilderFactory.newInstance().newDocumentBuilder().parse(schema).getDocumentElement();
+	}
+}
@@ -0,0 +1,140 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.core.tests.internal.search;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.pde.core.plugin.IPlugin;
+import org.eclipse.pde.core.plugin.IPluginExtension;
+import org.eclipse.pde.core.plugin.IPluginExtensionPoint;
+import org.eclipse.pde.core.plugin.IPluginImport;
+import org.eclipse.pde.core.plugin.IPluginModelBase;
+import org.eclipse.pde.internal.core.PDECore;
+import org.eclipse.pde.internal.core.ifeature.IFeatureModel;
+import org.eclipse.pde.internal.core.search.PluginSearchIndex;
+import org.eclipse.pde.internal.core.search.PluginSearchInput;
+import org.eclipse.pde.internal.core.search.PluginSearchOperation;
+import org.eclipse.pde.internal.core.search.PluginSearchScope;
+import org.eclipse.pde.ui.tests.util.TargetPlatformUtil;
+import org.junit.After;
+import org.junit.ClassRule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+/**
+ * Tests the plug-in searches that look up their candidate plug-ins in the
+ * {@link PluginSearchIndex}. The plug-ins searched are mocks, which the index
+ * is never notified about, so changing them shows whether a search used the
+ * index.
+ */
+public class PluginSearchIndexTest {
+
+	@ClassRule
+	public static final TestRule RESTORE_TARGET_DEFINITION = TargetPlatformUtil.RESTORE_CURRENT_TARGET_DEFINITION_AFTER;
+
+	private final IPlugin plugin = plugin("search.test.a");
+	private final IPluginModelBase model = model(plugin);
+
+	@After
+	public void tearDown() {
+		PDECore.getDefault().getPluginSearchIndex().clear();
+	}
+
+	@Test
+	public void testCaseInsensitiveExactMatch() {
+		assertEquals(List.of(plugin), search("Search.Test.A", false, PluginSearchInput.LIMIT_DECLARATIONS, model));
+		assertEquals(List.of(), search("Search.Test.A", true, PluginSearchInput.LIMIT_DECLARATIONS, model));
+		assertEquals(List.of(plugin), search("search.test.a", true, PluginSearchInput.LIMIT_DECLARATIONS, model));
+
+		IPluginImport pluginImport = mock(IPluginImport.class);
+		when(pluginImport.getId()).thenReturn("search.test.a");
+		IPlugin dependent = plugin("search.test.b", pluginImport);
+		assertEquals(List.of(pluginImport),
+				search("SEARCH.TEST.A", false, PluginSearchInput.LIMIT_REFERENCES, model, model(dependent)));
+	}
+
+	@Test
+	public void testWildcardSearchBypassesIndex() {
+		assertEquals(List.of(plugin), search("search.test.a", true, PluginSearchInput.LIMIT_DECLARATIONS, model));
+
+		// the index still has the plug-in under its former id
+		when(plugin.getId()).thenReturn("search.test.renamed");
+		assertEquals(List.of(), search("search.test.renamed", true, PluginSearchInput.LIMIT_DECLARATIONS, model));
+		assertEquals(List.of(plugin), search("search.test.r*", true, PluginSearchInput.LIMIT_DECLARATIONS, model));
+		assertEquals(List.of(plugin), search("search.test.renam?d", true, PluginSearchInput.LIMIT_DECLARATIONS, model));
+	}
+
+	@Test
+	public void testIndexIsClearedWhenStateChanges() throws Exception {
+		PluginSearchIndex index = new PluginSearchIndex();
+		IPluginModelBase[] models = { model };
+		assertEquals(Set.of(model), findDeclarations(index, models, "search.test.a"));
+
+		when(plugin.getId()).thenReturn("search.test.renamed");
+		assertEquals(Set.of(), findDeclarations(index, models, "search.test.renamed"));
+
+		// reloading the target creates a new state
+		TargetPlatformUtil.loadAndSetTarget(TargetPlatformUtil.TPS.newTarget());
+		assertEquals(Set.of(model), findDeclarations(index, models, "search.test.renamed"));
+		assertEquals(Set.of(), findDeclarations(index, models, "search.test.a"));
+	}
+
+	private static Set<IPluginModelBase> findDeclarations(PluginSearchIndex index, IPluginModelBase[] models,
+			String id) {
+		return index.findModels(models, PluginSearchInput.ELEMENT_PLUGIN, PluginSearchInput.LIMIT_DECLARATIONS, id);
+	}
+
+	private static List<Object> search(String searchString, boolean caseSensitive, int searchLimit,
+			IPluginModelBase... models) {
+		PluginSearchInput input = new PluginSearchInput();
+		input.setSearchString(searchString);
+		input.setCaseSensitive(caseSensitive);
+		input.setSearchElement(PluginSearchInput.ELEMENT_PLUGIN);
+		input.setSearchLimit(searchLimit);
+		input.setSearchScope(new PluginSearchScope() {
+			@Override
+			public IPluginModelBase[] getMatchingModels() {
+				return models;
+			}
+
+			@Override
+			public IFeatureModel[] getMatchingFeatureModels() {
+				return new IFeatureModel[0];
+			}
+		});
+		List<Object> matches = new ArrayList<>();
+		new PluginSearchOperation(input, matches::add).execute(new NullProgressMonitor());
+		return matches;
+	}
+
+	private static IPlugin plugin(String id, IPluginImport... imports) {
+		IPlugin plugin = mock(IPlugin.class);
+		when(plugin.getId()).thenReturn(id);
+		when(plugin.getImports()).thenReturn(imports);
+		when(plugin.getExtensionPoints()).thenReturn(new IPluginExtensionPoint[0]);
+		when(plugin.getExtensions()).thenReturn(new IPluginExtension[0]);
+		return plugin;
+	}
+
+	private static IPluginModelBase model(IPlugin plugin) {
+		IPluginModelBase model = mock(IPluginModelBase.class);
+		when(model.getPluginBase()).thenReturn(plugin);
+		return model;
+	}
+}
@@ -0,0 +1,134 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.ui.tests.launcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+import java.io.StringReader;
+import java.util.List;
+
+import org.eclipse.pde.internal.launching.launcher.TestShardMerger;
+import org.eclipse.pde.internal.launching.launcher.TestShardMerger.ShardReader;
+import org.junit.Test;
+
+/**
+ * Tests how the messages of the runtimes of a sharded JUnit plug-in launch are
+ * read and merged
+ */
+public class TestShardMergerTest {
+
+	@Test
+	public void testRemapIds() {
+		assertEquals("%TESTS  7,testA(a.A)", TestShardMerger.remapIds("%TESTS  3,testA(a.A)", 1, 2));
+		assertEquals("%TESTE  6,testA(a.A)", TestShardMerger.remapIds("%TESTE  3,testA(a.A)", 0, 2));
+		assertEquals("%FAILED 8,testA(a.A)", TestShardMerger.remapIds("%FAILED 2,testA(a.A)", 2, 3));
+		assertEquals("%ERROR  8,testA(a.A)", TestShardMerger.remapIds("%ERROR  2,testA(a.A)", 2, 3));
+	}
+
+	@Test
+	public void testRemapIdsOfTestTree() {
+		// the parent is remapped as well, the other fields are kept
+		assertEquals("%TSTTREE11,testA(a.A),false,1,false,3,testA,,",
+				TestShardMerger.remapIds("%TSTTREE5,testA(a.A),false,1,false,1,testA,,", 1, 2));
+		// top level tests have no parent
+		assertEquals("%TSTTREE3,a.A,true,2,false,-1,a.A,,",
+				TestShardMerger.remapIds("%TSTTREE1,a.A,true,2,false,-1,a.A,,", 1, 2));
+	}
+
+	@Test
+	public void testRemapIdsWithEscapedCommas() {
+		// escaped commas do not separate fields
+		assertEquals("%TSTTREE10,test\\,b(a.A),false,1,false,4,test\\,b,,",
+				TestShardMerger.remapIds("%TSTTREE5,test\\,b(a.A),false,1,false,2,test\\,b,,", 0, 2));
+		assertEquals("%TESTS  10,test\\,b(a.A)", TestShardMerger.remapIds("%TESTS  5,test\\,b(a.A)", 0, 2));
+	}
+
+	@Test
+	public void testRemapNonNumericIds() {
+		assertEquals("%TESTS  2.abc,testA(a.A)", TestShardMerger.remapIds("%TESTS  abc,testA(a.A)", 1, 2));
+		assertEquals("%TSTTREE1.abc,testA(a.A),false,1,false,1.def,testA,,",
+				TestShardMerger.remapIds("%TSTTREEabc,testA(a.A),false,1,false,def,testA,,", 0, 2));
+	}
+
+	@Test
+	public void testOtherMessagesAreKept() {
+		assertEquals("%TRACES ", TestShardMerger.remapIds("%TRACES ", 1, 2));
+		assertEquals("%RUNTIME1234", TestShardMerger.remapIds("%RUNTIME1234", 1, 2));
+		assertEquals("%TESTC  2 v2", TestShardMerger.remapIds("%TESTC  2 v2", 1, 2));
+		assertEquals("at a.A.testA(A.java:1)", TestShardMerger.remapIds("at a.A.testA(A.java:1)", 1, 2));
+	}
+
+	@Test
+	public void testReadFailureWithTrace() throws Exception {
+		ShardReader reader = read( //
+				"%TESTS  2,testA(a.A)", //
+				"%ERROR  2,testA(a.A)", //
+				"%TRACES ", //
+				"java.lang.IllegalStateException", //
+				"\tat a.A.testA(A.java:1)", //
+				"%TRACEE ", //
+				"%TESTE  2,testA(a.A)");
+		assertEquals(List.of("%TESTS  2,testA(a.A)"), reader.readMessage());
+		assertEquals(List.of("%ERROR  2,testA(a.A)", "%TRACES ", "java.lang.IllegalStateException",
+				"\tat a.A.testA(A.java:1)", "%TRACEE "), reader.readMessage());
+		assertEquals(List.of("%TESTE  2,testA(a.A)"), reader.readMessage());
+		assertNull(reader.readMessage());
+	}
+
+	@Test
+	public void testReadFailureWithComparedValues() throws Exception {
+		ShardReader reader = read( //
+				"%FAILED 2,testA(a.A)", //
+				"%TRACES ", //
+				"org.junit.ComparisonFailure", //
+				"%TRACEE ", //
+				"%EXPECTS", //
+				"1", //
+				"%EXPECTE", //
+				"%ACTUALS", //
+				"2", //
+				"%ACTUALE", //
+				"%TESTE  2,testA(a.A)");
+		assertEquals(List.of("%FAILED 2,testA(a.A)", "%TRACES ", "org.junit.ComparisonFailure", "%TRACEE ",
+				"%EXPECTS", "1", "%EXPECTE", "%ACTUALS", "2", "%ACTUALE"), reader.readMessage());
+		assertEquals(List.of("%TESTE  2,testA(a.A)"), reader.readMessage());
+		assertNull(reader.readMessage());
+	}
+
+	@Test
+	public void testReadMultiLineMessage() throws Exception {
+		ShardReader reader = read( //
+				"%RTRACES", //
+				"rerun trace", //
+				"%RTRACEE", //
+				"%RUNTIME12");
+		assertEquals(List.of("%RTRACES", "rerun trace", "%RTRACEE"), reader.readMessage());
+		assertEquals(List.of("%RUNTIME12"), reader.readMessage());
+		assertNull(reader.readMessage());
+	}
+
+	@Test
+	public void testReadTruncatedFailure() throws Exception {
+		// the runtime ended within the trace
+		ShardReader reader = read( //
+				"%FAILED 2,testA(a.A)", //
+				"%TRACES ", //
+				"java.lang.AssertionError");
+		assertEquals(List.of("%FAILED 2,testA(a.A)", "%TRACES ", "java.lang.AssertionError"), reader.readMessage());
+		assertNull(reader.readMessage());
+	}
+
+	private static ShardReader read(String... lines) {
+		return new ShardReader(new StringReader(String.join("\n", lines) + "\n"));
+	}
+}
@@ -0,0 +1,146 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.ui.tests.launcher;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.pde.internal.launching.launcher.TestShardingVMRunner;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests how the test classes of a sharded JUnit plug-in launch are split and
+ * how the runtimes of the shards are configured
+ */
+public class TestShardingTest {
+
+	private static final String PROFILE = "org.eclipse.equinox.p2.engine/profileRegistry/SelfHostingProfile.profile";
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void testPartitionWithoutDurations() {
+		List<List<String>> shards = TestShardingVMRunner.partition(List.of("a.A", "a.B", "a.C", "a.D"), 2, Map.of());
+		assertEquals(List.of(List.of("a.A", "a.C"), List.of("a.B", "a.D")), shards);
+	}
+
+	@Test
+	public void testPartitionBalancesDurations() {
+		Map<String, Long> durations = Map.of("a.A", 100L, "a.B", 60L, "a.C", 30L, "a.D", 10L);
+		List<List<String>> shards = TestShardingVMRunner.partition(List.of("a.A", "a.B", "a.C", "a.D"), 2, durations);
+		assertEquals(List.of(List.of("a.A"), List.of("a.B", "a.C", "a.D")), shards);
+	}
+
+	@Test
+	public void testPartitionAssumesAverageForUnknownClasses() {
+		Map<String, Long> durations = Map.of("a.A", 90L, "a.B", 10L);
+		// a.C is assumed to take 50
+		List<List<String>> shards = TestShardingVMRunner.partition(List.of("a.A", "a.B", "a.C"), 2, durations);
+		assertEquals(List.of(List.of("a.A"), List.of("a.B", "a.C")), shards);
+	}
+
+	@Test
+	public void testShardUsesP2DataAreaOfVMArguments() throws Exception {
+		// the JUnit launch delegate sets the p2 data area, overriding the one
+		// of the configuration
+		Path configDir = createConfiguration();
+		String[] vmArguments = { "-Declipse.pde.launch=true",
+				"-Declipse.p2.data.area=@config.dir" + File.separator + "p2" };
+		String[] arguments = { "-configuration", "file:" + configDir + "/" };
+		TestShardingVMRunner.relocateConfiguration(arguments, vmArguments, 1);
+
+		Path shardDir = configDir.resolve("shard2");
+		assertEquals(shardDir, getConfiguration(arguments));
+		assertTrue(Files.isRegularFile(shardDir.resolve("config.ini")));
+		assertTrue(Files.isRegularFile(getP2DataArea(shardDir, vmArguments).resolve(PROFILE)));
+	}
+
+	@Test
+	public void testShardUsesP2DataAreaOfConfiguration() throws Exception {
+		Path configDir = createConfiguration();
+		String[] vmArguments = { "-Declipse.pde.launch=true" };
+		String[] arguments = { "-configuration", "file:" + configDir + "/" };
+		TestShardingVMRunner.relocateConfiguration(arguments, vmArguments, 0);
+
+		Path shardDir = getConfiguration(arguments);
+		assertEquals(configDir.resolve("shard1"), shardDir);
+		assertTrue(Files.isRegularFile(getP2DataArea(shardDir, vmArguments).resolve(PROFILE)));
+	}
+
+	@Test
+	public void testSharedP2DataAreaIsNotCopied() throws Exception {
+		Path configDir = createConfiguration();
+		Path p2DataArea = folder.newFolder("shared").toPath();
+		String[] vmArguments = { "-Declipse.p2.data.area=" + p2DataArea };
+		String[] arguments = { "-configuration", "file:" + configDir + "/" };
+		TestShardingVMRunner.relocateConfiguration(arguments, vmArguments, 0);
+
+		Path shardDir = getConfiguration(arguments);
+		assertEquals(p2DataArea, getP2DataArea(shardDir, vmArguments));
+		assertFalse(Files.exists(shardDir.resolve("p2")));
+		assertFalse(Files.exists(shardDir.resolve(".p2")));
+	}
+
+	/**
+	 * Creates a configuration area like the one of a JUnit plug-in launch,
+	 * with a profile in both the p2 data area of its configuration and the one
+	 * of the VM arguments
+	 */
+	private Path createConfiguration() throws Exception {
+		Path configDir = folder.newFolder("configuration").toPath();
+		Files.writeString(configDir.resolve("config.ini"), "eclipse.p2.data.area=@config.dir/.p2\n");
+		for (String p2DataArea : List.of("p2", ".p2")) {
+			Path profile = configDir.resolve(p2DataArea).resolve(PROFILE);
+			Files.createDirectories(profile.getParent());
+			Files.writeString(profile, "profile");
+		}
+		return configDir;
+	}
+
+	private static Path getConfiguration(String[] arguments) {
+		assertEquals("-configuration", arguments[0]);
+		assertTrue(arguments[1].startsWith("file:"));
+		return Path.of(arguments[1].substring(5));
+	}
+
+	/**
+	 * Returns the p2 data area the runtime of a shard uses, the VM arguments
+	 * taking precedence over the configuration
+	 */
+	private static Path getP2DataArea(Path configDir, String[] vmArguments) throws Exception {
+		String p2DataArea = null;
+		for (String line : Files.readAllLines(configDir.resolve("config.ini"))) {
+			if (line.startsWith("eclipse.p2.data.area=")) {
+				p2DataArea = line.substring("eclipse.p2.data.area=".length());
+			}
+		}
+		for (String vmArgument : vmArguments) {
+			if (vmArgument.startsWith("-Declipse.p2.data.area=")) {
+				p2DataArea = vmArgument.substring("-Declipse.p2.data.area=".length());
+			}
+		}
+		if (p2DataArea.startsWith("@config.dir")) {
+			return configDir.resolve(p2DataArea.substring("@config.dir".length() + 1));
+		}
+		return Path.of(p2DataArea);
+	}
+}
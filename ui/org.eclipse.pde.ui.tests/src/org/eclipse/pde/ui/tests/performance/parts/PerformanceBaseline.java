@@ -0,0 +1,135 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.ui.tests.performance.parts;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.Properties;
+import java.util.TreeMap;
+
+/**
+ * Reference times of performance metrics, stored as a properties file mapping
+ * each metric to its time in milliseconds.
+ * <p>
+ * A recorded time regresses when it exceeds the reference time by more than
+ * the threshold. Metrics without reference time are added to the baseline
+ * when it is saved, existing reference times are only replaced on request so
+ * the baseline does not drift with every run. A baseline without file only
+ * records the times.
+ * </p>
+ */
+class PerformanceBaseline {
+
+	/**
+	 * Differences below this time are considered noise, whatever the threshold
+	 */
+	private static final long MIN_REGRESSION_MS = 5;
+
+	private final Path fFile;
+	private final double fThreshold;
+	private final Properties fReferences = new Properties();
+	private final Map<String, Long> fResults = new TreeMap<>();
+
+	/**
+	 * @param file the baseline file, which does not need to exist
+	 * @param threshold the tolerated slowdown, as a fraction of the reference
+	 *            time
+	 */
+	PerformanceBaseline(Path file, double threshold) throws IOException {
+		fFile = file;
+		fThreshold = threshold;
+		if (Files.isRegularFile(file)) {
+			try (InputStream stream = Files.newInputStream(file)) {
+				fReferences.load(stream);
+			}
+		}
+	}
+
+	/**
+	 * Creates a baseline without reference times which is never saved, so no
+	 * recorded time regresses.
+	 */
+	PerformanceBaseline() {
+		fFile = null;
+		fThreshold = 0;
+	}
+
+	/**
+	 * Records the time of a metric.
+	 *
+	 * @param metric the name of the metric
+	 * @param millis the time in milliseconds
+	 * @return a description of the regression or <code>null</code> if the
+	 *         time did not regress
+	 */
+	String record(String metric, long millis) {
+		fResults.put(metric, millis);
+		String reference = fReferences.getProperty(metric);
+		if (reference == null) {
+			return null;
+		}
+		long referenceMillis;
+		try {
+			referenceMillis = Long.parseLong(reference.trim());
+		} catch (NumberFormatException e) {
+			return null;
+		}
+		long limit = Math.max((long) (referenceMillis * (1 + fThreshold)), referenceMillis + MIN_REGRESSION_MS);
+		if (millis <= limit) {
+			return null;
+		}
+		return String.format("%s took %d ms, baseline %d ms, limit %d ms", metric, millis, referenceMillis, limit); //$NON-NLS-1$
+	}
+
+	/**
+	 * Writes the recorded times to the baseline file, if the baseline was read
+	 * from one.
+	 *
+	 * @param replace whether recorded times replace the existing reference
+	 *            times or are only added for the metrics without one
+	 */
+	void save(boolean replace) throws IOException {
+		if (fFile == null) {
+			return;
+		}
+		fResults.forEach((metric, millis) -> {
+			if (replace || !fReferences.containsKey(metric)) {
+				fReferences.setProperty(metric, Long.toString(millis));
+			}
+		});
+		store(fReferences, fFile);
+	}
+
+	/**
+	 * Writes the times recorded in this run, whatever the baseline, to the
+	 * given file.
+	 */
+	void saveResults(Path file) throws IOException {
+		Properties results = new Properties();
+		fResults.forEach((metric, millis) -> results.setProperty(metric, Long.toString(millis)));
+		store(results, file);
+	}
+
+	private static void store(Properties properties, Path file) throws IOException {
+		Path parent = file.toAbsolutePath().getParent();
+		if (parent != null) {
+			Files.createDirectories(parent);
+		}
+		try (OutputStream stream = Files.newOutputStream(file)) {
+			properties.store(stream, "Times in milliseconds"); //$NON-NLS-1$
+		}
+	}
+}
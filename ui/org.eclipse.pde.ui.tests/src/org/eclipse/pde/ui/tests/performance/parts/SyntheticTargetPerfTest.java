@@ -0,0 +1,317 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.ui.tests.performance.parts;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.jar.Attributes;
+import java.util.jar.JarFile;
+import java.util.jar.Manifest;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.jdt.core.IClasspathEntry;
+import org.eclipse.pde.core.plugin.IPluginModelBase;
+import org.eclipse.pde.core.plugin.PluginRegistry;
+import org.eclipse.pde.core.project.IPackageImportDescription;
+import org.eclipse.pde.core.project.IRequiredBundleDescription;
+import org.eclipse.pde.core.target.ITargetDefinition;
+import org.eclipse.pde.core.target.ITargetHandle;
+import org.eclipse.pde.core.target.ITargetLocation;
+import org.eclipse.pde.core.target.LoadTargetDefinitionJob;
+import org.eclipse.pde.internal.core.RequiredPluginsClasspathContainer;
+import org.eclipse.pde.internal.core.builders.BundleErrorReporter;
+import org.eclipse.pde.internal.core.project.PDEProject;
+import org.eclipse.pde.ui.tests.util.ProjectUtils;
+import org.eclipse.pde.ui.tests.util.TargetPlatformUtil;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.ClassRule;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.rules.TestRule;
+import org.osgi.framework.Constants;
+
+/**
+ * Measures core PDE operations against synthetic targets of increasing size
+ * and, when a baseline is given, compares the times with it, failing when an
+ * operation got slower than the baseline by more than a threshold.
+ * <p>
+ * The operations only use the PDE core, no workbench part is opened. The test
+ * still lives in this bundle, which runs in a workbench, because PDE has no
+ * headless test bundle: the target platform and project utilities it relies
+ * on are here, like the other core and target tests. The workbench is idle
+ * while the operations are measured.
+ * </p>
+ * <p>
+ * Bundle <code>i</code> of a synthetic target exports a package and re-exports
+ * the bundles <code>2i</code> and <code>2i+1</code>, so requiring the first
+ * bundle puts the whole target on the classpath.
+ * </p>
+ * <p>
+ * The baseline holds absolute wall-clock times, which differ far more between
+ * machines than the threshold tolerates, so no baseline is shipped with the
+ * test and nothing is compared by default. To detect regressions on a
+ * machine, point <code>pde.perf.baseline</code> to a file of its own: the
+ * first run fills it and later runs are compared with it.
+ * </p>
+ * <p>
+ * The test is configured through the following system properties:
+ * </p>
+ * <ul>
+ * <li><code>pde.perf.sizes</code> the comma separated numbers of bundles of
+ * the targets, 100 and 1000 by default</li>
+ * <li><code>pde.perf.large</code> whether a target of 10000 bundles is
+ * measured as well when the sizes are not given, false by default</li>
+ * <li><code>pde.perf.iterations</code> the number of measured iterations per
+ * operation and target, the median time is compared, 5 by default</li>
+ * <li><code>pde.perf.baseline</code> the baseline file, read and updated, by
+ * default the times are only measured</li>
+ * <li><code>pde.perf.results</code> a file receiving the times of the run, not
+ * written by default</li>
+ * <li><code>pde.perf.threshold</code> the tolerated slowdown as a fraction of
+ * the baseline time, 0.25 by default</li>
+ * <li><code>pde.perf.updateBaseline</code> whether the times of the run
+ * replace the baseline times, by default only missing times are added</li>
+ * </ul>
+ */
+public class SyntheticTargetPerfTest {
+
+	private static final String BUNDLE_PREFIX = "perf.bundle.";
+	private static final String CLIENT_NAME = "perf.client";
+
+	@ClassRule
+	public static final TestRule RESTORE_TARGET_DEFINITION = TargetPlatformUtil.RESTORE_CURRENT_TARGET_DEFINITION_AFTER;
+	@ClassRule
+	public static final TemporaryFolder TARGETS_FOLDER = new TemporaryFolder();
+	@Rule
+	public final TestRule deleteCreatedProjects = ProjectUtils.DELETE_CREATED_WORKSPACE_PROJECTS_AFTER;
+
+	private static final Map<Integer, Path> TARGETS = new HashMap<>();
+
+	private static PerformanceBaseline baseline;
+
+	private interface Operation {
+		void run() throws Exception;
+	}
+
+	@BeforeClass
+	public static void loadBaseline() throws IOException {
+		double threshold = Double.parseDouble(System.getProperty("pde.perf.threshold", "0.25"));
+		String file = System.getProperty("pde.perf.baseline");
+		baseline = file != null ? new PerformanceBaseline(Path.of(file), threshold) : new PerformanceBaseline();
+	}
+
+	@AfterClass
+	public static void saveBaseline() throws IOException {
+		baseline.save(Boolean.getBoolean("pde.perf.updateBaseline"));
+		String results = System.getProperty("pde.perf.results");
+		if (results != null) {
+			baseline.saveResults(Path.of(results));
+		}
+	}
+
+	@Test
+	public void testResolveTarget() throws Exception {
+		List<String> regressions = new ArrayList<>();
+		for (int size : getSizes()) {
+			ITargetDefinition original = newTarget(size);
+			TargetPlatformUtil.TPS.saveTargetDefinition(original);
+			ITargetHandle handle = original.getHandle();
+			try {
+				ITargetDefinition[] target = new ITargetDefinition[1];
+				// get the target definition for each iteration so it is not resolved
+				long millis = measure(() -> target[0] = handle.getTargetDefinition(),
+						() -> target[0].resolve(new NullProgressMonitor()));
+				assertEquals(size, target[0].getBundles().length);
+				record("resolveTarget", size, millis, regressions);
+			} finally {
+				TargetPlatformUtil.TPS.deleteTarget(handle);
+			}
+		}
+		assertNoRegressions(regressions);
+	}
+
+	@Test
+	public void testInitializeModels() throws Exception {
+		List<String> regressions = new ArrayList<>();
+		for (int size : getSizes()) {
+			ITargetDefinition target = newTarget(size);
+			target.resolve(new NullProgressMonitor());
+			LoadTargetDefinitionJob load = new LoadTargetDefinitionJob(target);
+			LoadTargetDefinitionJob clear = new LoadTargetDefinitionJob(null);
+			long millis = measure(() -> {
+				clear.schedule();
+				clear.join();
+			}, () -> {
+				load.schedule();
+				load.join();
+			});
+			assertNotNull(PluginRegistry.findModel(BUNDLE_PREFIX + size));
+			record("initializeModels", size, millis, regressions);
+		}
+		assertNoRegressions(regressions);
+	}
+
+	@Test
+	public void testComputeClasspath() throws Exception {
+		List<String> regressions = new ArrayList<>();
+		for (int size : getSizes()) {
+			IProject project = createClient(size);
+			IPluginModelBase model = PluginRegistry.findModel(project);
+			IClasspathEntry[][] entries = new IClasspathEntry[1][];
+			long millis = measure(() -> {
+			}, () -> entries[0] = new RequiredPluginsClasspathContainer(model, project).getClasspathEntries());
+			assertTrue(entries[0].length >= size);
+			record("computeClasspath", size, millis, regressions);
+			project.delete(true, true, null);
+		}
+		assertNoRegressions(regressions);
+	}
+
+	@Test
+	public void testValidateManifest() throws Exception {
+		List<String> regressions = new ArrayList<>();
+		for (int size : getSizes()) {
+			IProject project = createClient(size);
+			IFile manifest = PDEProject.getManifest(project);
+			long millis = measure(() -> {
+			}, () -> new BundleErrorReporter(manifest).validateContent(new NullProgressMonitor()));
+			record("validateManifest", size, millis, regressions);
+			project.delete(true, true, null);
+		}
+		assertNoRegressions(regressions);
+	}
+
+	private static void record(String operation, int size, long millis, List<String> regressions) {
+		String regression = baseline.record(operation + "." + size, millis);
+		if (regression != null) {
+			regressions.add(regression);
+		}
+	}
+
+	private static void assertNoRegressions(List<String> regressions) {
+		assertTrue("Performance regressions:\n" + String.join("\n", regressions), regressions.isEmpty());
+	}
+
+	/**
+	 * Runs the given operation once to warm up and then the configured number
+	 * of times, each time after the given preparation.
+	 *
+	 * @return the median time of the measured runs, in milliseconds
+	 */
+	private static long measure(Operation prepare, Operation operation) throws Exception {
+		prepare.run();
+		operation.run();
+		long[] times = new long[Math.max(1, Integer.getInteger("pde.perf.iterations", 5))];
+		for (int i = 0; i < times.length; i++) {
+			prepare.run();
+			long start = System.nanoTime();
+			operation.run();
+			times[i] = System.nanoTime() - start;
+		}
+		Arrays.sort(times);
+		return times[times.length / 2] / 1_000_000;
+	}
+
+	private static int[] getSizes() {
+		String sizes = System.getProperty("pde.perf.sizes",
+				Boolean.getBoolean("pde.perf.large") ? "100,1000,10000" : "100,1000");
+		return Arrays.stream(sizes.split(",")).map(String::trim).filter(s -> !s.isEmpty()).mapToInt(Integer::parseInt)
+				.toArray();
+	}
+
+	private static ITargetDefinition newTarget(int size) throws IOException {
+		ITargetDefinition target = TargetPlatformUtil.TPS.newTarget();
+		target.setName("Synthetic target of " + size + " bundles");
+		target.setTargetLocations(new ITargetLocation[] {
+				TargetPlatformUtil.TPS.newDirectoryLocation(getTargetLocation(size).toString()) });
+		return target;
+	}
+
+	/**
+	 * Sets the synthetic target of the given size as target platform and
+	 * creates a plug-in project requiring its first bundle and importing all
+	 * its packages.
+	 */
+	private static IProject createClient(int size) throws Exception {
+		ITargetDefinition target = newTarget(size);
+		TargetPlatformUtil.loadAndSetTarget(target);
+		return ProjectUtils.createPluginProject(CLIENT_NAME, CLIENT_NAME, "1.0.0", (description, service) -> {
+			description.setRequiredBundles(new IRequiredBundleDescription[] {
+					service.newRequiredBundle(BUNDLE_PREFIX + 1, null, false, false) });
+			IPackageImportDescription[] imports = new IPackageImportDescription[size];
+			for (int i = 0; i < size; i++) {
+				imports[i] = service.newPackageImport(BUNDLE_PREFIX + (i + 1), null, false);
+			}
+			description.setPackageImports(imports);
+		});
+	}
+
+	/**
+	 * @return the directory holding the bundles of the synthetic target of the
+	 *         given size, generated on first use
+	 */
+	private static Path getTargetLocation(int size) throws IOException {
+		Path location = TARGETS.get(size);
+		if (location == null) {
+			location = TARGETS_FOLDER.newFolder("target" + size).toPath();
+			Path plugins = Files.createDirectories(location.resolve("plugins"));
+			for (int i = 1; i <= size; i++) {
+				writeBundle(plugins, i, size);
+			}
+			TARGETS.put(size, location);
+		}
+		return location;
+	}
+
+	private static void writeBundle(Path directory, int index, int size) throws IOException {
+		String name = BUNDLE_PREFIX + index;
+		Manifest manifest = new Manifest();
+		Attributes attributes = manifest.getMainAttributes();
+		attributes.put(Attributes.Name.MANIFEST_VERSION, "1.0");
+		attributes.putValue(Constants.BUNDLE_MANIFESTVERSION, "2");
+		attributes.putValue(Constants.BUNDLE_SYMBOLICNAME, name);
+		attributes.putValue(Constants.BUNDLE_VERSION, "1.0.0");
+		attributes.putValue(Constants.EXPORT_PACKAGE, name + ";version=\"1.0.0\"");
+		StringBuilder required = new StringBuilder();
+		for (long child = 2L * index; child <= Math.min(2L * index + 1, size); child++) {
+			if (required.length() > 0) {
+				required.append(',');
+			}
+			required.append(BUNDLE_PREFIX).append(child).append(";visibility:=reexport");
+		}
+		if (required.length() > 0) {
+			attributes.putValue(Constants.REQUIRE_BUNDLE, required.toString());
+		}
+
+		Path jar = directory.resolve(name + "_1.0.0.jar");
+		try (ZipOutputStream out = new ZipOutputStream(Files.newOutputStream(jar))) {
+			out.putNextEntry(new ZipEntry(JarFile.MANIFEST_NAME));
+			manifest.write(out);
+		}
+	}
+}
@@ -0,0 +1,90 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.ui.tests.spy;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.List;
+
+import org.eclipse.pde.spy.event.internal.core.CapturedEventBuffer;
+import org.eclipse.pde.spy.event.internal.model.CapturedEvent;
+import org.junit.Test;
+
+public class CapturedEventBufferTest {
+
+	@Test
+	public void testDrainReturnsNewEventsInOrder() {
+		CapturedEventBuffer buffer = new CapturedEventBuffer(4);
+		add(buffer, 0, 3);
+		assertEquals(List.of("0", "1", "2"), topics(buffer.drain()));
+		assertTrue(buffer.drain().isEmpty());
+		add(buffer, 3, 4);
+		assertEquals(List.of("3"), topics(buffer.drain()));
+	}
+
+	@Test
+	public void testWraparound() {
+		CapturedEventBuffer buffer = new CapturedEventBuffer(4);
+		add(buffer, 0, 3);
+		buffer.drain();
+		// the slots of events 4 and 5 are those of events 0 and 1
+		add(buffer, 3, 6);
+		assertEquals(List.of("3", "4", "5"), topics(buffer.drain()));
+		add(buffer, 6, 10);
+		assertEquals(List.of("6", "7", "8", "9"), topics(buffer.drain()));
+	}
+
+	@Test
+	public void testOldestEventsAreOverwritten() {
+		CapturedEventBuffer buffer = new CapturedEventBuffer(4);
+		add(buffer, 0, 10);
+		assertEquals(List.of("6", "7", "8", "9"), topics(buffer.drain()));
+
+		// events overwritten after a drain are skipped as well
+		add(buffer, 10, 12);
+		assertEquals(List.of("10", "11"), topics(buffer.drain()));
+		add(buffer, 12, 19);
+		assertEquals(List.of("15", "16", "17", "18"), topics(buffer.drain()));
+	}
+
+	@Test
+	public void testClear() {
+		CapturedEventBuffer buffer = new CapturedEventBuffer(4);
+		add(buffer, 0, 6);
+		buffer.clear();
+		assertTrue(buffer.drain().isEmpty());
+		add(buffer, 6, 8);
+		assertEquals(List.of("6", "7"), topics(buffer.drain()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidCapacity() {
+		new CapturedEventBuffer(0);
+	}
+
+	/**
+	 * Adds events whose topics are the numbers from start, inclusive, to end,
+	 * exclusive
+	 */
+	private static void add(CapturedEventBuffer buffer, int start, int end) {
+		for (int i = start; i < end; i++) {
+			CapturedEvent event = new CapturedEvent();
+			event.setTopic(Integer.toString(i));
+			buffer.add(event);
+		}
+	}
+
+	private static List<String> topics(List<CapturedEvent> events) {
+		return events.stream().map(CapturedEvent::getTopic).toList();
+	}
+}
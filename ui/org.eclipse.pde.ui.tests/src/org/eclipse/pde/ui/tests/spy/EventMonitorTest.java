@@ -0,0 +1,74 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.ui.tests.spy;
+
+import static org.junit.Assert.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.e4.core.services.events.IEventBroker;
+import org.eclipse.pde.spy.event.internal.core.EventMonitor;
+import org.eclipse.pde.spy.event.internal.model.CapturedEvent;
+import org.junit.Test;
+import org.mockito.ArgumentCaptor;
+import org.osgi.service.event.Event;
+import org.osgi.service.event.EventHandler;
+
+public class EventMonitorTest {
+
+	@Test
+	public void testRateLimitPerTopic() {
+		IEventBroker broker = mock(IEventBroker.class);
+		EventMonitor monitor = new EventMonitor(broker);
+		List<CapturedEvent> delivered = new ArrayList<>();
+		monitor.setNewEventListener(delivered::add);
+		monitor.start(IEventBroker.class.getName() + "/*", null);
+		ArgumentCaptor<EventHandler> handler = ArgumentCaptor.forClass(EventHandler.class);
+		verify(broker).subscribe(eq(IEventBroker.class.getName() + "/*"), handler.capture());
+
+		// the events are sent well within the one second window of the rate limit
+		int sent = EventMonitor.MAX_EVENTS_PER_SECOND + 2 * EventMonitor.SAMPLING_INTERVAL;
+		for (int i = 0; i < sent; i++) {
+			handler.getValue().handleEvent(new Event("spy/test/frequent", Map.of("n", i)));
+		}
+		for (int i = 0; i < 10; i++) {
+			handler.getValue().handleEvent(new Event("spy/test/rare", Map.of("n", i)));
+		}
+		assertEquals(EventMonitor.MAX_EVENTS_PER_SECOND + 2 + 10, monitor.deliverEvents());
+
+		List<Object> frequent = delivered.stream().filter(e -> e.getTopic().equals("spy/test/frequent"))
+				.map(EventMonitorTest::getNumber).toList();
+		assertEquals(EventMonitor.MAX_EVENTS_PER_SECOND + 2, frequent.size());
+		// the first events, then one in each sampling interval
+		assertEquals(0, frequent.get(0));
+		assertEquals(EventMonitor.MAX_EVENTS_PER_SECOND - 1, frequent.get(EventMonitor.MAX_EVENTS_PER_SECOND - 1));
+		assertEquals(EventMonitor.MAX_EVENTS_PER_SECOND + EventMonitor.SAMPLING_INTERVAL - 1,
+				frequent.get(EventMonitor.MAX_EVENTS_PER_SECOND));
+		assertEquals(EventMonitor.MAX_EVENTS_PER_SECOND + 2 * EventMonitor.SAMPLING_INTERVAL - 1,
+				frequent.get(EventMonitor.MAX_EVENTS_PER_SECOND + 1));
+		assertEquals(10, delivered.stream().filter(e -> e.getTopic().equals("spy/test/rare")).count());
+
+		monitor.stop();
+		verify(broker).unsubscribe(any(EventHandler.class));
+	}
+
+	private static Object getNumber(CapturedEvent event) {
+		return event.getParameters().stream().filter(p -> p.getName().equals("n")).findFirst().orElseThrow()
+				.getValue();
+	}
+}
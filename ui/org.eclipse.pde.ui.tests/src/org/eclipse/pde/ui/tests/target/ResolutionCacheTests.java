@@ -0,0 +1,173 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.ui.tests.target;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+import java.io.File;
+import java.net.URI;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.eclipse.equinox.p2.metadata.IInstallableUnit;
+import org.eclipse.equinox.p2.metadata.MetadataFactory;
+import org.eclipse.equinox.p2.metadata.MetadataFactory.InstallableUnitDescription;
+import org.eclipse.equinox.p2.metadata.Version;
+import org.eclipse.pde.core.target.ITargetDefinition;
+import org.eclipse.pde.core.target.ITargetLocation;
+import org.eclipse.pde.internal.core.target.IUBundleContainer;
+import org.eclipse.pde.internal.core.target.P2TargetUtils;
+import org.eclipse.pde.internal.core.target.ResolutionCache;
+import org.eclipse.pde.internal.core.target.ResolutionCache.Resolution;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Tests the keys of cached target resolutions and the cache holding them
+ */
+public class ResolutionCacheTests extends AbstractTargetTest {
+
+	private static final URI REPO_A = URI.create("https://download.example.org/a");
+	private static final URI REPO_B = URI.create("https://download.example.org/b");
+	private static final String[] IDS = { "bundle.a1", "bundle.a2" };
+	private static final String[] VERSIONS = { "1.0.0", "1.0.0" };
+
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	/**
+	 * Tests that a change of anything the resolution depends on changes the
+	 * key, so the cached resolution is missed
+	 */
+	@Test
+	public void testResolutionKey() throws Exception {
+		String key = getResolutionKey(new URI[] { REPO_A }, IDS, VERSIONS, 0, "linux");
+		assertNotNull(key);
+		assertEquals(key, getResolutionKey(new URI[] { REPO_A }, IDS, VERSIONS, 0, "linux"));
+		// the order of repositories and units does not matter
+		assertEquals(getResolutionKey(new URI[] { REPO_A, REPO_B }, IDS, VERSIONS, 0, "linux"),
+				getResolutionKey(new URI[] { REPO_B, REPO_A }, new String[] { IDS[1], IDS[0] },
+						new String[] { VERSIONS[1], VERSIONS[0] }, 0, "linux"));
+
+		Set<String> keys = new HashSet<>();
+		keys.add(key);
+		// repositories
+		keys.add(getResolutionKey(new URI[] { REPO_A, REPO_B }, IDS, VERSIONS, 0, "linux"));
+		keys.add(getResolutionKey(new URI[] { REPO_B }, IDS, VERSIONS, 0, "linux"));
+		// units
+		keys.add(getResolutionKey(new URI[] { REPO_A }, new String[] { IDS[0] }, new String[] { VERSIONS[0] }, 0,
+				"linux"));
+		keys.add(getResolutionKey(new URI[] { REPO_A }, IDS, new String[] { "1.0.0", "2.0.0" }, 0, "linux"));
+		// include mode
+		keys.add(getResolutionKey(new URI[] { REPO_A }, IDS, VERSIONS, IUBundleContainer.INCLUDE_REQUIRED, "linux"));
+		keys.add(getResolutionKey(new URI[] { REPO_A }, IDS, VERSIONS, IUBundleContainer.INCLUDE_ALL_ENVIRONMENTS,
+				"linux"));
+		keys.add(getResolutionKey(new URI[] { REPO_A }, IDS, VERSIONS, IUBundleContainer.INCLUDE_CONFIGURE_PHASE,
+				"linux"));
+		// source
+		keys.add(getResolutionKey(new URI[] { REPO_A }, IDS, VERSIONS, IUBundleContainer.INCLUDE_SOURCE, "linux"));
+		// environment
+		keys.add(getResolutionKey(new URI[] { REPO_A }, IDS, VERSIONS, 0, "win32"));
+		assertEquals("Keys of different resolutions must differ", 10, keys.size());
+	}
+
+	/**
+	 * Tests that targets whose resolution depends on changing content are not
+	 * cached
+	 */
+	@Test
+	public void testUncachedResolutions() throws Exception {
+		// latest version
+		assertNull(getResolutionKey(new URI[] { REPO_A }, IDS, new String[] { "1.0.0", "0.0.0" }, 0, "linux"));
+		// all known sites
+		assertNull(getResolutionKey(null, IDS, VERSIONS, 0, "linux"));
+		// other locations
+		ITargetDefinition target = getNewTarget();
+		target.setTargetLocations(new ITargetLocation[] {
+				getTargetService().newIULocation(IDS, VERSIONS, new URI[] { REPO_A }, 0),
+				getTargetService().newDirectoryLocation(folder.getRoot().getAbsolutePath()) });
+		assertNull(P2TargetUtils.getResolutionKey(target));
+	}
+
+	@Test
+	public void testStoreAndLoad() throws Exception {
+		ResolutionCache cache = new ResolutionCache(folder.newFolder("cache"), ResolutionCache.MAX_ENTRIES);
+		IInstallableUnit root = createUnit("root");
+		IInstallableUnit dependency = createUnit("dependency");
+		cache.store("key", new Resolution(Set.of(root, dependency), Set.of(root),
+				Map.of("org.eclipse.pde.core.property", "value")));
+
+		Resolution resolution = cache.load("key");
+		assertNotNull(resolution);
+		assertEquals(Set.of(root, dependency), resolution.units());
+		assertEquals(Set.of(root), resolution.roots());
+		assertEquals(Map.of("org.eclipse.pde.core.property", "value"), resolution.profileProperties());
+		assertNull(cache.load("other key"));
+
+		cache.remove("key");
+		assertNull(cache.load("key"));
+	}
+
+	/**
+	 * Tests that the cache keeps at most its maximum number of entries and
+	 * removes the least recently used ones first
+	 */
+	@Test
+	public void testLeastRecentlyUsedResolutionsAreRemoved() throws Exception {
+		File location = folder.newFolder("cache");
+		ResolutionCache cache = new ResolutionCache(location, ResolutionCache.MAX_ENTRIES);
+		Resolution resolution = new Resolution(Set.of(createUnit("root")), Set.of(), Map.of());
+		long old = System.currentTimeMillis() - 3600_000;
+		for (int i = 0; i < ResolutionCache.MAX_ENTRIES; i++) {
+			Set<File> before = Set.of(location.listFiles());
+			cache.store("key" + i, resolution);
+			// give each entry a distinct age, oldest first
+			for (File entry : location.listFiles()) {
+				if (!before.contains(entry)) {
+					entry.setLastModified(old + i * 1000);
+				}
+			}
+		}
+		assertEquals(ResolutionCache.MAX_ENTRIES, location.listFiles().length);
+
+		// reading an entry marks it as recently used
+		assertNotNull(cache.load("key0"));
+		cache.store("key" + ResolutionCache.MAX_ENTRIES, resolution);
+		assertEquals(ResolutionCache.MAX_ENTRIES, location.listFiles().length);
+		assertNull(cache.load("key1"));
+		for (String key : List.of("key0", "key2", "key" + ResolutionCache.MAX_ENTRIES)) {
+			assertNotNull(key, cache.load(key));
+		}
+	}
+
+	private String getResolutionKey(URI[] repositories, String[] ids, String[] versions, int flags, String os) {
+		ITargetDefinition target = getNewTarget();
+		target.setOS(os);
+		target.setTargetLocations(
+				new ITargetLocation[] { getTargetService().newIULocation(ids, versions, repositories, flags) });
+		return P2TargetUtils.getResolutionKey(target);
+	}
+
+	private static IInstallableUnit createUnit(String id) {
+		InstallableUnitDescription description = new InstallableUnitDescription();
+		description.setId(id);
+		description.setVersion(Version.create("1.0.0"));
+		description.addProvidedCapabilities(List.of(
+				MetadataFactory.createProvidedCapability(IInstallableUnit.NAMESPACE_IU_ID, id, Version.create("1.0.0"))));
+		return MetadataFactory.createInstallableUnit(description);
+	}
+}
@@ -0,0 +1,164 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+package org.eclipse.pde.ui.tests.views.imagebrowser;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertThrows;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.Arrays;
+
+import org.eclipse.pde.internal.ui.views.imagebrowser.repositories.AbstractRepository;
+import org.eclipse.swt.SWT;
+import org.eclipse.swt.SWTException;
+import org.eclipse.swt.graphics.ImageData;
+import org.eclipse.swt.graphics.ImageLoader;
+import org.eclipse.swt.graphics.PaletteData;
+import org.eclipse.swt.graphics.RGB;
+import org.junit.Test;
+
+/**
+ * Tests that the image sizes read from PNG and GIF headers by the image
+ * browser are the sizes of the decoded images.
+ */
+public class ImageSizeTest {
+
+	@Test
+	public void testPng() {
+		ImageData data = new ImageData(17, 9, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF));
+		assertSizeOfDecodedImage(save(SWT.IMAGE_PNG, 0, 0, data));
+	}
+
+	@Test
+	public void testGif() {
+		assertSizeOfDecodedImage(save(SWT.IMAGE_GIF, 0, 0, indexedImage(13, 5)));
+	}
+
+	@Test
+	public void testGifWithExtensions() {
+		// the first frame is smaller than the logical screen and is preceded by
+		// the loop extension and its graphic control extension
+		ImageData first = indexedImage(11, 6);
+		first.x = 2;
+		first.y = 3;
+		first.transparentPixel = 0;
+		first.delayTime = 10;
+		ImageData second = indexedImage(20, 20);
+		second.delayTime = 10;
+		byte[] bytes = save(SWT.IMAGE_GIF, 20, 20, first, second);
+		assertSizeOfDecodedImage(bytes);
+		assertArrayEquals(new int[] { 11, 6 }, AbstractRepository.getImageSize(bytes));
+	}
+
+	@Test
+	public void testGifWithCommentExtension() {
+		byte[] bytes = concat(gifHeader(5, 7), //
+				// comment extension of two sub-blocks
+				bytes(0x21, 0xFE, 3, 'a', 'b', 'c', 2, 'd', 'e', 0), //
+				// graphic control extension
+				bytes(0x21, 0xF9, 4, 1, 0, 0, 0, 0), //
+				gifPixel());
+		assertSizeOfDecodedImage(bytes);
+		assertArrayEquals(new int[] { 1, 1 }, AbstractRepository.getImageSize(bytes));
+	}
+
+	@Test
+	public void testOtherFormat() {
+		assertSizeOfDecodedImage(save(SWT.IMAGE_BMP, 0, 0, indexedImage(7, 3)));
+	}
+
+	@Test
+	public void testMalformedImages() {
+		byte[] png = save(SWT.IMAGE_PNG, 0, 0, new ImageData(4, 4, 24, new PaletteData(0xFF0000, 0xFF00, 0xFF)));
+		assertNotDecodable(new byte[0]);
+		assertNotDecodable(bytes('n', 'o', 't', ' ', 'a', 'n', ' ', 'i', 'm', 'a', 'g', 'e'));
+		// truncated before the size
+		assertNotDecodable(Arrays.copyOf(png, 20));
+		// no header chunk
+		byte[] noHeader = png.clone();
+		noHeader[12] = 'X';
+		assertNotDecodable(noHeader);
+		// extension running past the end of the data
+		assertNotDecodable(concat(gifHeader(5, 7), bytes(0x21, 0xFE, 100, 'a', 'b')));
+		// truncated image descriptor
+		assertNotDecodable(concat(gifHeader(5, 7), bytes(0x2C, 0, 0, 0, 0, 1)));
+		// no image before the trailer
+		assertNotDecodable(concat(gifHeader(5, 7), bytes(0x3B)));
+	}
+
+	private static void assertSizeOfDecodedImage(byte[] bytes) {
+		ImageData data = new ImageData(new ByteArrayInputStream(bytes));
+		assertArrayEquals(new int[] { data.width, data.height }, AbstractRepository.getImageSize(bytes));
+	}
+
+	private static void assertNotDecodable(byte[] bytes) {
+		assertThrows(SWTException.class, () -> new ImageData(new ByteArrayInputStream(bytes)));
+		assertThrows(SWTException.class, () -> AbstractRepository.getImageSize(bytes));
+	}
+
+	private static ImageData indexedImage(int width, int height) {
+		ImageData data = new ImageData(width, height, 8,
+				new PaletteData(new RGB(0, 0, 0), new RGB(255, 255, 255), new RGB(255, 0, 0)));
+		for (int y = 0; y < height; y++) {
+			for (int x = 0; x < width; x++) {
+				data.setPixel(x, y, (x + y) % 3);
+			}
+		}
+		return data;
+	}
+
+	private static byte[] save(int format, int screenWidth, int screenHeight, ImageData... data) {
+		ImageLoader loader = new ImageLoader();
+		loader.data = data;
+		loader.logicalScreenWidth = screenWidth;
+		loader.logicalScreenHeight = screenHeight;
+		loader.repeatCount = 0;
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		loader.save(out, format);
+		return out.toByteArray();
+	}
+
+	/**
+	 * Returns the header of a GIF with a global color table of two colors
+	 */
+	private static byte[] gifHeader(int screenWidth, int screenHeight) {
+		return bytes('G', 'I', 'F', '8', '9', 'a', screenWidth, 0, screenHeight, 0, 0x80, 0, 0, //
+				0xFF, 0xFF, 0xFF, 0, 0, 0);
+	}
+
+	/**
+	 * Returns a GIF image of a single pixel of the first color, followed by
+	 * the trailer
+	 */
+	private static byte[] gifPixel() {
+		return bytes(0x2C, 0, 0, 0, 0, 1, 0, 1, 0, 0, //
+				2, 2, 0x44, 0x01, 0, //
+				0x3B);
+	}
+
+	private static byte[] bytes(int... values) {
+		byte[] bytes = new byte[values.length];
+		for (int i = 0; i < values.length; i++) {
+			bytes[i] = (byte) values[i];
+		}
+		return bytes;
+	}
+
+	private static byte[] concat(byte[]... parts) {
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		for (byte[] part : parts) {
+			out.writeBytes(part);
+		}
+		return out.toByteArray();
+	}
+}
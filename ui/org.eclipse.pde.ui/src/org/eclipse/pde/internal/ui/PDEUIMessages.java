@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2014, 2023 IBM Corporation and others.
+ * Copyright (c) 2014, 2026 IBM Corporation and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -3364,6 +3364,8 @@ public class PDEUIMessages extends NLS {
 	public static String PDECompilersConfigurationBlock_ignore;
 
 	public static String PDEJUnitLaunchConfigurationTab_Run_Tests_In_UI_Thread;
+	public static String PDEJUnitLaunchConfigurationTab_Test_Shards;
+	public static String PDEJUnitLaunchConfigurationTab_Test_Shards_Tooltip;
 
 	public static String VersionDialog_text;
 	public static String VersionDialog_title;
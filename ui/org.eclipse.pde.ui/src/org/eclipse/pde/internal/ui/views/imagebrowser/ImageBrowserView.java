@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012, 2018 Christian Pontesegger and others.
+ *  Copyright (c) 2012, 2026 Christian Pontesegger and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -51,6 +51,7 @@ import org.eclipse.pde.internal.ui.views.imagebrowser.repositories.AbstractRepos
 import org.eclipse.pde.internal.ui.views.imagebrowser.repositories.TargetPlatformRepository;
 import org.eclipse.pde.internal.ui.views.imagebrowser.repositories.WorkspaceRepository;
 import org.eclipse.swt.SWT;
+import org.eclipse.swt.SWTException;
 import org.eclipse.swt.custom.ScrolledComposite;
 import org.eclipse.swt.events.ControlAdapter;
 import org.eclipse.swt.events.ControlEvent;
@@ -397,8 +398,16 @@ public class ImageBrowserView extends ViewPart implements IImageTarget {
 			if (!filter.accept(element))
 				return;
 		}
-		if (imageIndex >= page * maxImages && imageIndex < (page + 1) * maxImages)
+		if (imageIndex >= page * maxImages && imageIndex < (page + 1) * maxImages) {
+			// only the images shown are decoded, do it here rather than in the UI thread
+			try {
+				element.getImageData();
+			} catch (SWTException e) {
+				// invalid image
+				return;
+			}
 			mUIJob.addImage(element);
+		}
 		imageIndex++;
 	}
 
@@ -567,8 +576,8 @@ public class ImageBrowserView extends ViewPart implements IImageTarget {
 				lblPlugin.setText(((ImageElement) data).getFullPlugin());
 				txtReference.setText("platform:/plugin/" + ((ImageElement) data).getPlugin() + "/" + ((ImageElement) data).getPath()); //$NON-NLS-1$ //$NON-NLS-2$
 
-				lblWidth.setText(NLS.bind(PDEUIMessages.ImageBrowserView_Pixels, Integer.toString(((ImageElement) data).getImageData().width)));
-				lblHeight.setText(NLS.bind(PDEUIMessages.ImageBrowserView_Pixels, Integer.toString(((ImageElement) data).getImageData().height)));
+				lblWidth.setText(NLS.bind(PDEUIMessages.ImageBrowserView_Pixels, Integer.toString(((ImageElement) data).getWidth())));
+				lblHeight.setText(NLS.bind(PDEUIMessages.ImageBrowserView_Pixels, Integer.toString(((ImageElement) data).getHeight())));
 
 				imageElement = (ImageElement) data;
 				saveAction.setEnabled(true);
@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012 Christian Pontesegger and others.
+ *  Copyright (c) 2012, 2026 Christian Pontesegger and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -14,6 +14,8 @@
 
 package org.eclipse.pde.internal.ui.views.imagebrowser;
 
+import java.lang.ref.SoftReference;
+import java.util.function.Supplier;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -24,11 +26,36 @@ public class ImageElement {
 
 	private static final Pattern PLUGIN_PATTERN = Pattern.compile("([a-zA-Z0-9]+\\.[a-zA-Z0-9\\.]+)_.+"); //$NON-NLS-1$
 	private final ImageData mImageData;
+	private final Supplier<ImageData> mLoader;
+	private final int mWidth;
+	private final int mHeight;
 	private final String mPlugin;
 	private final String mPath;
+	private SoftReference<ImageData> mLoadedImageData;
 
 	public ImageElement(final ImageData image, final String plugin, final String path) {
 		mImageData = image;
+		mLoader = null;
+		mWidth = image.width;
+		mHeight = image.height;
+		mPlugin = plugin;
+		mPath = path;
+	}
+
+	/**
+	 * Creates an element whose image data is only loaded when it is requested.
+	 * Loaded image data is kept as long as memory allows.
+	 *
+	 * @param loader loads the image data, throws an {@link org.eclipse.swt.SWTException} if
+	 *            the image cannot be loaded
+	 * @param width the width of the image
+	 * @param height the height of the image
+	 */
+	public ImageElement(final Supplier<ImageData> loader, final int width, final int height, final String plugin, final String path) {
+		mImageData = null;
+		mLoader = loader;
+		mWidth = width;
+		mHeight = height;
 		mPlugin = plugin;
 		mPath = path;
 	}
@@ -51,8 +78,28 @@ public class ImageElement {
 		return mPath;
 	}
 
-	public ImageData getImageData() {
-		return mImageData;
+	/**
+	 * @return the image data, loaded now if needed
+	 * @throws org.eclipse.swt.SWTException if the image data cannot be loaded
+	 */
+	public synchronized ImageData getImageData() {
+		if (mImageData != null)
+			return mImageData;
+
+		ImageData imageData = mLoadedImageData == null ? null : mLoadedImageData.get();
+		if (imageData == null) {
+			imageData = mLoader.get();
+			mLoadedImageData = new SoftReference<>(imageData);
+		}
+		return imageData;
+	}
+
+	public int getWidth() {
+		return mWidth;
+	}
+
+	public int getHeight() {
+		return mHeight;
 	}
 
 	public String getFileName() {
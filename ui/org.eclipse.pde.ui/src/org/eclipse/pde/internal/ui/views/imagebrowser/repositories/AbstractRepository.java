@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012, 2014 Christian Pontesegger and others.
+ *  Copyright (c) 2012, 2026 Christian Pontesegger and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -15,10 +15,13 @@
 package org.eclipse.pde.internal.ui.views.imagebrowser.repositories;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Enumeration;
 import java.util.HashSet;
@@ -40,6 +43,7 @@ import org.eclipse.pde.internal.ui.PDEPlugin;
 import org.eclipse.pde.internal.ui.PDEUIMessages;
 import org.eclipse.pde.internal.ui.views.imagebrowser.IImageTarget;
 import org.eclipse.pde.internal.ui.views.imagebrowser.ImageElement;
+import org.eclipse.swt.SWT;
 import org.eclipse.swt.SWTException;
 import org.eclipse.swt.graphics.ImageData;
 
@@ -112,14 +116,33 @@ public abstract class AbstractRepository extends Job {
 	}
 
 	protected void searchJarFile(final File jarFile, final IProgressMonitor monitor) {
+		for (ImageElement element : scanJarFile(jarFile, monitor)) {
+			addImageElement(element);
+		}
+	}
+
+	/**
+	 * Finds the images of the given jar. Only the sizes of the images are read,
+	 * their image data is loaded when it is requested. The images of a jar are
+	 * cached until the jar changes. May be called from any thread.
+	 *
+	 * @return the images found, possibly fewer if the monitor is cancelled
+	 */
+	protected List<ImageElement> scanJarFile(final File jarFile, final IProgressMonitor monitor) {
+		List<ImageElement> elements = ImageScanCache.get(jarFile);
+		if (elements != null)
+			return elements;
+
+		elements = new ArrayList<>();
 		try (ZipFile zipFile = new ZipFile(jarFile)) {
 			Enumeration<? extends ZipEntry> entries = zipFile.entries();
 			while ((entries.hasMoreElements()) && (!monitor.isCanceled())) {
 				ZipEntry entry = entries.nextElement();
 				if (isImageName(entry.getName())) {
+					String entryName = entry.getName();
 					try (InputStream inputStream = zipFile.getInputStream(entry)) {
-						ImageData imageData = new ImageData(inputStream);
-						addImageElement(new ImageElement(imageData, jarFile.getName(), entry.getName()));
+						int[] size = getImageSize(inputStream.readAllBytes());
+						elements.add(new ImageElement(() -> loadJarImage(jarFile, entryName), size[0], size[1], jarFile.getName(), entryName));
 					} catch (IOException e) {
 						PDEPlugin.log(e);
 					} catch (SWTException e) {
@@ -130,16 +153,48 @@ public abstract class AbstractRepository extends Job {
 			}
 		} catch (IOException e) {
 			PDEPlugin.log(e);
+			return elements;
+		}
+
+		if (!monitor.isCanceled())
+			ImageScanCache.put(jarFile, elements);
+		return elements;
+	}
+
+	private static ImageData loadJarImage(File jarFile, String entryName) {
+		try (ZipFile zipFile = new ZipFile(jarFile)) {
+			ZipEntry entry = zipFile.getEntry(entryName);
+			if (entry == null)
+				throw new SWTException(SWT.ERROR_IO, entryName);
+			try (InputStream inputStream = zipFile.getInputStream(entry)) {
+				return new ImageData(inputStream);
+			}
+		} catch (IOException e) {
+			throw new SWTException(SWT.ERROR_IO, e.getMessage());
 		}
 	}
 
 	protected void searchDirectory(File directory, final IProgressMonitor monitor) {
+		for (ImageElement element : scanDirectory(directory, monitor)) {
+			addImageElement(element);
+		}
+	}
+
+	/**
+	 * Finds the images of the bundle in the given directory. Only the sizes of
+	 * the images are read, their image data is loaded when it is requested. May
+	 * be called from any thread.
+	 *
+	 * @return the images found, possibly fewer if the monitor is cancelled
+	 */
+	protected List<ImageElement> scanDirectory(File directory, final IProgressMonitor monitor) {
+		List<ImageElement> elements = new ArrayList<>();
 		File manifest = new File(directory, "META-INF/MANIFEST.MF"); //$NON-NLS-1$
 		if (manifest.exists()) {
 			try {
 				Optional<String> name = getPluginName(new FileInputStream(manifest));
 				if (!name.isPresent()) {
-					return;
+					return elements;
 				}
 				String pluginName = name.get();
 				int directoryPathLength = directory.getAbsolutePath().length();
@@ -152,7 +207,7 @@ public abstract class AbstractRepository extends Job {
 
 					for (File resource : next.listFiles()) {
 						if (monitor.isCanceled())
-							return;
+							return elements;
 
 						if (resource.isDirectory()) {
 							locations.add(resource);
@@ -160,7 +215,9 @@ public abstract class AbstractRepository extends Job {
 						} else {
 							try {
 								if (isImage(resource)) {
-									addImageElement(new ImageElement(createImageData((IFile) resource), pluginName, resource.getAbsolutePath().substring(directoryPathLength)));
+									int[] size = getImageSize(Files.readAllBytes(resource.toPath()));
+									String path = resource.getAbsolutePath();
+									elements.add(new ImageElement(() -> new ImageData(path), size[0], size[1], pluginName, path.substring(directoryPathLength)));
 								}
 
 							} catch (Exception e) {
@@ -175,6 +232,68 @@ public abstract class AbstractRepository extends Job {
 				PDEPlugin.log(e);
 			}
 		}
+		return elements;
+	}
+
+	/**
+	 * Returns the size of the given image. The size of GIF and PNG images is
+	 * read from their headers, other images are decoded.
+	 *
+	 * @return the width and height of the image
+	 * @throws SWTException if the image cannot be decoded
+	 */
+	public static int[] getImageSize(byte[] bytes) {
+		int[] size = getPngSize(bytes);
+		if (size == null)
+			size = getGifSize(bytes);
+		if (size == null) {
+			ImageData imageData = new ImageData(new ByteArrayInputStream(bytes));
+			size = new int[] {imageData.width, imageData.height};
+		}
+		return size;
+	}
+
+	private static int[] getPngSize(byte[] bytes) {
+		// signature, then the IHDR chunk starting with the width and height
+		if (bytes.length < 24 || (bytes[0] & 0xFF) != 0x89 || bytes[1] != 'P' || bytes[2] != 'N' || bytes[3] != 'G' || bytes[12] != 'I' || bytes[13] != 'H' || bytes[14] != 'D' || bytes[15] != 'R')
+			return null;
+		return new int[] {readInt(bytes, 16), readInt(bytes, 20)};
+	}
+
+	private static int[] getGifSize(byte[] bytes) {
+		if (bytes.length < 13 || bytes[0] != 'G' || bytes[1] != 'I' || bytes[2] != 'F')
+			return null;
+		// the size of the first image, which is decoded, may differ from the logical screen size
+		int flags = bytes[10] & 0xFF;
+		int pos = 13;
+		if ((flags & 0x80) != 0)
+			pos += 3 * (1 << ((flags & 0x07) + 1));
+		while (pos < bytes.length) {
+			int block = bytes[pos] & 0xFF;
+			if (block == 0x2C) {
+				// image descriptor: left, top, width, height
+				if (pos + 9 > bytes.length)
+					return null;
+				return new int[] {readShortLE(bytes, pos + 5), readShortLE(bytes, pos + 7)};
+			} else if (block == 0x21) {
+				// extension: label and data sub-blocks
+				pos += 2;
+				while (pos < bytes.length && bytes[pos] != 0)
+					pos += (bytes[pos] & 0xFF) + 1;
+				pos++;
+			} else {
+				return null;
+			}
+		}
+		return null;
+	}
+
+	private static int readInt(byte[] bytes, int pos) {
+		return ((bytes[pos] & 0xFF) << 24) | ((bytes[pos + 1] & 0xFF) << 16) | ((bytes[pos + 2] & 0xFF) << 8) | (bytes[pos + 3] & 0xFF);
+	}
+
+	private static int readShortLE(byte[] bytes, int pos) {
+		return (bytes[pos] & 0xFF) | ((bytes[pos + 1] & 0xFF) << 8);
 	}
 
 	/**
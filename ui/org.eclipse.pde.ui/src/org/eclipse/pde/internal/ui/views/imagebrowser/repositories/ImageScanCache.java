@@ -0,0 +1,69 @@
+/*******************************************************************************
+ *  Copyright (c) 2026 Eclipse Contributors and others.
+ *
+ *  This program and the accompanying materials
+ *  are made available under the terms of the Eclipse Public License 2.0
+ *  which accompanies this distribution, and is available at
+ *  https://www.eclipse.org/legal/epl-2.0/
+ *
+ *  SPDX-License-Identifier: EPL-2.0
+ *
+ *******************************************************************************/
+
+package org.eclipse.pde.internal.ui.views.imagebrowser.repositories;
+
+import java.io.File;
+import java.lang.ref.SoftReference;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.eclipse.pde.internal.ui.views.imagebrowser.ImageElement;
+
+/**
+ * Caches the images found in jars, with the image data they loaded, for the
+ * session. The images of a jar are found again when the modification time or
+ * the size of the jar changes, or when memory runs low.
+ */
+final class ImageScanCache {
+
+	private static final class Entry {
+		final long lastModified;
+		final long length;
+		final SoftReference<List<ImageElement>> elements;
+
+		Entry(long lastModified, long length, List<ImageElement> elements) {
+			this.lastModified = lastModified;
+			this.length = length;
+			this.elements = new SoftReference<>(elements);
+		}
+	}
+
+	private static final Map<String, Entry> CACHE = new ConcurrentHashMap<>();
+
+	private ImageScanCache() {
+	}
+
+	/**
+	 * @return the images of the given jar, or <code>null</code> if they are
+	 *         not cached or the jar changed since
+	 */
+	static List<ImageElement> get(File jarFile) {
+		String key = jarFile.getAbsolutePath();
+		Entry entry = CACHE.get(key);
+		if (entry == null)
+			return null;
+
+		List<ImageElement> elements = entry.elements.get();
+		if (elements == null || entry.lastModified != jarFile.lastModified() || entry.length != jarFile.length()) {
+			CACHE.remove(key, entry);
+			return null;
+		}
+		return elements;
+	}
+
+	static void put(File jarFile, List<ImageElement> elements) {
+		CACHE.put(jarFile.getAbsolutePath(), new Entry(jarFile.lastModified(), jarFile.length(), Collections.unmodifiableList(elements)));
+	}
+}
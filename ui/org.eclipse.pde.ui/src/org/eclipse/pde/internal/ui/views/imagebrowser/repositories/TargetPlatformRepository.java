@@ -1,5 +1,5 @@
 /*******************************************************************************
- *  Copyright (c) 2012, 2016 Christian Pontesegger and others.
+ *  Copyright (c) 2012, 2026 Christian Pontesegger and others.
  *
  *  This program and the accompanying materials
  *  are made available under the terms of the Eclipse Public License 2.0
@@ -17,10 +17,16 @@ package org.eclipse.pde.internal.ui.views.imagebrowser.repositories;
 
 import java.io.File;
 import java.net.URI;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Deque;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -33,13 +39,25 @@ import org.eclipse.pde.core.target.TargetBundle;
 import org.eclipse.pde.internal.ui.PDEPlugin;
 import org.eclipse.pde.internal.ui.PDEUIMessages;
 import org.eclipse.pde.internal.ui.views.imagebrowser.IImageTarget;
+import org.eclipse.pde.internal.ui.views.imagebrowser.ImageElement;
 import org.eclipse.ui.PlatformUI;
 
 public class TargetPlatformRepository extends AbstractRepository {
 
+	/**
+	 * The number of threads scanning bundles
+	 */
+	private static final int PARALLELISM = Math.min(8, Runtime.getRuntime().availableProcessors());
+
 	private List<TargetBundle> fBundles = null;
 	private final boolean fUseCurrent;
 
+	/**
+	 * Scans of the next bundles, in the order their images are reported
+	 */
+	private final Deque<Future<List<ImageElement>>> fScans = new ArrayDeque<>();
+	private ExecutorService fExecutor = null;
+
 	/**
 	 * Creates a new target platform repository.  If useCurrent is <code>true</code>
 	 * the current target platform set on the preference page.  If <code>false</code>
@@ -59,21 +77,42 @@ public class TargetPlatformRepository extends AbstractRepository {
 		if (fBundles == null)
 			initialize(monitor);
 
-		if ((fBundles != null) && (!fBundles.isEmpty())) {
+		if (fBundles == null)
+			return false;
+
+		// scan a few bundles ahead, images are only requested until the page is full
+		while (fScans.size() < 2 * PARALLELISM && !fBundles.isEmpty()) {
 			TargetBundle bundle = fBundles.remove(fBundles.size() - 1);
 			URI location = bundle.getBundleInfo().getLocation();
 			File file = new File(location);
-			if (isJar(file)) {
-				searchJarFile(file, monitor);
+			if (fExecutor == null)
+				fExecutor = Executors.newFixedThreadPool(PARALLELISM);
+			fScans.add(fExecutor.submit(() -> scanBundle(file, monitor)));
+		}
 
-			} else if (file.isDirectory()) {
-				searchDirectory(file, monitor);
-			}
+		Future<List<ImageElement>> scan = fScans.poll();
+		if (scan == null)
+			return false;
 
-			return true;
+		try {
+			mElementsCache.addAll(scan.get());
+		} catch (ExecutionException e) {
+			PDEPlugin.log(e.getCause());
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			return false;
 		}
+		return true;
+	}
+
+	private List<ImageElement> scanBundle(File file, IProgressMonitor monitor) {
+		if (isJar(file))
+			return scanJarFile(file, monitor);
+
+		if (file.isDirectory())
+			return scanDirectory(file, monitor);
 
-		return false;
+		return Collections.emptyList();
 	}
 
 	private void initialize(final IProgressMonitor monitor) {
@@ -115,7 +154,18 @@ public class TargetPlatformRepository extends AbstractRepository {
 
 	@Override
 	protected synchronized IStatus run(IProgressMonitor monitor) {
-		super.run(monitor);
+		try {
+			super.run(monitor);
+		} finally {
+			for (Future<List<ImageElement>> scan : fScans) {
+				scan.cancel(true);
+			}
+			fScans.clear();
+			if (fExecutor != null) {
+				fExecutor.shutdownNow();
+				fExecutor = null;
+			}
+		}
 		if (fBundles != null) {
 			fBundles.clear();
 			fBundles = null;
@@ -1,5 +1,5 @@
 /*******************************************************************************
- * Copyright (c) 2009, 2015 ThoughtWorks, Inc. and others.
+ * Copyright (c) 2009, 2026 ThoughtWorks, Inc. and others.
  *
  * This program and the accompanying materials
  * are made available under the terms of the Eclipse Public License 2.0
@@ -24,6 +24,8 @@ import org.eclipse.debug.ui.ILaunchConfigurationDialog;
 import org.eclipse.jdt.junit.launcher.JUnitLaunchConfigurationTab;
 import org.eclipse.jface.dialogs.Dialog;
 import org.eclipse.jface.layout.GridDataFactory;
+import org.eclipse.jface.layout.GridLayoutFactory;
+import org.eclipse.pde.internal.launching.IPDEConstants;
 import org.eclipse.pde.internal.ui.PDEUIMessages;
 import org.eclipse.pde.launching.IPDELauncherConstants;
 import org.eclipse.swt.SWT;
@@ -32,11 +34,12 @@ import org.eclipse.swt.widgets.Button;
 import org.eclipse.swt.widgets.Composite;
 import org.eclipse.swt.widgets.Control;
 import org.eclipse.swt.widgets.Label;
+import org.eclipse.swt.widgets.Spinner;
 
 /**
  * The launch configuration tab for JUnit Plug-in Tests. This tab enhances the
  * {@link JUnitLaunchConfigurationTab} to allow for tests to (optionally)
- * run on a non-UI thread.
+ * run on a non-UI thread and to be split across several runtimes.
  *
  * <p>
  * This class may be instantiated but is not intended to be subclassed.
@@ -50,6 +53,7 @@ public class TestTab extends AbstractLaunchConfigurationTab {
 
 	private final JUnitLaunchConfigurationTab junitLaunchTab;
 	private Button runInUIThread;
+	private Spinner shards;
 
 	/**
 	 * Constructor to create a new junit test tab
@@ -65,6 +69,7 @@ public class TestTab extends AbstractLaunchConfigurationTab {
 		Composite composite = (Composite) getControl();
 		createSpacer(composite);
 		createRunInUIThreadGroup(composite);
+		createShardsGroup(composite);
 
 		Dialog.applyDialogFont(composite);
 	}
@@ -76,6 +81,19 @@ public class TestTab extends AbstractLaunchConfigurationTab {
 		GridDataFactory.fillDefaults().span(2, 0).grab(true, false).applyTo(runInUIThread);
 	}
 
+	private void createShardsGroup(Composite comp) {
+		Composite group = new Composite(comp, SWT.NONE);
+		GridDataFactory.fillDefaults().span(3, 0).grab(true, false).applyTo(group);
+		GridLayoutFactory.fillDefaults().numColumns(2).applyTo(group);
+		Label label = new Label(group, SWT.NONE);
+		label.setText(PDEUIMessages.PDEJUnitLaunchConfigurationTab_Test_Shards);
+		shards = new Spinner(group, SWT.BORDER);
+		shards.setMinimum(1);
+		shards.setMaximum(32);
+		shards.setToolTipText(PDEUIMessages.PDEJUnitLaunchConfigurationTab_Test_Shards_Tooltip);
+		shards.addModifyListener(e -> updateLaunchConfigurationDialog());
+	}
+
 	private void createSpacer(Composite comp) {
 		Label label = new Label(comp, SWT.NONE);
 		GridDataFactory.fillDefaults().span(3, 0).applyTo(label);
@@ -85,6 +103,7 @@ public class TestTab extends AbstractLaunchConfigurationTab {
 	public void initializeFrom(ILaunchConfiguration config) {
 		junitLaunchTab.initializeFrom(config);
 		updateRunInUIThreadGroup(config);
+		updateShardsGroup(config);
 	}
 
 	private void updateRunInUIThreadGroup(ILaunchConfiguration config) {
@@ -96,11 +115,26 @@ public class TestTab extends AbstractLaunchConfigurationTab {
 		runInUIThread.setSelection(shouldRunInUIThread);
 	}
 
+	private void updateShardsGroup(ILaunchConfiguration config) {
+		int shardCount = 1;
+		try {
+			shardCount = config.getAttribute(IPDEConstants.JUNIT_SHARDS, 1);
+		} catch (CoreException ce) {
+		}
+		shards.setSelection(shardCount);
+	}
+
 	@Override
 	public void performApply(ILaunchConfigurationWorkingCopy config) {
 		junitLaunchTab.performApply(config);
 		boolean selection = runInUIThread.getSelection();
 		config.setAttribute(IPDELauncherConstants.RUN_IN_UI_THREAD, selection);
+		int shardCount = shards.getSelection();
+		if (shardCount > 1) {
+			config.setAttribute(IPDEConstants.JUNIT_SHARDS, shardCount);
+		} else {
+			config.removeAttribute(IPDEConstants.JUNIT_SHARDS);
+		}
 	}
 
 	@Override